@@ -0,0 +1,91 @@
+package de.thu.thutorium.Utility;
+
+import de.thu.thutorium.database.dbObjects.AddressDBO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link DBPreProcess} entity listener, which runs on every insert and update of
+ * the entities it is registered for, against the reflective implementation it replaced.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="DBPreProcessBenchmark"}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DBPreProcessBenchmark {
+  private final DBPreProcess preProcess = new DBPreProcess();
+
+  /**
+   * Only builds the address the other benchmarks normalise, so that its cost can be subtracted
+   * from theirs. They need a fresh entity per call, since normalising an already normalised one
+   * takes the fast paths of {@code trim()} and {@code toLowerCase()}.
+   */
+  @Benchmark
+  public AddressDBO buildAddress() {
+    return newAddress();
+  }
+
+  /** Normalises the string fields of an entity, as before it is persisted. */
+  @Benchmark
+  public AddressDBO preprocessFields() {
+    AddressDBO address = newAddress();
+    preProcess.preprocessFields(address);
+    return address;
+  }
+
+  /** Normalises the same fields with the former implementation, as the baseline. */
+  @Benchmark
+  public AddressDBO reflectivePreprocessFields() {
+    AddressDBO address = newAddress();
+    reflectivePreprocessFields(address);
+    return address;
+  }
+
+  /** Builds an address with every string field set. */
+  private static AddressDBO newAddress() {
+    return AddressDBO.builder()
+        .campusName("  Campus Prittwitzstraße ")
+        .houseNum("10")
+        .streetName("Prittwitzstraße")
+        .city(" Ulm")
+        .postalCode("89075")
+        .country("Germany ")
+        .phoneNumber("+49 731 50208")
+        .faxNumber("+49 731 50208 270")
+        .emailAddress("Info@THU.de")
+        .build();
+  }
+
+  /**
+   * The former listener: scans the declared fields and accesses them reflectively on every call.
+   */
+  private static void reflectivePreprocessFields(Object entity) {
+    for (Field field : entity.getClass().getDeclaredFields()) {
+      if (field.getType().equals(String.class)) {
+        field.setAccessible(true);
+        try {
+          String value = (String) field.get(entity);
+          if (value != null) {
+            field.set(entity, value.trim().toLowerCase());
+          }
+        } catch (IllegalAccessException e) {
+          throw new IllegalStateException("Failed to process field: " + field.getName(), e);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package de.thu.thutorium.api;
+
+import de.thu.thutorium.database.dbObjects.ChatDBO;
+import de.thu.thutorium.database.dbObjects.CourseCategoryDBO;
+import de.thu.thutorium.database.dbObjects.CourseDBO;
+import de.thu.thutorium.database.dbObjects.MessageDBO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Detached entities shaped like typical production data, shared by the mapper and controller
+ * benchmarks. Nothing here touches a database.
+ */
+public final class BenchmarkFixtures {
+  private static final String[] FIRST_NAMES = {"Anna", "Ben", "Clara", "David", "Eva", "Felix"};
+  private static final String[] LAST_NAMES = {
+    "Müller", "Schmidt", "Schneider", "Fischer", "Weber"
+  };
+  private static final String[] SUBJECTS = {"Analysis", "Linear Algebra", "Databases", "Networks"};
+
+  private BenchmarkFixtures() { }
+
+  /**
+   * Creates a tutor with courses, each course having categories.
+   *
+   * @param userId the ID of the tutor
+   * @param courseCount the number of courses the tutor teaches
+   * @return the tutor
+   */
+  public static UserDBO tutor(long userId, int courseCount) {
+    UserDBO tutor =
+        UserDBO.builder()
+            .userId(userId)
+            .firstName(FIRST_NAMES[(int) (userId % FIRST_NAMES.length)])
+            .lastName(LAST_NAMES[(int) (userId % LAST_NAMES.length)])
+            .email("tutor" + userId + "@thu.de")
+            .password("{bcrypt}hash")
+            .description("Tutor for mathematics and computer science, happy to help with exams.")
+            .averageRating(4.5)
+            .ratingCount(12)
+            .build();
+    for (int i = 0; i < courseCount; i++) {
+      tutor.getTutorCourses().add(course(userId * 100 + i, tutor));
+    }
+    return tutor;
+  }
+
+  /**
+   * Creates a course of a tutor with two categories.
+   *
+   * @param courseId the ID of the course
+   * @param tutor the tutor of the course
+   * @return the course
+   */
+  public static CourseDBO course(long courseId, UserDBO tutor) {
+    List<CourseCategoryDBO> categories = new ArrayList<>();
+    categories.add(CourseCategoryDBO.builder().categoryId(1L).categoryName("Mathematics").build());
+    categories.add(
+        CourseCategoryDBO.builder().categoryId(2L).categoryName("Computer Science").build());
+    return CourseDBO.builder()
+        .courseId(courseId)
+        .courseName(SUBJECTS[(int) (courseId % SUBJECTS.length)] + " " + courseId)
+        .tutor(tutor)
+        .descriptionShort("Exam preparation with weekly exercises")
+        .descriptionLong(
+            "A longer description of the course, its schedule and the topics covered in each "
+                + "session.")
+        .createdOn(LocalDateTime.of(2024, 10, 1, 12, 0))
+        .startDate(LocalDate.of(2024, 10, 7))
+        .endDate(LocalDate.of(2025, 2, 7))
+        .averageRating(4.2)
+        .ratingCount(8)
+        .courseCategories(categories)
+        .build();
+  }
+
+  /**
+   * Creates a chat message between two users.
+   *
+   * @param messageId the ID of the message
+   * @param chat the chat of the message
+   * @param sender the sender
+   * @param receiver the receiver
+   * @return the message
+   */
+  public static MessageDBO message(long messageId, ChatDBO chat, UserDBO sender, UserDBO receiver) {
+    return MessageDBO.builder()
+        .messageId(messageId)
+        .chat(chat)
+        .sender(sender)
+        .receiver(receiver)
+        .messageContent("Hi, could we move our session on Thursday to 4 pm?")
+        .sendAt(LocalDateTime.of(2024, 11, 5, 15, 30))
+        .build();
+  }
+}
@@ -0,0 +1,117 @@
+package de.thu.thutorium.api.TOMappers;
+
+import de.thu.thutorium.api.BenchmarkFixtures;
+import de.thu.thutorium.api.transferObjects.common.CourseTO;
+import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import de.thu.thutorium.api.transferObjects.common.TutorTO;
+import de.thu.thutorium.api.transferObjects.common.UserTO;
+import de.thu.thutorium.database.dbObjects.ChatDBO;
+import de.thu.thutorium.database.dbObjects.CourseDBO;
+import de.thu.thutorium.database.dbObjects.MessageDBO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Benchmarks the MapStruct mappers on the hot paths: courses and tutors of search results, users
+ * of profile pages and chat messages.
+ *
+ * <p>The generated mappers are wired by a minimal Spring context, as in the application. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="MapperBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+  /** The number of courses of the mapped tutor; full tutor mappings include all of them. */
+  @Param({"1", "10"})
+  public int coursesPerTutor;
+
+  private AnnotationConfigApplicationContext context;
+  private CourseTOMapper courseTOMapper;
+  private TutorTOMapper tutorTOMapper;
+  private UserTOMapper userTOMapper;
+  private MessageTOMapper messageTOMapper;
+
+  private UserDBO tutor;
+  private CourseDBO course;
+  private List<MessageDBO> messages;
+
+  /** Starts the mapper context and builds the entities. */
+  @Setup
+  public void setUp() {
+    context = new AnnotationConfigApplicationContext("de.thu.thutorium.api.TOMappers");
+    courseTOMapper = context.getBean(CourseTOMapper.class);
+    tutorTOMapper = context.getBean(TutorTOMapper.class);
+    userTOMapper = context.getBean(UserTOMapper.class);
+    messageTOMapper = context.getBean(MessageTOMapper.class);
+
+    tutor = BenchmarkFixtures.tutor(1L, coursesPerTutor);
+    course = tutor.getTutorCourses().get(0);
+    UserDBO student = BenchmarkFixtures.tutor(2L, 0);
+    ChatDBO chat = ChatDBO.builder().chatId(1L).participants(Set.of(tutor, student)).build();
+    messages =
+        LongStream.rangeClosed(1, 50)
+            .mapToObj(
+                id ->
+                    id % 2 == 0
+                        ? BenchmarkFixtures.message(id, chat, tutor, student)
+                        : BenchmarkFixtures.message(id, chat, student, tutor))
+            .toList();
+  }
+
+  /** Closes the mapper context. */
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  /** Maps one course with its tutor and categories. */
+  @Benchmark
+  public CourseTO mapCourse() {
+    return courseTOMapper.toDTO(course);
+  }
+
+  /** Maps a tutor with all courses, as on the tutor profile and in name searches. */
+  @Benchmark
+  public TutorTO mapTutor() {
+    return tutorTOMapper.toDTO(tutor);
+  }
+
+  /** Maps a tutor without courses, as on paginated search pages. */
+  @Benchmark
+  public TutorTO mapTutorSummary() {
+    return tutorTOMapper.toSummaryDTO(tutor);
+  }
+
+  /** Maps a user, as on the account page. */
+  @Benchmark
+  public UserTO mapUser() {
+    return userTOMapper.toDTO(tutor);
+  }
+
+  /** Maps one page of chat history. */
+  @Benchmark
+  public List<MessageTO> mapMessagePage() {
+    return messageTOMapper.toDTOList(messages);
+  }
+}
@@ -0,0 +1,141 @@
+package de.thu.thutorium.api.controllers;
+
+import de.thu.thutorium.api.BenchmarkFixtures;
+import de.thu.thutorium.api.TOMappers.CourseCategoryTOMapper;
+import de.thu.thutorium.api.TOMappers.CourseTOMapper;
+import de.thu.thutorium.api.TOMappers.TutorTOMapper;
+import de.thu.thutorium.database.dbObjects.CourseDBO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.repositories.CategoryRepository;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.implementations.SearchIndexServiceImpl;
+import de.thu.thutorium.services.implementations.SearchServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.ResponseEntity;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmarks the result assembly of {@link SearchController#search(String, String)}: the lookup in
+ * the in-memory search index, ranking the loaded entities and mapping them to transfer objects.
+ *
+ * <p>The repositories are stubbed with pre-built entities, so the numbers cover the CPU cost of a
+ * search but not its database round trips. Run with {@code mvn -Pbenchmark test-compile exec:exec
+ * -Djmh.args="SearchControllerBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchControllerBenchmark {
+  /** The number of tutors in the catalogue; each teaches two courses. */
+  @Param({"1000", "10000"})
+  public int tutorCount;
+
+  private AnnotationConfigApplicationContext mapperContext;
+  private SearchController searchController;
+
+  /** Builds the catalogue, indexes it and wires the controller. */
+  @Setup
+  public void setUp() {
+    Map<Long, UserDBO> tutors = new HashMap<>();
+    Map<Long, CourseDBO> courses = new HashMap<>();
+    for (long id = 1; id <= tutorCount; id++) {
+      UserDBO tutor = BenchmarkFixtures.tutor(id, 2);
+      tutors.put(id, tutor);
+      tutor.getTutorCourses().forEach(course -> courses.put(course.getCourseId(), course));
+    }
+
+    UserRepository userRepository = mock(UserRepository.class);
+    CourseRepository courseRepository = mock(CourseRepository.class);
+    CategoryRepository categoryRepository = mock(CategoryRepository.class);
+    when(userRepository.findListingsByUserIdIn(anyCollection()))
+        .thenAnswer(invocation -> lookUp(tutors, invocation.getArgument(0)));
+    when(courseRepository.findListingsByTutor_UserIdIn(anyCollection()))
+        .thenAnswer(
+            invocation ->
+                lookUp(tutors, invocation.getArgument(0)).stream()
+                    .flatMap(tutor -> tutor.getTutorCourses().stream())
+                    .toList());
+    when(courseRepository.findListingsByCourseIdIn(anyCollection()))
+        .thenAnswer(invocation -> lookUp(courses, invocation.getArgument(0)));
+
+    SearchIndexServiceImpl searchIndexService =
+        new SearchIndexServiceImpl(userRepository, courseRepository, categoryRepository);
+    searchIndexService.rebuild();
+    for (UserDBO tutor : tutors.values()) {
+      searchIndexService.indexTutor(tutor.getUserId(), tutor.getFirstName(), tutor.getLastName());
+    }
+    for (CourseDBO course : courses.values()) {
+      searchIndexService.indexCourse(
+          course.getCourseId(), course.getCourseName(), course.getDescriptionShort());
+    }
+
+    mapperContext = new AnnotationConfigApplicationContext("de.thu.thutorium.api.TOMappers");
+    SearchServiceImpl searchService =
+        new SearchServiceImpl(
+            courseRepository,
+            mapperContext.getBean(CourseTOMapper.class),
+            userRepository,
+            mapperContext.getBean(TutorTOMapper.class),
+            categoryRepository,
+            mapperContext.getBean(CourseCategoryTOMapper.class),
+            searchIndexService);
+    searchController = new SearchController(searchService, null, null, null);
+  }
+
+  /** Closes the mapper context. */
+  @TearDown
+  public void tearDown() {
+    mapperContext.close();
+  }
+
+  /** Searches tutors by name. */
+  @Benchmark
+  public ResponseEntity<?> searchTutors() {
+    return searchController.search("schmidt", null);
+  }
+
+  /** Searches courses by name. */
+  @Benchmark
+  public ResponseEntity<?> searchCourses() {
+    return searchController.search(null, "algebra");
+  }
+
+  /** Searches tutors and courses in one request. */
+  @Benchmark
+  public ResponseEntity<?> searchBoth() {
+    return searchController.search("anna", "data");
+  }
+
+  private static <T> List<T> lookUp(Map<Long, T> entities, Iterable<Long> ids) {
+    return StreamSupport.stream(ids.spliterator(), false)
+        .map(entities::get)
+        .filter(Objects::nonNull)
+        .toList();
+  }
+}
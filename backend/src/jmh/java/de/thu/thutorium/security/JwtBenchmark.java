@@ -0,0 +1,90 @@
+package de.thu.thutorium.security;
+
+import de.thu.thutorium.database.dbObjects.RoleDBO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the per-request cost of JWT handling: issuing a token, verifying it and resolving the
+ * principal, with and without the {@link VerifiedTokenCache}.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+  private JwtService jwtService;
+  private VerifiedTokenCache verifiedTokenCache;
+  private UserDBO user;
+  private String token;
+
+  /** Builds the service and issues the token parsed by the benchmarks. */
+  @Setup
+  public void setUp() {
+    jwtService = new JwtService();
+    jwtService.setSECRET_KEY(Base64.getEncoder().encodeToString(new byte[32]));
+    jwtService.setJWT_EXPIRATION(TimeUnit.HOURS.toMillis(24));
+    jwtService.initSigningKey();
+    verifiedTokenCache = new VerifiedTokenCache(30_000, 10_000);
+
+    user = UserDBO.builder().userId(7L).email("tutor7@thu.de").password("{bcrypt}hash").build();
+    user.getRoles().add(new RoleDBO(Role.STUDENT));
+    user.getRoles().add(new RoleDBO(Role.TUTOR));
+    token = jwtService.generateToken(user.getUserId(), user);
+    Claims claims = jwtService.parseClaims(token);
+    verifiedTokenCache.put(token, AuthenticatedUser.fromClaims(claims), claims.getExpiration());
+  }
+
+  /** Issues a token, as done by every login. */
+  @Benchmark
+  public String generateToken() {
+    return jwtService.generateToken(user.getUserId(), user);
+  }
+
+  /** Verifies the signature and expiry of a token and reads its claims. */
+  @Benchmark
+  public Claims parseClaims() {
+    return jwtService.parseClaims(token);
+  }
+
+  /**
+   * Resolves the principal of a token not in the cache, as on a cache miss of the filter, without
+   * the database check that its user still exists.
+   */
+  @Benchmark
+  public AuthenticatedUser resolvePrincipalUncached() {
+    return AuthenticatedUser.fromClaims(jwtService.parseClaims(token));
+  }
+
+  /** Resolves the principal of a recently verified token, as on a cache hit of the filter. */
+  @Benchmark
+  public AuthenticatedUser resolvePrincipalCached() {
+    return verifiedTokenCache.get(token);
+  }
+
+  /** Caches a freshly verified principal. */
+  @Benchmark
+  public void cachePrincipal() {
+    Date expiration = new Date(System.currentTimeMillis() + 60_000);
+    verifiedTokenCache.put(token, verifiedTokenCache.get(token), expiration);
+  }
+}
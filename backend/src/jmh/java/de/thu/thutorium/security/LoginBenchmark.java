@@ -0,0 +1,103 @@
+package de.thu.thutorium.security;
+
+import de.thu.thutorium.database.dbObjects.RoleDBO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Base64;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the login path without the database: verifying the password against the stored hash
+ * and issuing the JWT, for several encoder settings.
+ *
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="LoginBenchmark"}. The
+ * time of {@link #login()} is roughly the CPU time one login occupies a thread, which is what
+ * {@code security.password.verification-threads} has to be sized against.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginBenchmark {
+  private static final String EMAIL = "student@example.com";
+  private static final String PASSWORD = "correct horse battery staple";
+
+  /** The encoder for new hashes, as in {@code security.password.encoder}. */
+  @Param({"bcrypt", "pbkdf2"})
+  public String encoderId;
+
+  /** The BCrypt cost factor, as in {@code security.password.bcrypt-strength}. */
+  @Param({"10", "12"})
+  public int bcryptStrength;
+
+  private PasswordEncoder passwordEncoder;
+  private String currentHash;
+  private String legacyHash;
+  private DaoAuthenticationProvider authenticationProvider;
+  private JwtService jwtService;
+
+  /** Builds the encoder, the stored hashes and the authentication provider. */
+  @Setup
+  public void setUp() {
+    passwordEncoder = AuthConfig.createPasswordEncoder(encoderId, bcryptStrength);
+    currentHash = passwordEncoder.encode(PASSWORD);
+    legacyHash = new BCryptPasswordEncoder(bcryptStrength).encode(PASSWORD);
+
+    UserDBO user =
+        UserDBO.builder()
+            .email(EMAIL)
+            .password(currentHash)
+            .roles(Set.of(new RoleDBO(Role.STUDENT)))
+            .build();
+    authenticationProvider = new DaoAuthenticationProvider();
+    authenticationProvider.setUserDetailsService(username -> user);
+    authenticationProvider.setPasswordEncoder(passwordEncoder);
+
+    jwtService = new JwtService();
+    jwtService.setSECRET_KEY(Base64.getEncoder().encodeToString(new byte[32]));
+    jwtService.setJWT_EXPIRATION(TimeUnit.HOURS.toMillis(24));
+    jwtService.initSigningKey();
+  }
+
+  /** Verifies a password against a hash in the current format. */
+  @Benchmark
+  public boolean matchCurrentHash() {
+    return passwordEncoder.matches(PASSWORD, currentHash);
+  }
+
+  /** Verifies a password against an unprefixed hash stored before the delegating encoder. */
+  @Benchmark
+  public boolean matchLegacyHash() {
+    return passwordEncoder.matches(PASSWORD, legacyHash);
+  }
+
+  /** Runs the whole login: one user lookup, the password check and the token generation. */
+  @Benchmark
+  public String login() {
+    Authentication authentication =
+        authenticationProvider.authenticate(
+            new UsernamePasswordAuthenticationToken(EMAIL, PASSWORD));
+    UserDBO user = (UserDBO) authentication.getPrincipal();
+    return jwtService.generateToken(1L, user);
+  }
+}
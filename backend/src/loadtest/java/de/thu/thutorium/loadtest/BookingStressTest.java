@@ -0,0 +1,276 @@
+package de.thu.thutorium.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.http.HttpClient;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks that concurrent bookings never overbook a meeting, against a running backend that was
+ * started with the {@code loadtest} profile.
+ *
+ * <p>One generated meeting is given a small capacity and cleared of participants, and {@code
+ * loadtest.booking.students} generated students are enrolled in its course. All of them then book
+ * the meeting at the same moment. Afterwards exactly {@code capacity} of them must hold a seat, the
+ * seat count of the meeting must match its participants and everybody else must be on the waitlist.
+ * Finally a few participants cancel at the same moment, and each freed seat must have gone to a
+ * waiting student. The database is read directly to verify the outcome; the process exits with
+ * status 1 if a check fails.
+ *
+ * <p>Run with {@code mvn -Ploadtest test-compile exec:java
+ * -Dloadtest.main-class=de.thu.thutorium.loadtest.BookingStressTest [-Dloadtest.booking.students=200 ...]};
+ * all settings are system properties, see {@link #main(String[])}.
+ */
+public final class BookingStressTest {
+
+  private BookingStressTest() { }
+
+  /**
+   * Runs the stress test.
+   *
+   * @param args unused; settings are read from the system properties {@code loadtest.base-url},
+   *     {@code loadtest.db-url}, {@code loadtest.db-user}, {@code loadtest.db-password}, {@code
+   *     loadtest.password}, {@code loadtest.tutor-every}, {@code loadtest.booking.students}, {@code
+   *     loadtest.booking.capacity} and {@code loadtest.booking.cancellations}
+   * @throws Exception if the test cannot be set up
+   */
+  public static void main(String[] args) throws Exception {
+    String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080");
+    String dbUrl = System.getProperty("loadtest.db-url", "jdbc:postgresql://localhost:5433/thutorium_loadtest");
+    String dbUser = System.getProperty("loadtest.db-user", "postgres");
+    String dbPassword = System.getProperty("loadtest.db-password", "postgres");
+    String password = System.getProperty("loadtest.password", "loadtest");
+    int tutorEvery = Integer.getInteger("loadtest.tutor-every", 10);
+    int students = Integer.getInteger("loadtest.booking.students", 200);
+    int capacity = Integer.getInteger("loadtest.booking.capacity", 20);
+    int cancellations = Integer.getInteger("loadtest.booking.cancellations", 5);
+    if (capacity < 1 || capacity >= students || cancellations > capacity || cancellations > students - capacity) {
+      throw new IllegalArgumentException("Need 0 < capacity < students and cancellations <= min(capacity, students - capacity)");
+    }
+
+    List<String> emails = new ArrayList<>();
+    for (int n = 1; emails.size() < students; n++) {
+      if (n % tutorEvery != 0) {
+        emails.add("user" + n + "@loadtest.thu.de");
+      }
+    }
+
+    long meetingId;
+    try (Connection db = DriverManager.getConnection(dbUrl, dbUser, dbPassword)) {
+      meetingId = prepareMeeting(db, emails, capacity);
+    }
+    System.out.printf(
+        "Booking stress test against %s: meeting %d, capacity %d, %d students, %d cancellations%n",
+        baseUrl, meetingId, capacity, students, cancellations);
+
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    List<VirtualUser> users = login(baseUrl, httpClient, objectMapper, emails, password);
+
+    // Every student books at once
+    Map<Long, Integer> bookings = concurrently(users, user -> user.bookMeeting(meetingId));
+    Map<Integer, Integer> bookingStatuses = countStatuses(bookings);
+    System.out.println("Booking responses by status: " + bookingStatuses);
+
+    List<String> failures = new ArrayList<>();
+    check(failures, "201 responses", bookingStatuses.getOrDefault(201, 0), capacity);
+    check(failures, "202 responses", bookingStatuses.getOrDefault(202, 0), students - capacity);
+    try (Connection db = DriverManager.getConnection(dbUrl, dbUser, dbPassword)) {
+      checkMeeting(failures, db, meetingId, capacity, students - capacity);
+    }
+
+    // A few participants cancel at once; their seats must go to waiting students
+    List<VirtualUser> cancelling =
+        users.stream().filter(user -> bookings.get(user.userId()) == 201).limit(cancellations).toList();
+    Map<Integer, Integer> cancelStatuses =
+        countStatuses(concurrently(cancelling, user -> user.cancelMeeting(meetingId)));
+    System.out.println("Cancellation responses by status: " + cancelStatuses);
+
+    check(failures, "204 responses", cancelStatuses.getOrDefault(204, 0), cancellations);
+    try (Connection db = DriverManager.getConnection(dbUrl, dbUser, dbPassword)) {
+      checkMeeting(failures, db, meetingId, capacity, students - capacity - cancellations);
+    }
+
+    if (failures.isEmpty()) {
+      System.out.println("OK: no overbooking, seat count consistent, freed seats passed to waiting students.");
+    } else {
+      failures.forEach(failure -> System.err.println("FAILED: " + failure));
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Resets a generated meeting to an empty meeting with the given capacity and enrolls the students
+   * in its course.
+   *
+   * @return the ID of the meeting
+   */
+  private static long prepareMeeting(Connection db, List<String> emails, int capacity) throws SQLException {
+    long meetingId;
+    long courseId;
+    try (PreparedStatement select =
+            db.prepareStatement(
+                "SELECT meeting_id, course_id FROM meeting WHERE meeting_link LIKE 'https://meet.loadtest.thu.de/%' "
+                    + "ORDER BY meeting_id LIMIT 1");
+        ResultSet rs = select.executeQuery()) {
+      if (!rs.next()) {
+        throw new IllegalStateException("No generated meeting found; start the backend with the loadtest profile first");
+      }
+      meetingId = rs.getLong(1);
+      courseId = rs.getLong(2);
+    }
+    update(db, "DELETE FROM students_meetings WHERE meeting_id = ?", meetingId);
+    update(db, "DELETE FROM meeting_waitlist WHERE meeting_id = ?", meetingId);
+    update(db, "UPDATE meeting SET capacity = ?, booked_seats = 0 WHERE meeting_id = ?", capacity, meetingId);
+    try (PreparedStatement enroll =
+        db.prepareStatement(
+            "INSERT INTO course_students (student_id, course_id) "
+                + "SELECT u.user_id, ? FROM user_account u WHERE u.email_address = ? "
+                + "AND NOT EXISTS (SELECT 1 FROM course_students cs WHERE cs.student_id = u.user_id AND cs.course_id = ?)")) {
+      for (String email : emails) {
+        enroll.setLong(1, courseId);
+        enroll.setString(2, email);
+        enroll.setLong(3, courseId);
+        enroll.addBatch();
+      }
+      enroll.executeBatch();
+    }
+    return meetingId;
+  }
+
+  /** Logs the students in on a small pool, since logins queue for the password check anyway. */
+  private static List<VirtualUser> login(
+      String baseUrl, HttpClient httpClient, ObjectMapper objectMapper, List<String> emails, String password)
+      throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<VirtualUser>> logins = new ArrayList<>();
+      for (String email : emails) {
+        logins.add(executor.submit(() -> VirtualUser.login(baseUrl, httpClient, objectMapper, email, password)));
+      }
+      List<VirtualUser> users = new ArrayList<>();
+      for (Future<VirtualUser> login : logins) {
+        users.add(login.get());
+      }
+      return users;
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Sends one request per user, all released at the same moment.
+   *
+   * @return the status code of each user's response, by user ID; {@code -1} for requests that failed
+   */
+  private static Map<Long, Integer> concurrently(List<VirtualUser> users, Request request) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(users.size());
+    CountDownLatch ready = new CountDownLatch(users.size());
+    CountDownLatch start = new CountDownLatch(1);
+    Map<Long, Integer> statuses = new ConcurrentHashMap<>();
+    try {
+      List<Future<?>> requests = new ArrayList<>();
+      for (VirtualUser user : users) {
+        requests.add(
+            executor.submit(
+                () -> {
+                  ready.countDown();
+                  start.await();
+                  int status;
+                  try {
+                    status = request.send(user);
+                  } catch (Exception e) {
+                    status = -1;
+                  }
+                  statuses.put(user.userId(), status);
+                  return null;
+                }));
+      }
+      ready.await();
+      start.countDown();
+      for (Future<?> future : requests) {
+        future.get();
+      }
+      return statuses;
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static Map<Integer, Integer> countStatuses(Map<Long, Integer> statuses) {
+    Map<Integer, AtomicInteger> counts = new TreeMap<>();
+    statuses.values().forEach(status -> counts.computeIfAbsent(status, s -> new AtomicInteger()).incrementAndGet());
+    Map<Integer, Integer> result = new TreeMap<>();
+    counts.forEach((status, count) -> result.put(status, count.get()));
+    return result;
+  }
+
+  /** Compares the seat count, participants and waitlist of the meeting with the expected values. */
+  private static void checkMeeting(
+      List<String> failures, Connection db, long meetingId, int expectedSeats, int expectedWaiting)
+      throws SQLException {
+    check(failures, "booked_seats", count(db, "SELECT booked_seats FROM meeting WHERE meeting_id = ?", meetingId), expectedSeats);
+    check(
+        failures,
+        "participants",
+        count(db, "SELECT count(*) FROM students_meetings WHERE meeting_id = ?", meetingId),
+        expectedSeats);
+    check(
+        failures,
+        "distinct participants",
+        count(db, "SELECT count(DISTINCT student_id) FROM students_meetings WHERE meeting_id = ?", meetingId),
+        expectedSeats);
+    check(
+        failures,
+        "waitlist",
+        count(db, "SELECT count(*) FROM meeting_waitlist WHERE meeting_id = ?", meetingId),
+        expectedWaiting);
+  }
+
+  private static void check(List<String> failures, String what, long actual, long expected) {
+    System.out.printf("  %-22s %6d (expected %d)%n", what, actual, expected);
+    if (actual != expected) {
+      failures.add(what + " is " + actual + ", expected " + expected);
+    }
+  }
+
+  private static long count(Connection db, String sql, long meetingId) throws SQLException {
+    try (PreparedStatement statement = db.prepareStatement(sql)) {
+      statement.setLong(1, meetingId);
+      try (ResultSet rs = statement.executeQuery()) {
+        rs.next();
+        return rs.getLong(1);
+      }
+    }
+  }
+
+  private static void update(Connection db, String sql, Object... params) throws SQLException {
+    try (PreparedStatement statement = db.prepareStatement(sql)) {
+      for (int i = 0; i < params.length; i++) {
+        statement.setObject(i + 1, params[i]);
+      }
+      statement.executeUpdate();
+    }
+  }
+
+  /** One request of a virtual user, returning the status code of the response. */
+  @FunctionalInterface
+  private interface Request {
+    int send(VirtualUser user) throws Exception;
+  }
+}
@@ -0,0 +1,74 @@
+package de.thu.thutorium.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the latencies and errors of one scenario during a load test run.
+ *
+ * <p>Latencies are kept in microseconds so the percentiles are exact; a run of a few minutes
+ * records a few million values at most, which is small enough to sort once at the end.
+ */
+class LatencyRecorder {
+  private final String name;
+  private final AtomicLong errors = new AtomicLong();
+  private long[] latencies = new long[1024];
+  private int count;
+
+  LatencyRecorder(String name) {
+    this.name = name;
+  }
+
+  /**
+   * Records a successful request.
+   *
+   * @param startNanos the {@link System#nanoTime()} when the request was sent
+   */
+  synchronized void success(long startNanos) {
+    if (count == latencies.length) {
+      latencies = Arrays.copyOf(latencies, count * 2);
+    }
+    latencies[count++] = (System.nanoTime() - startNanos) / 1_000;
+  }
+
+  /** Records a failed request. */
+  void error() {
+    errors.incrementAndGet();
+  }
+
+  /** Returns the header matching the lines of {@link #summary(double)}. */
+  static String header() {
+    return String.format(
+        "%-16s %10s %8s %10s %10s %10s %10s %10s",
+        "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+  }
+
+  /**
+   * Summarises the recorded requests.
+   *
+   * @param seconds the length of the measurement, for the throughput; {@code 0} to leave it out
+   * @return one line with count, errors, throughput and latency percentiles
+   */
+  synchronized String summary(double seconds) {
+    long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    return String.format(
+        "%-16s %10d %8d %10s %10.2f %10.2f %10.2f %10.2f",
+        name,
+        count,
+        errors.get(),
+        seconds > 0 ? String.format("%.1f", count / seconds) : "-",
+        percentile(sorted, 0.50),
+        percentile(sorted, 0.90),
+        percentile(sorted, 0.99),
+        percentile(sorted, 1.0));
+  }
+
+  private static double percentile(long[] sorted, double quantile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(quantile * sorted.length) - 1;
+    return sorted[Math.max(index, 0)] / 1_000.0;
+  }
+}
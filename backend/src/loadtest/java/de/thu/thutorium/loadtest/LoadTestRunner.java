@@ -0,0 +1,148 @@
+package de.thu.thutorium.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives a closed-loop load test against a running backend that was started with the {@code
+ * loadtest} profile, i.e. on the dataset of {@code SyntheticDataGenerator}.
+ *
+ * <p>Each of {@code loadtest.concurrency} virtual users logs in as a different generated user and
+ * then runs the configured scenarios in turn, without think time, until the run is over. Requests
+ * during the warm-up are not recorded. At the end, throughput and latency percentiles are printed
+ * per scenario. Scenarios: {@code search}, {@code chat-summaries}, {@code meetings} and {@code
+ * send-message} (a STOMP message, measured until it is delivered back to the sender).
+ *
+ * <p>Run with {@code mvn -Ploadtest test-compile exec:java [-Dloadtest.concurrency=100 ...]}; all
+ * settings are system properties, see {@link #main(String[])}.
+ */
+public final class LoadTestRunner {
+
+  private LoadTestRunner() { }
+
+  /**
+   * Runs the load test.
+   *
+   * @param args unused; settings are read from the system properties {@code loadtest.base-url},
+   *     {@code loadtest.users}, {@code loadtest.concurrency}, {@code loadtest.warmup-seconds},
+   *     {@code loadtest.duration-seconds}, {@code loadtest.scenarios} and {@code loadtest.password}
+   * @throws Exception if the virtual users cannot be set up
+   */
+  public static void main(String[] args) throws Exception {
+    String baseUrl = System.getProperty("loadtest.base-url", "http://localhost:8080");
+    int users = Integer.getInteger("loadtest.users", 100000);
+    int concurrency = Integer.getInteger("loadtest.concurrency", 50);
+    int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+    List<String> scenarios =
+        Arrays.asList(System.getProperty("loadtest.scenarios", "search,chat-summaries,meetings,send-message").split(","));
+    String password = System.getProperty("loadtest.password", "loadtest");
+
+    Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    recorders.put("login", new LatencyRecorder("login"));
+    for (String scenario : scenarios) {
+      recorders.put(scenario, new LatencyRecorder(scenario));
+    }
+
+    ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    WebSocketStompClient stompClient =
+        new WebSocketStompClient(new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+    stompClient.setMessageConverter(VirtualUser.messageConverter(objectMapper));
+
+    System.out.printf(
+        "Load test against %s: %d virtual users, %d s warm-up, %d s measurement, scenarios %s%n",
+        baseUrl, concurrency, warmupSeconds, durationSeconds, scenarios);
+    long measureFrom = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds);
+    long measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+    ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+    List<Future<?>> runs = new ArrayList<>();
+    for (int i = 0; i < concurrency; i++) {
+      // Spread the virtual users over the whole dataset rather than the first few accounts
+      String email = "user" + (1 + (long) i * users / concurrency) + "@loadtest.thu.de";
+      runs.add(
+          executor.submit(
+              () -> {
+                long start = System.nanoTime();
+                try (VirtualUser user = VirtualUser.login(baseUrl, httpClient, objectMapper, email, password)) {
+                  recorders.get("login").success(start);
+                  runScenarios(user, stompClient, scenarios, recorders, measureFrom, measureUntil);
+                } catch (Exception e) {
+                  recorders.get("login").error();
+                  System.err.println(e.getMessage());
+                }
+                return null;
+              }));
+    }
+    for (Future<?> run : runs) {
+      run.get();
+    }
+    executor.shutdown();
+    stompClient.stop();
+
+    System.out.println(LatencyRecorder.header());
+    for (Map.Entry<String, LatencyRecorder> recorder : recorders.entrySet()) {
+      // Logins all happen at the start, so their throughput is not meaningful
+      int seconds = recorder.getKey().equals("login") ? 0 : durationSeconds;
+      System.out.println(recorder.getValue().summary(seconds));
+    }
+  }
+
+  private static void runScenarios(
+      VirtualUser user,
+      WebSocketStompClient stompClient,
+      List<String> scenarios,
+      Map<String, LatencyRecorder> recorders,
+      long measureFrom,
+      long measureUntil) {
+    for (int i = 0; System.nanoTime() < measureUntil; i++) {
+      String scenario = scenarios.get(i % scenarios.size());
+      long start = System.nanoTime();
+      boolean measured = start >= measureFrom;
+      try {
+        boolean done =
+            switch (scenario) {
+              case "search" -> {
+                user.search();
+                yield true;
+              }
+              case "chat-summaries" -> {
+                user.chatSummaries();
+                yield true;
+              }
+              case "meetings" -> {
+                user.meetings();
+                yield true;
+              }
+              case "send-message" -> user.sendMessage(stompClient);
+              default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+            };
+        if (done && measured) {
+          recorders.get(scenario).success(start);
+        }
+      } catch (IllegalArgumentException e) {
+        throw e;
+      } catch (Exception e) {
+        if (measured) {
+          recorders.get(scenario).error();
+        }
+      }
+    }
+  }
+}
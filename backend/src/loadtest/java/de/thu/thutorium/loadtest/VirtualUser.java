@@ -0,0 +1,235 @@
+package de.thu.thutorium.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * One simulated user: a logged-in generated account that issues the requests of the scenarios over
+ * HTTP and, for chat messages, over its own STOMP session.
+ */
+class VirtualUser implements AutoCloseable {
+  private static final Duration TIMEOUT = Duration.ofSeconds(10);
+  /** Logins of all virtual users arrive at once and queue for the password check. */
+  private static final Duration LOGIN_TIMEOUT = Duration.ofSeconds(60);
+  private static final String[] SEARCH_TERMS = {
+    "Analysis", "Databases", "Statistics", "Algorithms", "Physics", "Marketing", "Klara", "Jonas"
+  };
+
+  private final String baseUrl;
+  private final HttpClient httpClient;
+  private final ObjectMapper objectMapper;
+  private final String token;
+  private final long userId;
+  private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+  private JsonNode chat;
+  private StompSession stompSession;
+  private int requests;
+
+  private VirtualUser(String baseUrl, HttpClient httpClient, ObjectMapper objectMapper, String token) {
+    this.baseUrl = baseUrl;
+    this.httpClient = httpClient;
+    this.objectMapper = objectMapper;
+    this.token = token;
+    this.userId = readUserId(objectMapper, token);
+  }
+
+  /**
+   * Logs a generated user in.
+   *
+   * @param baseUrl the base URL of the backend
+   * @param httpClient the shared HTTP client
+   * @param objectMapper the shared object mapper
+   * @param email the email of the user
+   * @param password the password of the user
+   * @return the logged-in user
+   * @throws IOException if the login fails
+   * @throws InterruptedException if interrupted while waiting for the response
+   */
+  static VirtualUser login(
+      String baseUrl, HttpClient httpClient, ObjectMapper objectMapper, String email, String password)
+      throws IOException, InterruptedException {
+    String body = objectMapper.writeValueAsString(Map.of("email", email, "password", password));
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+            .timeout(LOGIN_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException("Login of " + email + " failed with status " + response.statusCode());
+    }
+    String token = objectMapper.readTree(response.body()).path("token").asText();
+    return new VirtualUser(baseUrl, httpClient, objectMapper, token);
+  }
+
+  /** Searches courses and tutors by one of a few common terms. */
+  void search() throws IOException, InterruptedException {
+    String term = SEARCH_TERMS[requests++ % SEARCH_TERMS.length];
+    get("/search?courseName=" + term + "&tutorName=" + term);
+  }
+
+  /** Loads the chat list of the user, as the chat page does on every visit. */
+  void chatSummaries() throws IOException, InterruptedException {
+    JsonNode summaries = objectMapper.readTree(get("/get-chat-summaries?userId=" + userId));
+    if (chat == null && summaries.isArray() && !summaries.isEmpty()) {
+      chat = summaries.get(0);
+    }
+  }
+
+  /** Loads the meetings of the user. */
+  void meetings() throws IOException, InterruptedException {
+    get("/user/get-meetings/" + userId);
+  }
+
+  /**
+   * Books a seat in a meeting.
+   *
+   * @return the status code of the response: 201 if booked, 202 if put on the waitlist
+   */
+  int bookMeeting(long meetingId) throws IOException, InterruptedException {
+    return send("POST", "/user/meetings/book/" + meetingId);
+  }
+
+  /**
+   * Cancels the booking of a meeting or leaves its waitlist.
+   *
+   * @return the status code of the response, 204 if cancelled
+   */
+  int cancelMeeting(long meetingId) throws IOException, InterruptedException {
+    return send("DELETE", "/user/meetings/cancel/" + meetingId);
+  }
+
+  long userId() {
+    return userId;
+  }
+
+  /**
+   * Sends a chat message over STOMP and waits until the backend delivers it back to the sender.
+   *
+   * @return {@code false} if the user has no chat to write to
+   */
+  boolean sendMessage(WebSocketStompClient stompClient) throws Exception {
+    if (chat == null) {
+      chatSummaries();
+      if (chat == null) {
+        return false;
+      }
+    }
+    if (stompSession == null) {
+      stompSession = connect(stompClient);
+    }
+    String content = "Load test " + UUID.randomUUID();
+    stompSession.send(
+        "/app/sendMessage",
+        Map.of(
+            "chatId", chat.path("chatId").asLong(),
+            "senderId", userId,
+            "receiverId", chat.path("receiver").path("id").asLong(),
+            "messageContent", content));
+    long deadline = System.nanoTime() + TIMEOUT.toNanos();
+    String echo;
+    do {
+      echo = received.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+      if (echo == null) {
+        throw new TimeoutException("No echo of the message within " + TIMEOUT);
+      }
+    } while (!echo.equals(content));
+    return true;
+  }
+
+  private StompSession connect(WebSocketStompClient stompClient) throws Exception {
+    StompHeaders connectHeaders = new StompHeaders();
+    connectHeaders.add("Authorization", "Bearer " + token);
+    StompSession session =
+        stompClient
+            .connectAsync(
+                baseUrl + "/chat", new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() { })
+            .get(TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+    session.subscribe(
+        "/user/queue/messages",
+        new StompFrameHandler() {
+          @Override
+          public Type getPayloadType(StompHeaders headers) {
+            return JsonNode.class;
+          }
+
+          @Override
+          public void handleFrame(StompHeaders headers, Object payload) {
+            received.offer(((JsonNode) payload).path("messageContent").asText());
+          }
+        });
+    return session;
+  }
+
+  private String get(String path) throws IOException, InterruptedException {
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(TIMEOUT)
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+    HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException("GET " + path + " failed with status " + response.statusCode());
+    }
+    return response.body();
+  }
+
+  private int send(String method, String path) throws IOException, InterruptedException {
+    HttpRequest request =
+        HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(TIMEOUT)
+            .header("Authorization", "Bearer " + token)
+            .method(method, HttpRequest.BodyPublishers.noBody())
+            .build();
+    return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+  }
+
+  /** Reads the user id from the payload of the token, as the frontend does. */
+  private static long readUserId(ObjectMapper objectMapper, String token) {
+    try {
+      byte[] payload = Base64.getUrlDecoder().decode(token.split("\\.")[1]);
+      return objectMapper.readTree(new String(payload, StandardCharsets.UTF_8)).path("id").asLong();
+    } catch (IOException | RuntimeException e) {
+      throw new IllegalStateException("Login returned an unreadable token", e);
+    }
+  }
+
+  /** Creates the message converter for STOMP payloads. */
+  static MappingJackson2MessageConverter messageConverter(ObjectMapper objectMapper) {
+    MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+    converter.setObjectMapper(objectMapper);
+    return converter;
+  }
+
+  @Override
+  public void close() {
+    if (stompSession != null && stompSession.isConnected()) {
+      stompSession.disconnect();
+    }
+  }
+}
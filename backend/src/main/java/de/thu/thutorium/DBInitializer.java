@@ -43,6 +43,30 @@ public class DBInitializer {
 
     // Add database constraints if not already present
     addDatabaseConstraints();
+
+    // Add the indexes backing the tutor and course search
+    addSearchIndexes();
+
+    // Allow each student at most one seat per meeting; must run before the calendar indexes
+    addParticipationKey();
+
+    // Add the indexes backing the calendar queries on meetings
+    addCalendarIndexes();
+
+    // Add the index backing unread message counts and bulk read updates
+    addMessageIndexes();
+
+    // Add the index backing the enrollment check of meeting bookings
+    addEnrollmentIndexes();
+
+    // Fill in rating aggregates for rows created before they were persisted
+    backfillRatingAggregates();
+
+    // Start the rating aggregates of new rows at zero; Hibernate does not write them
+    addRatingAggregateDefaults();
+
+    // Fill in booked seat counts for meetings created before they were persisted
+    backfillBookedSeats();
   }
 
   /** Initializes roles in the database if they don't already exist. @Author Jossin Anthony */
@@ -126,4 +150,203 @@ public class DBInitializer {
       e.getMessage();
     }
   }
+
+  /**
+   * Creates the trigram indexes used by the tutor and course search.
+   *
+   * <p>The search matches case-insensitive substrings of tutor names (in both name orders) and
+   * course names. A plain B-tree index cannot serve a {@code LIKE '%term%'} predicate, so the
+   * {@code pg_trgm} extension is enabled and GIN indexes are built on the lower-cased expressions
+   * that the queries in {@code UserRepository} and {@code CourseRepository} use.
+   *
+   * <p>The keyset-paginated searches order by the lower-cased name and the ID. B-tree indexes on
+   * exactly these keys let a page be read in index order from the cursor onwards, stopping after
+   * the requested number of rows, instead of sorting every matching row.
+   */
+  private void addSearchIndexes() {
+    try {
+      jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_user_account_first_last_trgm ON user_account "
+              + "USING gin (lower(first_name || ' ' || last_name) gin_trgm_ops)");
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_user_account_last_first_trgm ON user_account "
+              + "USING gin (lower(last_name || ' ' || first_name) gin_trgm_ops)");
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_course_name_trgm ON course "
+              + "USING gin (lower(course_name) gin_trgm_ops)");
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_user_account_name_keyset ON user_account "
+              + "(lower(first_name || ' ' || last_name), user_id)");
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_course_name_keyset ON course (lower(course_name), course_id)");
+
+      log.info("Search indexes added successfully.");
+    } catch (Exception e) {
+      log.error("Error adding search indexes: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Creates the indexes used by the calendar query in {@code MeetingRepository}.
+   *
+   * <p>The calendar looks up the meetings of a user, as tutor or participant, whose {@code
+   * time_range} overlaps the visible window. The tutor side is served by the GiST index of the
+   * {@code no_tutor_overlapping_meetings} constraint; the participant side needs the unique index
+   * on the join table by student from {@link #addParticipationKey()} and a GiST index on {@code
+   * time_range}. The column is recreated in {@link #addDatabaseConstraints()}, so this must run
+   * after it.
+   */
+  private void addCalendarIndexes() {
+    try {
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_meeting_time_range_gist ON meeting USING gist (time_range)");
+      // Superseded by the unique index of the participation key
+      jdbcTemplate.execute("DROP INDEX IF EXISTS idx_students_meetings_student");
+
+      log.info("Calendar indexes added successfully.");
+    } catch (Exception e) {
+      log.error("Error adding calendar indexes: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Adds a unique index on the student and meeting of each participation.
+   *
+   * <p>A second row for the same student and meeting would hold a second seat. Duplicates left by
+   * earlier versions, which could promote a booked student from the waitlist once more, are
+   * deleted first, and the seats they held are given back.
+   */
+  private void addParticipationKey() {
+    try {
+      int duplicates =
+          jdbcTemplate.update(
+              "WITH removed AS (DELETE FROM students_meetings a USING students_meetings b "
+                  + "WHERE a.student_id = b.student_id AND a.meeting_id = b.meeting_id AND a.ctid > b.ctid "
+                  + "RETURNING a.meeting_id) "
+                  + "UPDATE meeting m SET booked_seats = GREATEST(m.booked_seats - r.seats, 0) "
+                  + "FROM (SELECT meeting_id, count(*) AS seats FROM removed GROUP BY meeting_id) r "
+                  + "WHERE m.meeting_id = r.meeting_id AND m.booked_seats IS NOT NULL");
+      if (duplicates > 0) {
+        log.info("Duplicate participations removed from " + duplicates + " meetings.");
+      }
+      jdbcTemplate.execute(
+          "CREATE UNIQUE INDEX IF NOT EXISTS uq_students_meetings_student_meeting "
+              + "ON students_meetings (student_id, meeting_id)");
+
+      log.info("Participation key added successfully.");
+    } catch (Exception e) {
+      log.error("Error adding participation key: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Adds a partial index over the unread messages of each chat and receiver.
+   *
+   * <p>Unread counts in the chat summaries and the bulk update marking a chat as read both filter
+   * on chat, receiver and {@code is_read = false}. Only unread messages are indexed, so the index
+   * stays small however long the chat histories grow. JPA cannot declare partial indexes, hence it
+   * is created here.
+   */
+  private void addMessageIndexes() {
+    try {
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_message_unread ON message (chat_id, receiver_id) "
+              + "WHERE is_read = false");
+
+      log.info("Message indexes added successfully.");
+    } catch (Exception e) {
+      log.error("Error adding message indexes: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Adds an index on the enrollments by student and course.
+   *
+   * <p>Booking a meeting checks that the student is enrolled in its course. The join table has no
+   * primary key, so without this index the check scans all enrollments.
+   */
+  private void addEnrollmentIndexes() {
+    try {
+      jdbcTemplate.execute(
+          "CREATE INDEX IF NOT EXISTS idx_course_students_student "
+              + "ON course_students (student_id, course_id)");
+
+      log.info("Enrollment indexes added successfully.");
+    } catch (Exception e) {
+      log.error("Error adding enrollment indexes: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Computes the persisted rating aggregates of tutors and courses that have none yet.
+   *
+   * <p>The aggregates are maintained incrementally when a rating is saved. Rows that existed before
+   * the aggregate columns were added start out with {@code NULL}s and are filled in here from the
+   * rating tables; rows that already carry aggregates are left untouched.
+   */
+  private void backfillRatingAggregates() {
+    try {
+      int tutors =
+          jdbcTemplate.update(
+              "UPDATE user_account u SET "
+                  + "rating_count = (SELECT count(*) FROM rating_tutor r WHERE r.tutor_id = u.user_id), "
+                  + "rating_sum = (SELECT COALESCE(sum(r.points), 0) FROM rating_tutor r WHERE r.tutor_id = u.user_id), "
+                  + "average_rating = (SELECT COALESCE(avg(r.points), 0) FROM rating_tutor r WHERE r.tutor_id = u.user_id) "
+                  + "WHERE u.rating_count IS NULL OR u.rating_sum IS NULL OR u.average_rating IS NULL");
+      int courses =
+          jdbcTemplate.update(
+              "UPDATE course c SET "
+                  + "rating_count = (SELECT count(*) FROM rating_course r WHERE r.course_id = c.course_id), "
+                  + "rating_sum = (SELECT COALESCE(sum(r.points), 0) FROM rating_course r WHERE r.course_id = c.course_id), "
+                  + "average_rating = (SELECT COALESCE(avg(r.points), 0) FROM rating_course r WHERE r.course_id = c.course_id) "
+                  + "WHERE c.rating_count IS NULL OR c.rating_sum IS NULL OR c.average_rating IS NULL");
+      if (tutors > 0 || courses > 0) {
+        log.info("Rating aggregates backfilled for " + tutors + " users and " + courses + " courses.");
+      }
+    } catch (Exception e) {
+      log.error("Error backfilling rating aggregates: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Sets zero as the column default of the rating aggregates of users and courses.
+   *
+   * <p>The aggregate columns are mapped read-only, so rows inserted through Hibernate take their
+   * initial values from these defaults.
+   */
+  private void addRatingAggregateDefaults() {
+    try {
+      for (String table : new String[] {"user_account", "course"}) {
+        jdbcTemplate.execute(
+            "ALTER TABLE " + table + " ALTER COLUMN rating_count SET DEFAULT 0, "
+                + "ALTER COLUMN rating_sum SET DEFAULT 0, ALTER COLUMN average_rating SET DEFAULT 0");
+      }
+    } catch (Exception e) {
+      log.error("Error adding rating aggregate defaults: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Counts the booked seats of meetings that have no count yet.
+   *
+   * <p>The count is maintained by the conditional seat updates when a meeting is booked or
+   * cancelled. Meetings that existed before the column was added start out with {@code NULL} and
+   * are counted here from their participants.
+   */
+  private void backfillBookedSeats() {
+    try {
+      int meetings =
+          jdbcTemplate.update(
+              "UPDATE meeting m SET booked_seats = "
+                  + "(SELECT count(*) FROM students_meetings sm WHERE sm.meeting_id = m.meeting_id) "
+                  + "WHERE m.booked_seats IS NULL");
+      if (meetings > 0) {
+        log.info("Booked seats backfilled for " + meetings + " meetings.");
+      }
+    } catch (Exception e) {
+      log.error("Error backfilling booked seats: " + e.getMessage());
+    }
+  }
 }
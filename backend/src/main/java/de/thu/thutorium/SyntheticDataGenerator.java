@@ -0,0 +1,301 @@
+package de.thu.thutorium;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Fills the database with a synthetic, production-sized dataset for load tests. Only active with
+ * the {@code loadtest} profile.
+ *
+ * <p>Users, roles, affiliations, courses, categories, enrolments, meetings, chats and messages are
+ * generated set-based with {@code generate_series}, so even a million messages take seconds
+ * rather than minutes. All generated users share the email domain {@value #EMAIL_DOMAIN} and the
+ * password {@code loadtest.data.password}; user {@code n} has the email {@code
+ * user<n>@loadtest.thu.de} and every {@code loadtest.data.tutor-every}-th user is a tutor. The
+ * generator runs once before the application is ready, so the in-memory search index is built
+ * over the generated data, and does nothing if generated users already exist.
+ */
+@Component
+@Profile("loadtest")
+@RequiredArgsConstructor
+@Slf4j
+public class SyntheticDataGenerator implements ApplicationRunner {
+  static final String EMAIL_DOMAIN = "loadtest.thu.de";
+
+  /** Generated users with their sequence number {@code n}, parsed from the email. */
+  private static final String GENERATED_USERS =
+      "SELECT user_id, substring(email_address FROM '^user([0-9]+)@')::int AS n FROM user_account "
+          + "WHERE email_address LIKE '%@" + EMAIL_DOMAIN + "'";
+
+  /** Generated courses, numbered per tutor ({@code j}) and overall ({@code r}). */
+  private static final String GENERATED_COURSES =
+      "SELECT c.course_id, c.tutor_id, "
+          + "row_number() OVER (PARTITION BY c.tutor_id ORDER BY c.course_id) AS j, "
+          + "row_number() OVER (ORDER BY c.course_id) AS r "
+          + "FROM course c JOIN user_account u ON u.user_id = c.tutor_id "
+          + "WHERE u.email_address LIKE '%@" + EMAIL_DOMAIN + "'";
+
+  private static final String FIRST_NAMES =
+      "ARRAY['Anna','Ben','Clara','David','Eva','Felix','Greta','Hannes','Ida','Jonas','Klara','Lukas',"
+          + "'Mia','Noah','Olivia','Paul','Rosa','Samuel','Tilda','Valentin']";
+
+  private static final String LAST_NAMES =
+      "ARRAY['Müller','Schmidt','Schneider','Fischer','Weber','Meyer','Wagner','Becker','Schulz','Hoffmann',"
+          + "'Koch','Richter','Klein','Wolf','Schröder','Neumann','Schwarz','Braun','Zimmermann','Krüger',"
+          + "'Hartmann','Lange','Werner','Krause','Lehmann']";
+
+  private static final String SUBJECTS =
+      "ARRAY['Analysis','Linear Algebra','Statistics','Databases','Computer Networks','Operating Systems',"
+          + "'Software Engineering','Algorithms','Thermodynamics','Electrical Engineering','Business Administration',"
+          + "'Accounting','Marketing','Machine Learning','Physics','Chemistry']";
+
+  private static final String MESSAGES =
+      "ARRAY['Hi, do you have time for a session this week?','Sure, how about Thursday at 4 pm?',"
+          + "'Could you explain exercise 3 again?','I uploaded my solution, please have a look.',"
+          + "'Thanks, that helped a lot!','Can we move our meeting to next week?',"
+          + "'Do we cover the whole chapter for the exam?','See you tomorrow!']";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final PlatformTransactionManager transactionManager;
+  private final PasswordEncoder passwordEncoder;
+
+  @Value("${loadtest.data.users:100000}")
+  private int users;
+
+  @Value("${loadtest.data.tutor-every:10}")
+  private int tutorEvery;
+
+  @Value("${loadtest.data.courses-per-tutor:3}")
+  private int coursesPerTutor;
+
+  @Value("${loadtest.data.categories:50}")
+  private int categories;
+
+  @Value("${loadtest.data.enrolments-per-student:3}")
+  private int enrolmentsPerStudent;
+
+  @Value("${loadtest.data.meetings-per-course:4}")
+  private int meetingsPerCourse;
+
+  @Value("${loadtest.data.participants-per-meeting:5}")
+  private int participantsPerMeeting;
+
+  @Value("${loadtest.data.chats:50000}")
+  private int chats;
+
+  @Value("${loadtest.data.messages:1000000}")
+  private int messages;
+
+  @Value("${loadtest.data.password:loadtest}")
+  private String password;
+
+  /**
+   * Generates the dataset unless generated users already exist.
+   *
+   * @param args the application arguments, unused
+   */
+  @Override
+  public void run(ApplicationArguments args) {
+    Integer existing =
+        jdbcTemplate.queryForObject(
+            "SELECT count(*) FROM user_account WHERE email_address LIKE '%@" + EMAIL_DOMAIN + "'",
+            Integer.class);
+    if (existing != null && existing > 0) {
+      log.info("Load test data present (" + existing + " users), skipping generation.");
+      return;
+    }
+    if (tutorEvery < 2 || users < tutorEvery) {
+      throw new IllegalArgumentException("loadtest.data.users must be at least loadtest.data.tutor-every >= 2");
+    }
+    if (coursesPerTutor * meetingsPerCourse > 360) {
+      throw new IllegalArgumentException("A tutor can hold at most 360 generated meetings (one per day)");
+    }
+    long start = System.currentTimeMillis();
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> generate());
+    jdbcTemplate.execute("ANALYZE");
+    log.info("Generated load test data in " + (System.currentTimeMillis() - start) + " ms.");
+  }
+
+  private void generate() {
+    step("universities and affiliations", this::generateAffiliations);
+    step("users", this::generateUsers);
+    step("user roles", this::generateRoles);
+    step("courses", this::generateCourses);
+    step("categories", this::generateCategories);
+    step("enrolments", this::generateEnrolments);
+    step("meetings", this::generateMeetings);
+    step("chats", this::generateChats);
+    step("messages", this::generateMessages);
+  }
+
+  private void step(String name, IntSupplier step) {
+    long start = System.currentTimeMillis();
+    int rows = step.getAsInt();
+    log.info("Generated " + rows + " rows of " + name + " in " + (System.currentTimeMillis() - start) + " ms.");
+  }
+
+  private int generateAffiliations() {
+    int rows =
+        jdbcTemplate.update(
+            "INSERT INTO university (university_name) "
+                + "SELECT 'Load Test University ' || g FROM generate_series(1, 5) AS g");
+    return rows
+        + jdbcTemplate.update(
+            "INSERT INTO affiliation (affiliation_type, university) "
+                + "SELECT t.type, u.university_id FROM university u "
+                + "CROSS JOIN (VALUES ('STUDENT'), ('PROFESSOR')) AS t(type) "
+                + "WHERE u.university_name LIKE 'Load Test University %'");
+  }
+
+  private int generateUsers() {
+    return jdbcTemplate.update(
+        "INSERT INTO user_account (first_name, last_name, email_address, hashed_password, user_description, "
+            + "created_at, is_verified, enabled, rating_count, rating_sum, average_rating, affiliation_id) "
+            + "SELECT (" + FIRST_NAMES + ")[1 + i % 20], (" + LAST_NAMES + ")[1 + (i / 20) % 25], "
+            + "'user' || i || '@" + EMAIL_DOMAIN + "', ?, "
+            + "CASE WHEN i % ? = 0 THEN 'Experienced tutor, happy to help you prepare for your exams.' END, "
+            + "now() - (i % 1000) * interval '1 hour', true, true, 0, 0, 0, "
+            + "(SELECT a.affiliation_id FROM affiliation a JOIN university u ON u.university_id = a.university "
+            + "WHERE u.university_name = 'Load Test University ' || (1 + i % 5) "
+            + "AND a.affiliation_type = CASE WHEN i % ? = 0 THEN 'PROFESSOR' ELSE 'STUDENT' END) "
+            + "FROM generate_series(1, ?) AS i",
+        passwordEncoder.encode(password),
+        tutorEvery,
+        tutorEvery,
+        users);
+  }
+
+  private int generateRoles() {
+    return jdbcTemplate.update(
+        "INSERT INTO user_roles (user_id, role_id) "
+            + "SELECT u.user_id, r.role_id FROM (" + GENERATED_USERS + ") u "
+            + "JOIN roles r ON r.role_name = CASE WHEN u.n % ? = 0 THEN 'TUTOR' ELSE 'STUDENT' END",
+        tutorEvery);
+  }
+
+  private int generateCourses() {
+    return jdbcTemplate.update(
+        "INSERT INTO course (course_name, tutor_id, description_short, description_long, created_on, "
+            + "start_date, end_date, rating_count, rating_sum, average_rating) "
+            + "SELECT (" + SUBJECTS + ")[1 + (t.n / ? + c) % 16] || ' ' || (ARRAY['I','II','III'])[1 + c % 3] "
+            + "|| ' (Group ' || t.n || ')', t.user_id, 'Weekly exercises and exam preparation', "
+            + "'Each session covers one chapter of the lecture, followed by exercises and questions.', "
+            + "now() - c * interval '1 day', current_date, current_date + 120, 0, 0, 0 "
+            + "FROM (" + GENERATED_USERS + ") t CROSS JOIN generate_series(1, ?) AS c "
+            + "WHERE t.n % ? = 0",
+        tutorEvery,
+        coursesPerTutor,
+        tutorEvery);
+  }
+
+  private int generateCategories() {
+    int rows =
+        jdbcTemplate.update(
+            "INSERT INTO course_category (category_name, created_on) "
+                + "SELECT 'Load Test Category ' || g, now() FROM generate_series(1, ?) AS g "
+                + "ON CONFLICT DO NOTHING",
+            categories);
+    return rows
+        + jdbcTemplate.update(
+            "INSERT INTO courses_categories (category_id, course_id) "
+                + "SELECT k.category_id, c.course_id FROM (" + GENERATED_COURSES + ") c "
+                + "JOIN (SELECT category_id, row_number() OVER (ORDER BY category_id) AS r FROM course_category "
+                + "WHERE category_name LIKE 'Load Test Category %') k ON k.r = 1 + c.r % ?",
+            categories);
+  }
+
+  private int generateEnrolments() {
+    return jdbcTemplate.update(
+        "INSERT INTO course_students (student_id, course_id) "
+            + "SELECT DISTINCT s.user_id, c.course_id FROM (" + GENERATED_USERS + ") s "
+            + "CROSS JOIN generate_series(1, ?) AS e "
+            + "JOIN (" + GENERATED_COURSES + ") c "
+            + "ON c.r = 1 + (s.n * 7 + e * 131) % (SELECT count(*) FROM (" + GENERATED_COURSES + ") cc) "
+            + "WHERE s.n % ? <> 0",
+        enrolmentsPerStudent,
+        tutorEvery);
+  }
+
+  private int generateMeetings() {
+    // One meeting per tutor and day, so the tutor overlap constraint always holds
+    int rows =
+        jdbcTemplate.update(
+            "INSERT INTO meeting (created_by, course_id, meeting_start_time, meeting_end_time, meeting_type, meeting_link) "
+                + "SELECT c.tutor_id, c.course_id, "
+                + "current_date + (1 + (c.j - 1) * ? + (m - 1)) * interval '1 day' + interval '10 hours', "
+                + "current_date + (1 + (c.j - 1) * ? + (m - 1)) * interval '1 day' + interval '11 hours 30 minutes', "
+                + "'ONLINE', 'https://meet." + EMAIL_DOMAIN + "/' || c.course_id || '-' || m "
+                + "FROM (" + GENERATED_COURSES + ") c CROSS JOIN generate_series(1, ?) AS m",
+            meetingsPerCourse,
+            meetingsPerCourse,
+            meetingsPerCourse);
+    int participants =
+        jdbcTemplate.update(
+            "INSERT INTO students_meetings (student_id, meeting_id) "
+                + "SELECT DISTINCT s.user_id, mt.meeting_id FROM "
+                + "(SELECT meeting_id, row_number() OVER (ORDER BY meeting_id) AS r FROM meeting "
+                + "WHERE meeting_link LIKE 'https://meet." + EMAIL_DOMAIN + "/%') mt "
+                + "CROSS JOIN generate_series(1, ?) AS p "
+                + "JOIN (SELECT user_id, row_number() OVER (ORDER BY n) AS r FROM (" + GENERATED_USERS + ") g "
+                + "WHERE n % ? <> 0) s ON s.r = 1 + (mt.r * 13 + p * 7919) % ?",
+            participantsPerMeeting,
+            tutorEvery,
+            users - users / tutorEvery);
+    // Generated meetings have no capacity; only their seat count has to match the participants
+    jdbcTemplate.update(
+        "UPDATE meeting m SET booked_seats = "
+            + "(SELECT count(*) FROM students_meetings sm WHERE sm.meeting_id = m.meeting_id) "
+            + "WHERE m.meeting_link LIKE 'https://meet." + EMAIL_DOMAIN + "/%'");
+    return rows + participants;
+  }
+
+  private int generateChats() {
+    // Chat k is between the k-th student and a tutor; the title carries k for the joins below
+    int students = users - users / tutorEvery;
+    int tutors = users / tutorEvery;
+    String pairs =
+        "SELECT k, s.user_id AS student_id, t.user_id AS tutor_id FROM generate_series(1, ?) AS k "
+            + "JOIN (SELECT user_id, row_number() OVER (ORDER BY n) AS r FROM (" + GENERATED_USERS + ") g "
+            + "WHERE n % ? <> 0) s ON s.r = 1 + (k - 1) % ? "
+            + "JOIN (SELECT user_id, row_number() OVER (ORDER BY n) AS r FROM (" + GENERATED_USERS + ") g "
+            + "WHERE n % ? = 0) t ON t.r = 1 + ((k - 1) * 7) % ?";
+    int rows =
+        jdbcTemplate.update(
+            "INSERT INTO chat (creator_id, created_at, is_group, chat_title) "
+                + "SELECT p.student_id, now() - interval '30 days', false, 'Load test chat ' || p.k "
+                + "FROM (" + pairs + ") p",
+            chats, tutorEvery, students, tutorEvery, tutors);
+    return rows
+        + jdbcTemplate.update(
+            "INSERT INTO chat_participants (chat_id, user_id) "
+                + "SELECT c.chat_id, x.user_id FROM chat c "
+                + "JOIN (" + pairs + ") p ON c.chat_title = 'Load test chat ' || p.k "
+                + "CROSS JOIN LATERAL (VALUES (p.student_id), (p.tutor_id)) AS x(user_id)",
+            chats, tutorEvery, students, tutorEvery, tutors);
+  }
+
+  private int generateMessages() {
+    // Message i belongs to chat 1 + (i - 1) % chats; senders alternate and the last two per chat are unread
+    return jdbcTemplate.update(
+        "INSERT INTO message (chat_id, sender_id, receiver_id, message_content, send_at, is_read) "
+            + "SELECT c.chat_id, "
+            + "CASE WHEN ((i - 1) / ?) % 2 = 0 THEN c.creator_id ELSE o.user_id END, "
+            + "CASE WHEN ((i - 1) / ?) % 2 = 0 THEN o.user_id ELSE c.creator_id END, "
+            + "(" + MESSAGES + ")[1 + i % 8], now() - (? - i) * interval '10 seconds', i <= ? - 2 * ? "
+            + "FROM generate_series(1, ?) AS i "
+            + "JOIN chat c ON c.chat_title = 'Load test chat ' || (1 + (i - 1) % ?) "
+            + "JOIN chat_participants o ON o.chat_id = c.chat_id AND o.user_id <> c.creator_id",
+        chats, chats, messages, messages, chats, messages, chats);
+  }
+}
@@ -2,8 +2,10 @@ package de.thu.thutorium;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ThutoriumApplication {
 
 	public static void main(String[] args) {
@@ -1,6 +1,6 @@
 package de.thu.thutorium.Utility;
 
-import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.security.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -24,12 +24,26 @@ public class AuthUtil {
      * @throws AuthenticationException if the user is not authenticated
      */
     public static Long getAuthenticatedUserId() {
+        return getAuthenticatedUser().userId();
+    }
+
+    /**
+     * Retrieves the principal of the authenticated user from the security context.
+     *
+     * <p>
+     * The principal is built from the claims of the JWT, so reading it never queries the
+     * database or touches a managed entity.
+     *
+     * @return the authenticated user
+     * @throws AuthenticationException if the user is not authenticated
+     */
+    public static AuthenticatedUser getAuthenticatedUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
+        if (authentication == null || !authentication.isAuthenticated()
+                || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
             throw new AuthenticationException("User is not authenticated") {
             };
         }
-        UserDBO userDetails = (UserDBO) authentication.getPrincipal();
-        return userDetails.getUserId();
+        return user;
     }
 }
@@ -0,0 +1,65 @@
+package de.thu.thutorium.Utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Utility class for the opaque cursors used by keyset-paginated endpoints.
+ *
+ * <p>
+ * A cursor encodes the sort key and the ID of the last row of a page. The next
+ * page starts strictly after that pair, so pages stay stable while rows are
+ * inserted or deleted and no offset has to be skipped by the database.
+ */
+public final class CursorUtil {
+
+    /** The position before the first row, used when no cursor is given. */
+    public static final Cursor FIRST = new Cursor("", 0L);
+
+    private CursorUtil() {
+    }
+
+    /**
+     * The decoded position of a cursor.
+     *
+     * @param sortKey the sort key of the last row returned
+     * @param id      the ID of the last row returned, breaking ties between equal sort keys
+     */
+    public record Cursor(String sortKey, Long id) {
+    }
+
+    /**
+     * Encodes the position after the given row into an opaque, URL-safe cursor.
+     *
+     * @param sortKey the sort key of the row
+     * @param id      the ID of the row
+     * @return the encoded cursor
+     */
+    public static String encode(String sortKey, Long id) {
+        String raw = id + ":" + sortKey;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor produced by {@link #encode(String, Long)}.
+     *
+     * @param cursor the cursor, or {@code null} / blank for the first page
+     * @return the decoded position, or {@link #FIRST} if no cursor was given
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return FIRST;
+        }
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf(':');
+        if (separator < 1) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        try {
+            return new Cursor(raw.substring(separator + 1), Long.valueOf(raw.substring(0, separator)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -3,25 +3,83 @@ package de.thu.thutorium.Utility;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Entity listener trimming and lower-casing the string fields annotated with {@link Normalized}
+ * before an entity is inserted or updated.
+ *
+ * <p>The annotated fields of an entity class are looked up once, on the first write of that class,
+ * and kept as method handles in a {@link ClassValue}. A write then only invokes the handles,
+ * without scanning the fields or checking access reflectively again.
+ */
 public class DBPreProcess {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(String.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, String.class);
+
+    private static final ClassValue<NormalizedField[]> NORMALIZED_FIELDS =
+        new ClassValue<>() {
+            @Override
+            protected NormalizedField[] computeValue(Class<?> type) {
+                return findNormalizedFields(type);
+            }
+        };
+
+    /**
+     * Normalises the annotated string fields of an entity.
+     *
+     * @param entity the entity about to be inserted or updated
+     */
     @PrePersist
     @PreUpdate
     public void preprocessFields(Object entity) {
-        Field[] fields = entity.getClass().getDeclaredFields();
-        for (Field field : fields) {
-            if (field.getType().equals(String.class)) {
-                field.setAccessible(true);
+        for (NormalizedField field : NORMALIZED_FIELDS.get(entity.getClass())) {
+            try {
+                String value = (String) field.getter().invokeExact(entity);
+                if (value != null) {
+                    field.setter().invokeExact(entity, value.trim().toLowerCase());
+                }
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to process field: " + field.name(), e);
+            }
+        }
+    }
+
+    /** Collects the annotated fields of a class and its superclasses. */
+    private static NormalizedField[] findNormalizedFields(Class<?> type) {
+        List<NormalizedField> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            MethodHandles.Lookup lookup = null;
+            for (Field field : current.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(Normalized.class)) {
+                    continue;
+                }
+                if (field.getType() != String.class) {
+                    throw new IllegalStateException(
+                        "@Normalized field " + current.getName() + "." + field.getName() + " is not a String");
+                }
                 try {
-                    String value = (String) field.get(entity);
-                    if (value != null) {
-                        field.set(entity, value.trim().toLowerCase());
+                    if (lookup == null) {
+                        lookup = MethodHandles.privateLookupIn(current, MethodHandles.lookup());
                     }
+                    fields.add(
+                        new NormalizedField(
+                            field.getName(),
+                            lookup.unreflectGetter(field).asType(GETTER_TYPE),
+                            lookup.unreflectSetter(field).asType(SETTER_TYPE)));
                 } catch (IllegalAccessException e) {
-                    throw new RuntimeException("Failed to process field: " + field.getName(), e);
+                    throw new IllegalStateException("Cannot access field: " + field.getName(), e);
                 }
             }
         }
+        return fields.toArray(NormalizedField[]::new);
     }
+
+    /** The accessors of one annotated field, adapted to {@code Object} receivers. */
+    private record NormalizedField(String name, MethodHandle getter, MethodHandle setter) { }
 }
@@ -0,0 +1,19 @@
+package de.thu.thutorium.Utility;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code String} field of an entity whose value is trimmed and lower-cased before the
+ * entity is inserted or updated.
+ *
+ * <p>Takes effect only in entities registered with the {@link DBPreProcess} listener; string fields
+ * without the annotation are stored as they are.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface Normalized { }
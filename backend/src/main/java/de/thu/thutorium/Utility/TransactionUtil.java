@@ -0,0 +1,34 @@
+package de.thu.thutorium.Utility;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for work that must only happen once the database changes are visible.
+ */
+public class TransactionUtil {
+    /**
+     * Runs an action once the surrounding transaction has committed, or immediately when there is
+     * none.
+     *
+     * <p>
+     * Meant for in-memory state derived from the database, e.g. caches and indexes: updated before
+     * the commit, another request could read the old rows and restore the stale state, and a
+     * rollback would leave the state changed for rows that still exist. The action must not
+     * register further synchronizations, since those would never run.
+     *
+     * @param action the action to run
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package de.thu.thutorium.WebSocket;
+
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.security.AuthenticatedUser;
+import de.thu.thutorium.security.JwtService;
+import de.thu.thutorium.services.implementations.ChatMembershipCache;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Authenticates STOMP sessions with the JWT sent in the {@code Authorization} header of the
+ * {@code CONNECT} frame, and authorizes the frames sent afterwards.
+ *
+ * <p>The token is validated the same way as by the HTTP {@code JwtAuthenticationFilter}, from its
+ * claims and a check that its user still exists. On success a {@link StompPrincipal} is attached to the
+ * session, which is what user destinations are resolved against. Connections without a valid
+ * token are refused.
+ *
+ * <p>Without further checks the broker would deliver any {@code /topic} or {@code /queue}
+ * destination to whoever subscribes to it. Subscriptions are therefore limited to the session's own
+ * user destinations ({@code /user/...}) and to the topics of chats the user takes part in ({@code
+ * /topic/chat/{chatId}}). Messages may only be sent to the application ({@code /app/...}), never
+ * straight to the broker.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+  private static final String BEARER_PREFIX = "Bearer ";
+  private static final String USER_DESTINATION_PREFIX = "/user/";
+  private static final String APPLICATION_DESTINATION_PREFIX = "/app/";
+  private static final Pattern CHAT_TOPIC = Pattern.compile("/topic/chat/(\\d{1,18})");
+
+  private final JwtService jwtService;
+  private final UserRepository userRepository;
+  private final ChatMembershipCache chatMembershipCache;
+
+  @Override
+  public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+    StompHeaderAccessor accessor =
+        MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+    if (accessor == null || accessor.getCommand() == null) {
+      return message;
+    }
+    switch (accessor.getCommand()) {
+      case CONNECT -> {
+        String authHeader = accessor.getFirstNativeHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+          throw new MessageDeliveryException("Missing bearer token");
+        }
+        accessor.setUser(authenticate(authHeader.substring(BEARER_PREFIX.length())));
+      }
+      case SUBSCRIBE -> authorizeSubscription(accessor.getUser(), accessor.getDestination());
+      case SEND -> authorizeSend(accessor.getDestination());
+      default -> {
+        // Other frames do not address a destination
+      }
+    }
+    return message;
+  }
+
+  /**
+   * Rejects subscriptions to destinations the user of the session may not read.
+   *
+   * @param user the user of the session
+   * @param destination the destination subscribed to
+   */
+  private void authorizeSubscription(Principal user, String destination) {
+    if (!(user instanceof StompPrincipal principal)) {
+      throw new MessageDeliveryException("Not authenticated");
+    }
+    if (destination == null) {
+      throw new MessageDeliveryException("Missing destination");
+    }
+    if (destination.startsWith(USER_DESTINATION_PREFIX)) {
+      return;
+    }
+    Matcher chatTopic = CHAT_TOPIC.matcher(destination);
+    if (chatTopic.matches()
+        && chatMembershipCache
+            .participantsOf(Long.valueOf(chatTopic.group(1)))
+            .contains(principal.userId())) {
+      return;
+    }
+    throw new MessageDeliveryException("Subscription to " + destination + " is not allowed");
+  }
+
+  /**
+   * Rejects messages addressed to the broker instead of the application.
+   *
+   * @param destination the destination of the message
+   */
+  private void authorizeSend(String destination) {
+    if (destination == null || !destination.startsWith(APPLICATION_DESTINATION_PREFIX)) {
+      throw new MessageDeliveryException("Sending to " + destination + " is not allowed");
+    }
+  }
+
+  private StompPrincipal authenticate(String jwt) {
+    try {
+      AuthenticatedUser user = AuthenticatedUser.fromClaims(jwtService.parseClaims(jwt));
+      if (!userRepository.existsByUserIdAndEmail(user.userId(), user.email())) {
+        throw new MessageDeliveryException("Invalid token: unknown user");
+      }
+      return new StompPrincipal(user.userId());
+    } catch (JwtException | IllegalArgumentException e) {
+      throw new MessageDeliveryException("Invalid token: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package de.thu.thutorium.WebSocket;
+
+import java.security.Principal;
+
+/**
+ * The user behind an authenticated STOMP session.
+ *
+ * <p>The principal is named after the user ID, so user destinations such as {@code
+ * /user/queue/messages} can be addressed with the IDs carried by messages, without looking up
+ * e-mail addresses.
+ *
+ * @param userId the ID of the authenticated user
+ */
+public record StompPrincipal(Long userId) implements Principal {
+
+  @Override
+  public String getName() {
+    return String.valueOf(userId);
+  }
+}
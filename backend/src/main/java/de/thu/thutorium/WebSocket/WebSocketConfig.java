@@ -1,6 +1,10 @@
 package de.thu.thutorium.WebSocket;
 
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -9,24 +13,90 @@ import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
  * WebSocket configuration class for setting up WebSocket communication in the application. This
  * configuration enables WebSocket message brokers and defines endpoints for client-to-server and
  * server-to-client communication.
+ *
+ * <p>Sessions are authenticated on connect by the {@link StompAuthChannelInterceptor}, and chat
+ * messages are delivered to the participants through user destinations ({@code
+ * /user/queue/messages}) rather than broadcast to every client.
+ *
+ * <p>The broker is selected with {@code chat.broker.mode}. The default {@code simple} mode keeps
+ * all subscriptions in this instance and serves as the in-process stand-in for local development
+ * and tests. In {@code relay} mode subscriptions and messages are relayed to an external STOMP
+ * broker, and the connected users of every instance are shared over broker topics, so user
+ * destinations and presence work across any number of backend instances.
  */
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
+@Slf4j
 public class WebSocketConfig
     implements org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer {
+  /** Topic on which instances exchange their connected users in relay mode. */
+  private static final String USER_REGISTRY_BROADCAST = "/topic/simp-user-registry";
+
+  /** Topic on which instances forward messages for users connected to another instance. */
+  private static final String USER_DESTINATION_BROADCAST = "/topic/unresolved-user-destination";
+
+  private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+  @Value("${chat.broker.mode:simple}")
+  private String brokerMode;
+
+  @Value("${chat.broker.relay-host:localhost}")
+  private String relayHost;
+
+  @Value("${chat.broker.relay-port:61613}")
+  private int relayPort;
+
+  @Value("${chat.broker.login:guest}")
+  private String relayLogin;
+
+  @Value("${chat.broker.passcode:guest}")
+  private String relayPasscode;
+
   /**
-   * Configures the message broker for handling WebSocket communication. This method enables a
-   * simple message broker for broadcasting messages to subscribed clients and sets the prefix for
-   * application-specific routes.
+   * Configures the message broker for handling WebSocket communication. This method enables either
+   * the simple in-memory broker or the relay to an external broker for broadcast topics and
+   * per-user queues, and sets the prefixes for application-specific routes and user destinations.
    *
    * @param registry the message broker registry for configuring the message broker
+   * @throws IllegalStateException if {@code chat.broker.mode} is neither simple nor relay
    */
   @Override
   public void configureMessageBroker(MessageBrokerRegistry registry) {
-    // Enable a simple broker for handling message delivery to "/topic" destinations
-    registry.enableSimpleBroker("/topic"); // For broadcasting messages
+    if ("relay".equalsIgnoreCase(brokerMode)) {
+      // Relay "/topic" and "/queue" destinations to the external broker shared by all instances
+      registry
+          .enableStompBrokerRelay("/topic", "/queue")
+          .setRelayHost(relayHost)
+          .setRelayPort(relayPort)
+          .setClientLogin(relayLogin)
+          .setClientPasscode(relayPasscode)
+          .setSystemLogin(relayLogin)
+          .setSystemPasscode(relayPasscode)
+          .setUserRegistryBroadcast(USER_REGISTRY_BROADCAST)
+          .setUserDestinationBroadcast(USER_DESTINATION_BROADCAST);
+      log.info("Chat messages are relayed to the STOMP broker at {}:{}.", relayHost, relayPort);
+    } else if ("simple".equalsIgnoreCase(brokerMode)) {
+      // Enable a simple broker for handling message delivery to "/topic" and "/queue" destinations
+      registry.enableSimpleBroker("/topic", "/queue"); // For broadcasting and per-user messages
+    } else {
+      throw new IllegalStateException(
+          "Unknown chat.broker.mode '" + brokerMode + "', expected 'simple' or 'relay'");
+    }
     // Set the prefix for application-level routes (client-to-server messages)
     registry.setApplicationDestinationPrefixes("/app"); // Prefix for client-to-server communication
+    // Destinations under "/user" are resolved to the sessions of the addressed user
+    registry.setUserDestinationPrefix("/user");
+  }
+
+  /**
+   * Registers the interceptor authenticating STOMP sessions on the channel carrying client frames.
+   *
+   * @param registration the registration of the client inbound channel
+   */
+  @Override
+  public void configureClientInboundChannel(ChannelRegistration registration) {
+    registration.interceptors(stompAuthChannelInterceptor);
   }
 
   /**
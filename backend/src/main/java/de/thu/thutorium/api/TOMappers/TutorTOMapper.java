@@ -14,14 +14,15 @@ import org.mapstruct.Mapping;
  * type-safe and efficient.
  *
  * <p>The {@code uses} attribute specifies other mappers that will be used for mapping related
- * objects, including: {@link CourseTOMapper} for mapping courses associated with the tutor
+ * objects, including: {@link CourseTOMapper} for mapping courses associated with the tutor and
+ * {@link AffiliationTOMapper} for the tutor's affiliation and university name
  *
  * <p>Note: The {@code componentModel = "spring"} annotation indicates that MapStruct will generate
  * a Spring bean for this mapper, allowing it to be injected into Spring components or services.
  */
 @Mapper(
     componentModel = "spring",
-    uses = {CourseTOMapper.class})
+    uses = {CourseTOMapper.class, AffiliationTOMapper.class})
 public interface TutorTOMapper {
   /**
    * Converts a {@link UserDBO} (representing a tutor) to a {@link TutorTO}.
@@ -34,5 +35,16 @@ public interface TutorTOMapper {
       source = "tutorCourses") // Map Set<CourseDBO> to List<CourseDTO>
   TutorTO toDTO(UserDBO tutor);
 
+  /**
+   * Converts a {@link UserDBO} (representing a tutor) to a {@link TutorTO} without the tutor's
+   * courses. Used for search result pages, where loading and serialising every course of every
+   * tutor would dominate the response.
+   *
+   * @param tutor the {@code UserDBO} object representing the tutor to convert
+   * @return a {@code TutorTO} object with {@code tutorCourses} left empty
+   */
+  @Mapping(target = "tutorCourses", ignore = true)
+  TutorTO toSummaryDTO(UserDBO tutor);
+
   //  List<TutorTO> toDTOList(List<UserDBO> users);
 }
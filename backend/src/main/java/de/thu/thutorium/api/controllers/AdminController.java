@@ -2,6 +2,8 @@ package de.thu.thutorium.api.controllers;
 
 import de.thu.thutorium.api.transferObjects.common.AddressTO;
 import de.thu.thutorium.api.transferObjects.common.CourseCategoryTO;
+import de.thu.thutorium.api.transferObjects.common.DeletionJobTO;
+import de.thu.thutorium.database.ReferenceDataCache;
 import de.thu.thutorium.services.interfaces.*;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -19,6 +21,8 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.UUID;
+
 /**
  * AdminController provides REST API endpoints for managing administrative tasks such as creating
  * universities, addresses, and categories, as well as user and chat management.
@@ -50,6 +54,12 @@ public class AdminController {
 
   private final CategoryService categoryService;
 
+  /** Runs deletions of very large users and courses in the background. */
+  private final DeletionJobService deletionJobService;
+
+  /** Evicts cached reference data after it has been changed. */
+  private final ReferenceDataCache referenceDataCache;
+
   /**
    * Creates a new university and address. This endpoint accepts a {@link AddressTO} object in the
    * request body and creates a new university + address entity. The request body is validated using
@@ -86,6 +96,7 @@ public class AdminController {
   public ResponseEntity<?> createUniversityAndAddress(@Valid @RequestBody AddressTO address) {
     try {
       AddressTO created = addressService.createUniversityAndAddress(address);
+      referenceDataCache.evictUniversities();
       return ResponseEntity.status(HttpStatus.CREATED).body(created);
     } catch (EntityExistsException ex) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
@@ -127,7 +138,7 @@ public class AdminController {
     try {
       userService.deleteUser(id);
       return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
-    } catch (UsernameNotFoundException ex) {
+    } catch (UsernameNotFoundException | EntityNotFoundException ex) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     } catch (Exception ex) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -135,6 +146,112 @@ public class AdminController {
     }
   }
 
+  /**
+   * Deletes a user with a very large amount of data in the background.
+   *
+   * <p>The user's chat messages and the enrolments in their courses are removed in small chunks
+   * before the user is deleted like with {@link #deleteUser(Long)}. The returned job can be polled
+   * with {@link #getDeletionJob(UUID)}.
+   *
+   * @param id the ID of the user to be deleted.
+   * @return a {@link ResponseEntity} with the submitted {@link DeletionJobTO} and status {@link
+   *     HttpStatus#ACCEPTED}, or {@link HttpStatus#NOT_FOUND} if the user does not exist.
+   */
+  @Operation(
+      summary = "Admin deletes a user account in the background.",
+      description =
+          "Submits the deletion of a user account with a very large amount of data. High-volume rows"
+              + " are deleted in chunks, each committed on its own; poll the returned job for its state.",
+      tags = {"User Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "202",
+        description = "Deletion submitted",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DeletionJobTO.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "User not found.",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @PostMapping("deletion-jobs/users/{id}")
+  public ResponseEntity<?> submitUserDeletion(@PathVariable Long id) {
+    try {
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(deletionJobService.submitUserDeletion(id));
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+  }
+
+  /**
+   * Deletes a course with a very large number of enrolments in the background.
+   *
+   * @param id the ID of the course to be deleted.
+   * @return a {@link ResponseEntity} with the submitted {@link DeletionJobTO} and status {@link
+   *     HttpStatus#ACCEPTED}, or {@link HttpStatus#NOT_FOUND} if the course does not exist.
+   */
+  @Operation(
+      summary = "Admin deletes a course in the background.",
+      description =
+          "Submits the deletion of a course with a very large number of enrolments. The enrolments are"
+              + " deleted in chunks, each committed on its own; poll the returned job for its state.",
+      tags = {"Course Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "202",
+        description = "Deletion submitted",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DeletionJobTO.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Course not found.",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @PostMapping("deletion-jobs/courses/{id}")
+  public ResponseEntity<?> submitCourseDeletion(@PathVariable Long id) {
+    try {
+      return ResponseEntity.status(HttpStatus.ACCEPTED).body(deletionJobService.submitCourseDeletion(id));
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    }
+  }
+
+  /**
+   * Returns the state of a background deletion.
+   *
+   * @param jobId the ID of the job.
+   * @return a {@link ResponseEntity} with the {@link DeletionJobTO}, or {@link
+   *     HttpStatus#NOT_FOUND} if the job is unknown or has expired.
+   */
+  @Operation(
+      summary = "Get the state of a background deletion.",
+      description = "Returns the state of a deletion job until a while after it has finished.",
+      tags = {"User Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Job found",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = DeletionJobTO.class))),
+    @ApiResponse(responseCode = "404", description = "Job unknown or expired.")
+  })
+  @GetMapping("deletion-jobs/{jobId}")
+  public ResponseEntity<DeletionJobTO> getDeletionJob(@PathVariable UUID jobId) {
+    return ResponseEntity.of(deletionJobService.getJob(jobId));
+  }
+
   /**
    * Creates a new course category. This endpoint accepts a {@link CourseCategoryTO} object in the
    * request body and creates a new course category. The request body is validated using the {@link
@@ -173,6 +290,7 @@ public class AdminController {
       @Valid @RequestBody CourseCategoryTO courseCategory) {
     try {
       CourseCategoryTO created = categoryService.createCourseCategory(courseCategory);
+      referenceDataCache.evictCategories();
       return ResponseEntity.status(HttpStatus.CREATED).body(created);
     } catch (EntityExistsException ex) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
@@ -223,6 +341,7 @@ public class AdminController {
     try {
       CourseCategoryTO updated =
           categoryService.updateCourseCategory(courseCategoryID, courseCategory);
+      referenceDataCache.evictCategories();
       return ResponseEntity.status(HttpStatus.CREATED).body(updated);
     } catch (EntityNotFoundException ex) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
@@ -231,4 +350,28 @@ public class AdminController {
           .body("Unexpected error: " + ex.getMessage());
     }
   }
+
+  /**
+   * Evicts all cached reference data (roles, categories, universities, addresses and affiliations).
+   *
+   * <p>Changes made through the application keep the cache up to date; this endpoint is meant for
+   * changes made directly in the database, which are otherwise only picked up once the cached
+   * entries expire.
+   *
+   * @return a {@link ResponseEntity} with status {@link HttpStatus#NO_CONTENT}.
+   */
+  @Operation(
+      summary = "Evict the cached reference data",
+      description =
+          "Evicts roles, course categories, universities, addresses and affiliations from the"
+              + " second-level cache, so they are read from the database again.",
+      tags = {"Cache Endpoints"})
+  @ApiResponses({
+    @ApiResponse(responseCode = "204", description = "Reference data evicted successfully")
+  })
+  @PostMapping("cache/evict-reference-data")
+  public ResponseEntity<Void> evictReferenceData() {
+    referenceDataCache.evictAll();
+    return ResponseEntity.noContent().build();
+  }
 }
@@ -17,6 +17,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * AuthenticationController is a REST controller that handles authentication-related requests. It
  * provides endpoints for user login and other authentication operations.
@@ -83,13 +87,25 @@ public class AuthenticationController {
                   mediaType = "application/json",
                   schema = @Schema(implementation = LogInResponseTO.class))))
   @PostMapping("/login")
-  public ResponseEntity<?> authenticate(@Valid @RequestBody LogInRequestTO request) {
-    try {
-      return authService.authenticate(request);
-    } catch (Exception ex) {
-      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-          .body("Unexpected Error: " + ex.getMessage());
+  public CompletableFuture<ResponseEntity<?>> authenticate(
+      @Valid @RequestBody LogInRequestTO request) {
+    // The password check runs on a bounded pool, releasing this servlet thread in the meantime
+    return authService
+        .authenticateAsync(request)
+        .<ResponseEntity<?>>thenApply(response -> response)
+        .exceptionally(AuthenticationController::loginFailure);
+  }
+
+  private static ResponseEntity<?> loginFailure(Throwable failure) {
+    Throwable ex = failure instanceof CompletionException && failure.getCause() != null
+        ? failure.getCause()
+        : failure;
+    if (ex instanceof RejectedExecutionException) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+          .body("Error: Too many logins in progress, please try again later");
     }
+    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+        .body("Unexpected Error: " + ex.getMessage());
   }
 
   /**
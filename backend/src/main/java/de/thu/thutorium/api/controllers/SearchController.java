@@ -2,12 +2,16 @@ package de.thu.thutorium.api.controllers;
 
 import de.thu.thutorium.api.transferObjects.common.CourseCategoryTO;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
+import de.thu.thutorium.api.transferObjects.common.PlatformStatisticsTO;
 import de.thu.thutorium.api.transferObjects.common.TutorTO;
+import de.thu.thutorium.api.transferObjects.search.CursorPageTO;
+import de.thu.thutorium.api.transferObjects.search.SuggestionTO;
 import de.thu.thutorium.exceptions.ResourceNotFoundException;
+import de.thu.thutorium.metrics.StatementBudget;
 import de.thu.thutorium.services.interfaces.CategoryService;
 import de.thu.thutorium.services.interfaces.CourseService;
+import de.thu.thutorium.services.interfaces.PlatformStatisticsService;
 import de.thu.thutorium.services.interfaces.SearchService;
-import de.thu.thutorium.services.interfaces.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -48,16 +52,20 @@ import java.util.List;
 @RequestMapping("/search")
 public class SearchController {
 
+  /** The largest page size accepted by the paginated search endpoints. */
+  private static final int MAX_PAGE_SIZE = 100;
+
   private final SearchService searchService;
   private final CategoryService categoryService;
   private final CourseService courseService;
-  private final UserService userService;
+  private final PlatformStatisticsService platformStatisticsService;
 
   /**
    * Searches for tutors or courses based on the provided query parameters.
    *
    * <p>This endpoint supports searching for tutors by name and courses by name. If both parameters
-   * are provided, the search will return combined results of matching tutors and courses.
+   * are provided, the search will return combined results of matching tutors and courses. Within
+   * each group the results are ordered by relevance and capped in size.
    *
    * @param tutorName Optional. The name of the tutor to search for. If null or empty, tutor search
    *     is skipped.
@@ -79,6 +87,7 @@ public class SearchController {
         description = "Search results returned successfully",
         content = @Content(array = @ArraySchema(schema = @Schema(implementation = Object.class))))
   })
+  @StatementBudget(10)
   @GetMapping
   public ResponseEntity<?> search(
       @Parameter(
@@ -111,7 +120,7 @@ public class SearchController {
 
       // If courseName is provided, search for courses and add to the results
       if (courseName != null && !courseName.isEmpty()) {
-        List<CourseTO> courses = courseService.searchCourses(courseName);
+        List<CourseTO> courses = searchService.searchCourses(courseName);
         results.addAll(courses); // Add courses to the results list
       }
       // Return the combined results without removing duplicates
@@ -122,6 +131,130 @@ public class SearchController {
     }
   }
 
+  /**
+   * Returns one page of tutors whose name matches the given search string.
+   *
+   * <p>Results are ordered by the tutor's full name and paginated by keyset. The tutors on the page
+   * do not include their courses; use the tutor endpoints for the full profile.
+   *
+   * @param tutorName the name (or partial name) of the tutor.
+   * @param cursor the {@code nextCursor} of the previous page; omit for the first page.
+   * @param size the page size, between 1 and 100, 20 by default.
+   * @return a {@link CursorPageTO} of {@link TutorTO} objects.
+   */
+  @Operation(
+      summary = "Search tutors page by page",
+      description = "Keyset-paginated tutor search ordered by name. Pass nextCursor to get the next page.",
+      tags = {"Search Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Page returned successfully",
+        content = @Content(schema = @Schema(implementation = CursorPageTO.class))),
+    @ApiResponse(responseCode = "400", description = "Invalid page size or cursor")
+  })
+  @GetMapping("/tutors")
+  public ResponseEntity<?> searchTutorsPage(
+      @RequestParam String tutorName,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    try {
+      if (size < 1 || size > MAX_PAGE_SIZE) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body("Error: size must be between 1 and " + MAX_PAGE_SIZE + ".");
+      }
+      return ResponseEntity.status(HttpStatus.OK)
+          .body(searchService.searchTutorsPage(tutorName, cursor, size));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Returns one page of courses whose name matches the given search string.
+   *
+   * <p>Results are ordered by course name and paginated by keyset.
+   *
+   * @param courseName the name (or partial name) of the course.
+   * @param cursor the {@code nextCursor} of the previous page; omit for the first page.
+   * @param size the page size, between 1 and 100, 20 by default.
+   * @return a {@link CursorPageTO} of {@link CourseTO} objects.
+   */
+  @Operation(
+      summary = "Search courses page by page",
+      description = "Keyset-paginated course search ordered by name. Pass nextCursor to get the next page.",
+      tags = {"Search Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Page returned successfully",
+        content = @Content(schema = @Schema(implementation = CursorPageTO.class))),
+    @ApiResponse(responseCode = "400", description = "Invalid page size or cursor")
+  })
+  @GetMapping("/courses")
+  public ResponseEntity<?> searchCoursesPage(
+      @RequestParam String courseName,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "20") int size) {
+    try {
+      if (size < 1 || size > MAX_PAGE_SIZE) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body("Error: size must be between 1 and " + MAX_PAGE_SIZE + ".");
+      }
+      return ResponseEntity.status(HttpStatus.OK)
+          .body(courseService.searchCoursesPage(courseName, cursor, size));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Returns typeahead suggestions for the search box.
+   *
+   * <p>Suggestions are served from the in-memory search index and cover tutor names, course names
+   * and short descriptions, and category names.
+   *
+   * @param query the text typed so far.
+   * @param limit the maximum number of suggestions to return, 10 by default.
+   * @return a list of {@link SuggestionTO} objects, best matches first.
+   */
+  @Operation(
+      summary = "Autocomplete suggestions",
+      description = "Returns tutors, courses and categories matching the text typed so far.",
+      tags = {"Search Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Suggestions returned successfully",
+        content =
+            @Content(array = @ArraySchema(schema = @Schema(implementation = SuggestionTO.class))))
+  })
+  @GetMapping("/suggest")
+  public ResponseEntity<?> suggest(
+      @Parameter(name = "query", description = "The text typed so far.", required = true)
+          @RequestParam
+          String query,
+      @Parameter(name = "limit", description = "The maximum number of suggestions.", required = false)
+          @RequestParam(defaultValue = "10")
+          int limit) {
+    try {
+      if (limit < 1 || limit > 50) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body("Error: limit must be between 1 and 50.");
+      }
+      return ResponseEntity.status(HttpStatus.OK).body(searchService.suggest(query, limit));
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
   /**
    * Gets all course categories.
    *
@@ -169,6 +302,7 @@ public class SearchController {
         content =
             @Content(array = @ArraySchema(schema = @Schema(implementation = CourseTO.class)))),
   })
+  @StatementBudget(10)
   @GetMapping("/category/{categoryName}")
   public ResponseEntity<?> getCoursesByCategory(@PathVariable String categoryName) {
     try {
@@ -180,10 +314,39 @@ public class SearchController {
     }
   }
 
+  /**
+   * Endpoint to get the key figures of the platform for the landing page.
+   *
+   * @return the platform statistics, refreshed periodically
+   */
+  @Operation(
+      summary = "Get platform statistics",
+      description =
+          "Retrieves the number of students, tutors and courses and the meetings taking place this"
+              + " week. The figures are refreshed periodically and may lag behind slightly.",
+      tags = {"Search Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Statistics retrieved successfully",
+        content = @Content(schema = @Schema(implementation = PlatformStatisticsTO.class))),
+  })
+  @StatementBudget(4)
+  @GetMapping("statistics")
+  public ResponseEntity<?> getStatistics() {
+    try {
+      return ResponseEntity.status(HttpStatus.OK)
+          .body(platformStatisticsService.getStatistics());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
   /**
    * Endpoint to get the total count of students.
    *
-   * @return the total number of users with the role of 'student'
+   * @return the total number of users with the role of 'student', refreshed periodically
    */
   @Operation(
       summary = "Get total student count",
@@ -195,10 +358,11 @@ public class SearchController {
         description = "Student count retrieved successfully",
         content = @Content(schema = @Schema(implementation = Long.class))),
   })
+  @StatementBudget(4)
   @GetMapping("students/count")
   public ResponseEntity<?> getStudentCount() {
     try {
-      Long studentCount = userService.getStudentCount();
+      Long studentCount = platformStatisticsService.getStatistics().getStudentCount();
       return ResponseEntity.status(HttpStatus.OK).body(studentCount);
     } catch (Exception ex) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -209,7 +373,7 @@ public class SearchController {
   /**
    * Endpoint to get the total count of tutors.
    *
-   * @return the total number of users with the role of 'tutor'
+   * @return the total number of users with the role of 'tutor', refreshed periodically
    */
   @Operation(
       summary = "Get total tutor count",
@@ -221,10 +385,11 @@ public class SearchController {
         description = "Tutor count retrieved successfully",
         content = @Content(schema = @Schema(implementation = Long.class))),
   })
+  @StatementBudget(4)
   @GetMapping("tutors/count")
   public ResponseEntity<?> getTutorsCount() {
     try {
-      Long tutorCount = userService.getTutorCount();
+      Long tutorCount = platformStatisticsService.getStatistics().getTutorCount();
       return ResponseEntity.status(HttpStatus.OK).body(tutorCount);
     } catch (Exception ex) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -236,7 +401,7 @@ public class SearchController {
   /**
    * Handles a GET request to retrieve the total count of courses.
    *
-   * @return the total number of courses as a {@code Long}.
+   * @return the total number of courses as a {@code Long}, refreshed periodically.
    */
   @Operation(
       summary = "Get total course count",
@@ -248,10 +413,11 @@ public class SearchController {
         description = "Course count retrieved successfully",
         content = @Content(schema = @Schema(implementation = Long.class))),
   })
+  @StatementBudget(4)
   @GetMapping("courses/count")
   public ResponseEntity<?> getCoursesCount() {
     try {
-      Long courseCount = courseService.getTotalCountOfCourses();
+      Long courseCount = platformStatisticsService.getStatistics().getCourseCount();
       return ResponseEntity.status(HttpStatus.OK).body(courseCount);
     } catch (Exception ex) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -288,6 +454,7 @@ public class SearchController {
                 mediaType = "application/json",
                 schema = @Schema(implementation = String.class)))
   })
+  @StatementBudget(5)
   @GetMapping("/get-course/{id}")
   public ResponseEntity<?> getCourseById(
       @Parameter(
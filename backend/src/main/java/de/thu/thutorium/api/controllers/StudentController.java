@@ -4,6 +4,7 @@ import de.thu.thutorium.Utility.AuthUtil;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.RatingCourseTO;
 import de.thu.thutorium.api.transferObjects.common.RatingTutorTO;
+import de.thu.thutorium.metrics.StatementBudget;
 import de.thu.thutorium.services.interfaces.CourseService;
 import de.thu.thutorium.services.interfaces.UserService;
 import de.thu.thutorium.swagger.CommonApiResponses;
@@ -277,6 +278,7 @@ public class StudentController {
     }
   }
 
+  @StatementBudget(5)
   @GetMapping("/enrolled-courses")
   public ResponseEntity<List<CourseTO>> getCoursesEnrolled() {
     try {
@@ -2,12 +2,14 @@ package de.thu.thutorium.api.controllers;
 
 import de.thu.thutorium.Utility.AuthUtil;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
+import de.thu.thutorium.api.transferObjects.common.FreeSlotTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
 import de.thu.thutorium.api.transferObjects.common.ProgressTO;
 import de.thu.thutorium.api.transferObjects.common.ReportTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
 import de.thu.thutorium.services.interfaces.*;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -17,12 +19,14 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -79,6 +83,13 @@ public class TutorController {
             @Content(
                 mediaType = "application/json",
                 schema = @Schema(implementation = MeetingTO.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid capacity",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
     @ApiResponse(
         responseCode = "404",
         description = "Tutor/Course/Address not found",
@@ -94,6 +105,69 @@ public class TutorController {
       return ResponseEntity.status(HttpStatus.CREATED).body(meeting);
     } catch (EntityNotFoundException ex) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+          .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Finds the free slots in which a tutor could hold a meeting.
+   *
+   * @param tutorId the ID of the tutor.
+   * @param from the start of the search window, inclusive.
+   * @param to the end of the search window, exclusive.
+   * @param duration the length of the meeting in minutes.
+   * @param addressId the ID of the address of the room, if the meeting needs a room.
+   * @param roomNum the room number, if the meeting needs a room.
+   * @return the free intervals long enough for the meeting, in chronological order.
+   */
+  @Operation(
+      summary = "Find free meeting slots",
+      description =
+          "Finds the free intervals in [from, to) in which the tutor, and the room if given, has no"
+              + " meeting and a meeting of the given duration fits without crossing midnight.",
+      tags = {"Meeting Endpoints"})
+  @ApiResponses({
+    @ApiResponse(
+        responseCode = "200",
+        description = "Free slots found",
+        content =
+            @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = FreeSlotTO.class)))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Invalid window, duration or room",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Tutor/Address not found",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class)))
+  })
+  @GetMapping("/free-slots/{tutorId}")
+  public ResponseEntity<?> findFreeSlots(
+      @PathVariable Long tutorId,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+      @RequestParam long duration,
+      @RequestParam(required = false) Long addressId,
+      @RequestParam(required = false) String roomNum) {
+    try {
+      return ResponseEntity.ok(
+          meetingService.findFreeSlots(tutorId, addressId, roomNum, from, to, duration));
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
     } catch (Exception ex) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
           .body("Unexpected error: " + ex.getMessage());
@@ -152,6 +226,13 @@ public class TutorController {
             @Content(
                 mediaType = "application/json",
                 schema = @Schema(implementation = MeetingTO.class))),
+    @ApiResponse(
+        responseCode = "400",
+        description = "Capacity below the booked seats",
+        content =
+            @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = String.class))),
     @ApiResponse(
         responseCode = "404",
         description = "Meeting not found",
@@ -168,6 +249,8 @@ public class TutorController {
       return ResponseEntity.status(HttpStatus.OK).body(updatedMeeting);
     } catch (EntityNotFoundException ex) {
       return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     } catch (Exception ex) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
           .body("Unexpected error: " + ex.getMessage());
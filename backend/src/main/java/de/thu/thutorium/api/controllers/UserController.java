@@ -6,6 +6,9 @@ import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
+import de.thu.thutorium.database.dbObjects.enums.BookingStatus;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
+import de.thu.thutorium.metrics.StatementBudget;
 import de.thu.thutorium.services.interfaces.*;
 import de.thu.thutorium.swagger.CommonApiResponses;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,15 +17,18 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static de.thu.thutorium.Utility.AuthUtil.getAuthenticatedUserId;
@@ -56,6 +62,7 @@ public class UserController {
           description = "Retrieve an existing user if they exist in the database",
           tags = {" User Endpoints"})
   @CommonApiResponses
+  @StatementBudget(5)
   @GetMapping("/get-user/{userId}")
   public ResponseEntity<?> getUser(@PathVariable Long userId) {
     try {
@@ -144,6 +151,7 @@ public class UserController {
                   content = @Content(schema = @Schema(implementation = UserTO.class))),
           @ApiResponse(responseCode = "404", description = "Tutor not found")
   })
+  @StatementBudget(5)
   @GetMapping("tutor")
   public ResponseEntity<?> getTutor(@RequestParam Long id) {
     try {
@@ -200,6 +208,60 @@ public class UserController {
     }
   }
 
+  /**
+   * Retrieves the meetings of a user within a time window, for a calendar view.
+   *
+   * <p>Unlike {@link #getMeetingsForUser(Long)}, only the meetings overlapping the window are
+   * loaded, so the cost of the request depends on the window shown rather than on the user's whole
+   * history.
+   *
+   * @param userId the unique identifier of the user whose meetings are to be retrieved
+   * @param from the start of the window, inclusive
+   * @param to the end of the window, exclusive
+   * @param type the type of meetings to return; all types if omitted
+   * @return a {@link ResponseEntity} containing the meetings in the window, ordered by start time
+   */
+  @Operation(
+          summary = "Retrieve the meetings of a user within a time window",
+          description =
+                  "Fetches the meetings overlapping [from, to) that the user participates in or has scheduled as a tutor,"
+                          + " optionally only those of one meeting type. The window may span at most 366 days.")
+  @ApiResponses({
+          @ApiResponse(
+                  responseCode = "200",
+                  description = "Meetings retrieved successfully",
+                  content =
+                  @Content(array = @ArraySchema(schema = @Schema(implementation = MeetingTO.class)))),
+          @ApiResponse(
+                  responseCode = "400",
+                  description = "Invalid time window",
+                  content = @Content(schema = @Schema(implementation = String.class))),
+          @ApiResponse(
+                  responseCode = "404",
+                  description = "User not found",
+                  content = @Content(schema = @Schema(implementation = String.class))),
+          @ApiResponse(responseCode = "500", description = "Internal server error")
+  })
+  @StatementBudget(5)
+  @GetMapping("/calendar/{userId}")
+  public ResponseEntity<?> getCalendar(
+          @PathVariable Long userId,
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+          @RequestParam(required = false) MeetingType type) {
+    try {
+      List<MeetingTO> meetings = meetingService.getCalendar(userId, from, to, type);
+      return ResponseEntity.status(HttpStatus.OK).body(meetings);
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    } catch (Exception ex) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+              .body("Unexpected error: " + ex.getMessage());
+    }
+  }
+
   /*chat*/
   @Operation(
           summary = "Retrieve chat summaries for a specific user",
@@ -271,6 +333,7 @@ public class UserController {
                   content = @Content(schema = @Schema(implementation = String.class))),
           @ApiResponse(responseCode = "500", description = "Internal server error")
   })
+  @StatementBudget(10)
   @GetMapping("/get-course/{tutorId}")
   public ResponseEntity<?> getCoursesByTutor(@PathVariable Long tutorId) {
     try {
@@ -395,20 +458,44 @@ public class UserController {
 
   @Operation(
       summary = "Book a meeting",
-      description = "Books a meeting identified by the provided meetingId.",
+      description =
+          "Books a seat in the meeting identified by the provided meetingId for the authenticated student."
+              + " If the meeting is full, the student is put on its waitlist and gets the next seat that is cancelled.",
       tags = {"Meetings"})
   @ApiResponses({
-    @ApiResponse(responseCode = "201", description = "Meeting booked successfully"),
+    @ApiResponse(
+        responseCode = "201",
+        description = "Meeting booked successfully",
+        content = @Content(schema = @Schema(implementation = BookingStatus.class))),
+    @ApiResponse(
+        responseCode = "202",
+        description = "Meeting full, student put on the waitlist",
+        content = @Content(schema = @Schema(implementation = BookingStatus.class))),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Meeting or student not found",
+        content = @Content(schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "409",
+        description = "Student not enrolled in the course, or already booked or waiting",
+        content = @Content(schema = @Schema(implementation = String.class))),
     @ApiResponse(
         responseCode = "500",
         description = "Internal server error",
         content = @Content(schema = @Schema(implementation = String.class)))
   })
+  @StatementBudget(8)
   @PostMapping("/meetings/book/{meetingId}")
   public ResponseEntity<?> bookMeeting(@PathVariable Long meetingId) {
     try {
-      meetingService.bookMeeting(meetingId);
-      return ResponseEntity.status(HttpStatus.CREATED).build();
+      BookingStatus status = meetingService.bookMeeting(meetingId);
+      return ResponseEntity.status(
+              status == BookingStatus.BOOKED ? HttpStatus.CREATED : HttpStatus.ACCEPTED)
+          .body(status);
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    } catch (IllegalStateException ex) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
     } catch (Exception ex) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
           .body("Unexpected error: " + ex.getMessage());
@@ -417,20 +504,35 @@ public class UserController {
 
   @Operation(
       summary = "Cancel a meeting",
-      description = "Cancels a meeting identified by the provided meetingId.",
+      description =
+          "Cancels the booking of the authenticated student for the meeting identified by the provided meetingId,"
+              + " or removes the student from its waitlist. A freed seat goes to the student who has waited longest.",
       tags = {"Meetings"})
   @ApiResponses({
     @ApiResponse(responseCode = "204", description = "Meeting canceled successfully"),
+    @ApiResponse(
+        responseCode = "404",
+        description = "Meeting or student not found",
+        content = @Content(schema = @Schema(implementation = String.class))),
+    @ApiResponse(
+        responseCode = "409",
+        description = "Student neither booked the meeting nor is waiting for it",
+        content = @Content(schema = @Schema(implementation = String.class))),
     @ApiResponse(
         responseCode = "500",
         description = "Internal server error",
         content = @Content(schema = @Schema(implementation = String.class)))
   })
+  @StatementBudget(10)
   @DeleteMapping("/meetings/cancel/{meetingId}")
   public ResponseEntity<?> cancelMeeting(@PathVariable Long meetingId) {
     try {
       meetingService.cancelMeeting(meetingId);
       return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    } catch (IllegalStateException ex) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(ex.getMessage());
     } catch (Exception ex) {
       return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
           .body("Unexpected error: " + ex.getMessage());
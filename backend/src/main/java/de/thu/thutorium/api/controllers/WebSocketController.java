@@ -1,65 +1,129 @@
 package de.thu.thutorium.api.controllers;
 
+import de.thu.thutorium.Utility.AuthUtil;
+import de.thu.thutorium.WebSocket.StompPrincipal;
 import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
 import de.thu.thutorium.api.transferObjects.common.ChatCreateTO;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
 import de.thu.thutorium.services.interfaces.ChatService;
 import de.thu.thutorium.services.interfaces.MessageService;
+import de.thu.thutorium.services.interfaces.PresenceService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.MessageExceptionHandler;
 import org.springframework.messaging.handler.annotation.MessageMapping;
-import org.springframework.messaging.handler.annotation.SendTo;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SendToUser;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * WebSocketController handles WebSocket messaging and facilitates real-time message sending through
  * WebSocket connections. This controller listens for messages sent from clients, saves them via the
- * message service, and broadcasts the messages to all subscribed clients.
+ * message service, and delivers the messages to the participants of the chat.
+ *
+ * <p>Chat messages are counted in {@code chat.messages}: received messages with the tag {@code
+ * direction=inbound} and the transport they came in on, deliveries to user destinations with
+ * {@code direction=outbound}.
  */
 @RestController
 public class WebSocketController {
+  private static final int MAX_MESSAGE_PAGE_SIZE = 200;
+  private static final int MAX_PRESENCE_QUERY_SIZE = 100;
+
+  /** The user destination chat messages are delivered to, below the "/user" prefix. */
+  private static final String USER_MESSAGE_QUEUE = "/queue/messages";
 
   private final MessageService messageService;
   private final ChatService chatService;
+  private final SimpMessagingTemplate messagingTemplate;
+  private final PresenceService presenceService;
+  private final Counter inboundStompMessages;
+  private final Counter inboundHttpMessages;
+  private final Counter outboundMessages;
 
   /**
    * Constructor for initializing the WebSocketController with the MessageService.
    *
    * @param messageService the service responsible for handling message operations
+   * @param chatService the service responsible for chat operations
+   * @param messagingTemplate the template used to deliver messages to user destinations
+   * @param presenceService the service telling which users are connected to the chat
+   * @param meterRegistry the registry of the message counters
    */
-  public WebSocketController(MessageService messageService, ChatService chatService) {
+  public WebSocketController(
+          MessageService messageService,
+          ChatService chatService,
+          SimpMessagingTemplate messagingTemplate,
+          PresenceService presenceService,
+          MeterRegistry meterRegistry) {
     this.messageService = messageService;
-      this.chatService = chatService;
+    this.chatService = chatService;
+    this.messagingTemplate = messagingTemplate;
+    this.presenceService = presenceService;
+    this.inboundStompMessages = meterRegistry.counter("chat.messages", "direction", "inbound", "transport", "stomp");
+    this.inboundHttpMessages = meterRegistry.counter("chat.messages", "direction", "inbound", "transport", "http");
+    this.outboundMessages = meterRegistry.counter("chat.messages", "direction", "outbound", "transport", "stomp");
   }
 
   /**
    * Handles the sending of a new message via WebSocket. This method listens for messages sent to
-   * the "/sendMessage" destination, processes the message, saves it using the message service, and
-   * then broadcasts the message to all clients subscribed to the "/topic/messages" destination.
+   * the "/sendMessage" destination, saves the message using the message service, and then delivers
+   * it to the "/user/queue/messages" destination of the chat participants only.
+   *
+   * <p>The sender is taken from the authenticated STOMP session, so a client cannot send messages
+   * in the name of another user.
    *
    * @param messageTO the message data transfer object containing the message details
-   * @return the saved message as a MessageDTO, which will be sent to all subscribers
+   * @param principal the user of the STOMP session sending the message
    */
-
   @MessageMapping("/sendMessage")
-  @SendTo("/topic/messages")
-  public MessageTO sendMessage(MessageTO messageTO) {
+  public void sendMessage(MessageTO messageTO, Principal principal) {
+    inboundStompMessages.increment();
+    if (principal instanceof StompPrincipal user) {
+      messageTO.setSenderId(user.userId());
+    }
     // Save the message via the service
-    return messageService.saveMessage(messageTO);
+    deliverToParticipants(messageService.saveMessage(messageTO));
+  }
+
+  /**
+   * Reports a message that could not be accepted back to the session that sent it, on its
+   * "/user/queue/errors" destination.
+   *
+   * @param ex the reason the message was rejected
+   * @return the error text sent to the sender
+   */
+  @MessageExceptionHandler({
+    IllegalArgumentException.class,
+    IllegalStateException.class,
+    EntityNotFoundException.class
+  })
+  @SendToUser(destinations = "/queue/errors", broadcast = false)
+  public String handleMessageError(RuntimeException ex) {
+    return "Error: " + ex.getMessage();
   }
 
   /**
    * Sends a new message. This will persist the message in the database and send it to the
    * recipient.
    *
+   * <p>The sender is taken from the authenticated user, so a client cannot send messages in the
+   * name of another user.
+   *
    * @param messageTO the message transfer object containing the message details
    * @return the created message wrapped in a ResponseEntity
    */
@@ -71,12 +135,25 @@ public class WebSocketController {
   @ApiResponses({
           @ApiResponse(responseCode = "200", description = "Message sent successfully",
                   content = @Content(schema = @Schema(implementation = MessageTO.class))),
-          @ApiResponse(responseCode = "400", description = "Invalid message data")
+          @ApiResponse(responseCode = "400", description = "Invalid message data"),
+          @ApiResponse(responseCode = "401", description = "User is not authenticated"),
+          @ApiResponse(responseCode = "503", description = "Too many messages queued, try again later")
   })
   @PostMapping("/message/send")
-  public ResponseEntity<MessageTO> PostsendMessage(@RequestBody MessageTO messageTO) {
-    MessageTO savedMessage = messageService.saveMessage(messageTO);
-    return ResponseEntity.ok(savedMessage);
+  public ResponseEntity<?> PostsendMessage(@RequestBody MessageTO messageTO) {
+    inboundHttpMessages.increment();
+    try {
+      messageTO.setSenderId(AuthUtil.getAuthenticatedUserId());
+      MessageTO savedMessage = messageService.saveMessage(messageTO);
+      deliverToParticipants(savedMessage);
+      return ResponseEntity.ok(savedMessage);
+    } catch (AuthenticationException ex) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: " + ex.getMessage());
+    } catch (IllegalArgumentException | EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    } catch (IllegalStateException ex) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("Error: " + ex.getMessage());
+    }
   }
 
   /**
@@ -143,9 +220,31 @@ public class WebSocketController {
     return ResponseEntity.ok(summaries);
   }
 
+  @Operation(
+          summary = "Get the online status of users",
+          description =
+                  "Returns which of the given users currently have an open chat connection, on any backend "
+                          + "instance.",
+          tags = {"Chat Operations"})
+  @ApiResponses({
+          @ApiResponse(responseCode = "200", description = "Successfully retrieved the online users"),
+          @ApiResponse(responseCode = "400", description = "Too many user IDs supplied")
+  })
+  @GetMapping("/presence")
+  public ResponseEntity<?> getPresence(@RequestParam List<Long> userIds) {
+    if (userIds.size() > MAX_PRESENCE_QUERY_SIZE) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+              .body("Error: at most " + MAX_PRESENCE_QUERY_SIZE + " user IDs can be queried at once.");
+    }
+    return ResponseEntity.ok(presenceService.findOnlineUserIds(userIds));
+  }
+
   @Operation(
           summary = "Get messages for a specific chat",
-          description = "Fetches a list of messages in a chat by the chat's unique ID.",
+          description =
+                  "Fetches one page of the messages in a chat, oldest first. Without an anchor the latest "
+                          + "messages are returned; beforeId pages backwards and afterId pages forwards "
+                          + "from the given message.",
           tags = {"Chat Operations"})
   @ApiResponses({
           @ApiResponse(
@@ -155,27 +254,63 @@ public class WebSocketController {
                   @Content(
                           mediaType = "application/json",
                           schema = @Schema(implementation = MessageTO.class))),
-          @ApiResponse(responseCode = "400", description = "Invalid chat ID supplied"),
+          @ApiResponse(responseCode = "400", description = "Invalid chat ID, anchor or limit supplied"),
           @ApiResponse(responseCode = "404", description = "Chat not found"),
           @ApiResponse(responseCode = "403", description = "Forbidden: Invalid token or bad request")
   })
   @GetMapping("/get-messages-chat")
-  public ResponseEntity<List<MessageTO>> getChatMessages(@RequestParam Long chatId) {
-    List<MessageTO> messages = messageService.getMessagesByChatId(chatId);
-    return ResponseEntity.ok(messages);
+  public ResponseEntity<?> getChatMessages(
+          @RequestParam Long chatId,
+          @RequestParam(required = false) Long beforeId,
+          @RequestParam(required = false) Long afterId,
+          @RequestParam(defaultValue = "50") int limit) {
+    if (limit < 1 || limit > MAX_MESSAGE_PAGE_SIZE) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+              .body("Error: limit must be between 1 and " + MAX_MESSAGE_PAGE_SIZE + ".");
+    }
+    try {
+      List<MessageTO> messages = messageService.getMessagesPage(chatId, beforeId, afterId, limit);
+      return ResponseEntity.ok(messages);
+    } catch (IllegalArgumentException ex) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error: " + ex.getMessage());
+    }
   }
 
   @Operation(
           summary = "Mark all messages as read",
-          description = "Updates all of the message status to read and sets the read timestamp.",
+          description =
+                  "Marks every message addressed to the authenticated user in the chat as read and sets the "
+                          + "read timestamp, up to the latest message of the chat.",
           tags = {"Message Operations"})
   @ApiResponses({
           @ApiResponse(responseCode = "200", description = "All message marked as read successfully"),
+          @ApiResponse(responseCode = "401", description = "User is not authenticated"),
           @ApiResponse(responseCode = "404", description = "Chat not found")
   })
   @PutMapping("/message/{chatId}/read")
   public ResponseEntity<String> markMessageAsRead(@PathVariable Long chatId) {
-    messageService.markAsRead(chatId);
-    return ResponseEntity.ok("All messages marked as read successfully.");
+    try {
+      messageService.markAsRead(chatId, AuthUtil.getAuthenticatedUserId());
+      return ResponseEntity.ok("All messages marked as read successfully.");
+    } catch (AuthenticationException ex) {
+      return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Error: " + ex.getMessage());
+    } catch (EntityNotFoundException ex) {
+      return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Error: " + ex.getMessage());
+    }
+  }
+
+  /**
+   * Pushes a saved message to the user queues of its receiver and its sender. Only sessions of
+   * these two users receive it, whatever the number of connected clients.
+   */
+  private void deliverToParticipants(MessageTO message) {
+    messagingTemplate.convertAndSendToUser(
+        String.valueOf(message.getReceiverId()), USER_MESSAGE_QUEUE, message);
+    outboundMessages.increment();
+    if (!Objects.equals(message.getSenderId(), message.getReceiverId())) {
+      messagingTemplate.convertAndSendToUser(
+          String.valueOf(message.getSenderId()), USER_MESSAGE_QUEUE, message);
+      outboundMessages.increment();
+    }
   }
 }
@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
+import java.time.LocalDateTime;
+
 @Getter
 @Setter
 @NoArgsConstructor
@@ -14,4 +16,10 @@ public class ChatSummaryTO {
   private Long creator;
   private ReceiverTO receiver;
   private int unreadMessages;
+
+  /** The beginning of the most recent message in the chat, or {@code null} if there is none. */
+  private String lastMessagePreview;
+
+  /** The time the most recent message was sent, or {@code null} if there is none. */
+  private LocalDateTime lastMessageAt;
 }
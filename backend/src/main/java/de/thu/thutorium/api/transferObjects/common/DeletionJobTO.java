@@ -0,0 +1,41 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import de.thu.thutorium.database.dbObjects.enums.DeletionJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The state of an asynchronous deletion of a user or a course, as returned when the job is
+ * submitted and when it is polled.
+ */
+@Getter
+@AllArgsConstructor
+public class DeletionJobTO {
+
+  /** The ID under which the job can be polled. */
+  private UUID jobId;
+
+  /** The kind of the deleted entity, {@code USER} or {@code COURSE}. */
+  private String targetType;
+
+  /** The ID of the deleted user or course. */
+  private Long targetId;
+
+  /** The state of the job. */
+  private DeletionJobStatus status;
+
+  /** The number of rows removed by the chunked phase so far. */
+  private long chunkedRows;
+
+  /** The error the job failed with, or {@code null}. */
+  private String error;
+
+  /** The time the job was submitted. */
+  private LocalDateTime submittedAt;
+
+  /** The time the job finished, or {@code null} while it is queued or running. */
+  private LocalDateTime finishedAt;
+}
@@ -0,0 +1,30 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A free interval in which a meeting of the requested length can be scheduled.
+ *
+ * <p>The interval is half-open: a meeting may start at {@code startTime} and must end no later than
+ * {@code endTime}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FreeSlotTO {
+
+  /** The start of the free interval. */
+  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+  private LocalDateTime startTime;
+
+  /** The end of the free interval. */
+  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss")
+  private LocalDateTime endTime;
+}
@@ -60,4 +60,10 @@ public class MeetingTO {
   private String universityName;
 
   private String meetingLink;
+
+  /** The maximum number of participants; unlimited if empty. */
+  private Integer capacity;
+
+  /** The number of seats already booked. Ignored when a meeting is created or updated. */
+  private Integer bookedSeats;
 }
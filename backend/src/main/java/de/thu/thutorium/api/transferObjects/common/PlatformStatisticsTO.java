@@ -0,0 +1,32 @@
+package de.thu.thutorium.api.transferObjects.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Key figures of the platform, shown on the landing page.
+ *
+ * <p>The figures are computed periodically rather than per request, so they may lag behind the
+ * database by up to the refresh interval; {@code refreshedAt} tells when they were computed.
+ */
+@Getter
+@AllArgsConstructor
+public class PlatformStatisticsTO {
+
+  /** The number of users with the role of 'STUDENT'. */
+  private long studentCount;
+
+  /** The number of users with the role of 'TUTOR'. */
+  private long tutorCount;
+
+  /** The number of courses. */
+  private long courseCount;
+
+  /** The number of meetings starting in the current week, Monday to Sunday. */
+  private long meetingsThisWeek;
+
+  /** The time the figures were computed. */
+  private LocalDateTime refreshedAt;
+}
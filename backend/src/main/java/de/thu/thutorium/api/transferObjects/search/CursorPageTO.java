@@ -0,0 +1,38 @@
+package de.thu.thutorium.api.transferObjects.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated result.
+ *
+ * <p>The client passes {@link #nextCursor} back to fetch the following page. The cursor is opaque
+ * and only valid for the same query.
+ *
+ * @param <T> the type of the items on the page
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageTO<T> {
+
+  /** The items on this page, in result order. */
+  private List<T> items;
+
+  /** The cursor for the next page, or {@code null} if this is the last page. */
+  private String nextCursor;
+
+  /** The requested page size. */
+  private int size;
+
+  /**
+   * An estimate of the total number of results, only filled in on the first page. The count is
+   * capped, so a value equal to the cap means "at least that many".
+   */
+  private Long totalHint;
+}
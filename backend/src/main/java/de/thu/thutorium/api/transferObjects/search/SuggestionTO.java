@@ -0,0 +1,35 @@
+package de.thu.thutorium.api.transferObjects.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A single typeahead suggestion returned by the search autocomplete.
+ *
+ * <p>A suggestion only carries what the search box needs to render an entry and to navigate to it:
+ * the kind of entity, its ID and a display label.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestionTO {
+
+  /** The kind of entity a suggestion points to. */
+  public enum Type {
+    TUTOR,
+    COURSE,
+    CATEGORY
+  }
+
+  /** The kind of entity this suggestion refers to. */
+  private Type type;
+
+  /** The ID of the suggested tutor, course or category. */
+  private Long id;
+
+  /** The label shown to the user, i.e. the tutor's full name, the course or category name. */
+  private String label;
+}
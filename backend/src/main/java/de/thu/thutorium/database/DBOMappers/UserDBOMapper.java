@@ -3,6 +3,7 @@ package de.thu.thutorium.database.DBOMappers;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 /** A MapStruct mapper interface for converting {@link UserDBO} to {@link UserTO}. */
 @Mapper(
@@ -15,5 +16,8 @@ public interface UserDBOMapper {
    * @param user the {@code UserTO} object to convert
    * @return a {@code UserDBO} object containing the user data
    */
+  @Mapping(target = "ratingCount", ignore = true)
+  @Mapping(target = "ratingSum", ignore = true)
+  @Mapping(target = "averageRating", ignore = true)
   UserDBO toDBO(UserTO user);
 }
@@ -0,0 +1,71 @@
+package de.thu.thutorium.database;
+
+import de.thu.thutorium.database.dbObjects.AddressDBO;
+import de.thu.thutorium.database.dbObjects.AffiliationDBO;
+import de.thu.thutorium.database.dbObjects.CourseCategoryDBO;
+import de.thu.thutorium.database.dbObjects.RoleDBO;
+import de.thu.thutorium.database.dbObjects.UniversityDBO;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Names the second-level cache regions of the reference data and evicts them explicitly.
+ *
+ * <p>Roles, course categories, universities, addresses and affiliations change rarely, so their
+ * entities and the queries looking them up by name are kept in the Hibernate second-level cache
+ * (see {@link ReferenceDataCacheConfig}). Changes made through JPA keep the cache consistent by
+ * themselves; the admin write paths evict the affected regions anyway, so changes that bypass the
+ * entity manager, e.g. native SQL or edits directly in the database, are picked up no later than the
+ * next admin change or an explicit {@link #evictAll()}.
+ *
+ * <p>Native modifying queries name the tables they write with the {@code
+ * HibernateHints.HINT_NATIVE_SPACES} query hint; Hibernate otherwise evicts every region after them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceDataCache {
+  public static final String ROLE_REGION = "reference.role";
+  public static final String CATEGORY_REGION = "reference.category";
+  public static final String UNIVERSITY_REGION = "reference.university";
+  public static final String ADDRESS_REGION = "reference.address";
+  public static final String AFFILIATION_REGION = "reference.affiliation";
+
+  /** Region of the cached reference data queries, e.g. finding a category by its name. */
+  public static final String QUERY_REGION = "reference.queries";
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  /** Evicts the cached course categories. */
+  public void evictCategories() {
+    evict(CourseCategoryDBO.class);
+  }
+
+  /** Evicts the cached universities together with their addresses and affiliations. */
+  public void evictUniversities() {
+    evict(UniversityDBO.class, AddressDBO.class, AffiliationDBO.class);
+  }
+
+  /** Evicts all cached reference data. */
+  public void evictAll() {
+    evict(
+        RoleDBO.class,
+        CourseCategoryDBO.class,
+        UniversityDBO.class,
+        AddressDBO.class,
+        AffiliationDBO.class);
+  }
+
+  private void evict(Class<?>... entityClasses) {
+    jakarta.persistence.Cache cache = entityManagerFactory.getCache();
+    for (Class<?> entityClass : entityClasses) {
+      cache.evict(entityClass);
+    }
+    // Cached query results may contain the evicted entities
+    entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(QUERY_REGION);
+    log.info("Evicted cached reference data of {} entity types.", entityClasses.length);
+  }
+}
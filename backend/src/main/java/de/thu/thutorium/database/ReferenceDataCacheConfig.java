@@ -0,0 +1,90 @@
+package de.thu.thutorium.database;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+/**
+ * Configures the Hibernate second-level and query cache, backed by a local Caffeine JCache.
+ *
+ * <p>Only the regions of {@link ReferenceDataCache} are created, each bounded to {@code
+ * jpa.cache.reference.max-entries} entries that expire after {@code
+ * jpa.cache.reference.ttl-seconds}, as a safety net for changes made outside the application.
+ * Hibernate is configured to fail rather than create an unbounded cache for any other region.
+ */
+@Configuration
+public class ReferenceDataCacheConfig {
+  /** Hibernate's region tracking when each table was last changed, to invalidate cached queries. */
+  private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+  /** Hibernate's region for cacheable queries that do not name a region. */
+  private static final String DEFAULT_QUERY_REGION = "default-query-results-region";
+
+  /** The regions bounded by size and age. */
+  private static final List<String> BOUNDED_REGIONS =
+      List.of(
+          ReferenceDataCache.ROLE_REGION,
+          ReferenceDataCache.CATEGORY_REGION,
+          ReferenceDataCache.UNIVERSITY_REGION,
+          ReferenceDataCache.ADDRESS_REGION,
+          ReferenceDataCache.AFFILIATION_REGION,
+          ReferenceDataCache.QUERY_REGION,
+          DEFAULT_QUERY_REGION);
+
+  @Value("${jpa.cache.reference.max-entries:10000}")
+  private long maxEntries;
+
+  @Value("${jpa.cache.reference.ttl-seconds:3600}")
+  private long ttlSeconds;
+
+  /**
+   * Creates the cache manager holding the second-level cache regions.
+   *
+   * @return the cache manager, closed with the application context
+   */
+  @Bean(destroyMethod = "close")
+  public CacheManager hibernateCacheManager() {
+    CacheManager cacheManager =
+        Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+    for (String region : BOUNDED_REGIONS) {
+      CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+      configuration.setMaximumSize(OptionalLong.of(maxEntries));
+      configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+      createIfAbsent(cacheManager, region, configuration);
+    }
+    // One entry per table; it must outlive the query results it invalidates, so it never expires
+    createIfAbsent(cacheManager, UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+    return cacheManager;
+  }
+
+  /**
+   * Hands the cache manager to Hibernate.
+   *
+   * @param hibernateCacheManager the cache manager holding the regions
+   * @return the customizer adding the cache manager to the Hibernate properties
+   */
+  @Bean
+  public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+    return properties -> {
+      properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+      properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    };
+  }
+
+  private static void createIfAbsent(
+      CacheManager cacheManager, String region, CaffeineConfiguration<Object, Object> configuration) {
+    if (cacheManager.getCache(region) == null) {
+      cacheManager.createCache(region, configuration);
+    }
+  }
+}
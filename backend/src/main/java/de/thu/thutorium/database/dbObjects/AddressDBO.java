@@ -1,8 +1,12 @@
 package de.thu.thutorium.database.dbObjects;
 
 import de.thu.thutorium.Utility.DBPreProcess;
+import de.thu.thutorium.Utility.Normalized;
+import de.thu.thutorium.database.ReferenceDataCache;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -29,12 +33,14 @@ import java.util.List;
  * The postal code, must not be null. - {@code country} - The name of the country, must not be null.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCache.ADDRESS_REGION)
 @Table(name = "address")
 @Getter
 @Setter
 @Builder
 @AllArgsConstructor
-@EntityListeners(DBPreProcess.class) //Save all string fields in all entities in lower case
+@EntityListeners(DBPreProcess.class) // Save the @Normalized string fields in lower case
 public class AddressDBO {
 
   /**
@@ -53,38 +59,47 @@ public class AddressDBO {
 
   /** The campus name for the university. */
   @Column(name = "campus_name", length = 255)
+  @Normalized
   private String campusName;
 
   /** The house number for the address. This field is required and cannot be null. */
   @Column(name = "house_number", nullable = false)
+  @Normalized
   private String houseNum;
 
   /** The name of the street for the address. This field is required and cannot be null. */
   @Column(name = "street_name", nullable = false)
+  @Normalized
   private String streetName;
 
   /** The city for the address. This field is required and cannot be null. */
   @Column(name = "city", nullable = false)
+  @Normalized
   private String city;
 
   /** The postal code for the address. This field is required and cannot be null. */
   @Column(name = "postal_code", nullable = false)
+  @Normalized
   private String postalCode;
 
   /** The country for the address. This field is required and cannot be null. */
   @Column(name = "country", nullable = false)
+  @Normalized
   private String country;
 
   /** The phone number of the address. */
   @Column(name = "phone_number")
+  @Normalized
   private String phoneNumber;
 
   /** The fax number of the address. */
   @Column(name = "fax_number")
+  @Normalized
   private String faxNumber;
 
   /** The email address of the address. */
   @Column(name = "email_address")
+  @Normalized
   private String emailAddress;
 
   /**
@@ -1,8 +1,11 @@
 package de.thu.thutorium.database.dbObjects;
 
+import de.thu.thutorium.database.ReferenceDataCache;
 import de.thu.thutorium.database.dbObjects.enums.AffiliationType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +18,8 @@ import java.util.List;
  * that uniquely identifies each affiliation. The affiliation type is represented as an enum.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCache.AFFILIATION_REGION)
 @Table(name = "affiliation")
 @Getter
 @Setter
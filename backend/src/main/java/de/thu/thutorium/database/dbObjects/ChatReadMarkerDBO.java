@@ -0,0 +1,60 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the read position of a participant in a chat. This class is mapped to the
+ * "chat_read_marker" table in the database.
+ *
+ * <p>The marker holds the highest message ID the participant has read up to (the read watermark)
+ * and when the chat was last read. There is at most one marker per chat and user, and it is
+ * removed together with the chat or the user.
+ *
+ * @see ChatDBO
+ * @see UserDBO
+ */
+@Entity
+@Table(
+    name = "chat_read_marker",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "unique_chat_read_marker",
+            columnNames = {"chat_id", "user_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatReadMarkerDBO {
+  /** Primary key of the marker, automatically generated. */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "marker_id")
+  @Setter(AccessLevel.NONE)
+  private Long markerId;
+
+  /** The chat the marker belongs to. */
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "chat_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private ChatDBO chat;
+
+  /** The participant whose read position is recorded. */
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "user_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private UserDBO user;
+
+  /** The highest message ID in the chat the participant has read. */
+  @Column(name = "last_read_message_id", nullable = false)
+  private Long lastReadMessageId;
+
+  /** The timestamp when the participant last read the chat. */
+  @Column(name = "read_at", nullable = false)
+  private LocalDateTime readAt;
+}
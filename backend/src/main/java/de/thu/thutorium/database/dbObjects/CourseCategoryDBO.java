@@ -1,7 +1,10 @@
 package de.thu.thutorium.database.dbObjects;
 
+import de.thu.thutorium.database.ReferenceDataCache;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -22,6 +25,8 @@ import java.util.List;
  */
 @Builder // If Builder is intended to be used
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCache.CATEGORY_REGION)
 @Table(name = "CourseCategory")
 @Getter
 @Setter
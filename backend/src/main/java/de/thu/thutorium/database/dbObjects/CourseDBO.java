@@ -16,16 +16,24 @@ import java.util.List;
  * <p>Lombok annotations are used to automatically generate boilerplate code like getters, setters,
  * and constructors.
  *
- * <p>
+ * <p>The entity graph {@value #LISTING_GRAPH} fetches everything a {@code CourseTO} needs, the tutor
+ * and the categories, together with the course, so listing many courses takes one query instead of
+ * one per course and tutor.
  */
 @Builder(toBuilder = true) // If Builder is intended to be used
 @Entity
 @Table(name = "course")
+@NamedEntityGraph(
+    name = CourseDBO.LISTING_GRAPH,
+    attributeNodes = {@NamedAttributeNode("tutor"), @NamedAttributeNode("courseCategories")})
 @Getter
 @Setter
 @AllArgsConstructor
-//@EntityListeners(DBPreProcess.class) //Save all string fields in all entities in lower case
+//@EntityListeners(DBPreProcess.class) // Enable to store the @Normalized string fields in lower case
 public class CourseDBO {
+  /** Name of the entity graph for course listings. */
+  public static final String LISTING_GRAPH = "CourseDBO.listing";
+
   /**
    * The unique identifier for the course. This value is automatically generated by the database.
    */
@@ -91,19 +99,27 @@ public class CourseDBO {
   @Builder.Default
   private List<RatingCourseDBO> receivedCourseRatings = new ArrayList<>();
 
-  /** The average rating of the course. This field is not persisted in the database. */
-  @Transient private Double averageRating;
-
-  /** Initializes transient fields after the entity is loaded from the database. */
-  @PostLoad
-  private void onLoad() {
-    if (receivedCourseRatings != null && !receivedCourseRatings.isEmpty()) {
-      double sum = receivedCourseRatings.stream().mapToDouble(RatingCourseDBO::getPoints).sum();
-      this.averageRating = sum / receivedCourseRatings.size();
-    } else {
-      this.averageRating = 0.0;
-    }
-  }
+  /**
+   * The number of ratings received. Maintained together with {@link #ratingSum} and {@link
+   * #averageRating} by {@code CourseRepository.applyCourseRating}, so that the average can be read
+   * without loading {@link #receivedCourseRatings}.
+   *
+   * <p>The aggregates are never written by Hibernate: new rows get the column defaults set by the
+   * {@code DBInitializer}, and saving a stale entity cannot overwrite concurrent increments.
+   */
+  @Column(name = "rating_count", insertable = false, updatable = false)
+  @Builder.Default
+  private Integer ratingCount = 0;
+
+  /** The sum of the points of all ratings received. */
+  @Column(name = "rating_sum", insertable = false, updatable = false)
+  @Builder.Default
+  private Double ratingSum = 0.0;
+
+  /** The average rating of the course, {@code 0} if the course has not been rated yet. */
+  @Column(name = "average_rating", insertable = false, updatable = false)
+  @Builder.Default
+  private Double averageRating = 0.0;
 
   /**
    * Meetings received for a course.
@@ -141,5 +157,8 @@ public class CourseDBO {
     this.meetings = new ArrayList<>();
     this.progress = new ArrayList<>();
     this.courseCategories = new ArrayList<>();
+    this.ratingCount = 0;
+    this.ratingSum = 0.0;
+    this.averageRating = 0.0;
   }
 }
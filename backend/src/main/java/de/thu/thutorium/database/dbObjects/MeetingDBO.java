@@ -18,9 +18,27 @@ import java.util.List;
  * <p>This entity is mapped to the "meeting" table in the database. Each meeting has a unique ID,
  * and is associated with a course and an address. The meeting also includes fields for date, type,
  * status, room number, duration of the meeting, and a link to the meeting.
+ *
+ * <p>The entity graph {@value #CALENDAR_GRAPH} fetches everything a {@code MeetingTO} needs, the
+ * tutor, the course and the address with its university, together with the meeting. It also fetches
+ * the report, which as the inverse side of a one-to-one would otherwise be loaded by one query per
+ * meeting.
+ *
+ * <p>The number of booked seats is kept in {@link #bookedSeats}. It and {@link #capacity} are only
+ * ever changed by the conditional updates of {@code MeetingRepository}, which compare the two in
+ * the same statement, so neither concurrent bookings nor a lowered capacity can overbook a meeting.
  */
 @Builder(toBuilder = true)
 @Entity
+@NamedEntityGraph(
+    name = MeetingDBO.CALENDAR_GRAPH,
+    attributeNodes = {
+      @NamedAttributeNode("tutor"),
+      @NamedAttributeNode("course"),
+      @NamedAttributeNode(value = "address", subgraph = "address"),
+      @NamedAttributeNode("report")
+    },
+    subgraphs = @NamedSubgraph(name = "address", attributeNodes = @NamedAttributeNode("university")))
 @Table(
     name = "meeting",
     uniqueConstraints =
@@ -31,6 +49,9 @@ import java.util.List;
 @Setter
 @AllArgsConstructor
 public class MeetingDBO {
+  /** Name of the entity graph used to load meetings for a calendar. */
+  public static final String CALENDAR_GRAPH = "MeetingDBO.calendar";
+
   /** The unique identifier for the meeting. This ID is generated automatically. */
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -123,6 +144,22 @@ public class MeetingDBO {
   @Builder.Default
   private List<UserDBO> participants = new ArrayList<>();
 
+  /**
+   * The maximum number of participants, or {@code null} if the number is not limited. Not
+   * updatable through the entity, since it must never fall below {@link #bookedSeats}; it is
+   * changed by {@code MeetingRepository.updateCapacity}.
+   */
+  @Column(name = "capacity", updatable = false)
+  private Integer capacity;
+
+  /**
+   * The number of participants who booked a seat. Not updatable through the entity, since it is
+   * maintained atomically by {@code MeetingRepository.reserveSeat} and {@code releaseSeat}.
+   */
+  @Column(name = "booked_seats", updatable = false)
+  @Builder.Default
+  private Integer bookedSeats = 0;
+
   @Column(name = "time_range", columnDefinition = "tsrange", insertable = false, updatable = false)
   private String timeRange;
 
@@ -131,5 +168,6 @@ public class MeetingDBO {
 
   public MeetingDBO() {
     this.participants = new ArrayList<>();
+    this.bookedSeats = 0;
   }
 }
@@ -0,0 +1,58 @@
+package de.thu.thutorium.database.dbObjects;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a student waiting for a seat in a full meeting. This class is mapped to the
+ * "meeting_waitlist" table in the database.
+ *
+ * <p>A student is on the waitlist of a meeting at most once. When a participant cancels, the
+ * student who has waited longest gets the free seat. Entries are removed together with the meeting
+ * or the student.
+ *
+ * @see MeetingDBO
+ * @see UserDBO
+ */
+@Entity
+@Table(
+    name = "meeting_waitlist",
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "unique_meeting_waitlist",
+            columnNames = {"meeting_id", "student_id"}),
+    indexes = @Index(name = "idx_meeting_waitlist_order", columnList = "meeting_id, created_at, waitlist_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MeetingWaitlistDBO {
+  /** Primary key of the entry, automatically generated. */
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "waitlist_id")
+  @Setter(AccessLevel.NONE)
+  private Long waitlistId;
+
+  /** The full meeting the student is waiting for. */
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "meeting_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private MeetingDBO meeting;
+
+  /** The waiting student. */
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "student_id", nullable = false)
+  @OnDelete(action = OnDeleteAction.CASCADE)
+  private UserDBO student;
+
+  /** The timestamp when the student joined the waitlist. */
+  @Column(name = "created_at", nullable = false)
+  @Builder.Default
+  private LocalDateTime createdAt = LocalDateTime.now();
+}
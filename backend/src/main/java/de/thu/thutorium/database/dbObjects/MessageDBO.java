@@ -11,10 +11,17 @@ import java.time.LocalDateTime;
  *
  * <p>The {@code Message} class includes attributes such as the sender, receiver, message content,
  * timestamps for sending and reading, and a flag indicating whether the message has been read.
+ *
+ * <p>Messages are indexed on chat, send time and ID, which is the order in which the chat history
+ * is paged.
  */
 @Builder
 @Entity
-@Table(name = "message")
+@Table(
+    name = "message",
+    indexes = {
+      @Index(name = "idx_message_chat_send_at", columnList = "chat_id, send_at, message_id")
+    })
 @Getter
 @Setter
 @NoArgsConstructor
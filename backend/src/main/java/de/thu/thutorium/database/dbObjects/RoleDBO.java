@@ -1,8 +1,11 @@
 package de.thu.thutorium.database.dbObjects;
 
+import de.thu.thutorium.database.ReferenceDataCache;
 import de.thu.thutorium.database.dbObjects.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -12,6 +15,8 @@ import java.util.Set;
  * and associated users.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCache.ROLE_REGION)
 @Table(name = "roles")
 @Getter
 @Setter
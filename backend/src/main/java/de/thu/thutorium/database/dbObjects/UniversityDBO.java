@@ -1,7 +1,10 @@
 package de.thu.thutorium.database.dbObjects;
 
+import de.thu.thutorium.database.ReferenceDataCache;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -16,6 +19,8 @@ import java.util.List;
  */
 @Builder
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCache.UNIVERSITY_REGION)
 @Table(name = "university")
 @Getter
 @Setter
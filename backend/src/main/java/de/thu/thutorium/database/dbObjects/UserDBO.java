@@ -165,21 +165,33 @@ public class UserDBO implements UserDetails {
   @Builder.Default
   private List<RatingTutorDBO> receivedTutorRatings = new ArrayList<>();
 
-  /** The average rating of the tutor. This field is not persisted in the database. */
-  @Transient private Double averageRating;
+  /**
+   * The number of ratings received as a tutor. Maintained together with {@link #ratingSum} and
+   * {@link #averageRating} by {@code UserRepository.applyTutorRating}, so that the average can be
+   * read without loading {@link #receivedTutorRatings}.
+   *
+   * <p>The aggregates are never written by Hibernate: new rows get the column defaults set by the
+   * {@code DBInitializer}, and saving a stale entity cannot overwrite concurrent increments.
+   */
+  @Column(name = "rating_count", insertable = false, updatable = false)
+  @Builder.Default
+  private Integer ratingCount = 0;
+
+  /** The sum of the points of all ratings received as a tutor. */
+  @Column(name = "rating_sum", insertable = false, updatable = false)
+  @Builder.Default
+  private Double ratingSum = 0.0;
+
+  /** The average rating of the tutor, {@code 0} if the tutor has not been rated yet. */
+  @Column(name = "average_rating", insertable = false, updatable = false)
+  @Builder.Default
+  private Double averageRating = 0.0;
 
   /** Initializes transient fields after the entity is loaded from the database. */
   @PostLoad
   private void onLoad() {
     // Retrieve full name of the user
     this.fullName = firstName + " " + lastName;
-    // Retrieve average rating of the user with tutor role.
-    if (receivedTutorRatings != null && !receivedTutorRatings.isEmpty()) {
-      double sum = receivedTutorRatings.stream().mapToDouble(RatingTutorDBO::getPoints).sum();
-      this.averageRating = sum / receivedTutorRatings.size();
-    } else {
-      this.averageRating = 0.0;
-    }
   }
 
   /**
@@ -268,6 +280,9 @@ public class UserDBO implements UserDetails {
     this.receivedScores = new ArrayList<>();
     this.courseCategories = new ArrayList<>();
     this.meetingsScheduled = new ArrayList<>();
+    this.ratingCount = 0;
+    this.ratingSum = 0.0;
+    this.averageRating = 0.0;
   }
 
   /**
@@ -0,0 +1,9 @@
+package de.thu.thutorium.database.dbObjects.enums;
+
+/** The outcome of a booking request for a meeting. */
+public enum BookingStatus {
+  /** The student got a seat in the meeting. */
+  BOOKED,
+  /** The meeting was full; the student was put on its waitlist. */
+  WAITLISTED
+}
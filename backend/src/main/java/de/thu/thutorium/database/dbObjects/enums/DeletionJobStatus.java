@@ -0,0 +1,13 @@
+package de.thu.thutorium.database.dbObjects.enums;
+
+/** The state of an asynchronous deletion job. */
+public enum DeletionJobStatus {
+  /** The job waits for the deletion thread. */
+  QUEUED,
+  /** The job is deleting rows. */
+  RUNNING,
+  /** The target and everything referencing it have been deleted. */
+  DONE,
+  /** The job stopped with an error; rows deleted in completed chunks stay deleted. */
+  FAILED
+}
@@ -1,13 +1,19 @@
 package de.thu.thutorium.database.repositories;
 
+import de.thu.thutorium.database.ReferenceDataCache;
 import de.thu.thutorium.database.dbObjects.AddressDBO;
+import jakarta.persistence.QueryHint;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Repository interface for accessing and managing {@link AddressDBO} entities in the database. This
  * interface extends {@link JpaRepository}, providing CRUD operations and additional query methods
@@ -30,4 +36,16 @@ public interface AddressRepository extends JpaRepository<AddressDBO, Long> {
             @NotEmpty(message = "The university name cannot be empty") String universityName);
 
   List<AddressDBO> findByAddressId(Long addressId);
+
+  /**
+   * Finds all addresses. The result is kept in the query cache.
+   *
+   * @return all addresses.
+   */
+  @Override
+  @QueryHints({
+    @QueryHint(name = HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)
+  })
+  List<AddressDBO> findAll();
 }
@@ -1,12 +1,18 @@
 package de.thu.thutorium.database.repositories;
 
+import de.thu.thutorium.database.ReferenceDataCache;
 import de.thu.thutorium.database.dbObjects.AffiliationDBO;
 import de.thu.thutorium.database.dbObjects.enums.AffiliationType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Repository interface for {@link AffiliationDBO} entities.
  *
@@ -22,6 +28,18 @@ import java.util.Optional;
  */
 @Repository
 public interface AffiliationRepository extends JpaRepository<AffiliationDBO, Long> {
+  /**
+   * Finds the affiliation of the given type with a university. The result is kept in the query
+   * cache.
+   *
+   * @param affiliationType the type of the affiliation
+   * @param universityName the name of the university
+   * @return the affiliation, if it exists
+   */
+  @QueryHints({
+    @QueryHint(name = HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)
+  })
   Optional<AffiliationDBO> findByAffiliationTypeAndUniversity_UniversityName(
       AffiliationType affiliationType, String universityName);
 }
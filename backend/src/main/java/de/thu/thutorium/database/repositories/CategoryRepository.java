@@ -1,13 +1,19 @@
 package de.thu.thutorium.database.repositories;
 
+import de.thu.thutorium.database.ReferenceDataCache;
 import de.thu.thutorium.database.dbObjects.CourseCategoryDBO;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Repository interface for performing CRUD operations on {@link CourseCategoryDBO} entities.
  *
@@ -25,12 +31,16 @@ public interface CategoryRepository extends JpaRepository<CourseCategoryDBO, Lon
    * Finds a category by its unique name.
    *
    * <p>This method retrieves a single {@link CourseCategoryDBO} entity based on its unique name.
-   * The search is case-sensitive.
+   * The search is case-sensitive; the result is kept in the query cache.
    *
    * @param categoryName the unique name of the category to retrieve.
    * @return the {@link CourseCategoryDBO} entity matching the provided name, or {@code null} if no
    *     match is found.
    */
+  @QueryHints({
+    @QueryHint(name = HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)
+  })
   Optional<CourseCategoryDBO> findCourseCategoryDBOByCategoryName(String categoryName);
 
   /**
@@ -45,5 +55,33 @@ public interface CategoryRepository extends JpaRepository<CourseCategoryDBO, Lon
   @Query("SELECT DISTINCT c FROM CourseCategoryDBO c JOIN c.courses courses")
   List<CourseCategoryDBO> findCategoriesWithCourses();
 
+  /**
+   * Finds all categories. The result is kept in the query cache.
+   *
+   * @return all categories.
+   */
+  @Override
+  @QueryHints({
+    @QueryHint(name = HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)
+  })
+  List<CourseCategoryDBO> findAll();
+
   boolean existsByCategoryName(String categoryName);
+
+  /**
+   * Retrieves the ID and name of every category, without loading the entities.
+   *
+   * <p>Used to bootstrap the in-memory search index.
+   *
+   * @return the name views of all categories.
+   */
+  List<CategoryNameView> findNameViewsBy();
+
+  /** Projection of a category onto the fields indexed for search. */
+  interface CategoryNameView {
+    Long getCategoryId();
+
+    String getCategoryName();
+  }
 }
@@ -0,0 +1,48 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.database.dbObjects.ChatReadMarkerDBO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+/**
+ * Repository interface for {@link ChatReadMarkerDBO} entities, which record how far each
+ * participant of a chat has read.
+ */
+@Repository
+public interface ChatReadMarkerRepository extends JpaRepository<ChatReadMarkerDBO, Long> {
+
+    /**
+     * Creates or advances the read marker of a user in a chat in a single statement. The watermark
+     * never moves backwards, so a late request cannot undo a newer one.
+     *
+     * @param chatId the ID of the chat.
+     * @param userId the ID of the user.
+     * @param messageId the highest message ID the user has now read.
+     * @param readAt the time of the read.
+     * @return the number of rows written.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "chat_read_marker"))
+    @Query(
+        value =
+            "INSERT INTO chat_read_marker (chat_id, user_id, last_read_message_id, read_at) "
+                + "VALUES (:chatId, :userId, :messageId, :readAt) "
+                + "ON CONFLICT (chat_id, user_id) DO UPDATE SET "
+                + "last_read_message_id = GREATEST(chat_read_marker.last_read_message_id, EXCLUDED.last_read_message_id), "
+                + "read_at = EXCLUDED.read_at",
+        nativeQuery = true)
+    int advance(
+        @Param("chatId") Long chatId,
+        @Param("userId") Long userId,
+        @Param("messageId") Long messageId,
+        @Param("readAt") LocalDateTime readAt);
+}
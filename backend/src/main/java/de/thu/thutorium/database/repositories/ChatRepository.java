@@ -2,8 +2,11 @@ package de.thu.thutorium.database.repositories;
 
 import de.thu.thutorium.database.dbObjects.ChatDBO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -21,4 +24,77 @@ import java.util.List;
 @Repository
 public interface ChatRepository extends JpaRepository<ChatDBO, Long> {
     List<ChatDBO> findByParticipants_UserId(Long userId);
+
+    /**
+     * Retrieves the IDs of the chats a user takes part in or has created, without loading them.
+     *
+     * @param userId the ID of the user.
+     * @return the IDs of the user's chats.
+     */
+    @Query(
+        value =
+            "SELECT chat_id FROM chat_participants WHERE user_id = :userId "
+                + "UNION SELECT chat_id FROM chat WHERE creator_id = :userId",
+        nativeQuery = true)
+    List<Long> findChatIdsByUserId(@Param("userId") Long userId);
+
+    /**
+     * Retrieves the IDs of the participants of a chat without loading the users.
+     *
+     * @param chatId the ID of the chat.
+     * @return the participant IDs, empty if the chat does not exist.
+     */
+    @Query("SELECT p.userId FROM ChatDBO c JOIN c.participants p WHERE c.chatId = :chatId")
+    List<Long> findParticipantIdsByChatId(@Param("chatId") Long chatId);
+
+    /**
+     * Retrieves the inbox of a user: one row per chat the user takes part in, with everything
+     * needed to render the chat list, in a single statement.
+     *
+     * <p>For each chat the row holds the counterpart (the first other participant), a preview of
+     * the most recent message and the number of messages addressed to the user that are still
+     * unread. Chats with the most recent activity come first.
+     *
+     * @param userId the ID of the user whose chats are summarised.
+     * @return one summary row per chat.
+     */
+    @Query(
+        value =
+            "SELECT c.chat_id AS \"chatId\", c.creator_id AS \"creatorId\", "
+                + "other.user_id AS \"receiverId\", other.first_name AS \"receiverFirstName\", "
+                + "other.last_name AS \"receiverLastName\", "
+                + "last_message.preview AS \"lastMessagePreview\", last_message.send_at AS \"lastMessageAt\", "
+                + "(SELECT count(*) FROM message m WHERE m.chat_id = c.chat_id "
+                + "AND m.receiver_id = :userId AND m.is_read = false) AS \"unreadMessages\" "
+                + "FROM chat c "
+                + "JOIN chat_participants me ON me.chat_id = c.chat_id AND me.user_id = :userId "
+                + "LEFT JOIN LATERAL (SELECT u.user_id, u.first_name, u.last_name FROM chat_participants p "
+                + "JOIN user_account u ON u.user_id = p.user_id "
+                + "WHERE p.chat_id = c.chat_id AND p.user_id <> :userId "
+                + "ORDER BY p.user_id LIMIT 1) other ON true "
+                + "LEFT JOIN LATERAL (SELECT left(m.message_content, 100) AS preview, m.send_at FROM message m "
+                + "WHERE m.chat_id = c.chat_id "
+                + "ORDER BY m.send_at DESC, m.message_id DESC LIMIT 1) last_message ON true "
+                + "ORDER BY last_message.send_at DESC NULLS LAST, c.chat_id",
+        nativeQuery = true)
+    List<ChatSummaryView> findChatSummariesByUserId(@Param("userId") Long userId);
+
+    /** Projection of one row of {@link #findChatSummariesByUserId(Long)}. */
+    interface ChatSummaryView {
+        Long getChatId();
+
+        Long getCreatorId();
+
+        Long getReceiverId();
+
+        String getReceiverFirstName();
+
+        String getReceiverLastName();
+
+        String getLastMessagePreview();
+
+        LocalDateTime getLastMessageAt();
+
+        Long getUnreadMessages();
+    }
 }
@@ -1,10 +1,13 @@
 package de.thu.thutorium.database.repositories;
 
 import de.thu.thutorium.database.dbObjects.CourseDBO;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +15,9 @@ import java.util.Optional;
  * Repository interface for managing {@link CourseDBO} entities. This interface extends {@link
  * JpaRepository} and provides custom query methods to interact with the underlying database,
  * particularly for finding courses based on the tutor's name.
+ *
+ * <p>Queries returning courses for listings use the entity graph {@link CourseDBO#LISTING_GRAPH},
+ * so mapping the result to {@code CourseTO}s does not trigger lazy loads per course.
  */
 public interface CourseRepository extends JpaRepository<CourseDBO, Long> {
 
@@ -49,9 +55,88 @@ public interface CourseRepository extends JpaRepository<CourseDBO, Long> {
    * @param name The partial course name to search for.
    * @return A list of {@link CourseDBO} objects with names that match the specified partial name.
    */
+  @EntityGraph(CourseDBO.LISTING_GRAPH)
   @Query("SELECT c FROM CourseDBO c WHERE LOWER(c.courseName) LIKE LOWER(CONCAT('%', :name, '%'))")
   List<CourseDBO> findCourseByName(@Param("name") String name);
 
+  /**
+   * Finds courses by their IDs, with tutor and categories, for listings.
+   *
+   * @param courseIds the IDs of the courses.
+   * @return the courses found, in no particular order.
+   */
+  @EntityGraph(CourseDBO.LISTING_GRAPH)
+  List<CourseDBO> findListingsByCourseIdIn(Collection<Long> courseIds);
+
+  /**
+   * Finds the courses a student is enrolled in, with tutor and categories, for listings.
+   *
+   * @param studentId the ID of the student.
+   * @return the courses of the student.
+   */
+  @EntityGraph(CourseDBO.LISTING_GRAPH)
+  @Query("SELECT c FROM CourseDBO c JOIN c.students s WHERE s.userId = :studentId")
+  List<CourseDBO> findListingsByStudentId(@Param("studentId") Long studentId);
+
+  /**
+   * Returns the IDs of courses whose name contains the given search string, best matches first.
+   *
+   * <p>The {@code LIKE} predicate is served by the trigram GIN index on {@code lower(course_name)}
+   * created in {@link de.thu.thutorium.DBInitializer}; results are ranked by trigram similarity.
+   *
+   * @param name the partial course name to search for.
+   * @param limit the maximum number of IDs to return.
+   * @return the IDs of the matching courses, ordered by relevance.
+   */
+  @Query(
+      value =
+          "SELECT c.course_id FROM course c "
+              + "WHERE lower(c.course_name) LIKE CONCAT('%', lower(:name), '%') "
+              + "ORDER BY similarity(lower(c.course_name), lower(:name)) DESC, c.course_id "
+              + "LIMIT :limit",
+      nativeQuery = true)
+  List<Long> findRankedCourseIdsByName(@Param("name") String name, @Param("limit") int limit);
+
+  /**
+   * Returns one page of courses whose name contains the given search string, in name order.
+   *
+   * <p>Pages are addressed by keyset: only rows sorting strictly after {@code (afterKey, afterId)}
+   * are returned. Pass an empty key and ID {@code 0} for the first page.
+   *
+   * @param name the partial course name to search for.
+   * @param afterKey the sort key of the last row of the previous page.
+   * @param afterId the ID of the last row of the previous page.
+   * @param limit the maximum number of rows to return.
+   * @return the IDs and sort keys of the courses on the page.
+   */
+  @Query(
+      value =
+          "SELECT c.course_id AS id, lower(c.course_name) AS \"sortKey\" FROM course c "
+              + "WHERE lower(c.course_name) LIKE CONCAT('%', lower(:name), '%') "
+              + "AND (lower(c.course_name), c.course_id) > (:afterKey, :afterId) "
+              + "ORDER BY lower(c.course_name), c.course_id "
+              + "LIMIT :limit",
+      nativeQuery = true)
+  List<KeysetRow> findCoursePageByName(
+      @Param("name") String name,
+      @Param("afterKey") String afterKey,
+      @Param("afterId") Long afterId,
+      @Param("limit") int limit);
+
+  /**
+   * Counts the courses whose name contains the given search string, stopping at {@code cap}.
+   *
+   * @param name the partial course name to search for.
+   * @param cap the number at which counting stops.
+   * @return the number of matching courses, at most {@code cap}.
+   */
+  @Query(
+      value =
+          "SELECT count(*) FROM (SELECT 1 FROM course c "
+              + "WHERE lower(c.course_name) LIKE CONCAT('%', lower(:name), '%') LIMIT :cap) capped",
+      nativeQuery = true)
+  long countCoursesByName(@Param("name") String name, @Param("cap") int cap);
+
   /**
    * Finds a course by its ID.
    *
@@ -66,6 +151,7 @@ public interface CourseRepository extends JpaRepository<CourseDBO, Long> {
    * @param categoryName The name of the category to search for.
    * @return A list of {@link CourseDBO} objects that belong to the specified category.
    */
+  @EntityGraph(CourseDBO.LISTING_GRAPH)
   @Query(
       "SELECT c FROM CourseDBO c JOIN c.courseCategories cc WHERE LOWER(cc.categoryName) = LOWER(:categoryName)")
   List<CourseDBO> findCoursesByCategoryName(@Param("categoryName") String categoryName);
@@ -78,8 +164,33 @@ public interface CourseRepository extends JpaRepository<CourseDBO, Long> {
    */
   boolean existsByCourseName(String courseName);
 
+  /**
+   * Finds the courses of a tutor, with tutor and categories, for listings.
+   *
+   * @param tutorUserId the ID of the tutor.
+   * @return the courses of the tutor.
+   */
+  @EntityGraph(CourseDBO.LISTING_GRAPH)
   List<CourseDBO> findByTutor_UserId(Long tutorUserId);
 
+  /**
+   * Finds the courses of several tutors, with tutor and categories, for listings.
+   *
+   * @param tutorUserIds the IDs of the tutors.
+   * @return the courses of the tutors, in no particular order.
+   */
+  @EntityGraph(CourseDBO.LISTING_GRAPH)
+  List<CourseDBO> findListingsByTutor_UserIdIn(Collection<Long> tutorUserIds);
+
+  /**
+   * Retrieves the IDs of the courses of a tutor without loading them.
+   *
+   * @param tutorUserId the ID of the tutor.
+   * @return the IDs of the tutor's courses.
+   */
+  @Query("SELECT c.courseId FROM CourseDBO c WHERE c.tutor.userId = :tutorUserId")
+  List<Long> findCourseIdsByTutorId(@Param("tutorUserId") Long tutorUserId);
+
   /**
    * Finds a CourseDBO entity based on the course ID and the tutor's user ID.
    *
@@ -93,4 +204,45 @@ public interface CourseRepository extends JpaRepository<CourseDBO, Long> {
    *     course is found.
    */
   Optional<CourseDBO> findByCourseIdAndTutor_UserId(Long courseId, Long tutorUserId);
+
+  /**
+   * Applies a change to a course's rating aggregates in a single atomic statement.
+   *
+   * <p>See {@link UserRepository#applyTutorRating(Long, int, double)} for the meaning of the
+   * deltas.
+   *
+   * @param courseId the ID of the rated course.
+   * @param countDelta the change in the number of ratings.
+   * @param sumDelta the change in the sum of the points.
+   * @return the number of updated rows.
+   */
+  @Modifying
+  @Query(
+      "UPDATE CourseDBO c SET c.ratingCount = c.ratingCount + :countDelta, "
+          + "c.ratingSum = c.ratingSum + :sumDelta, "
+          + "c.averageRating = CASE WHEN c.ratingCount + :countDelta <= 0 THEN 0.0 "
+          + "ELSE (c.ratingSum + :sumDelta) / (c.ratingCount + :countDelta) END "
+          + "WHERE c.courseId = :courseId")
+  int applyCourseRating(
+      @Param("courseId") Long courseId,
+      @Param("countDelta") int countDelta,
+      @Param("sumDelta") double sumDelta);
+
+  /**
+   * Retrieves the ID, name and short description of every course, without loading the entities.
+   *
+   * <p>Used to bootstrap the in-memory search index.
+   *
+   * @return the search views of all courses.
+   */
+  List<CourseSearchView> findSearchViewsBy();
+
+  /** Projection of a course onto the fields indexed for search. */
+  interface CourseSearchView {
+    Long getCourseId();
+
+    String getCourseName();
+
+    String getDescriptionShort();
+  }
 }
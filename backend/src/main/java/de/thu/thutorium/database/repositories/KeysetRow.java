@@ -0,0 +1,15 @@
+package de.thu.thutorium.database.repositories;
+
+/**
+ * Projection of one row of a keyset-paginated query: the row's ID and the key it is sorted by.
+ *
+ * <p>The sort key is taken from the database rather than recomputed in Java, so that the cursor
+ * built from it compares exactly like the rows do in the query.
+ */
+public interface KeysetRow {
+  /** Returns the ID of the row. */
+  Long getId();
+
+  /** Returns the value the row is sorted by. */
+  String getSortKey();
+}
@@ -1,13 +1,22 @@
 package de.thu.thutorium.database.repositories;
 
 import de.thu.thutorium.database.dbObjects.MeetingDBO;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
 /**
  * Repository interface for {@link MeetingDBO} entities.
  *
@@ -52,4 +61,228 @@ public interface MeetingRepository extends JpaRepository<MeetingDBO, Long> {
     boolean getMeetingDBOByMeetingId(Long meetingId);
 
   MeetingDBO findByMeetingId(Long meetingId);
+
+  /**
+   * Counts the meetings starting in the given period.
+   *
+   * @param from the start of the period, inclusive.
+   * @param to the end of the period, exclusive.
+   * @return the number of meetings starting in the period.
+   */
+  long countByStartTimeGreaterThanEqualAndStartTimeLessThan(LocalDateTime from, LocalDateTime to);
+
+  /**
+   * Returns the IDs of the meetings of a user, as tutor or participant, overlapping a time window.
+   *
+   * <p>The overlap test on the generated {@code time_range} column is served by the GiST indexes
+   * created in {@link de.thu.thutorium.DBInitializer}, so the cost depends on the meetings in the
+   * window, not on all meetings the user ever had.
+   *
+   * @param userId the ID of the user.
+   * @param from the start of the window, inclusive.
+   * @param to the end of the window, exclusive.
+   * @return the IDs of the meetings overlapping the window, in no particular order.
+   */
+  @Query(
+      value =
+          "SELECT m.meeting_id FROM meeting m "
+              + "WHERE m.created_by = :userId AND m.time_range && tsrange(:from, :to) "
+              + "UNION "
+              + "SELECT m.meeting_id FROM meeting m "
+              + "JOIN students_meetings sm ON sm.meeting_id = m.meeting_id "
+              + "WHERE sm.student_id = :userId AND m.time_range && tsrange(:from, :to)",
+      nativeQuery = true)
+  List<Long> findCalendarMeetingIds(
+      @Param("userId") Long userId,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  /**
+   * Loads meetings by their IDs, with tutor, course and address, in calendar order.
+   *
+   * @param meetingIds the IDs of the meetings.
+   * @param meetingType the type of meetings to keep, or {@code null} for all types.
+   * @return the meetings, ordered by start time.
+   */
+  @EntityGraph(MeetingDBO.CALENDAR_GRAPH)
+  @Query(
+      "SELECT m FROM MeetingDBO m WHERE m.meetingId IN :meetingIds "
+          + "AND (:meetingType IS NULL OR m.meetingType = :meetingType) "
+          + "ORDER BY m.startTime, m.meetingId")
+  List<MeetingDBO> findCalendarMeetings(
+      @Param("meetingIds") Collection<Long> meetingIds,
+      @Param("meetingType") MeetingType meetingType);
+
+  /**
+   * Returns the start and end of the meetings a tutor holds that overlap a time window.
+   *
+   * <p>Served by the GiST index of the {@code no_tutor_overlapping_meetings} constraint.
+   *
+   * @param tutorId the ID of the tutor.
+   * @param from the start of the window, inclusive.
+   * @param to the end of the window, exclusive.
+   * @return the intervals of the tutor's meetings overlapping the window.
+   */
+  @Query(
+      value =
+          "SELECT m.meeting_start_time AS \"startTime\", m.meeting_end_time AS \"endTime\" FROM meeting m "
+              + "WHERE m.created_by = :tutorId AND m.time_range && tsrange(:from, :to)",
+      nativeQuery = true)
+  List<MeetingInterval> findTutorBusyIntervals(
+      @Param("tutorId") Long tutorId,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  /**
+   * Returns the start and end of the meetings held in a room that overlap a time window.
+   *
+   * <p>Served by the GiST index of the {@code no_overlapping_meetings} constraint.
+   *
+   * @param addressId the ID of the address of the room.
+   * @param roomNum the room number.
+   * @param from the start of the window, inclusive.
+   * @param to the end of the window, exclusive.
+   * @return the intervals of the meetings in the room overlapping the window.
+   */
+  @Query(
+      value =
+          "SELECT m.meeting_start_time AS \"startTime\", m.meeting_end_time AS \"endTime\" FROM meeting m "
+              + "WHERE m.address_id = :addressId AND m.room_number = :roomNum "
+              + "AND m.time_range && tsrange(:from, :to)",
+      nativeQuery = true)
+  List<MeetingInterval> findRoomBusyIntervals(
+      @Param("addressId") Long addressId,
+      @Param("roomNum") String roomNum,
+      @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  /**
+   * Takes one seat of a meeting if one is free, in a single conditional statement.
+   *
+   * <p>The capacity check and the increment happen atomically in the database: the row lock of the
+   * update makes concurrent bookings of the same meeting wait for each other, and each one sees the
+   * seat count left by the previous one. A meeting without capacity never runs full.
+   *
+   * @param meetingId the ID of the meeting.
+   * @return {@code 1} if a seat was taken, {@code 0} if the meeting is full or does not exist.
+   */
+  @Modifying
+  @Query(
+      "UPDATE MeetingDBO m SET m.bookedSeats = m.bookedSeats + 1 "
+          + "WHERE m.meetingId = :meetingId AND (m.capacity IS NULL OR m.bookedSeats < m.capacity)")
+  int reserveSeat(@Param("meetingId") Long meetingId);
+
+  /**
+   * Sets the capacity of a meeting unless it would fall below the seats already booked.
+   *
+   * <p>Like {@link #reserveSeat(Long)}, the comparison and the change happen in one statement, so a
+   * booking committed concurrently is taken into account.
+   *
+   * @param meetingId the ID of the meeting.
+   * @param capacity the new capacity, or {@code null} for no limit.
+   * @return {@code 1} if the capacity was set, {@code 0} if more seats are booked or the meeting
+   *     does not exist.
+   */
+  @Modifying
+  @Query(
+      "UPDATE MeetingDBO m SET m.capacity = :capacity "
+          + "WHERE m.meetingId = :meetingId AND (:capacity IS NULL OR m.bookedSeats <= :capacity)")
+  int updateCapacity(@Param("meetingId") Long meetingId, @Param("capacity") Integer capacity);
+
+  /**
+   * Gives back one seat of a meeting.
+   *
+   * @param meetingId the ID of the meeting.
+   * @return the number of updated rows.
+   */
+  @Modifying
+  @Query(
+      "UPDATE MeetingDBO m SET m.bookedSeats = m.bookedSeats - 1 "
+          + "WHERE m.meetingId = :meetingId AND m.bookedSeats > 0")
+  int releaseSeat(@Param("meetingId") Long meetingId);
+
+  /**
+   * Checks whether a student is enrolled in the course of a meeting, without loading the roster.
+   *
+   * <p>Served by the index on {@code course_students (student_id, course_id)} created in {@link
+   * de.thu.thutorium.DBInitializer}.
+   *
+   * @param meetingId the ID of the meeting.
+   * @param studentId the ID of the student.
+   * @return {@code true} if the student is enrolled in the course the meeting belongs to.
+   */
+  @Query(
+      value =
+          "SELECT EXISTS (SELECT 1 FROM meeting m "
+              + "JOIN course_students cs ON cs.course_id = m.course_id "
+              + "WHERE m.meeting_id = :meetingId AND cs.student_id = :studentId)",
+      nativeQuery = true)
+  boolean isEnrolledInCourseOfMeeting(
+      @Param("meetingId") Long meetingId, @Param("studentId") Long studentId);
+
+  /**
+   * Checks whether a student has a seat in a meeting.
+   *
+   * @param meetingId the ID of the meeting.
+   * @param studentId the ID of the student.
+   * @return {@code true} if the student is a participant of the meeting.
+   */
+  @Query(
+      value =
+          "SELECT EXISTS (SELECT 1 FROM students_meetings sm "
+              + "WHERE sm.student_id = :studentId AND sm.meeting_id = :meetingId)",
+      nativeQuery = true)
+  boolean isParticipant(@Param("meetingId") Long meetingId, @Param("studentId") Long studentId);
+
+  /**
+   * Returns the meetings a student has booked a seat in.
+   *
+   * @param studentId the ID of the student.
+   * @return the IDs of the meetings.
+   */
+  @Query(
+      value = "SELECT sm.meeting_id FROM students_meetings sm WHERE sm.student_id = :studentId",
+      nativeQuery = true)
+  List<Long> findBookedMeetingIds(@Param("studentId") Long studentId);
+
+  /**
+   * Adds a student to the participants of a meeting, unless the student already is one. The seat
+   * must have been taken with {@link #reserveSeat(Long)} beforehand, and be given back if no row
+   * was inserted.
+   *
+   * @param meetingId the ID of the meeting.
+   * @param studentId the ID of the student.
+   * @return the number of inserted rows, {@code 0} if the student already was a participant.
+   */
+  @Modifying
+  @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "students_meetings"))
+  @Query(
+      value =
+          "INSERT INTO students_meetings (student_id, meeting_id) SELECT :studentId, :meetingId "
+              + "WHERE NOT EXISTS (SELECT 1 FROM students_meetings sm "
+              + "WHERE sm.student_id = :studentId AND sm.meeting_id = :meetingId)",
+      nativeQuery = true)
+  int addParticipant(@Param("meetingId") Long meetingId, @Param("studentId") Long studentId);
+
+  /**
+   * Removes a student from the participants of a meeting. The seat must be given back with {@link
+   * #releaseSeat(Long)} or passed on.
+   *
+   * @param meetingId the ID of the meeting.
+   * @param studentId the ID of the student.
+   * @return the number of removed rows, {@code 0} if the student was not a participant.
+   */
+  @Modifying
+  @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "students_meetings"))
+  @Query(
+      value = "DELETE FROM students_meetings WHERE student_id = :studentId AND meeting_id = :meetingId",
+      nativeQuery = true)
+  int removeParticipant(@Param("meetingId") Long meetingId, @Param("studentId") Long studentId);
+
+  /** Projection of a meeting onto the interval it occupies. */
+  interface MeetingInterval {
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+  }
 }
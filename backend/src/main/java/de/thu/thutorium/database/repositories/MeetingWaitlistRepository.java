@@ -0,0 +1,78 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.database.dbObjects.MeetingWaitlistDBO;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+/**
+ * Repository interface for {@link MeetingWaitlistDBO} entities, the students waiting for a seat in
+ * a full meeting.
+ */
+@Repository
+public interface MeetingWaitlistRepository extends JpaRepository<MeetingWaitlistDBO, Long> {
+
+    /**
+     * Puts a student on the waitlist of a meeting, unless the student is already on it.
+     *
+     * @param meetingId the ID of the meeting.
+     * @param studentId the ID of the student.
+     * @param createdAt the time the student joins the waitlist.
+     * @return the number of rows written, {@code 0} if the student was already waiting.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "meeting_waitlist"))
+    @Query(
+        value =
+            "INSERT INTO meeting_waitlist (meeting_id, student_id, created_at) "
+                + "VALUES (:meetingId, :studentId, :createdAt) "
+                + "ON CONFLICT (meeting_id, student_id) DO NOTHING",
+        nativeQuery = true)
+    int addToWaitlist(
+        @Param("meetingId") Long meetingId,
+        @Param("studentId") Long studentId,
+        @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Removes a student from the waitlist of a meeting.
+     *
+     * @param meetingId the ID of the meeting.
+     * @param studentId the ID of the student.
+     * @return the number of removed rows, {@code 0} if the student was not waiting.
+     */
+    @Modifying
+    @Query(
+        "DELETE FROM MeetingWaitlistDBO w "
+            + "WHERE w.meeting.meetingId = :meetingId AND w.student.userId = :studentId")
+    int removeFromWaitlist(@Param("meetingId") Long meetingId, @Param("studentId") Long studentId);
+
+    /**
+     * Returns the student who has waited longest for a seat in a meeting.
+     *
+     * @param meetingId the ID of the meeting.
+     * @return the ID of the first student on the waitlist, or empty if nobody is waiting.
+     */
+    @Query(
+        value =
+            "SELECT w.student_id FROM meeting_waitlist w WHERE w.meeting_id = :meetingId "
+                + "ORDER BY w.created_at, w.waitlist_id LIMIT 1",
+        nativeQuery = true)
+    Optional<Long> findFirstWaitingStudentId(@Param("meetingId") Long meetingId);
+
+    /**
+     * Counts the students waiting for a seat in a meeting.
+     *
+     * @param meetingId the ID of the meeting.
+     * @return the length of the waitlist.
+     */
+    long countByMeeting_MeetingId(Long meetingId);
+}
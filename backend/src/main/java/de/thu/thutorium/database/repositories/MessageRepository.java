@@ -1,12 +1,16 @@
 package de.thu.thutorium.database.repositories;
 
 import de.thu.thutorium.database.dbObjects.MessageDBO;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for {@link MessageDBO} entities.
@@ -23,10 +27,126 @@ import java.util.List;
  */
 @Repository
 public interface MessageRepository extends JpaRepository<MessageDBO, Long> {
+    /**
+     * Select clause shared by the history page queries. Only foreign key values are read, so no
+     * chat or user entity is loaded.
+     */
+    String MESSAGE_VIEW_SELECT =
+        "SELECT m.messageId AS messageId, m.sender.userId AS senderId, m.receiver.userId AS receiverId, "
+            + "m.chat.chatId AS chatId, m.messageContent AS messageContent, m.sendAt AS sendAt, "
+            + "m.readAt AS readAt, m.isRead AS isRead FROM MessageDBO m ";
+
     int countByChat_ChatIdAndReceiver_UserIdAndIsReadFalse(Long chatId, Long receiverId);
 
     List<MessageDBO> findByChat_ChatId(Long chatId);
 
-    @Query("SELECT m FROM MessageDBO m WHERE m.chat.chatId = :chatId AND m.isRead = false")
-    List<MessageDBO> findAllByChatIdAndIsReadFalse(@Param("chatId") Long chatId);
+    /**
+     * Retrieves the highest message ID in a chat, used as the read watermark when the chat is read.
+     *
+     * @param chatId the ID of the chat.
+     * @return the highest message ID, or {@code null} if the chat has no messages.
+     */
+    @Query("SELECT max(m.messageId) FROM MessageDBO m WHERE m.chat.chatId = :chatId")
+    Long findLatestMessageIdInChat(@Param("chatId") Long chatId);
+
+    /**
+     * Marks all unread messages addressed to a user in a chat as read, up to and including the given
+     * watermark, in a single statement. Messages arriving after the watermark was taken stay unread.
+     *
+     * @param chatId the ID of the chat.
+     * @param readerId the ID of the user reading the chat.
+     * @param upToMessageId the highest message ID to mark as read.
+     * @param readAt the read timestamp to set.
+     * @return the number of messages marked as read.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "UPDATE MessageDBO m SET m.isRead = true, m.readAt = :readAt "
+            + "WHERE m.chat.chatId = :chatId AND m.receiver.userId = :readerId "
+            + "AND m.isRead = false AND m.messageId <= :upToMessageId")
+    int markReadUpTo(
+        @Param("chatId") Long chatId,
+        @Param("readerId") Long readerId,
+        @Param("upToMessageId") Long upToMessageId,
+        @Param("readAt") LocalDateTime readAt);
+
+    /**
+     * Retrieves the send time of a message, provided it belongs to the given chat. Used to anchor a
+     * page of the chat history on a message ID.
+     *
+     * @param messageId the ID of the anchor message.
+     * @param chatId the ID of the chat the message must belong to.
+     * @return the send time, or empty if the message does not exist in that chat.
+     */
+    @Query("SELECT m.sendAt FROM MessageDBO m WHERE m.messageId = :messageId AND m.chat.chatId = :chatId")
+    Optional<LocalDateTime> findSendAtInChat(@Param("messageId") Long messageId, @Param("chatId") Long chatId);
+
+    /**
+     * Retrieves the most recent messages of a chat, newest first.
+     *
+     * @param chatId the ID of the chat.
+     * @param pageable the page request limiting the number of messages.
+     * @return the messages, newest first.
+     */
+    @Query(MESSAGE_VIEW_SELECT
+        + "WHERE m.chat.chatId = :chatId "
+        + "ORDER BY m.sendAt DESC, m.messageId DESC")
+    List<MessageView> findLatestInChat(@Param("chatId") Long chatId, Pageable pageable);
+
+    /**
+     * Retrieves the messages of a chat sent before the given position, newest first.
+     *
+     * @param chatId the ID of the chat.
+     * @param sendAt the send time of the anchor message.
+     * @param messageId the ID of the anchor message, breaking ties on equal send times.
+     * @param pageable the page request limiting the number of messages.
+     * @return the older messages, newest first.
+     */
+    @Query(MESSAGE_VIEW_SELECT
+        + "WHERE m.chat.chatId = :chatId "
+        + "AND (m.sendAt < :sendAt OR (m.sendAt = :sendAt AND m.messageId < :messageId)) "
+        + "ORDER BY m.sendAt DESC, m.messageId DESC")
+    List<MessageView> findBeforeInChat(
+        @Param("chatId") Long chatId,
+        @Param("sendAt") LocalDateTime sendAt,
+        @Param("messageId") Long messageId,
+        Pageable pageable);
+
+    /**
+     * Retrieves the messages of a chat sent after the given position, oldest first.
+     *
+     * @param chatId the ID of the chat.
+     * @param sendAt the send time of the anchor message.
+     * @param messageId the ID of the anchor message, breaking ties on equal send times.
+     * @param pageable the page request limiting the number of messages.
+     * @return the newer messages, oldest first.
+     */
+    @Query(MESSAGE_VIEW_SELECT
+        + "WHERE m.chat.chatId = :chatId "
+        + "AND (m.sendAt > :sendAt OR (m.sendAt = :sendAt AND m.messageId > :messageId)) "
+        + "ORDER BY m.sendAt ASC, m.messageId ASC")
+    List<MessageView> findAfterInChat(
+        @Param("chatId") Long chatId,
+        @Param("sendAt") LocalDateTime sendAt,
+        @Param("messageId") Long messageId,
+        Pageable pageable);
+
+    /** Flat projection of a message as returned by the history page queries. */
+    interface MessageView {
+        Long getMessageId();
+
+        Long getSenderId();
+
+        Long getReceiverId();
+
+        Long getChatId();
+
+        String getMessageContent();
+
+        LocalDateTime getSendAt();
+
+        LocalDateTime getReadAt();
+
+        Boolean getIsRead();
+    }
 }
@@ -1,10 +1,16 @@
 package de.thu.thutorium.database.repositories;
 
+import de.thu.thutorium.database.ReferenceDataCache;
 import de.thu.thutorium.database.dbObjects.RoleDBO;
 import de.thu.thutorium.database.dbObjects.enums.Role;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Repository interface for {@link RoleDBO} entities.
  *
@@ -15,7 +21,7 @@ import org.springframework.stereotype.Repository;
  * and retrieval for role entities.
  *
  * <p>Custom query methods are also included for finding roles by their name or checking if a role
- * exists.
+ * exists. Lookups by name are kept in the query cache, see {@link ReferenceDataCache}.
  */
 @Repository
 public interface RoleRepository extends JpaRepository<RoleDBO, Long> {
@@ -33,5 +39,9 @@ public interface RoleRepository extends JpaRepository<RoleDBO, Long> {
    * @param roleName the name of the role to find
    * @return the found RoleDBO entity
    */
+  @QueryHints({
+    @QueryHint(name = HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)
+  })
   RoleDBO findByRoleName(Role roleName);
 }
@@ -1,11 +1,17 @@
 package de.thu.thutorium.database.repositories;
 
+import de.thu.thutorium.database.ReferenceDataCache;
 import de.thu.thutorium.database.dbObjects.UniversityDBO;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Repository interface for accessing and managing {@link UniversityDBO} entities in the database.
  * This interface extends {@link JpaRepository}, providing CRUD operations and additional query
@@ -18,11 +24,15 @@ import java.util.Optional;
 @Repository
 public interface UniversityRepository extends JpaRepository<UniversityDBO, Long> {
   /**
-   * Finds a university by its name.
+   * Finds a university by its name. The result is kept in the query cache.
    *
    * @param universityName the name of the university
    * @return an {@code Optional} containing the found {@code UniversityDBO} or {@code
    *     Optional.empty()} if not found
    */
+  @QueryHints({
+    @QueryHint(name = HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)
+  })
   Optional<UniversityDBO> findByUniversityName(String universityName);
 }
@@ -3,11 +3,14 @@ package de.thu.thutorium.database.repositories;
 import de.thu.thutorium.database.dbObjects.RoleDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
 import de.thu.thutorium.database.dbObjects.enums.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -74,6 +77,93 @@ public interface UserRepository extends JpaRepository<UserDBO, Long> {
           + "LOWER(CONCAT(u.lastName, ' ', u.firstName)) LIKE LOWER(CONCAT('%', :tutorName, '%')))")
   List<UserDBO> findByTutorFullName(@Param("tutorName") String tutorName);
 
+  /**
+   * Returns the IDs of tutors whose full name contains the given search string, best matches first.
+   *
+   * <p>Both name orders are matched case-insensitively. The {@code LIKE} predicates are served by
+   * the trigram GIN indexes created in {@link de.thu.thutorium.DBInitializer}, and the result is
+   * ranked by trigram similarity so that exact and near-exact names appear before loose substring
+   * hits. Only the IDs are returned; callers load the entities in one batch.
+   *
+   * @param tutorName the search string to match against the tutor's full name.
+   * @param limit the maximum number of IDs to return.
+   * @return the IDs of the matching tutors, ordered by relevance.
+   */
+  @Query(
+      value =
+          "SELECT u.user_id FROM user_account u "
+              + "WHERE EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.role_id = ur.role_id "
+              + "WHERE ur.user_id = u.user_id AND r.role_name = 'TUTOR') "
+              + "AND (lower(u.first_name || ' ' || u.last_name) LIKE CONCAT('%', lower(:tutorName), '%') "
+              + "OR lower(u.last_name || ' ' || u.first_name) LIKE CONCAT('%', lower(:tutorName), '%')) "
+              + "ORDER BY GREATEST(similarity(lower(u.first_name || ' ' || u.last_name), lower(:tutorName)), "
+              + "similarity(lower(u.last_name || ' ' || u.first_name), lower(:tutorName))) DESC, u.user_id "
+              + "LIMIT :limit",
+      nativeQuery = true)
+  List<Long> findRankedTutorIdsByFullName(
+      @Param("tutorName") String tutorName, @Param("limit") int limit);
+
+  /**
+   * Finds users by their IDs, together with their roles and affiliation, for listings.
+   *
+   * <p>Unlike {@code findAllById}, which loads the eagerly fetched roles and affiliation with one
+   * extra query per user, everything is read in a single query.
+   *
+   * @param userIds the IDs of the users.
+   * @return the users found, in no particular order.
+   */
+  @EntityGraph(attributePaths = {"roles", "affiliation", "affiliation.university"})
+  List<UserDBO> findListingsByUserIdIn(Collection<Long> userIds);
+
+  /**
+   * Returns one page of tutors whose full name contains the given search string, in name order.
+   *
+   * <p>Pages are addressed by keyset: only rows sorting strictly after {@code (afterKey, afterId)}
+   * are returned, so the database never skips over earlier pages. Pass an empty key and ID
+   * {@code 0} for the first page.
+   *
+   * @param tutorName the search string to match against the tutor's full name.
+   * @param afterKey the sort key of the last row of the previous page.
+   * @param afterId the ID of the last row of the previous page.
+   * @param limit the maximum number of rows to return.
+   * @return the IDs and sort keys of the tutors on the page.
+   */
+  @Query(
+      value =
+          "SELECT u.user_id AS id, lower(u.first_name || ' ' || u.last_name) AS \"sortKey\" "
+              + "FROM user_account u "
+              + "WHERE EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.role_id = ur.role_id "
+              + "WHERE ur.user_id = u.user_id AND r.role_name = 'TUTOR') "
+              + "AND (lower(u.first_name || ' ' || u.last_name) LIKE CONCAT('%', lower(:tutorName), '%') "
+              + "OR lower(u.last_name || ' ' || u.first_name) LIKE CONCAT('%', lower(:tutorName), '%')) "
+              + "AND (lower(u.first_name || ' ' || u.last_name), u.user_id) > (:afterKey, :afterId) "
+              + "ORDER BY lower(u.first_name || ' ' || u.last_name), u.user_id "
+              + "LIMIT :limit",
+      nativeQuery = true)
+  List<KeysetRow> findTutorPageByFullName(
+      @Param("tutorName") String tutorName,
+      @Param("afterKey") String afterKey,
+      @Param("afterId") Long afterId,
+      @Param("limit") int limit);
+
+  /**
+   * Counts the tutors whose full name contains the given search string, stopping at {@code cap}.
+   *
+   * @param tutorName the search string to match against the tutor's full name.
+   * @param cap the number at which counting stops.
+   * @return the number of matching tutors, at most {@code cap}.
+   */
+  @Query(
+      value =
+          "SELECT count(*) FROM (SELECT 1 FROM user_account u "
+              + "WHERE EXISTS (SELECT 1 FROM user_roles ur JOIN roles r ON r.role_id = ur.role_id "
+              + "WHERE ur.user_id = u.user_id AND r.role_name = 'TUTOR') "
+              + "AND (lower(u.first_name || ' ' || u.last_name) LIKE CONCAT('%', lower(:tutorName), '%') "
+              + "OR lower(u.last_name || ' ' || u.first_name) LIKE CONCAT('%', lower(:tutorName), '%')) "
+              + "LIMIT :cap) capped",
+      nativeQuery = true)
+  long countTutorsByFullName(@Param("tutorName") String tutorName, @Param("cap") int cap);
+
   /**
    * Finds a UserDBO entity based on the user's ID and role name.
    *
@@ -87,5 +177,84 @@ public interface UserRepository extends JpaRepository<UserDBO, Long> {
    */
   Optional<UserDBO> findUserDBOByUserIdAndRoles_RoleName(Long userId, Role roleName);
 
-  List<UserDBO> findUserDBOSByRoles_RoleName(Role roleName);
+  /**
+   * Counts the users having the given role, without loading them.
+   *
+   * @param roleName the role to count.
+   * @return the number of users with the role.
+   */
+  long countByRoles_RoleName(Role roleName);
+
+  /**
+   * Applies a change to a tutor's rating aggregates in a single atomic statement.
+   *
+   * <p>A new rating is applied with {@code countDelta = 1} and its points as {@code sumDelta}; a
+   * changed rating with {@code countDelta = 0} and the difference in points; a removed rating with
+   * {@code countDelta = -1} and its negated points. The average is recomputed from the new count
+   * and sum in the same statement, so concurrent ratings cannot overwrite each other.
+   *
+   * @param userId the ID of the rated tutor.
+   * @param countDelta the change in the number of ratings.
+   * @param sumDelta the change in the sum of the points.
+   * @return the number of updated rows.
+   */
+  @Modifying
+  @Query(
+      "UPDATE UserDBO u SET u.ratingCount = u.ratingCount + :countDelta, "
+          + "u.ratingSum = u.ratingSum + :sumDelta, "
+          + "u.averageRating = CASE WHEN u.ratingCount + :countDelta <= 0 THEN 0.0 "
+          + "ELSE (u.ratingSum + :sumDelta) / (u.ratingCount + :countDelta) END "
+          + "WHERE u.userId = :userId")
+  int applyTutorRating(
+      @Param("userId") Long userId,
+      @Param("countDelta") int countDelta,
+      @Param("sumDelta") double sumDelta);
+
+  /**
+   * Replaces the password hash of a user without loading the entity.
+   *
+   * @param email the email of the user.
+   * @param password the new password hash.
+   * @return the number of updated rows.
+   */
+  @Modifying
+  @Query("UPDATE UserDBO u SET u.password = :password WHERE u.email = :email")
+  int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+  /**
+   * Retrieves the email of a user without loading the entity.
+   *
+   * @param userId the ID of the user.
+   * @return the email, or empty if the user does not exist.
+   */
+  @Query("SELECT u.email FROM UserDBO u WHERE u.userId = :userId")
+  Optional<String> findEmailByUserId(@Param("userId") Long userId);
+
+  /**
+   * Checks whether a user with the given ID and email exists, e.g. to confirm the subject of a token.
+   *
+   * @param userId the ID of the user.
+   * @param email the email of the user.
+   * @return {@code true} if the user exists and still has that email.
+   */
+  boolean existsByUserIdAndEmail(Long userId, String email);
+
+  /**
+   * Retrieves the ID and name of every user holding the given role, without loading the entities.
+   *
+   * <p>Used to bootstrap the in-memory search index.
+   *
+   * @param roleName the role the users must hold.
+   * @return the name views of all users with that role.
+   */
+  List<UserNameView> findNameViewsByRoles_RoleName(Role roleName);
+
+  /** Projection of a user onto the fields indexed for search. */
+  interface UserNameView {
+    Long getUserId();
+
+    String getFirstName();
+
+    String getLastName();
+  }
 }
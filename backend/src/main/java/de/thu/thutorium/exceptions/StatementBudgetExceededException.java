@@ -0,0 +1,11 @@
+package de.thu.thutorium.exceptions;
+
+/**
+ * Thrown when a request executed more SQL statements than its budget allows and the statement
+ * budget is enforced, i.e. {@code jpa.statement-budget.mode=fail}.
+ */
+public class StatementBudgetExceededException extends RuntimeException {
+  public StatementBudgetExceededException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,22 @@
+package de.thu.thutorium.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Wires the metrics instrumentation into Hibernate. */
+@Configuration
+public class MetricsConfig {
+
+  /**
+   * Registers the {@link StatementCounter} as the statement inspector of Hibernate.
+   *
+   * @param statementCounter the counter of SQL statements
+   * @return the customizer adding the inspector to the Hibernate properties
+   */
+  @Bean
+  public HibernatePropertiesCustomizer statementCounterCustomizer(StatementCounter statementCounter) {
+    return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, statementCounter);
+  }
+}
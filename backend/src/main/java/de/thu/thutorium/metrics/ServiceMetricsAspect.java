@@ -0,0 +1,53 @@
+package de.thu.thutorium.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the service implementations.
+ *
+ * <p>Each call is recorded in the timer {@value #METRIC_NAME}, tagged with the service class, the
+ * method and the simple name of the exception it threw ({@code none} on success). The count of the
+ * timer doubles as the call counter. Calls of a service to its own methods bypass the proxy and are
+ * only counted as part of the outer call.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+  static final String METRIC_NAME = "thutorium.service";
+
+  private final MeterRegistry meterRegistry;
+
+  /**
+   * Records the duration and outcome of a service call.
+   *
+   * @param joinPoint the intercepted call
+   * @return the result of the call
+   * @throws Throwable whatever the call throws
+   */
+  @Around("execution(public * de.thu.thutorium.services.implementations.*ServiceImpl.*(..))")
+  public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    String exception = "none";
+    try {
+      return joinPoint.proceed();
+    } catch (Throwable t) {
+      exception = t.getClass().getSimpleName();
+      throw t;
+    } finally {
+      sample.stop(
+          Timer.builder(METRIC_NAME)
+              .description("Calls of service methods")
+              .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+              .tag("method", joinPoint.getSignature().getName())
+              .tag("exception", exception)
+              .register(meterRegistry));
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package de.thu.thutorium.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the maximum number of SQL statements a request to the annotated handler method, or to every
+ * handler method of the annotated controller, may execute.
+ *
+ * <p>Handlers without the annotation get the default budget {@code jpa.statement-budget.default}.
+ * A budget that grows with the size of the result is an N+1 query, so budgets should be constants
+ * that hold for any amount of data. See {@link StatementBudgetMonitor}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface StatementBudget {
+
+  /**
+   * Returns the maximum number of statements per request.
+   *
+   * @return the budget
+   */
+  int value();
+}
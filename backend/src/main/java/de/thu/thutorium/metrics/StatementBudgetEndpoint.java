@@ -0,0 +1,26 @@
+package de.thu.thutorium.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/** Actuator endpoint {@code /actuator/statementbudget} reporting the SQL statements per endpoint. */
+@Component
+@Endpoint(id = "statementbudget")
+@RequiredArgsConstructor
+public class StatementBudgetEndpoint {
+  private final StatementBudgetMonitor statementBudgetMonitor;
+
+  /**
+   * Returns the statement statistics and budget of every endpoint requested so far.
+   *
+   * @return the report by endpoint
+   */
+  @ReadOperation
+  public Map<String, StatementBudgetMonitor.EndpointReport> report() {
+    return statementBudgetMonitor.report();
+  }
+}
@@ -0,0 +1,163 @@
+package de.thu.thutorium.metrics;
+
+import de.thu.thutorium.exceptions.StatementBudgetExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Checks the number of SQL statements of each request against the budget of its endpoint and
+ * keeps per-endpoint statistics, available at {@code /actuator/statementbudget}.
+ *
+ * <p>The budget of an endpoint comes from {@link StatementBudget} on the handler method or its
+ * controller, otherwise from {@code jpa.statement-budget.default}. What happens when a request
+ * exceeds it depends on {@code jpa.statement-budget.mode}:
+ *
+ * <ul>
+ *   <li>{@code log} (default): a warning is logged whenever an endpoint sets a new maximum above
+ *       its budget, and every violation is counted in the report.
+ *   <li>{@code fail}: additionally, {@link #check} throws a {@link
+ *       StatementBudgetExceededException}, which {@link StatementMetricsFilter} turns into a
+ *       {@code 500} response. Meant for tests and CI, so N+1 regressions break the build.
+ *   <li>{@code off}: nothing is checked or recorded.
+ * </ul>
+ */
+@Component
+@Slf4j
+public class StatementBudgetMonitor {
+  /** What to do when a request exceeds its statement budget. */
+  public enum Mode {
+    OFF,
+    LOG,
+    FAIL
+  }
+
+  private final int defaultBudget;
+  private final Mode mode;
+  private final Map<String, EndpointStatistics> statistics = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the monitor.
+   *
+   * @param defaultBudget the budget of endpoints without {@link StatementBudget}
+   * @param mode {@code off}, {@code log} or {@code fail}
+   */
+  public StatementBudgetMonitor(
+      @Value("${jpa.statement-budget.default:20}") int defaultBudget,
+      @Value("${jpa.statement-budget.mode:log}") String mode) {
+    this.defaultBudget = defaultBudget;
+    this.mode = Mode.valueOf(mode.toUpperCase(Locale.ROOT));
+  }
+
+  /**
+   * Returns what happens when a request exceeds its budget.
+   *
+   * @return the configured mode
+   */
+  public Mode getMode() {
+    return mode;
+  }
+
+  /**
+   * Records the statements of a finished request and checks them against its budget.
+   *
+   * @param request the request, after its handler has run
+   * @param statements the number of SQL statements the request executed
+   * @throws StatementBudgetExceededException if the budget was exceeded in {@code fail} mode
+   */
+  public void check(HttpServletRequest request, int statements) {
+    if (mode == Mode.OFF) {
+      return;
+    }
+    Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      // Static resources, errors and requests no controller handled
+      return;
+    }
+    String endpoint = request.getMethod() + " " + StatementMetricsFilter.uriPattern(request);
+    EndpointStatistics endpointStatistics =
+        statistics.computeIfAbsent(endpoint, key -> new EndpointStatistics(budgetOf(handlerMethod)));
+    int previousMax = endpointStatistics.record(statements);
+    if (statements <= endpointStatistics.budget) {
+      return;
+    }
+    String message =
+        endpoint + " executed " + statements + " SQL statements, its budget is " + endpointStatistics.budget;
+    if (mode == Mode.FAIL) {
+      throw new StatementBudgetExceededException(message);
+    }
+    if (statements > previousMax) {
+      log.warn(message + " (possible N+1 query)");
+    }
+  }
+
+  /**
+   * Returns the statistics of every endpoint requested so far.
+   *
+   * @return the report by endpoint, e.g. {@code GET /search}, in alphabetical order
+   */
+  public Map<String, EndpointReport> report() {
+    Map<String, EndpointReport> report = new TreeMap<>();
+    statistics.forEach((endpoint, endpointStatistics) -> report.put(endpoint, endpointStatistics.toReport()));
+    return report;
+  }
+
+  private int budgetOf(HandlerMethod handlerMethod) {
+    StatementBudget budget = handlerMethod.getMethodAnnotation(StatementBudget.class);
+    if (budget == null) {
+      budget = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), StatementBudget.class);
+    }
+    return budget == null ? defaultBudget : budget.value();
+  }
+
+  /**
+   * The statement statistics of one endpoint.
+   *
+   * @param budget the statement budget of the endpoint
+   * @param requests the number of requests
+   * @param averageStatements the average number of statements per request
+   * @param maxStatements the largest number of statements of a single request
+   * @param violations the number of requests above the budget
+   */
+  public record EndpointReport(
+      int budget, long requests, double averageStatements, int maxStatements, long violations) { }
+
+  private static final class EndpointStatistics {
+    private final int budget;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final AtomicInteger max = new AtomicInteger();
+    private final LongAdder violations = new LongAdder();
+
+    EndpointStatistics(int budget) {
+      this.budget = budget;
+    }
+
+    /** Records a request and returns the previous maximum. */
+    int record(int count) {
+      requests.increment();
+      statements.add(count);
+      if (count > budget) {
+        violations.increment();
+      }
+      return max.getAndAccumulate(count, Math::max);
+    }
+
+    EndpointReport toReport() {
+      long requestCount = requests.sum();
+      double average = requestCount == 0 ? 0 : (double) statements.sum() / requestCount;
+      return new EndpointReport(budget, requestCount, average, max.get(), violations.sum());
+    }
+  }
+}
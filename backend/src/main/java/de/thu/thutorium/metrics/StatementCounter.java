@@ -0,0 +1,52 @@
+package de.thu.thutorium.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread while counting is active.
+ *
+ * <p>Hibernate passes every statement through this inspector (see {@link MetricsConfig}); it is
+ * only counted between {@link #begin()} and {@link #end()}, which {@link StatementMetricsFilter}
+ * calls around each HTTP request. Statements run on other threads, e.g. by the chat message
+ * write-behind, are not attributed to any request.
+ */
+@Component
+public class StatementCounter implements StatementInspector {
+  private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+  /** Starts counting on the current thread, from zero. */
+  public void begin() {
+    COUNT.set(new int[1]);
+  }
+
+  /**
+   * Returns the number of statements counted so far on the current thread.
+   *
+   * @return the count, or {@code 0} if counting is not active
+   */
+  public int current() {
+    int[] count = COUNT.get();
+    return count == null ? 0 : count[0];
+  }
+
+  /**
+   * Stops counting on the current thread.
+   *
+   * @return the number of statements counted since {@link #begin()}
+   */
+  public int end() {
+    int count = current();
+    COUNT.remove();
+    return count;
+  }
+
+  @Override
+  public String inspect(String sql) {
+    int[] count = COUNT.get();
+    if (count != null) {
+      count[0]++;
+    }
+    return sql;
+  }
+}
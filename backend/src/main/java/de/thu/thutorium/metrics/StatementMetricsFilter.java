@@ -0,0 +1,121 @@
+package de.thu.thutorium.metrics;
+
+import de.thu.thutorium.exceptions.StatementBudgetExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each HTTP request executes.
+ *
+ * <p>The count goes to the distribution summary {@value #METRIC_NAME}, tagged with the HTTP method
+ * and the URI pattern of the handler (e.g. {@code /user/get-meetings/{userId}}), so endpoints with
+ * N+1 queries stand out next to their latency in {@code http.server.requests}. The count is then
+ * checked against the statement budget of the endpoint by the {@link StatementBudgetMonitor}.
+ *
+ * <p>In {@code fail} mode the response is buffered until the check has passed: a request over its
+ * budget must not reach the client as a success, which it would if the handler had already
+ * committed the response. It is replaced by a {@code 500} error instead.
+ *
+ * <p>Asynchronous handlers (e.g. {@code /auth/login}) are filtered on every dispatch. The statements
+ * of all dispatches are added up, and the total is recorded, checked and the buffered response
+ * sent only once the last dispatch has completed the request.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatementMetricsFilter extends OncePerRequestFilter {
+  static final String METRIC_NAME = "hibernate.statements.per.request";
+
+  /** The statements counted by the dispatches of a request that went on asynchronously. */
+  private static final String STATEMENTS_ATTRIBUTE =
+      StatementMetricsFilter.class.getName() + ".statements";
+
+  private final StatementCounter statementCounter;
+  private final MeterRegistry meterRegistry;
+  private final StatementBudgetMonitor statementBudgetMonitor;
+
+  @Override
+  protected boolean shouldNotFilterAsyncDispatch() {
+    return false;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    // An async dispatch gets the wrapper the first dispatch passed on
+    ContentCachingResponseWrapper buffered =
+        WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+    if (buffered == null && statementBudgetMonitor.getMode() == StatementBudgetMonitor.Mode.FAIL) {
+      buffered = new ContentCachingResponseWrapper(response);
+    }
+    statementCounter.begin();
+    int statements;
+    try {
+      filterChain.doFilter(request, buffered == null ? response : buffered);
+    } finally {
+      statements = statementCounter.end() + earlierStatements(request);
+      if (request.isAsyncStarted()) {
+        request.setAttribute(STATEMENTS_ATTRIBUTE, statements);
+      } else {
+        DistributionSummary.builder(METRIC_NAME)
+            .description("SQL statements executed per HTTP request")
+            .tag("method", request.getMethod())
+            .tag("uri", uriPattern(request))
+            .register(meterRegistry)
+            .record(statements);
+      }
+    }
+    if (request.isAsyncStarted()) {
+      // The dispatch completing the request checks the total and sends the response
+      return;
+    }
+    if (buffered == null) {
+      statementBudgetMonitor.check(request, statements);
+      return;
+    }
+    try {
+      statementBudgetMonitor.check(request, statements);
+    } catch (StatementBudgetExceededException e) {
+      log.error(e.getMessage());
+      buffered.reset();
+      ((HttpServletResponse) buffered.getResponse())
+          .sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+      return;
+    }
+    buffered.copyBodyToResponse();
+  }
+
+  private static int earlierStatements(HttpServletRequest request) {
+    Object statements = request.getAttribute(STATEMENTS_ATTRIBUTE);
+    return statements == null ? 0 : (int) statements;
+  }
+
+  /**
+   * Returns the URI pattern of the handler of a request, which keeps the number of tag values
+   * bounded, unlike the raw URI.
+   *
+   * @param request the handled request
+   * @return the pattern, or {@code UNKNOWN} if no handler matched
+   */
+  static String uriPattern(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern == null ? "UNKNOWN" : pattern.toString();
+  }
+}
@@ -0,0 +1,11 @@
+/**
+ * Provides the application metrics of the Thutorium backend.
+ *
+ * <p>This package contains the instrumentation that is not covered by Spring Boot itself: timers on
+ * the service layer and the number of SQL statements each request executes. All meters are
+ * registered with Micrometer and exposed on the Prometheus actuator endpoint.
+ *
+ * @since 1.0
+ * @version 1.0
+ */
+package de.thu.thutorium.metrics;
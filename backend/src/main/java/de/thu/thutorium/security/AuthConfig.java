@@ -2,6 +2,7 @@ package de.thu.thutorium.security;
 
 import de.thu.thutorium.database.repositories.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +12,12 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
 
 /** Configuration class for authentication-related beans. */
 @Configuration
@@ -18,6 +25,15 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 public class AuthConfig {
 
   private final UserRepository userRepository;
+  private final PasswordUpgradeService passwordUpgradeService;
+
+  /** The encoder used for new hashes, see {@link #passwordEncoder()}. */
+  @Value("${security.password.encoder:bcrypt}")
+  private String passwordEncoderId;
+
+  /** The BCrypt cost factor; every increment doubles the time needed to hash a password. */
+  @Value("${security.password.bcrypt-strength:10}")
+  private int bcryptStrength;
 
   /**
    * Bean for UserDetailsService. Provides user details based on the username.
@@ -35,6 +51,9 @@ public class AuthConfig {
   /**
    * Bean for AuthenticationProvider. Provides an authentication provider for authentication.
    *
+   * <p>Hashes that are not in the current format are re-encoded after a successful login by the
+   * {@link PasswordUpgradeService}.
+   *
    * @return an AuthenticationProvider instance
    */
   @Bean
@@ -42,17 +61,44 @@ public class AuthConfig {
     DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
     authProvider.setUserDetailsService(userDetailsService());
     authProvider.setPasswordEncoder(passwordEncoder());
+    authProvider.setUserDetailsPasswordService(passwordUpgradeService);
     return authProvider;
   }
 
   /**
-   * Bean for BCryptPasswordEncoder. Provides a password encoder for encoding passwords.
+   * Bean for PasswordEncoder. Provides a password encoder for encoding passwords.
+   *
+   * <p>New hashes are created by the encoder configured with {@code security.password.encoder}
+   * ({@code bcrypt} or {@code pbkdf2}) and prefixed with its ID, e.g. {@code {bcrypt}$2a$...}.
+   * Hashes stored without a prefix are BCrypt hashes from before the prefix was introduced and are
+   * still accepted.
    *
-   * @return a BCryptPasswordEncoder instance
+   * @return a DelegatingPasswordEncoder instance
    */
   @Bean
-  public BCryptPasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder() {
+    return createPasswordEncoder(passwordEncoderId, bcryptStrength);
+  }
+
+  /**
+   * Creates the password encoder described in {@link #passwordEncoder()}.
+   *
+   * @param passwordEncoderId the ID of the encoder used for new hashes
+   * @param bcryptStrength the BCrypt cost factor
+   * @return a DelegatingPasswordEncoder instance
+   */
+  public static PasswordEncoder createPasswordEncoder(String passwordEncoderId, int bcryptStrength) {
+    BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+    Map<String, PasswordEncoder> encoders = new HashMap<>();
+    encoders.put("bcrypt", bcrypt);
+    encoders.put("pbkdf2", Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8());
+    if (!encoders.containsKey(passwordEncoderId)) {
+      throw new IllegalStateException("Unknown password encoder: " + passwordEncoderId);
+    }
+    DelegatingPasswordEncoder passwordEncoder =
+        new DelegatingPasswordEncoder(passwordEncoderId, encoders);
+    passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+    return passwordEncoder;
   }
 
   /**
@@ -0,0 +1,64 @@
+package de.thu.thutorium.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.io.Serializable;
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * The principal of an authenticated request, built from the claims of its JWT.
+ *
+ * <p>Unlike the {@code UserDBO} entity, this record is immutable, detached from Hibernate and
+ * created without a database query, so it can be cached and shared between requests. It carries
+ * only what authorisation needs: the user ID, the email (the subject of the token) and the granted
+ * authorities.
+ *
+ * @param userId the ID of the user
+ * @param email the email of the user, which is also the subject of the token
+ * @param authorities the authorities granted by the token, e.g. {@code ROLE_STUDENT}
+ */
+public record AuthenticatedUser(Long userId, String email, List<GrantedAuthority> authorities)
+    implements Principal, Serializable {
+
+  /** Copies the authorities, so the principal cannot be changed after it has been created. */
+  public AuthenticatedUser {
+    authorities = List.copyOf(authorities);
+  }
+
+  /**
+   * Builds the principal from the verified claims of a token.
+   *
+   * @param claims the claims of a token whose signature and expiry have been verified
+   * @return the principal described by the claims
+   * @throws IllegalArgumentException if the token lacks the subject or the user ID
+   */
+  public static AuthenticatedUser fromClaims(Claims claims) {
+    String email = claims.getSubject();
+    Long userId = claims.get("id", Long.class);
+    if (email == null || userId == null) {
+      throw new IllegalArgumentException("Token does not identify a user");
+    }
+    List<?> roles = claims.get("roles", List.class);
+    List<GrantedAuthority> authorities =
+        roles == null
+            ? List.of()
+            : roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(role.toString()))
+                .toList();
+    return new AuthenticatedUser(userId, email, authorities);
+  }
+
+  /**
+   * Returns the email of the user, matching the username of the {@code UserDetails} the token was
+   * issued for.
+   *
+   * @return the email of the user
+   */
+  @Override
+  public String getName() {
+    return email;
+  }
+}
@@ -1,6 +1,10 @@
 package de.thu.thutorium.security;
 
+import de.thu.thutorium.database.repositories.UserRepository;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,31 +12,36 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Filter for JWT authentication. This filter intercepts HTTP requests to validate JWT tokens and
  * set the authentication context.
+ *
+ * <p>The principal is an {@link AuthenticatedUser} built from the claims of the token. Each token
+ * is parsed once per verification, and verified tokens are kept in the {@link VerifiedTokenCache},
+ * so repeated requests with the same token do not even repeat the HMAC check. Only on a cache miss
+ * does the filter query the database, to make sure the user of the token has not been deleted.
+ *
+ * <p>The time spent authenticating a request is recorded in the timer {@value #METRIC_NAME}, tagged
+ * with the result: {@code cached}, {@code verified}, {@code rejected} or {@code expired}.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
+  static final String METRIC_NAME = "security.jwt.authentication";
 
   private final JwtService jwtService;
-  private final UserDetailsService userDetailsService;
+  private final VerifiedTokenCache verifiedTokenCache;
+  private final UserRepository userRepository;
   private final HandlerExceptionResolver handlerExceptionResolver;
+  private final MeterRegistry meterRegistry;
 
   /**
    * Filters incoming HTTP requests to validate JWT tokens.
@@ -51,7 +60,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       throws ServletException, IOException {
     final String authHeader = request.getHeader("Authorization");
     final String jwt;
-    final String userEmail;
 
     // missing authorization, return
     if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -60,28 +68,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
     // Get the payload
     jwt = authHeader.substring(7);
-    try {
-      // extract username/email
-      userEmail = jwtService.extractUsername(jwt);
-    } catch (ExpiredJwtException e) {
-      // Token expired
-      response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-      response.getWriter().write("Token has expired");
-      return;
-    }
-    // Extract roles
-    List<String> roles = jwtService.extractRoles(jwt);
-    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-    if (userEmail != null && authentication == null) {
-      UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-      // Validate the token (not the password, just username)
-      if (jwtService.isTokenValid(jwt, userDetails)) {
+    if (SecurityContextHolder.getContext().getAuthentication() == null) {
+      Timer.Sample sample = Timer.start(meterRegistry);
+      // A token verified recently is trusted without another signature check
+      AuthenticatedUser principal = verifiedTokenCache.get(jwt);
+      String result = "cached";
+      if (principal == null) {
+        final Claims claims;
+        try {
+          // Verify the token once and read every claim from the result
+          claims = jwtService.parseClaims(jwt);
+        } catch (ExpiredJwtException e) {
+          // Token expired
+          sample.stop(meterRegistry.timer(METRIC_NAME, "result", "expired"));
+          response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+          response.getWriter().write("Token has expired");
+          return;
+        }
+        principal = resolvePrincipal(claims, jwt);
+        result = principal == null ? "rejected" : "verified";
+      }
+      sample.stop(meterRegistry.timer(METRIC_NAME, "result", result));
+      if (principal != null) {
         UsernamePasswordAuthenticationToken authToken =
-            new UsernamePasswordAuthenticationToken(
-                userDetails,
-                null,
-                // userDetails.getAuthorities() // This will still have the roles
-                roles.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toList()));
+            new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
         authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
         SecurityContextHolder.getContext().setAuthentication(authToken);
       }
@@ -92,4 +102,29 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
       handlerExceptionResolver.resolveException(request, response, null, exception);
     }
   }
+
+  /**
+   * Builds the principal from verified claims and caches it.
+   *
+   * @param claims the claims of a token whose signature and expiry have been verified
+   * @param jwt the raw token, used as the cache key
+   * @return the principal, or {@code null} if the token does not identify an existing user
+   */
+  private AuthenticatedUser resolvePrincipal(Claims claims, String jwt) {
+    if (claims.getSubject() == null) {
+      return null;
+    }
+    AuthenticatedUser principal;
+    try {
+      principal = AuthenticatedUser.fromClaims(claims);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    // The account may have been deleted since the token was issued
+    if (!userRepository.existsByUserIdAndEmail(principal.userId(), principal.email())) {
+      return null;
+    }
+    verifiedTokenCache.put(jwt, principal, claims.getExpiration());
+    return principal;
+  }
 }
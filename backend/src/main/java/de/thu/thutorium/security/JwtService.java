@@ -1,10 +1,13 @@
 package de.thu.thutorium.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +23,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
 
-/** Service class for handling JWT operations. */
+/**
+ * Service class for handling JWT operations.
+ *
+ * <p>The signing key and the parser are built once from the configured secret, so verifying a token
+ * costs one HMAC check and no key decoding. Callers that need several claims should parse the
+ * token once with {@link #parseClaims(String)} and read them from the result.
+ */
 @Service
 @Getter
 @Setter
@@ -32,6 +41,34 @@ public class JwtService {
   @Value("${security.jwt.expiration-time}")
   private long JWT_EXPIRATION;
 
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private Key signInKey;
+
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private JwtParser parser;
+
+  /** Decodes the secret and builds the signing key and the parser shared by all operations. */
+  @PostConstruct
+  void initSigningKey() {
+    byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
+    signInKey = Keys.hmacShaKeyFor(keyBytes);
+    parser = Jwts.parserBuilder().setSigningKey(signInKey).build();
+  }
+
+  /**
+   * Verifies the signature and expiry of a token and returns all of its claims.
+   *
+   * @param token the JWT token
+   * @return the claims of the token
+   * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+   * @throws io.jsonwebtoken.JwtException if the token is malformed or its signature is invalid
+   */
+  public Claims parseClaims(String token) {
+    return parser.parseClaimsJws(token).getBody();
+  }
+
   /**
    * Extracts the username(email) from the JWT token.
    *
@@ -61,32 +98,17 @@ public class JwtService {
    * @return the extracted claim
    */
   public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-    final Claims claims = extractAllClaims(token);
+    final Claims claims = parseClaims(token);
     return claimsResolver.apply(claims);
   }
 
-  /**
-   * Extracts all claims from the JWT token.
-   *
-   * @param token the JWT token
-   * @return the claims extracted from the token
-   */
-  private Claims extractAllClaims(String token) {
-    return Jwts.parserBuilder()
-        .setSigningKey(getSignInKey())
-        .build()
-        .parseClaimsJws(token)
-        .getBody();
-  }
-
   /**
    * Retrieves the signing key for JWT operations.
    *
    * @return the signing key
    */
   private Key getSignInKey() {
-    byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-    return Keys.hmacShaKeyFor(keyBytes);
+    return signInKey;
   }
 
   /**
@@ -145,28 +167,19 @@ public class JwtService {
    * @return true if the token is valid, false otherwise
    */
   public boolean isTokenValid(String token, UserDetails userDetails) {
-    final String username = extractUsername(token);
-    return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    return isTokenValid(parseClaims(token), userDetails);
   }
 
   /**
-   * Checks if the JWT token is expired.
+   * Validates already parsed claims against the user details, without parsing the token again.
    *
-   * @param token the JWT token
-   * @return true if the token is expired, false otherwise
-   */
-  private boolean isTokenExpired(String token) {
-    return extractExpiration(token).before(new Date());
-  }
-
-  /**
-   * Extracts the expiration date from the JWT token.
-   *
-   * @param token the JWT token
-   * @return the expiration date extracted from the token
+   * @param claims the claims of the token
+   * @param userDetails the user details
+   * @return true if the token belongs to the user and has not expired, false otherwise
    */
-  private Date extractExpiration(String token) {
-    return extractClaim(token, Claims::getExpiration);
+  public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+    return claims.getSubject().equals(userDetails.getUsername())
+        && !claims.getExpiration().before(new Date());
   }
 
   /**
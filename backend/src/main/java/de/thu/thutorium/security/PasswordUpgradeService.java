@@ -0,0 +1,40 @@
+package de.thu.thutorium.security;
+
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.repositories.UserRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Stores re-encoded password hashes after a successful login.
+ *
+ * <p>The authentication provider calls this service whenever the stored hash of a user is not in
+ * the current format, i.e. it was created by another encoder or with a lower cost factor than
+ * configured. The password is then hashed again with the current settings, so changing the
+ * encoder or raising the cost migrates users gradually as they log in.
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordUpgradeService implements UserDetailsPasswordService {
+  private final UserRepository userRepository;
+
+  /**
+   * Replaces the stored hash of a user with a hash in the current format.
+   *
+   * @param user the authenticated user
+   * @param newPassword the password hashed with the current encoder
+   * @return the user with the new hash
+   */
+  @Override
+  @Transactional
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+    if (user instanceof UserDBO userDBO) {
+      userDBO.setPassword(newPassword);
+    }
+    return user;
+  }
+}
@@ -0,0 +1,75 @@
+package de.thu.thutorium.security;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Bounded thread pool running the CPU-heavy password checks of logins off the servlet threads.
+ *
+ * <p>Password hashing is deliberately slow, so a burst of logins would otherwise occupy every
+ * Tomcat thread and stall unrelated requests. The pool has a fixed number of threads (one per core
+ * by default) and a bounded queue; when both are exhausted, further logins fail fast with a {@link
+ * RejectedExecutionException} instead of piling up.
+ */
+@Component
+public class PasswordVerificationExecutor {
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * Creates the pool.
+   *
+   * @param threads the number of threads, or {@code 0} for one per available processor
+   * @param queueCapacity the maximum number of logins waiting for a thread
+   */
+  public PasswordVerificationExecutor(
+      @Value("${security.password.verification-threads:0}") int threads,
+      @Value("${security.password.verification-queue-capacity:200}") int queueCapacity) {
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "password-verification-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  /**
+   * Runs a task on the pool.
+   *
+   * @param task the task, typically an authentication
+   * @param <T> the result type of the task
+   * @return a future completed with the result of the task, or completed exceptionally with a
+   *     {@link RejectedExecutionException} if the pool is saturated
+   */
+  public <T> CompletableFuture<T> submit(Supplier<T> task) {
+    try {
+      return CompletableFuture.supplyAsync(task, executor);
+    } catch (RejectedExecutionException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+
+  /** Stops the pool, letting running verifications finish. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
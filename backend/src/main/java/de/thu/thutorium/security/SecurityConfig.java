@@ -38,7 +38,12 @@ public class SecurityConfig {
         .cors(cors -> cors.configurationSource(corsConfigurationSource()))
         .authorizeHttpRequests(
             auth ->
-                auth.requestMatchers("/auth/**")
+                auth.requestMatchers("/actuator/health", "/actuator/health/**")
+                    .permitAll()
+                    // Metrics and the statement budgets are for operators only
+                    .requestMatchers("/actuator/**")
+                    .hasRole("ADMIN")
+                    .requestMatchers("/auth/**")
                     .permitAll()
                     .requestMatchers(
                         "/v2/api-docs",
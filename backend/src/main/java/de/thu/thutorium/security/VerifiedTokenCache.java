@@ -0,0 +1,95 @@
+package de.thu.thutorium.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens that have already been verified, mapped to the principal they
+ * authenticate.
+ *
+ * <p>A hit saves the signature check that {@link JwtAuthenticationFilter} would otherwise do on
+ * every request. An entry lives for at most the configured time-to-live and never beyond the expiry
+ * of its token. When the cache is full, expired entries are purged first and the cache is cleared
+ * if that does not free enough room, which keeps the memory bounded without any per-access
+ * bookkeeping.
+ *
+ * <p>On a miss, {@link JwtAuthenticationFilter} checks in the database that the user of the token
+ * still exists, so the time-to-live bounds how long a token of a deleted account keeps working on an
+ * instance that has cached it. The instance deleting the account drops its entries right away.
+ */
+@Component
+public class VerifiedTokenCache {
+  private final long ttlMillis;
+  private final int maxEntries;
+
+  private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the cache.
+   *
+   * @param ttlMillis how long a verified token is trusted without checking it again
+   * @param maxEntries the maximum number of cached tokens
+   */
+  public VerifiedTokenCache(
+      @Value("${security.jwt.cache.ttl-ms:30000}") long ttlMillis,
+      @Value("${security.jwt.cache.max-entries:10000}") int maxEntries) {
+    this.ttlMillis = ttlMillis;
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * Returns the cached principal of a token.
+   *
+   * @param token the raw JWT
+   * @return the principal, or {@code null} if the token is unknown or its entry has expired
+   */
+  public AuthenticatedUser get(String token) {
+    Entry entry = entries.get(token);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.isExpired(System.currentTimeMillis())) {
+      entries.remove(token, entry);
+      return null;
+    }
+    return entry.principal();
+  }
+
+  /**
+   * Caches the principal of a verified token.
+   *
+   * @param token the raw JWT
+   * @param principal the principal the token authenticates
+   * @param tokenExpiration the expiry of the token
+   */
+  public void put(String token, AuthenticatedUser principal, Date tokenExpiration) {
+    long now = System.currentTimeMillis();
+    long expiresAt = Math.min(now + ttlMillis, tokenExpiration.getTime());
+    if (entries.size() >= maxEntries) {
+      entries.values().removeIf(entry -> entry.isExpired(now));
+      if (entries.size() >= maxEntries) {
+        entries.clear();
+      }
+    }
+    entries.put(token, new Entry(principal, expiresAt));
+  }
+
+  /**
+   * Drops the cached tokens of a user, so that they are checked against the database again.
+   *
+   * @param email the email of the user, i.e. the subject of the tokens
+   */
+  public void evictUser(String email) {
+    entries.values().removeIf(entry -> entry.principal().email().equals(email));
+  }
+
+  private record Entry(AuthenticatedUser principal, long expiresAt) {
+    boolean isExpired(long now) {
+      return now >= expiresAt;
+    }
+  }
+}
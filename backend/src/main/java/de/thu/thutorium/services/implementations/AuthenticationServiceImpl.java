@@ -5,10 +5,13 @@ import de.thu.thutorium.api.transferObjects.authentication.LogInResponseTO;
 import de.thu.thutorium.api.transferObjects.authentication.RegisterRequestTO;
 import de.thu.thutorium.database.dbObjects.RoleDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.Role;
 import de.thu.thutorium.database.repositories.RoleRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
 import de.thu.thutorium.security.JwtService;
+import de.thu.thutorium.security.PasswordVerificationExecutor;
 import de.thu.thutorium.services.interfaces.AuthenticationService;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +19,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -26,6 +30,7 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Implementation of the {@link AuthenticationService} interface. Provides methods to register and
@@ -60,8 +65,12 @@ public class AuthenticationServiceImpl implements AuthenticationService {
   /** Password encoder */
   private final PasswordEncoder passwordEncoder;
 
+  /** The bounded pool running password checks off the servlet threads. */
+  private final PasswordVerificationExecutor passwordVerificationExecutor;
+
   private final UserRepository UserRepository;
   private final RoleRepository roleRepository;
+  private final SearchIndexService searchIndexService;
 
   /**
    * Authenticates a user based on the provided login request.
@@ -76,18 +85,14 @@ public class AuthenticationServiceImpl implements AuthenticationService {
    */
   @Override
   public ResponseEntity<LogInResponseTO> authenticate(@RequestBody LogInRequestTO loginRequestTO) {
-    // Authenticate the user
-    authenticationManager.authenticate(
-        new UsernamePasswordAuthenticationToken(
-            loginRequestTO.getEmail(), loginRequestTO.getPassword()));
-    // Load user details
-    UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequestTO.getEmail());
-    // Retrieve the user ID from the userDetails object (assuming you have a method to get it)
-    Long userId =
-        ((UserDBO) userDetails)
-            .getUserId(); // Assuming CustomUserDetails implements UserDetails and has getId()
+    // Authenticate the user; the provider loads the user once and returns it as the principal
+    Authentication authentication =
+        authenticationManager.authenticate(
+            new UsernamePasswordAuthenticationToken(
+                loginRequestTO.getEmail(), loginRequestTO.getPassword()));
+    UserDBO user = (UserDBO) authentication.getPrincipal();
     // Generate JWT token
-    String jwtToken = jwtService.generateToken(userId, userDetails);
+    String jwtToken = jwtService.generateToken(user.getUserId(), user);
     // Set expiration time (e.g., 24 hours)
     long expiresIn = jwtService.getExpirationTime();
     // Create the response
@@ -96,6 +101,21 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Authenticates a user on the {@link PasswordVerificationExecutor}, so the slow password check
+   * does not occupy the calling servlet thread.
+   *
+   * @param loginRequestTO the login request transfer object containing the user's email and
+   *     password
+   * @return a future completed with the result of {@link #authenticate(LogInRequestTO)}, or
+   *     completed exceptionally if the credentials are wrong or too many logins are in progress
+   */
+  @Override
+  public CompletableFuture<ResponseEntity<LogInResponseTO>> authenticateAsync(
+      LogInRequestTO loginRequestTO) {
+    return passwordVerificationExecutor.submit(() -> authenticate(loginRequestTO));
+  }
+
   /**
    * Registers a new user based on the provided registration request.
    *
@@ -142,6 +162,10 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     UserDBO savedUser = UserRepository.save(user);
     // Get the user ID of the newly created user
     Long userId = savedUser.getUserId();
+    // New tutors become searchable once the registration commits
+    if (registerRequestTO.role() == Role.TUTOR) {
+      searchIndexService.indexTutor(userId, savedUser.getFirstName(), savedUser.getLastName());
+    }
     // Load user details
     UserDetails userDetails = userDetailsService.loadUserByUsername(email);
     // Generate JWT token
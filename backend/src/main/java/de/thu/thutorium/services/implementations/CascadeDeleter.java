@@ -0,0 +1,205 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.Utility.TransactionUtil;
+import de.thu.thutorium.database.ReferenceDataCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.function.LongConsumer;
+
+/**
+ * Deletes meetings, courses, chats and users together with everything that references them, with
+ * set-based statements.
+ *
+ * <p>Each method issues a fixed number of statements, however many participants, enrolments,
+ * messages or ratings the deleted rows have, instead of loading and removing the dependent entities
+ * one at a time. The statements run in the caller's transaction and bypass the persistence
+ * context, so callers must not hold managed instances of the deleted rows. Waitlist entries and
+ * chat read markers are removed by their {@code ON DELETE CASCADE} foreign keys.
+ *
+ * <p>For very large graphs, {@link #deleteUserBulkRowsInChunks(Long, int, LongConsumer)} and {@link
+ * #deleteCourseBulkRowsInChunks(Long, int, LongConsumer)} remove the high-volume rows beforehand in
+ * small, separately committed chunks, so the final delete neither holds locks on millions of rows
+ * nor runs one huge transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class CascadeDeleter {
+  private static final String[] MEETING_SQL = {
+    "DELETE FROM students_meetings WHERE meeting_id = ANY (?)",
+    "DELETE FROM report WHERE meeting_id = ANY (?)",
+    "DELETE FROM meeting WHERE meeting_id = ANY (?)"
+  };
+
+  private static final String COURSE_MEETINGS = "SELECT meeting_id FROM meeting WHERE course_id = ANY (?)";
+
+  private static final String[] COURSE_SQL = {
+    "DELETE FROM students_meetings WHERE meeting_id IN (" + COURSE_MEETINGS + ")",
+    "DELETE FROM report WHERE course_id = ANY (?) OR meeting_id IN (" + COURSE_MEETINGS + ")",
+    "DELETE FROM meeting WHERE course_id = ANY (?)",
+    "DELETE FROM course_students WHERE course_id = ANY (?)",
+    "DELETE FROM courses_categories WHERE course_id = ANY (?)",
+    "DELETE FROM rating_course WHERE course_id = ANY (?)",
+    "DELETE FROM progess WHERE course_id = ANY (?)",
+    "DELETE FROM course WHERE course_id = ANY (?)"
+  };
+
+  private static final String[] CHAT_SQL = {
+    "DELETE FROM message WHERE chat_id = ANY (?)",
+    "DELETE FROM chat_participants WHERE chat_id = ANY (?)",
+    "DELETE FROM chat WHERE chat_id = ANY (?)"
+  };
+
+  private static final String SCHEDULED_MEETINGS = "SELECT meeting_id FROM meeting WHERE created_by = ?";
+
+  /** Removes a user whose courses and chats are already gone; every parameter is the user ID. */
+  private static final String[] USER_SQL = {
+    // Give back the seats the user had booked
+    "UPDATE meeting m SET booked_seats = GREATEST(m.booked_seats - sm.seats, 0) "
+        + "FROM (SELECT meeting_id, count(*) AS seats FROM students_meetings WHERE student_id = ? GROUP BY meeting_id) sm "
+        + "WHERE m.meeting_id = sm.meeting_id",
+    "DELETE FROM students_meetings WHERE student_id = ? OR meeting_id IN (" + SCHEDULED_MEETINGS + ")",
+    "DELETE FROM report WHERE tutor_id = ? OR student_id = ? OR meeting_id IN (" + SCHEDULED_MEETINGS + ")",
+    "DELETE FROM meeting WHERE created_by = ?",
+    // Withdraw the ratings given by the user from the aggregates of the rated tutors and courses
+    "UPDATE user_account u SET rating_count = u.rating_count - r.n, rating_sum = u.rating_sum - r.total, "
+        + "average_rating = CASE WHEN u.rating_count - r.n <= 0 THEN 0.0 "
+        + "ELSE (u.rating_sum - r.total) / (u.rating_count - r.n) END "
+        + "FROM (SELECT tutor_id, count(*) AS n, sum(points) AS total FROM rating_tutor WHERE student_id = ? GROUP BY tutor_id) r "
+        + "WHERE u.user_id = r.tutor_id",
+    "UPDATE course c SET rating_count = c.rating_count - r.n, rating_sum = c.rating_sum - r.total, "
+        + "average_rating = CASE WHEN c.rating_count - r.n <= 0 THEN 0.0 "
+        + "ELSE (c.rating_sum - r.total) / (c.rating_count - r.n) END "
+        + "FROM (SELECT course_id, count(*) AS n, sum(points) AS total FROM rating_course WHERE student_id = ? GROUP BY course_id) r "
+        + "WHERE c.course_id = r.course_id",
+    "DELETE FROM rating_tutor WHERE student_id = ? OR tutor_id = ?",
+    "DELETE FROM rating_course WHERE student_id = ?",
+    "DELETE FROM progess WHERE student_id = ?",
+    "DELETE FROM course_students WHERE student_id = ?",
+    "DELETE FROM user_roles WHERE user_id = ?",
+    "DELETE FROM users_verifiers WHERE user_id = ? OR verifier_id = ?",
+    "DELETE FROM message WHERE sender_id = ? OR receiver_id = ?",
+    "DELETE FROM chat_participants WHERE user_id = ?",
+    "DELETE FROM user_account WHERE user_id = ?"
+  };
+
+  /** Categories outlive the admin who created them. */
+  private static final String DETACH_CATEGORIES_SQL =
+      "UPDATE course_category SET created_by = NULL WHERE created_by = ?";
+
+  private static final String USER_MESSAGES_CHUNK_SQL =
+      "DELETE FROM message WHERE message_id IN (SELECT message_id FROM message "
+          + "WHERE chat_id IN (SELECT chat_id FROM chat_participants WHERE user_id = ?) LIMIT ?)";
+
+  private static final String TUTOR_ENROLMENTS_CHUNK_SQL =
+      "DELETE FROM course_students WHERE ctid IN (SELECT ctid FROM course_students "
+          + "WHERE course_id IN (SELECT course_id FROM course WHERE tutor_id = ?) LIMIT ?)";
+
+  private static final String COURSE_ENROLMENTS_CHUNK_SQL =
+      "DELETE FROM course_students WHERE ctid IN (SELECT ctid FROM course_students WHERE course_id = ? LIMIT ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ReferenceDataCache referenceDataCache;
+
+  /**
+   * Deletes meetings with their participations and reports.
+   *
+   * @param meetingIds the IDs of the meetings
+   * @return the number of deleted rows
+   */
+  public int deleteMeetings(Collection<Long> meetingIds) {
+    return meetingIds.isEmpty() ? 0 : run(MEETING_SQL, meetingIds.toArray(Long[]::new));
+  }
+
+  /**
+   * Deletes courses with their meetings, enrolments, category links, ratings, progress and reports.
+   *
+   * @param courseIds the IDs of the courses
+   * @return the number of deleted rows
+   */
+  public int deleteCourses(Collection<Long> courseIds) {
+    return courseIds.isEmpty() ? 0 : run(COURSE_SQL, courseIds.toArray(Long[]::new));
+  }
+
+  /**
+   * Deletes chats with their messages and participants.
+   *
+   * @param chatIds the IDs of the chats
+   * @return the number of deleted rows
+   */
+  public int deleteChats(Collection<Long> chatIds) {
+    return chatIds.isEmpty() ? 0 : run(CHAT_SQL, chatIds.toArray(Long[]::new));
+  }
+
+  /**
+   * Deletes a user with the meetings they scheduled, their bookings, ratings, progress, reports,
+   * enrolments, roles and verifier links. The user's courses and chats must have been deleted with
+   * {@link #deleteCourses(Collection)} and {@link #deleteChats(Collection)} beforehand. The seats
+   * the user had booked are given back, but not passed on to waiting students.
+   *
+   * @param userId the ID of the user
+   * @return the number of deleted or updated rows
+   */
+  public int deleteUser(Long userId) {
+    int detached = update(DETACH_CATEGORIES_SQL, userId);
+    if (detached > 0) {
+      TransactionUtil.afterCommit(referenceDataCache::evictCategories);
+    }
+    return detached + run(USER_SQL, userId);
+  }
+
+  /**
+   * Deletes the messages of a user's chats and the enrolments in the user's courses in chunks, each
+   * committed on its own. Must not be called inside a transaction.
+   *
+   * @param userId the ID of the user
+   * @param chunkSize the maximum number of rows deleted per statement
+   * @param progress called with the number of rows deleted by each chunk
+   */
+  public void deleteUserBulkRowsInChunks(Long userId, int chunkSize, LongConsumer progress) {
+    deleteInChunks(USER_MESSAGES_CHUNK_SQL, userId, chunkSize, progress);
+    deleteInChunks(TUTOR_ENROLMENTS_CHUNK_SQL, userId, chunkSize, progress);
+  }
+
+  /**
+   * Deletes the enrolments of a course in chunks, each committed on its own. Must not be called
+   * inside a transaction.
+   *
+   * @param courseId the ID of the course
+   * @param chunkSize the maximum number of rows deleted per statement
+   * @param progress called with the number of rows deleted by each chunk
+   */
+  public void deleteCourseBulkRowsInChunks(Long courseId, int chunkSize, LongConsumer progress) {
+    deleteInChunks(COURSE_ENROLMENTS_CHUNK_SQL, courseId, chunkSize, progress);
+  }
+
+  private void deleteInChunks(String sql, Long id, int chunkSize, LongConsumer progress) {
+    int deleted;
+    do {
+      deleted = jdbcTemplate.update(sql, id, chunkSize);
+      progress.accept(deleted);
+    } while (deleted == chunkSize);
+  }
+
+  private int run(String[] statements, Object value) {
+    int rows = 0;
+    for (String sql : statements) {
+      rows += update(sql, value);
+    }
+    return rows;
+  }
+
+  /** Executes a statement binding the same value to each of its parameters. */
+  private int update(String sql, Object value) {
+    int parameters = (int) sql.chars().filter(c -> c == '?').count();
+    return jdbcTemplate.update(
+        sql,
+        ps -> {
+          for (int i = 1; i <= parameters; i++) {
+            ps.setObject(i, value);
+          }
+        });
+  }
+}
@@ -6,8 +6,10 @@ import de.thu.thutorium.database.DBOMappers.CategoryDBOMapper;
 import de.thu.thutorium.database.dbObjects.CourseCategoryDBO;
 import de.thu.thutorium.database.repositories.CategoryRepository;
 import de.thu.thutorium.services.interfaces.CategoryService;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import org.springframework.stereotype.Service;
 
@@ -31,14 +33,17 @@ public class CategoryServiceImpl implements CategoryService {
   private final CategoryRepository courseCategoryRepository;
   private final CategoryDBOMapper categoryDBOMapper;
   private final CourseCategoryTOMapper courseCategoryTOMapper;
+  private final SearchIndexService searchIndexService;
 
   public CategoryServiceImpl(
       CategoryRepository courseCategoryRepository,
       CategoryDBOMapper categoryDBOMapper,
-      CourseCategoryTOMapper courseCategoryTOMapper) {
+      CourseCategoryTOMapper courseCategoryTOMapper,
+      SearchIndexService searchIndexService) {
     this.courseCategoryRepository = courseCategoryRepository;
     this.categoryDBOMapper = categoryDBOMapper;
     this.courseCategoryTOMapper = courseCategoryTOMapper;
+    this.searchIndexService = searchIndexService;
   }
 
   /**
@@ -62,6 +67,8 @@ public class CategoryServiceImpl implements CategoryService {
         });
     CourseCategoryDBO categoryDBO = categoryDBOMapper.toDBO(courseCategory);
     CourseCategoryDBO savedCategoryDBO = courseCategoryRepository.save(categoryDBO);
+    searchIndexService.indexCategory(
+        savedCategoryDBO.getCategoryId(), savedCategoryDBO.getCategoryName());
     return courseCategoryTOMapper.toDTO(savedCategoryDBO);
   }
 
@@ -87,19 +94,32 @@ public class CategoryServiceImpl implements CategoryService {
     existingCategory.setCategoryName(courseCategory.getCategoryName());
     existingCategory.setCreatedOn(LocalDateTime.now());
     CourseCategoryDBO savedCategoryDBO = courseCategoryRepository.save(existingCategory);
+    searchIndexService.indexCategory(categoryId, existingCategory.getCategoryName());
     return courseCategoryTOMapper.toDTO(savedCategoryDBO);
   }
 
   /**
    * Deletes a course category by its ID.
    *
+   * <p>The category owns its links to the courses, so they are removed together with it; the
+   * courses themselves are kept. The category is also removed from the search index.
+   *
    * @param categoryId the ID of the course category to be deleted
+   * @throws EntityNotFoundException if the course category does not exist
    */
   @Override
+  @Transactional
   public void deleteCourseCategory(int categoryId) {
-    // Check if the courseCategory exists => throw Not found exception
-    // Delete the courseCategoryDBO => Check for side effects on courses, other possible side
-    // effects
+    Long id = (long) categoryId;
+    CourseCategoryDBO category =
+        courseCategoryRepository
+            .findById(id)
+            .orElseThrow(
+                () ->
+                    new EntityNotFoundException(
+                        "Error: Course Category with id " + categoryId + " not found!"));
+    courseCategoryRepository.delete(category);
+    searchIndexService.removeCategory(id);
   }
 
   /**
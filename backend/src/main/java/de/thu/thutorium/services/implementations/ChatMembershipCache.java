@@ -0,0 +1,57 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.database.repositories.ChatRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of the participant IDs of chats, used to validate messages without loading the
+ * chat and its users from the database.
+ *
+ * <p>Participants of a chat are fixed once it is created, so entries only need to be evicted when
+ * a chat is deleted. Unknown chats are not cached. The cache is cleared when it reaches {@link
+ * #MAX_CACHED_CHATS} entries, which bounds its memory without the bookkeeping of an LRU policy.
+ */
+@Component
+@RequiredArgsConstructor
+public class ChatMembershipCache {
+  private static final int MAX_CACHED_CHATS = 10_000;
+
+  private final ChatRepository chatRepository;
+
+  private final Map<Long, Set<Long>> participantsByChat = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the IDs of the participants of a chat, loading them on first use.
+   *
+   * @param chatId the ID of the chat
+   * @return the participant IDs, empty if the chat does not exist
+   */
+  public Set<Long> participantsOf(Long chatId) {
+    Set<Long> participants = participantsByChat.get(chatId);
+    if (participants != null) {
+      return participants;
+    }
+    participants = Set.copyOf(chatRepository.findParticipantIdsByChatId(chatId));
+    if (!participants.isEmpty()) {
+      if (participantsByChat.size() >= MAX_CACHED_CHATS) {
+        participantsByChat.clear();
+      }
+      participantsByChat.put(chatId, participants);
+    }
+    return participants;
+  }
+
+  /**
+   * Removes a chat from the cache, e.g. after it has been deleted.
+   *
+   * @param chatId the ID of the chat
+   */
+  public void evict(Long chatId) {
+    participantsByChat.remove(chatId);
+  }
+}
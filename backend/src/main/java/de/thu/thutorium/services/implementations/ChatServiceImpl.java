@@ -1,5 +1,6 @@
 package de.thu.thutorium.services.implementations;
 
+import de.thu.thutorium.Utility.TransactionUtil;
 import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
 import de.thu.thutorium.api.transferObjects.chat.ReceiverTO;
 import de.thu.thutorium.api.transferObjects.common.ChatCreateTO;
@@ -7,7 +8,6 @@ import de.thu.thutorium.database.DBOMappers.ChatDBMapper;
 import de.thu.thutorium.database.dbObjects.ChatDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
 import de.thu.thutorium.database.repositories.ChatRepository;
-import de.thu.thutorium.database.repositories.MessageRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
 import de.thu.thutorium.services.interfaces.ChatService;
 import jakarta.persistence.EntityNotFoundException;
@@ -18,7 +18,6 @@ import org.springframework.stereotype.Service;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Service implementation for managing chat creation and deletion.
@@ -40,7 +39,8 @@ public class ChatServiceImpl implements ChatService {
   /** Mapper for converting {@link ChatCreateTO} DTO to {@link ChatDBO} entity. */
   private final ChatDBMapper chatMapper;
 
-  private final MessageRepository messageRepository;
+  /** Cache of chat participants used to validate messages, evicted when a chat is deleted. */
+  private final ChatMembershipCache chatMembershipCache;
 
   /**
    * Creates a new chat.
@@ -81,7 +81,8 @@ public class ChatServiceImpl implements ChatService {
    * Deletes a chat by its ID.
    *
    * <p>This method checks if the chat exists by its ID and, if found, deletes it from the database.
-   * If the chat is not found, an {@link EntityNotFoundException} is thrown.
+   * If the chat is not found, an {@link EntityNotFoundException} is thrown. The cached participants
+   * of the chat are evicted once the deletion has committed.
    *
    * @param chatId the ID of the chat to be deleted
    * @throws EntityNotFoundException if the chat with the given ID is not found
@@ -95,39 +96,33 @@ public class ChatServiceImpl implements ChatService {
             .orElseThrow(() -> new EntityNotFoundException("Chat not found"));
 
     chatRepository.delete(chatDBO);
+    TransactionUtil.afterCommit(() -> chatMembershipCache.evict(chatId));
   }
 
+  /**
+   * Retrieves the chat list of a user.
+   *
+   * <p>All summaries are read with a single aggregate query, so the cost no longer grows with one
+   * unread-count query and one participant fetch per chat.
+   *
+   * @param userId the ID of the user
+   * @return the summaries of the user's chats, most recently active first
+   */
   @Override
   public List<ChatSummaryTO> getChatSummaries(Long userId) {
-    // Fetch all chats for the user (assuming participation list contains the user)
-    List<ChatDBO> userChats = chatRepository.findByParticipants_UserId(userId);
-
-    // Map chats to summaries
-    return userChats.stream()
+    return chatRepository.findChatSummariesByUserId(userId).stream()
         .map(
-            chat -> {
-              // Find the other participant (receiver) in one-on-one chat
-              UserDBO receiver =
-                  chat.getParticipants().stream()
-                      .filter(participant -> !participant.getUserId().equals(userId))
-                      .findFirst()
-                      .orElse(null);
-
-              // Count unread messages for the user in this chat
-              int unreadMessages =
-                  messageRepository.countByChat_ChatIdAndReceiver_UserIdAndIsReadFalse(
-                      chat.getChatId(), userId);
-
-              // Create DTO
-              return new ChatSummaryTO(
-                  chat.getChatId(),
-                  chat.getCreator() != null ? chat.getCreator().getUserId() : null,
-                  receiver != null
-                      ? new ReceiverTO(
-                          receiver.getUserId(), receiver.getFirstName(), receiver.getLastName())
-                      : null,
-                  unreadMessages);
-            })
-        .collect(Collectors.toList());
+            row ->
+                new ChatSummaryTO(
+                    row.getChatId(),
+                    row.getCreatorId(),
+                    row.getReceiverId() != null
+                        ? new ReceiverTO(
+                            row.getReceiverId(), row.getReceiverFirstName(), row.getReceiverLastName())
+                        : null,
+                    row.getUnreadMessages() != null ? row.getUnreadMessages().intValue() : 0,
+                    row.getLastMessagePreview(),
+                    row.getLastMessageAt()))
+        .toList();
   }
 }
@@ -1,10 +1,12 @@
 package de.thu.thutorium.services.implementations;
 
+import de.thu.thutorium.Utility.CursorUtil;
 import de.thu.thutorium.api.TOMappers.CourseTOMapper;
 import de.thu.thutorium.api.TOMappers.UserTOMapper;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.RatingCourseTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
+import de.thu.thutorium.api.transferObjects.search.CursorPageTO;
 import de.thu.thutorium.database.DBOMappers.CourseDBOMapper;
 import de.thu.thutorium.database.dbObjects.CourseCategoryDBO;
 import de.thu.thutorium.database.dbObjects.CourseDBO;
@@ -14,6 +16,7 @@ import de.thu.thutorium.database.dbObjects.enums.Role;
 import de.thu.thutorium.database.repositories.*;
 import de.thu.thutorium.exceptions.ResourceAlreadyExistsException;
 import de.thu.thutorium.services.interfaces.CourseService;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
@@ -25,6 +28,8 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link CourseService} interface that provides various methods for
@@ -39,6 +44,9 @@ import java.util.*;
 @Slf4j
 public class CourseServiceImpl implements CourseService {
 
+  /** The count at which the total hint of a paginated search stops counting. */
+  private static final int TOTAL_HINT_CAP = 1000;
+
   private final CourseRepository courseRepository;
   private final CategoryRepository categoryRepository;
   private final CourseDBOMapper courseDBMapper;
@@ -47,6 +55,8 @@ public class CourseServiceImpl implements CourseService {
   private final RatingCourseRepository ratingCourseRepository;
   private final RatingTutorRepository ratingTutorRepository;
   private final UserTOMapper userTOMapper;
+  private final SearchIndexService searchIndexService;
+  private final CascadeDeleter cascadeDeleter;
 
   /**
    * Finds a course by its unique ID.
@@ -134,7 +144,10 @@ public class CourseServiceImpl implements CourseService {
     courseDBO.setCreatedOn(LocalDateTime.now());
 
     // Save the new course entity to the database
-    return courseMapper.toDTO(courseRepository.save(courseDBO));
+    CourseDBO savedCourse = courseRepository.save(courseDBO);
+    searchIndexService.indexCourse(
+        courseDBO.getCourseId(), courseDBO.getCourseName(), courseDBO.getDescriptionShort());
+    return courseMapper.toDTO(savedCourse);
   }
 
 
@@ -142,7 +155,8 @@ public class CourseServiceImpl implements CourseService {
    * Deletes an existing course by its ID.
    *
    * <p>This method checks if a course with the provided ID exists in the database. If it does, the
-   * course is deleted; otherwise, an {@link EntityNotFoundException} is thrown.
+   * course is deleted together with its meetings, enrolments, ratings and progress; otherwise, an
+   * {@link EntityNotFoundException} is thrown.
    *
    * @param courseId the ID of the course to be deleted
    * @throws EntityNotFoundException if the course with the provided ID does not exist
@@ -150,19 +164,13 @@ public class CourseServiceImpl implements CourseService {
   @Override
   @Transactional
   public void deleteCourse(Long courseId) {
-    CourseDBO course = courseRepository.findById(courseId)
-            .orElseThrow(() -> new EntityNotFoundException("Course not found with ID: " + courseId));
-
-    // Clear relationships with students
-    course.getStudents().forEach(student -> student.getStudentCourses().remove(course));
-    course.getStudents().clear();
-
-    // Clear relationships with categories
-    course.getCourseCategories().forEach(category -> category.getCourses().remove(course));
-    course.getCourseCategories().clear();
-
-    // Delete the course
-    courseRepository.delete(course);
+    if (!courseRepository.existsById(courseId)) {
+      throw new EntityNotFoundException("Course not found with ID: " + courseId);
+    }
+    // Meetings, enrolments, category links, ratings and progress go with the course in a fixed
+    // number of statements
+    cascadeDeleter.deleteCourses(List.of(courseId));
+    searchIndexService.removeCourse(courseId);
   }
 
   /**
@@ -215,6 +223,8 @@ public class CourseServiceImpl implements CourseService {
 
     // Save the updated course
     CourseDBO savedCourse = courseRepository.save(existingCourse);
+    searchIndexService.indexCourse(
+        courseId, existingCourse.getCourseName(), existingCourse.getDescriptionShort());
     return courseMapper.toDTO(savedCourse);
   }
 
@@ -224,11 +234,14 @@ public class CourseServiceImpl implements CourseService {
    * <p>This method allows a student to rate an existing course. If the course or the student is not
    * found, an {@link EntityNotFoundException} is thrown.
    *
+   * <p>The course's rating aggregates are updated in the same transaction as the rating itself.
+   *
    * @param ratingCourseTO the {@link RatingCourseTO} which contains details of the review.
    * @throws EntityNotFoundException if the course with the provided ID or the student with the
    *     provided ID is not found
    */
   @Override
+  @Transactional
   public void rateCourse(RatingCourseTO ratingCourseTO) {
     RatingCourseDBO courseRating = null;
     Long studentId = ratingCourseTO.getStudentId();
@@ -272,7 +285,11 @@ public class CourseServiceImpl implements CourseService {
         ratingCourseRepository.findByCourse_CourseIdAndStudent_UserId(
             courseId, studentId, Limit.of(1));
 
+    int countDelta;
+    double sumDelta;
     if (courseRatingDBOExisting.isEmpty()) {
+      countDelta = 1;
+      sumDelta = points;
       courseRating =
           RatingCourseDBO.builder()
               .course(course)
@@ -283,11 +300,14 @@ public class CourseServiceImpl implements CourseService {
               .build();
     } else {
       courseRating = courseRatingDBOExisting.get(0);
+      countDelta = 0;
+      sumDelta = points - courseRating.getPoints();
       courseRating.setReview(review);
       courseRating.setPoints(points);
       courseRating.setCreatedAt(LocalDateTime.now());
     }
     ratingCourseRepository.save(courseRating);
+    courseRepository.applyCourseRating(courseId, countDelta, sumDelta);
   }
 
   /**
@@ -307,6 +327,39 @@ public class CourseServiceImpl implements CourseService {
     return courses.stream().map(courseMapper::toDTO).toList();
   }
 
+  /**
+   * Returns one page of courses matching the given name, ordered by course name.
+   *
+   * <p>One row more than requested is fetched to find out whether another page follows. The total
+   * hint is only computed for the first page.
+   *
+   * @param courseName the name of the course (can be partial).
+   * @param cursor the cursor of the previous page, or {@code null} for the first page.
+   * @param size the maximum number of courses on the page.
+   * @return the page of matching courses.
+   */
+  @Override
+  public CursorPageTO<CourseTO> searchCoursesPage(String courseName, String cursor, int size) {
+    CursorUtil.Cursor after = CursorUtil.decode(cursor);
+    List<KeysetRow> rows =
+        courseRepository.findCoursePageByName(courseName, after.sortKey(), after.id(), size + 1);
+    boolean hasMore = rows.size() > size;
+    List<KeysetRow> pageRows = hasMore ? rows.subList(0, size) : rows;
+
+    List<Long> ids = pageRows.stream().map(KeysetRow::getId).toList();
+    Map<Long, CourseDBO> coursesById =
+        courseRepository.findListingsByCourseIdIn(ids).stream()
+            .collect(Collectors.toMap(CourseDBO::getCourseId, Function.identity()));
+    List<CourseTO> courses =
+        ids.stream().map(coursesById::get).filter(Objects::nonNull).map(courseMapper::toDTO).toList();
+
+    KeysetRow last = hasMore ? pageRows.get(pageRows.size() - 1) : null;
+    String nextCursor = last == null ? null : CursorUtil.encode(last.getSortKey(), last.getId());
+    Long totalHint =
+        after == CursorUtil.FIRST ? courseRepository.countCoursesByName(courseName, TOTAL_HINT_CAP) : null;
+    return new CursorPageTO<>(courses, nextCursor, size, totalHint);
+  }
+
   @Override
   public List<UserTO> getStudentsEnrolled(Long courseId) {
     // Fetch the course by courseId
@@ -0,0 +1,184 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.api.transferObjects.common.DeletionJobTO;
+import de.thu.thutorium.database.dbObjects.enums.DeletionJobStatus;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.interfaces.CourseService;
+import de.thu.thutorium.services.interfaces.DeletionJobService;
+import de.thu.thutorium.services.interfaces.UserService;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+
+/**
+ * Implementation of the {@link DeletionJobService} interface running the jobs one after another on
+ * a single background thread.
+ *
+ * <p>Running one job at a time keeps the chunked deletes from competing with each other for locks
+ * and I/O. Finished jobs are dropped once they are older than the retention period, checked
+ * whenever a job is submitted.
+ */
+@Service
+@Slf4j
+public class DeletionJobServiceImpl implements DeletionJobService {
+  private static final String USER = "USER";
+  private static final String COURSE = "COURSE";
+
+  private final UserService userService;
+  private final CourseService courseService;
+  private final UserRepository userRepository;
+  private final CourseRepository courseRepository;
+  private final CascadeDeleter cascadeDeleter;
+  private final int chunkSize;
+  private final Duration retention;
+  private final ExecutorService executor;
+
+  private final Map<UUID, DeletionJob> jobs = new ConcurrentHashMap<>();
+
+  /**
+   * Creates the service with its own deletion thread.
+   *
+   * @param chunkSize the maximum number of rows deleted per chunk
+   * @param retentionMinutes how long finished jobs can still be polled
+   */
+  public DeletionJobServiceImpl(
+      UserService userService,
+      CourseService courseService,
+      UserRepository userRepository,
+      CourseRepository courseRepository,
+      CascadeDeleter cascadeDeleter,
+      @Value("${deletion.chunk-size:5000}") int chunkSize,
+      @Value("${deletion.job-retention-minutes:60}") long retentionMinutes) {
+    if (chunkSize < 1) {
+      throw new IllegalArgumentException("deletion.chunk-size must be positive");
+    }
+    this.userService = userService;
+    this.courseService = courseService;
+    this.userRepository = userRepository;
+    this.courseRepository = courseRepository;
+    this.cascadeDeleter = cascadeDeleter;
+    this.chunkSize = chunkSize;
+    this.retention = Duration.ofMinutes(retentionMinutes);
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "deletion-job");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  @Override
+  public DeletionJobTO submitUserDeletion(Long userId) {
+    if (!userRepository.existsById(userId)) {
+      throw new EntityNotFoundException("User with ID " + userId + " does not exist in database.");
+    }
+    return submit(
+        USER,
+        userId,
+        progress -> cascadeDeleter.deleteUserBulkRowsInChunks(userId, chunkSize, progress),
+        () -> userService.deleteUser(userId));
+  }
+
+  @Override
+  public DeletionJobTO submitCourseDeletion(Long courseId) {
+    if (!courseRepository.existsById(courseId)) {
+      throw new EntityNotFoundException("Course not found with ID: " + courseId);
+    }
+    return submit(
+        COURSE,
+        courseId,
+        progress -> cascadeDeleter.deleteCourseBulkRowsInChunks(courseId, chunkSize, progress),
+        () -> courseService.deleteCourse(courseId));
+  }
+
+  @Override
+  public Optional<DeletionJobTO> getJob(UUID jobId) {
+    return Optional.ofNullable(jobs.get(jobId)).map(DeletionJob::toTO);
+  }
+
+  /** Stops the deletion thread; a running job is abandoned and its target stays partly deleted. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private synchronized DeletionJobTO submit(
+      String targetType, Long targetId, ChunkedPhase chunkedPhase, Runnable finalDelete) {
+    LocalDateTime expiry = LocalDateTime.now().minus(retention);
+    jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(expiry));
+
+    Optional<DeletionJob> pending =
+        jobs.values().stream()
+            .filter(job -> job.finishedAt == null)
+            .filter(job -> job.targetType.equals(targetType) && job.targetId.equals(targetId))
+            .findFirst();
+    if (pending.isPresent()) {
+      return pending.get().toTO();
+    }
+
+    DeletionJob job = new DeletionJob(targetType, targetId);
+    jobs.put(job.jobId, job);
+    executor.execute(() -> run(job, chunkedPhase, finalDelete));
+    return job.toTO();
+  }
+
+  private void run(DeletionJob job, ChunkedPhase chunkedPhase, Runnable finalDelete) {
+    job.status = DeletionJobStatus.RUNNING;
+    DeletionJobStatus outcome;
+    try {
+      chunkedPhase.run(job.chunkedRows::addAndGet);
+      finalDelete.run();
+      outcome = DeletionJobStatus.DONE;
+    } catch (Exception e) {
+      log.error("Deletion of {} {} failed", job.targetType, job.targetId, e);
+      job.error = e.getMessage();
+      outcome = DeletionJobStatus.FAILED;
+    }
+    // Pollers seeing the final status must also see the finishing time
+    job.finishedAt = LocalDateTime.now();
+    job.status = outcome;
+  }
+
+  /** Deletes the high-volume rows of a target in chunks, reporting each chunk's row count. */
+  @FunctionalInterface
+  private interface ChunkedPhase {
+    void run(LongConsumer progress);
+  }
+
+  /** The mutable state of a job, written by the deletion thread and read by pollers. */
+  private static final class DeletionJob {
+    private final UUID jobId = UUID.randomUUID();
+    private final String targetType;
+    private final Long targetId;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+    private final AtomicLong chunkedRows = new AtomicLong();
+    private volatile DeletionJobStatus status = DeletionJobStatus.QUEUED;
+    private volatile String error;
+    private volatile LocalDateTime finishedAt;
+
+    private DeletionJob(String targetType, Long targetId) {
+      this.targetType = targetType;
+      this.targetId = targetId;
+    }
+
+    private DeletionJobTO toTO() {
+      return new DeletionJobTO(
+          jobId, targetType, targetId, status, chunkedRows.get(), error, submittedAt, finishedAt);
+    }
+  }
+}
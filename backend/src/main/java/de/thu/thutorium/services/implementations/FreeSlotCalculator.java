@@ -0,0 +1,77 @@
+package de.thu.thutorium.services.implementations;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Computes the free intervals of a time window from the busy intervals in it.
+ *
+ * <p>The busy intervals are sorted by start and swept once, so a window with {@code n} meetings
+ * costs {@code O(n log n)} regardless of how they overlap. Free intervals are split at midnight,
+ * because meetings must not cross over to another day, and only those at least as long as the
+ * requested duration are kept.
+ */
+final class FreeSlotCalculator {
+
+  /**
+   * A half-open interval {@code [start, end)}.
+   *
+   * @param start the start of the interval, inclusive
+   * @param end the end of the interval, exclusive
+   */
+  record Interval(LocalDateTime start, LocalDateTime end) {
+  }
+
+  private FreeSlotCalculator() {
+  }
+
+  /**
+   * Returns the free intervals of {@code [from, to)} that are at least {@code minDuration} long.
+   *
+   * @param busy the busy intervals, in any order, possibly overlapping or extending beyond the
+   *     window
+   * @param from the start of the window, inclusive
+   * @param to the end of the window, exclusive
+   * @param minDuration the shortest free interval to return
+   * @return the free intervals, in chronological order
+   */
+  static List<Interval> freeSlots(
+      List<Interval> busy, LocalDateTime from, LocalDateTime to, Duration minDuration) {
+    List<Interval> sorted = new ArrayList<>(busy);
+    sorted.sort(Comparator.comparing(Interval::start));
+
+    List<Interval> free = new ArrayList<>();
+    LocalDateTime cursor = from;
+    for (Interval interval : sorted) {
+      if (!interval.start().isBefore(to)) {
+        break;
+      }
+      if (interval.start().isAfter(cursor)) {
+        addSplitByDay(free, cursor, interval.start(), minDuration);
+      }
+      if (interval.end().isAfter(cursor)) {
+        cursor = interval.end();
+      }
+    }
+    if (cursor.isBefore(to)) {
+      addSplitByDay(free, cursor, to, minDuration);
+    }
+    return free;
+  }
+
+  private static void addSplitByDay(
+      List<Interval> free, LocalDateTime start, LocalDateTime end, Duration minDuration) {
+    LocalDateTime pieceStart = start;
+    while (pieceStart.isBefore(end)) {
+      LocalDateTime midnight = pieceStart.toLocalDate().plusDays(1).atStartOfDay();
+      LocalDateTime pieceEnd = midnight.isBefore(end) ? midnight : end;
+      if (Duration.between(pieceStart, pieceEnd).compareTo(minDuration) >= 0) {
+        free.add(new Interval(pieceStart, pieceEnd));
+      }
+      pieceStart = pieceEnd;
+    }
+  }
+}
@@ -3,16 +3,20 @@ package de.thu.thutorium.services.implementations;
 import de.thu.thutorium.Utility.AuthUtil;
 import de.thu.thutorium.api.TOMappers.MeetingTOMapper;
 import de.thu.thutorium.api.TOMappers.UserTOMapper;
+import de.thu.thutorium.api.transferObjects.common.FreeSlotTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
 import de.thu.thutorium.database.dbObjects.AddressDBO;
 import de.thu.thutorium.database.dbObjects.CourseDBO;
 import de.thu.thutorium.database.dbObjects.MeetingDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.BookingStatus;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
 import de.thu.thutorium.database.dbObjects.enums.Role;
 import de.thu.thutorium.database.repositories.AddressRepository;
 import de.thu.thutorium.database.repositories.CourseRepository;
 import de.thu.thutorium.database.repositories.MeetingRepository;
+import de.thu.thutorium.database.repositories.MeetingWaitlistRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
 import de.thu.thutorium.services.interfaces.MeetingService;
 import jakarta.persistence.EntityNotFoundException;
@@ -21,6 +25,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -43,12 +50,17 @@ public class MeetingServiceImpl implements MeetingService {
   private final UserRepository userRepository;
   private final CourseRepository courseRepository;
   private final AddressRepository addressRepository;
+  private final MeetingWaitlistRepository meetingWaitlistRepository;
+  private final CascadeDeleter cascadeDeleter;
   private final MeetingTOMapper meetingTOMapper;
   private final UserTOMapper userTOMapper;
 
   private static final String DEFAULT_ROOM_NUM = "No room scheduled";
   private static final String DEFAULT_MEETING_LINK = "No room scheduled";
 
+  /** The longest time window a calendar may request. */
+  private static final Duration MAX_CALENDAR_WINDOW = Duration.ofDays(366);
+
   /**
    * Creates a new meeting based on the provided {@link MeetingTO}.
    *
@@ -65,6 +77,7 @@ public class MeetingServiceImpl implements MeetingService {
   public MeetingTO createMeeting(MeetingTO meetingTO) {
 
     validateTutorVerified(meetingTO.getTutorId());
+    validateCapacity(meetingTO.getCapacity());
     UserDBO tutor = validateAndGetTutor(meetingTO.getTutorId());
     CourseDBO course = validateAndGetCourse(meetingTO.getCourseId(), meetingTO.getTutorId());
 
@@ -78,6 +91,7 @@ public class MeetingServiceImpl implements MeetingService {
             .roomNum(Optional.ofNullable(meetingTO.getRoomNum()).orElse(DEFAULT_ROOM_NUM))
             .meetingLink(
                 Optional.ofNullable(meetingTO.getMeetingLink()).orElse(DEFAULT_MEETING_LINK))
+            .capacity(meetingTO.getCapacity())
             .build();
 
     if (meetingTO.getAddressId() != null) {
@@ -101,28 +115,11 @@ public class MeetingServiceImpl implements MeetingService {
   @Override
   @Transactional
   public void deleteMeeting(Long meetingId) {
-    MeetingDBO meeting =
-        meetingRepository
-            .findById(meetingId)
-            .orElseThrow(
-                () -> new EntityNotFoundException("Meeting not found with ID: " + meetingId));
-
-    meeting
-        .getParticipants()
-        .forEach(
-            participant -> {
-              participant.getMeetings().remove(meeting);
-              userRepository.save(participant);
-            });
-
-    meeting.getTutor().getMeetings().remove(meeting);
-    userRepository.save(meeting.getTutor());
-
-    meeting.getCourse().getMeetings().remove(meeting);
-    courseRepository.save(meeting.getCourse());
-
-    // Delete the meeting
-    meetingRepository.deleteById(meetingId);
+    if (!meetingRepository.existsById(meetingId)) {
+      throw new EntityNotFoundException("Meeting not found with ID: " + meetingId);
+    }
+    // Participations, reports and waitlist entries go with the meeting in a fixed number of statements
+    cascadeDeleter.deleteMeetings(List.of(meetingId));
   }
 
   /**
@@ -136,6 +133,8 @@ public class MeetingServiceImpl implements MeetingService {
    * @param meetingTO the transfer object containing the updated meeting data
    * @throws EntityNotFoundException if the meeting, tutor, course, or address with the provided IDs
    *     are not found
+   * @throws IllegalArgumentException if the capacity is not positive or below the seats already
+   *     booked
    */
   @Override
   @Transactional
@@ -145,6 +144,7 @@ public class MeetingServiceImpl implements MeetingService {
             .findById(meetingId)
             .orElseThrow(
                 () -> new EntityNotFoundException("Meeting not found with ID: " + meetingId));
+    validateCapacity(meetingTO.getCapacity());
 
     UserDBO tutor = validateAndGetTutor(meetingTO.getTutorId());
     CourseDBO course = validateAndGetCourse(meetingTO.getCourseId(), meetingTO.getTutorId());
@@ -159,6 +159,7 @@ public class MeetingServiceImpl implements MeetingService {
             .roomNum(Optional.ofNullable(meetingTO.getRoomNum()).orElse(DEFAULT_ROOM_NUM))
             .meetingLink(
                 Optional.ofNullable(meetingTO.getMeetingLink()).orElse(DEFAULT_MEETING_LINK))
+            .capacity(meetingTO.getCapacity())
             .build();
 
     if (meetingTO.getAddressId() != null) {
@@ -166,7 +167,15 @@ public class MeetingServiceImpl implements MeetingService {
       existingMeeting.setAddress(address);
     }
 
-    return meetingTOMapper.toDTO(meetingRepository.save(existingMeeting));
+    // Checked against the booked seats in the same statement, so no concurrent booking slips past
+    if (meetingRepository.updateCapacity(meetingId, meetingTO.getCapacity()) == 0) {
+      throw new IllegalArgumentException(
+          "The capacity must not be below the seats already booked.");
+    }
+    MeetingTO updated = meetingTOMapper.toDTO(meetingRepository.save(existingMeeting));
+    // A raised capacity frees seats for the waitlist
+    promoteFromWaitlist(meetingId);
+    return updated;
   }
 
   /**
@@ -192,75 +201,204 @@ public class MeetingServiceImpl implements MeetingService {
     return meetingTOMapper.toDTOList(allMeetings);
   }
 
+  /**
+   * Retrieves the meetings of a user overlapping a time window, for a calendar view.
+   *
+   * <p>The IDs of the meetings in the window are found with an overlap query on the indexed {@code
+   * time_range} column; the meetings are then loaded in one query together with their tutor,
+   * course and address.
+   *
+   * @param userId the unique identifier of the user
+   * @param from the start of the window, inclusive
+   * @param to the end of the window, exclusive
+   * @param meetingType the type of meetings to return, or {@code null} for all types
+   * @return the meetings in the window, ordered by start time
+   * @throws EntityNotFoundException if the user is not found
+   * @throws IllegalArgumentException if the window is empty or longer than allowed
+   */
+  @Override
+  public List<MeetingTO> getCalendar(
+      Long userId, LocalDateTime from, LocalDateTime to, MeetingType meetingType) {
+    validateWindow(from, to);
+    if (!userRepository.existsById(userId)) {
+      throw new EntityNotFoundException("User not found with ID: " + userId);
+    }
+
+    List<Long> meetingIds = meetingRepository.findCalendarMeetingIds(userId, from, to);
+    if (meetingIds.isEmpty()) {
+      return List.of();
+    }
+    return meetingTOMapper.toDTOList(
+        meetingRepository.findCalendarMeetings(meetingIds, meetingType));
+  }
+
+  /**
+   * Finds the free slots in which a tutor could hold a meeting of the given length.
+   *
+   * <p>Only the meetings of the tutor and of the room overlapping the window are read, as plain
+   * intervals through the indexes of the overlap constraints; the free intervals are then computed
+   * in memory by {@link FreeSlotCalculator}. The past part of the window is skipped, since meetings
+   * cannot be scheduled in the past.
+   *
+   * @param tutorId the ID of the tutor
+   * @param addressId the ID of the address of the room, or {@code null} to ignore rooms
+   * @param roomNum the room number, or {@code null} to ignore rooms
+   * @param from the start of the search window, inclusive
+   * @param to the end of the search window, exclusive
+   * @param durationMinutes the length of the meeting in minutes
+   * @return the free intervals at least {@code durationMinutes} long, in chronological order
+   * @throws EntityNotFoundException if the tutor or the address is not found
+   * @throws IllegalArgumentException if the window or duration is invalid, or only one of room
+   *     number and address is given
+   */
+  @Override
+  public List<FreeSlotTO> findFreeSlots(
+      Long tutorId,
+      Long addressId,
+      String roomNum,
+      LocalDateTime from,
+      LocalDateTime to,
+      long durationMinutes) {
+    validateWindow(from, to);
+    if (durationMinutes <= 0 || durationMinutes > Duration.ofDays(1).toMinutes()) {
+      throw new IllegalArgumentException("The meeting duration must be between 1 and 1440 minutes.");
+    }
+    if ((addressId == null) != (roomNum == null)) {
+      throw new IllegalArgumentException("A room needs both an address and a room number.");
+    }
+    validateAndGetTutor(tutorId);
+    if (addressId != null) {
+      validateAndGetAddress(addressId);
+    }
+
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+    LocalDateTime start = from.isBefore(now) ? now : from;
+    if (!start.isBefore(to)) {
+      return List.of();
+    }
+
+    List<FreeSlotCalculator.Interval> busy = new ArrayList<>();
+    meetingRepository.findTutorBusyIntervals(tutorId, start, to).stream()
+        .map(m -> new FreeSlotCalculator.Interval(m.getStartTime(), m.getEndTime()))
+        .forEach(busy::add);
+    if (addressId != null) {
+      meetingRepository.findRoomBusyIntervals(addressId, roomNum, start, to).stream()
+          .map(m -> new FreeSlotCalculator.Interval(m.getStartTime(), m.getEndTime()))
+          .forEach(busy::add);
+    }
+
+    return FreeSlotCalculator.freeSlots(busy, start, to, Duration.ofMinutes(durationMinutes))
+        .stream()
+        .map(slot -> new FreeSlotTO(slot.start(), slot.end()))
+        .toList();
+  }
+
 
   /**
    * Books a meeting for the authenticated student.
    *
-   * <p>This method retrieves the authenticated student's ID, validates the student, and checks if the student is
-   * enrolled in the course for the meeting. If the student is enrolled, the student is added to the meeting's
-   * participants and the meeting is added to the student's meetings. The changes are then saved to the repository.
+   * <p>The enrollment of the student is checked with an indexed lookup rather than by loading the
+   * course roster. A seat is then taken with {@link MeetingRepository#reserveSeat(Long)}, which
+   * compares the booked seats with the capacity in the same statement, so concurrent bookings
+   * cannot overbook the meeting. The update also locks the meeting row until the transaction ends,
+   * which makes a repeated booking by the same student see the first one and roll back. A student
+   * on the waitlist who gets a seat this way is taken off it. If the meeting is full, the student
+   * is put on its waitlist instead.
    *
    * @param meetingId the ID of the meeting to be booked
+   * @return whether the student got a seat or was put on the waitlist
    * @throws EntityNotFoundException if the meeting or student is not found
-   * @throws IllegalStateException if the student is not enrolled in the course for the meeting
+   * @throws IllegalStateException if the student is not enrolled in the course for the meeting, has
+   *     already booked the meeting, or is already waiting for the full meeting
    */
   @Override
   @Transactional
-  public void bookMeeting(Long meetingId) {
+  public BookingStatus bookMeeting(Long meetingId) {
     Long studentId = AuthUtil.getAuthenticatedUserId(); // Retrieve the authenticated user's ID
 
-    UserDBO student = validateAndGetStudent(studentId);
-
-    MeetingDBO meeting =
-        meetingRepository
-            .findById(meetingId)
-            .orElseThrow(
-                () -> new EntityNotFoundException("Meeting not found with ID: " + meetingId));
-
-    if (!meeting.getCourse().getStudents().contains(student)) {
+    validateAndGetStudent(studentId);
+    if (!meetingRepository.existsById(meetingId)) {
+      throw new EntityNotFoundException("Meeting not found with ID: " + meetingId);
+    }
+    if (!meetingRepository.isEnrolledInCourseOfMeeting(meetingId, studentId)) {
       throw new IllegalStateException("Student is not enrolled in the course for this meeting.");
     }
 
-    meeting.getParticipants().add(student);
-    student.getMeetings().add(meeting);
+    boolean seatTaken = meetingRepository.reserveSeat(meetingId) == 1;
+    if (meetingRepository.isParticipant(meetingId, studentId)) {
+      // Rolls back the seat taken above
+      throw new IllegalStateException("Student has already booked this meeting.");
+    }
+    if (seatTaken) {
+      meetingRepository.addParticipant(meetingId, studentId);
+      // A waiting student who books a seat that has become free no longer waits for it
+      meetingWaitlistRepository.removeFromWaitlist(meetingId, studentId);
+      return BookingStatus.BOOKED;
+    }
 
-    meetingRepository.save(meeting);
-    userRepository.save(student);
+    if (meetingWaitlistRepository.addToWaitlist(meetingId, studentId, LocalDateTime.now()) == 0) {
+      throw new IllegalStateException("Student is already on the waitlist of this meeting.");
+    }
+    return BookingStatus.WAITLISTED;
   }
 
   /**
    * Cancels a meeting for the authenticated student.
    *
-   * <p>This method retrieves the authenticated student's ID, validates the student, and checks if the student is a
-   * participant of the meeting. If the student is a participant, the student is removed from the meeting's participants
-   * and the meeting is removed from the student's meetings. The changes are then saved to the repository.
+   * <p>A participant gives back the seat, which goes to the student who has waited longest, if
+   * any. A student on the waitlist is just removed from it. The seat is released before the
+   * waitlist is read, so the row lock of the meeting keeps concurrent cancellations from promoting
+   * the same student twice.
    *
    * @param meetingId the ID of the meeting to be canceled
    * @throws EntityNotFoundException if the meeting or student is not found
-   * @throws IllegalStateException if the student is not a participant of the meeting
+   * @throws IllegalStateException if the student neither booked the meeting nor is waiting for it
    */
   @Override
   @Transactional
   public void cancelMeeting(Long meetingId) {
     Long studentId = AuthUtil.getAuthenticatedUserId(); // Retrieve the authenticated user's ID
 
-    UserDBO student = validateAndGetStudent(studentId);
-
-    MeetingDBO meeting =
-        meetingRepository
-            .findById(meetingId)
-            .orElseThrow(
-                () -> new EntityNotFoundException("Meeting not found with ID: " + meetingId));
+    validateAndGetStudent(studentId);
+    if (!meetingRepository.existsById(meetingId)) {
+      throw new EntityNotFoundException("Meeting not found with ID: " + meetingId);
+    }
 
-    if (!meeting.getParticipants().contains(student)) {
-      throw new IllegalStateException("Student is not a participant of this meeting.");
+    if (meetingRepository.removeParticipant(meetingId, studentId) == 0) {
+      if (meetingWaitlistRepository.removeFromWaitlist(meetingId, studentId) == 0) {
+        throw new IllegalStateException("Student is not a participant of this meeting.");
+      }
+      return;
     }
 
-    meeting.getParticipants().remove(student);
-    student.getMeetings().remove(meeting);
+    meetingRepository.releaseSeat(meetingId);
+    promoteFromWaitlist(meetingId);
+  }
 
-    meetingRepository.save(meeting);
-    userRepository.save(student);
+  /**
+   * Gives the free seats of a meeting to the students who have waited longest.
+   *
+   * <p>Each seat is taken with {@link MeetingRepository#reserveSeat(Long)} before the waiting
+   * student is moved, so the row lock of the meeting keeps concurrent callers from promoting the
+   * same student twice. A waiting student who already is a participant is only taken off the
+   * waitlist, and the seat goes to the next one.
+   *
+   * @param meetingId the ID of the meeting
+   */
+  @Override
+  @Transactional
+  public void promoteFromWaitlist(Long meetingId) {
+    Optional<Long> waiting = meetingWaitlistRepository.findFirstWaitingStudentId(meetingId);
+    while (waiting.isPresent() && meetingRepository.reserveSeat(meetingId) == 1) {
+      Long waitingStudentId = waiting.get();
+      meetingWaitlistRepository.removeFromWaitlist(meetingId, waitingStudentId);
+      if (meetingRepository.addParticipant(meetingId, waitingStudentId) == 0) {
+        meetingRepository.releaseSeat(meetingId);
+      } else {
+        log.info("Student {} moved up from the waitlist of meeting {}", waitingStudentId, meetingId);
+      }
+      waiting = meetingWaitlistRepository.findFirstWaitingStudentId(meetingId);
+    }
   }
 
   /**
@@ -320,6 +458,36 @@ public class MeetingServiceImpl implements MeetingService {
     return meeting.getParticipants().stream().map(userTOMapper::toDTO).toList();
   }
 
+  /**
+   * Validates a time window for a calendar or slot search.
+   *
+   * @param from the start of the window
+   * @param to the end of the window
+   * @throws IllegalArgumentException if the window is empty or longer than allowed
+   */
+  private void validateWindow(LocalDateTime from, LocalDateTime to) {
+    if (from == null || to == null || !from.isBefore(to)) {
+      throw new IllegalArgumentException("The calendar window must start before it ends.");
+    }
+    if (Duration.between(from, to).compareTo(MAX_CALENDAR_WINDOW) > 0) {
+      throw new IllegalArgumentException(
+          "The calendar window must not exceed " + MAX_CALENDAR_WINDOW.toDays() + " days.");
+    }
+  }
+
+  /**
+   * Validates the capacity of a meeting. Whether it covers the seats already booked is checked by
+   * {@link MeetingRepository#updateCapacity(Long, Integer)}.
+   *
+   * @param capacity the capacity, or {@code null} for no limit
+   * @throws IllegalArgumentException if the capacity is not positive
+   */
+  private void validateCapacity(Integer capacity) {
+    if (capacity != null && capacity < 1) {
+      throw new IllegalArgumentException("The capacity of a meeting must be at least 1.");
+    }
+  }
+
   /**
    * Validates if a tutor is verified.
    *
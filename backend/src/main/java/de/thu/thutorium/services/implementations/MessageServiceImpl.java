@@ -2,138 +2,139 @@ package de.thu.thutorium.services.implementations;
 
 import de.thu.thutorium.api.TOMappers.MessageTOMapper;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
-import de.thu.thutorium.database.dbObjects.ChatDBO;
 import de.thu.thutorium.database.dbObjects.MessageDBO;
-import de.thu.thutorium.database.dbObjects.UserDBO;
-import de.thu.thutorium.database.repositories.ChatRepository;
+import de.thu.thutorium.database.repositories.ChatReadMarkerRepository;
 import de.thu.thutorium.database.repositories.MessageRepository;
-import de.thu.thutorium.database.repositories.UserRepository;
 import de.thu.thutorium.services.interfaces.MessageService;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Service implementation for managing messages within a chat system.
  *
- * <p>This service provides methods for saving a message, marking a message as read, and interacting
- * with the {@link MessageRepository}, {@link ChatRepository}, and {@link UserRepository} for
- * database operations.
+ * <p>This service provides methods for saving a message, marking a message as read, and paging
+ * through the history of a chat. New messages are validated against the {@link
+ * ChatMembershipCache} and persisted in batches by the {@link MessageWriteBehindBuffer}; all
+ * other operations go through the {@link MessageRepository}.
  */
 @Service
 public class MessageServiceImpl implements MessageService {
 
   private final MessageRepository messageRepository;
-  private final ChatRepository chatRepository;
-  private final UserRepository userRepository;
   private final MessageTOMapper messageTOMapper;
+  private final ChatReadMarkerRepository chatReadMarkerRepository;
+  private final ChatMembershipCache chatMembershipCache;
+  private final MessageWriteBehindBuffer messageWriteBehindBuffer;
 
   public MessageServiceImpl(
           MessageRepository messageRepository,
-          ChatRepository chatRepository,
-          UserRepository userRepository,
-          MessageTOMapper messageTOMapper) {
+          MessageTOMapper messageTOMapper,
+          ChatReadMarkerRepository chatReadMarkerRepository,
+          ChatMembershipCache chatMembershipCache,
+          MessageWriteBehindBuffer messageWriteBehindBuffer) {
     this.messageRepository = messageRepository;
-    this.chatRepository = chatRepository;
-    this.userRepository = userRepository;
     this.messageTOMapper = messageTOMapper;
+    this.chatReadMarkerRepository = chatReadMarkerRepository;
+    this.chatMembershipCache = chatMembershipCache;
+    this.messageWriteBehindBuffer = messageWriteBehindBuffer;
   }
 
   /**
    * Saves a new message to the chat system.
    *
-   * <p>This method validates the input {@link MessageTO}, retrieves the associated chat, sender,
-   * and receiver from the database using the provided IDs, and creates a new message entity to be
-   * stored in the database. It then maps the saved entity back into a {@link MessageTO}.
+   * <p>This method validates the input {@link MessageTO} against the cached participants of the
+   * chat and hands it to the write-behind buffer, which inserts it batched with the messages of
+   * concurrent senders. The message is returned with its ID once the row has been written, so it
+   * is never delivered before it is persisted. No chat or user entity is loaded.
    *
    * @param messageTO the transfer object containing the message data to be saved
-   * @return the saved message as a {@link MessageTO}
-   * @throws IllegalArgumentException if the provided messageTO is null
-   * @throws RuntimeException if the chat, sender, or receiver cannot be found based on the provided
-   *     IDs
+   * @return the accepted message as a {@link MessageTO}, carrying its ID
+   * @throws IllegalArgumentException if the message is incomplete, or the sender or receiver is not
+   *     a participant of the chat
+   * @throws EntityNotFoundException if the chat does not exist
+   * @throws IllegalStateException if the write-behind queue is full or the message could not be
+   *     written
    */
   @Override
-  @Transactional
   public MessageTO saveMessage(MessageTO messageTO) {
     // Validate input data
     if (messageTO == null) {
       throw new IllegalArgumentException("MessageTO cannot be null");
     }
+    if (messageTO.getChatId() == null
+        || messageTO.getSenderId() == null
+        || messageTO.getReceiverId() == null
+        || messageTO.getMessageContent() == null) {
+      throw new IllegalArgumentException("Chat, sender, receiver and content are required");
+    }
+
+    Set<Long> participants = chatMembershipCache.participantsOf(messageTO.getChatId());
+    if (participants.isEmpty()) {
+      throw new EntityNotFoundException("Chat not found for ID: " + messageTO.getChatId());
+    }
+    if (!participants.contains(messageTO.getSenderId())
+        || !participants.contains(messageTO.getReceiverId())) {
+      throw new IllegalArgumentException(
+          "Sender and receiver must be participants of chat " + messageTO.getChatId());
+    }
+
+    LocalDateTime sendAt =
+        messageTO.getSendAt() != null ? messageTO.getSendAt() : LocalDateTime.now();
+    Long messageId =
+        messageWriteBehindBuffer.write(
+            new MessageWriteBehindBuffer.PendingMessage(
+                messageTO.getChatId(),
+                messageTO.getSenderId(),
+                messageTO.getReceiverId(),
+                messageTO.getMessageContent(),
+                sendAt));
 
-    // Find the chat by ID (assuming messageTO contains a chat ID)
-    ChatDBO chat =
-            chatRepository
-                    .findById(messageTO.getChatId()) // Corrected to use chatId from MessageTO
-                    .orElseThrow(
-                            () -> new RuntimeException("Chat not found for ID: " + messageTO.getChatId()));
-
-    // Find the sender by ID
-    UserDBO sender =
-            userRepository
-                    .findById(messageTO.getSenderId()) // Use senderId from MessageTO
-                    .orElseThrow(
-                            () -> new RuntimeException("Sender not found for ID: " + messageTO.getSenderId()));
-
-    // Find the receiver by ID
-    UserDBO receiver =
-            userRepository
-                    .findById(messageTO.getReceiverId()) // Use receiverId from MessageTO
-                    .orElseThrow(
-                            () ->
-                                    new RuntimeException(
-                                            "Receiver not found for ID: " + messageTO.getReceiverId()));
-
-    // Create a new message entity
-    MessageDBO messageDBO =
-            MessageDBO.builder()
-                    .chat(chat)
-                    .sender(sender)
-                    .receiver(receiver)
-                    .messageContent(messageTO.getMessageContent())
-                    .sendAt(messageTO.getSendAt()) // Use sendAt from MessageTO
-                    .isRead(false)
-                    .build();
-
-    // Save the message to the database
-    messageRepository.save(messageDBO);
-
-    // Map the saved entity back to a DTO and return it
     return new MessageTO(
-            messageDBO.getMessageId(),
-            messageDBO.getSender().getUserId(),
-            messageDBO.getReceiver().getUserId(),
-            messageDBO.getChat().getChatId(), // Return the chatId from the saved message
-            messageDBO.getMessageContent(),
-            messageDBO.getSendAt(),
-            messageDBO.getReadAt(),
-            messageDBO.getIsRead());
+            messageId,
+            messageTO.getSenderId(),
+            messageTO.getReceiverId(),
+            messageTO.getChatId(),
+            messageTO.getMessageContent(),
+            sendAt,
+            null,
+            false);
   }
 
   /**
-   * Marks a message as read and updates the read timestamp.
+   * Marks all messages addressed to the reader in a chat as read.
    *
-   * <p>This method finds the message by ID, sets the message as read, updates the read timestamp,
-   * and saves the updated message back to the database. It then returns the updated message as a
-   * {@link MessageTO}.
+   * <p>The highest message ID of the chat is taken as the watermark. Every unread message to the
+   * reader up to it is updated by one bulk statement, and the reader's read marker is advanced to
+   * it, so the cost does not grow with the number of unread messages.
    *
-   * @param chatId the ID of the message to be marked as read
-   * @throws RuntimeException if the message cannot be found based on the provided ID
+   * @param chatId the ID of the chat to be marked as read
+   * @param readerId the ID of the user reading the chat
+   * @return the number of messages marked as read
+   * @throws EntityNotFoundException if the reader is not a participant of the chat
    */
   @Override
-  public void markAsRead(Long chatId) {
-    // Fetch all unread messages in the chat
-    List<MessageDBO> unreadMessages = messageRepository.findAllByChatIdAndIsReadFalse(chatId);
-
-    // Mark each message as read and update the timestamp
-    unreadMessages.forEach(message -> {
-      message.setIsRead(true);
-      message.setReadAt(LocalDateTime.now());
-    });
-
-    // Save the updated messages
-    messageRepository.saveAll(unreadMessages);
+  @Transactional
+  public int markAsRead(Long chatId, Long readerId) {
+    if (!chatMembershipCache.participantsOf(chatId).contains(readerId)) {
+      throw new EntityNotFoundException(
+          "Chat " + chatId + " not found for participant " + readerId);
+    }
+    Long watermark = messageRepository.findLatestMessageIdInChat(chatId);
+    if (watermark == null) {
+      return 0;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    int updated = messageRepository.markReadUpTo(chatId, readerId, watermark, now);
+    chatReadMarkerRepository.advance(chatId, readerId, watermark, now);
+    return updated;
   }
 
   @Override
@@ -141,4 +142,52 @@ public class MessageServiceImpl implements MessageService {
     List<MessageDBO> messages = messageRepository.findByChat_ChatId(chatId);
     return messageTOMapper.toDTOList(messages);
   }
+
+  @Override
+  public List<MessageTO> getMessagesPage(Long chatId, Long beforeId, Long afterId, int limit) {
+    if (limit < 1) {
+      throw new IllegalArgumentException("Limit must be positive");
+    }
+    if (beforeId != null && afterId != null) {
+      throw new IllegalArgumentException("Only one of beforeId and afterId may be given");
+    }
+    PageRequest page = PageRequest.of(0, limit);
+
+    if (afterId != null) {
+      LocalDateTime anchor = anchorSendAt(afterId, chatId);
+      return messageRepository.findAfterInChat(chatId, anchor, afterId, page).stream()
+          .map(MessageServiceImpl::toTO)
+          .toList();
+    }
+
+    List<MessageRepository.MessageView> newestFirst =
+        beforeId != null
+            ? messageRepository.findBeforeInChat(chatId, anchorSendAt(beforeId, chatId), beforeId, page)
+            : messageRepository.findLatestInChat(chatId, page);
+    List<MessageTO> messages = new ArrayList<>(newestFirst.size());
+    newestFirst.forEach(view -> messages.add(toTO(view)));
+    Collections.reverse(messages);
+    return messages;
+  }
+
+  private LocalDateTime anchorSendAt(Long messageId, Long chatId) {
+    return messageRepository
+        .findSendAtInChat(messageId, chatId)
+        .orElseThrow(
+            () ->
+                new IllegalArgumentException(
+                    "Message " + messageId + " does not belong to chat " + chatId));
+  }
+
+  private static MessageTO toTO(MessageRepository.MessageView view) {
+    return new MessageTO(
+        view.getMessageId(),
+        view.getSenderId(),
+        view.getReceiverId(),
+        view.getChatId(),
+        view.getMessageContent(),
+        view.getSendAt(),
+        view.getReadAt(),
+        view.getIsRead());
+  }
 }
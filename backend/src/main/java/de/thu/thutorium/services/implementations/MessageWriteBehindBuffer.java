@@ -0,0 +1,225 @@
+package de.thu.thutorium.services.implementations;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Write-behind buffer persisting chat messages in JDBC batches.
+ *
+ * <p>Accepted messages wait in a bounded queue and a single background thread inserts them in
+ * batches, so the messages of concurrent senders share one round trip. A sender waits until its
+ * own message has been written and only then gets its ID, so nothing is delivered that is not in
+ * the database. When the queue is full, callers wait for at most the configured timeout and are
+ * then rejected, so a slow database pushes back on senders instead of exhausting the heap.
+ *
+ * <p>The IDs of a batch are drawn from the sequence of the {@code message} table right before it
+ * is inserted, so they follow the order in which messages reach the database, also across
+ * instances, which the read watermark of a chat relies on. A failed batch is retried row by row,
+ * so one bad message (e.g. for a chat deleted in the meantime) does not take the rest of its batch
+ * down with it; its sender gets the error. Pending messages are flushed when the application shuts
+ * down.
+ */
+@Component
+@Slf4j
+public class MessageWriteBehindBuffer {
+  private static final String NEXT_IDS_SQL =
+      "SELECT nextval(pg_get_serial_sequence('message', 'message_id')) FROM generate_series(1, ?)";
+
+  private static final String INSERT_SQL =
+      "INSERT INTO message (message_id, chat_id, sender_id, receiver_id, message_content, send_at, is_read) "
+          + "VALUES (?, ?, ?, ?, ?, ?, false)";
+
+  private static final long POLL_INTERVAL_MILLIS = 50;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final BlockingQueue<QueuedMessage> queue;
+  private final int batchSize;
+  private final long offerTimeoutMillis;
+  private final long writeTimeoutMillis;
+
+  private volatile boolean running;
+  private Thread flusher;
+
+  /**
+   * Creates the buffer.
+   *
+   * @param jdbcTemplate the template used to draw IDs and insert the messages
+   * @param queueCapacity the maximum number of messages waiting to be written
+   * @param batchSize the maximum number of messages inserted by one batch
+   * @param offerTimeoutMillis how long a sender waits for room in a full queue
+   * @param writeTimeoutMillis how long a sender waits for its message to be written
+   */
+  public MessageWriteBehindBuffer(
+      JdbcTemplate jdbcTemplate,
+      @Value("${chat.messages.queue-capacity:10000}") int queueCapacity,
+      @Value("${chat.messages.batch-size:200}") int batchSize,
+      @Value("${chat.messages.offer-timeout-ms:2000}") long offerTimeoutMillis,
+      @Value("${chat.messages.write-timeout-ms:10000}") long writeTimeoutMillis) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.batchSize = batchSize;
+    this.offerTimeoutMillis = offerTimeoutMillis;
+    this.writeTimeoutMillis = writeTimeoutMillis;
+  }
+
+  /** Starts the background thread writing the queued messages. */
+  @PostConstruct
+  public void start() {
+    running = true;
+    flusher = new Thread(this::flushLoop, "message-write-behind");
+    flusher.setDaemon(true);
+    flusher.start();
+  }
+
+  /** Stops the background thread once every queued message has been written. */
+  @PreDestroy
+  public void stop() {
+    running = false;
+    try {
+      flusher.join(TimeUnit.SECONDS.toMillis(30));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    List<QueuedMessage> unwritten = new ArrayList<>();
+    queue.drainTo(unwritten);
+    if (!unwritten.isEmpty()) {
+      log.error("Shutting down with " + unwritten.size() + " chat messages not persisted.");
+      unwritten.forEach(
+          message -> message.id().completeExceptionally(new IllegalStateException("Shutting down")));
+    }
+  }
+
+  /**
+   * Queues a message and waits until it has been inserted.
+   *
+   * @param message the message to write
+   * @return the ID of the inserted message
+   * @throws IllegalStateException if the queue stays full for longer than the offer timeout, or
+   *     the message could not be written in time
+   */
+  public Long write(PendingMessage message) {
+    QueuedMessage queued = new QueuedMessage(message, new CompletableFuture<>());
+    try {
+      if (!queue.offer(queued, offerTimeoutMillis, TimeUnit.MILLISECONDS)) {
+        throw new IllegalStateException("Too many messages are being sent, please try again later");
+      }
+      return queued.id().get(writeTimeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while writing the message", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("The message could not be saved: " + e.getCause().getMessage(), e);
+    } catch (TimeoutException e) {
+      throw new IllegalStateException("Saving the message timed out, please try again later", e);
+    }
+  }
+
+  /**
+   * Returns the number of messages waiting to be written.
+   *
+   * @return the queue length
+   */
+  public int pendingCount() {
+    return queue.size();
+  }
+
+  private void flushLoop() {
+    List<QueuedMessage> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        QueuedMessage first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        write(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Writing chat messages failed: " + e.getMessage());
+        batch.forEach(message -> message.id().completeExceptionally(e));
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+
+  private void write(List<QueuedMessage> batch) {
+    List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, batch.size());
+    List<IdentifiedMessage> rows = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      rows.add(new IdentifiedMessage(ids.get(i), batch.get(i).message()));
+    }
+    try {
+      jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), MessageWriteBehindBuffer::bind);
+    } catch (RuntimeException batchFailure) {
+      log.warn("Batch insert of " + batch.size() + " messages failed, retrying one by one: " + batchFailure.getMessage());
+      for (int i = 0; i < rows.size(); i++) {
+        IdentifiedMessage row = rows.get(i);
+        CompletableFuture<Long> id = batch.get(i).id();
+        try {
+          jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row));
+          id.complete(row.messageId());
+        } catch (DuplicateKeyException e) {
+          // Already written by a part of the batch that was committed before the failure
+          id.complete(row.messageId());
+        } catch (RuntimeException e) {
+          log.error("Rejecting message of chat " + row.message().chatId() + ": " + e.getMessage());
+          id.completeExceptionally(e);
+        }
+      }
+      return;
+    }
+    for (int i = 0; i < rows.size(); i++) {
+      batch.get(i).id().complete(rows.get(i).messageId());
+    }
+  }
+
+  private static void bind(PreparedStatement ps, IdentifiedMessage row) throws SQLException {
+    PendingMessage message = row.message();
+    ps.setLong(1, row.messageId());
+    ps.setLong(2, message.chatId());
+    ps.setLong(3, message.senderId());
+    ps.setLong(4, message.receiverId());
+    ps.setString(5, message.content());
+    ps.setTimestamp(6, Timestamp.valueOf(message.sendAt()));
+  }
+
+  /**
+   * A validated message waiting to be written.
+   *
+   * @param chatId the ID of the chat
+   * @param senderId the ID of the sender
+   * @param receiverId the ID of the receiver
+   * @param content the message text
+   * @param sendAt the send timestamp
+   */
+  public record PendingMessage(
+      Long chatId, Long senderId, Long receiverId, String content, LocalDateTime sendAt) { }
+
+  /** A queued message and the ID its sender is waiting for. */
+  private record QueuedMessage(PendingMessage message, CompletableFuture<Long> id) { }
+
+  /** A message with the ID drawn for it. */
+  private record IdentifiedMessage(Long messageId, PendingMessage message) { }
+}
@@ -0,0 +1,71 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.api.transferObjects.common.PlatformStatisticsTO;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.MeetingRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.interfaces.PlatformStatisticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Implementation of the {@link PlatformStatisticsService} interface.
+ *
+ * <p>The statistics are four count queries, run every {@code platform.statistics.refresh-interval-ms}
+ * milliseconds and on the first read. Readers only see the last snapshot; if a refresh fails, the
+ * previous snapshot is kept and the refresh is retried at the next interval.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformStatisticsServiceImpl implements PlatformStatisticsService {
+  private final UserRepository userRepository;
+  private final CourseRepository courseRepository;
+  private final MeetingRepository meetingRepository;
+
+  private volatile PlatformStatisticsTO statistics;
+
+  @Override
+  public PlatformStatisticsTO getStatistics() {
+    PlatformStatisticsTO current = statistics;
+    if (current == null) {
+      refresh();
+      current = statistics;
+    }
+    return current;
+  }
+
+  @Override
+  public synchronized void refresh() {
+    LocalDateTime weekStart =
+        LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+    statistics =
+        new PlatformStatisticsTO(
+            userRepository.countByRoles_RoleName(Role.STUDENT),
+            userRepository.countByRoles_RoleName(Role.TUTOR),
+            courseRepository.count(),
+            meetingRepository.countByStartTimeGreaterThanEqualAndStartTimeLessThan(
+                weekStart, weekStart.plusWeeks(1)),
+            LocalDateTime.now());
+  }
+
+  /** Refreshes the statistics on schedule, keeping the previous snapshot if that fails. */
+  @Scheduled(
+      fixedDelayString = "${platform.statistics.refresh-interval-ms:60000}",
+      initialDelayString = "${platform.statistics.refresh-interval-ms:60000}")
+  public void scheduledRefresh() {
+    try {
+      refresh();
+    } catch (RuntimeException ex) {
+      log.warn("Could not refresh the platform statistics: {}", ex.getMessage());
+    }
+  }
+}
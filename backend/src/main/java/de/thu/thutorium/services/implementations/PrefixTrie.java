@@ -0,0 +1,177 @@
+package de.thu.thutorium.services.implementations;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A character trie mapping keys to the IDs of the documents they were taken from.
+ *
+ * <p>An ID is only kept at the node where its key ends, so every key costs one ID entry whatever
+ * its length. Looking up a prefix walks to its node and collects the IDs of the subtree below it.
+ * Children and IDs are held in sorted primitive arrays rather than hash maps and sets of boxed
+ * values. Nodes left without IDs and children are pruned on removal.
+ *
+ * <p>The trie is not thread-safe; {@link SearchIndexServiceImpl} guards it with a lock.
+ */
+final class PrefixTrie {
+
+  private final Node root = new Node();
+
+  /**
+   * Adds a key for the given document.
+   *
+   * @param key the key to index, already normalised by the caller
+   * @param id the ID of the document the key belongs to
+   */
+  void insert(String key, Long id) {
+    Node node = root;
+    for (int i = 0; i < key.length(); i++) {
+      node = node.childOrAdd(key.charAt(i));
+    }
+    node.addId(id);
+  }
+
+  /**
+   * Removes the given document from the node where a key ends.
+   *
+   * <p>Keys of one document may be equal, e.g. the suffixes of two words ending alike, and are then
+   * stored once, so callers must remove all keys of a document together rather than a single one
+   * of them.
+   *
+   * @param key the key to remove
+   * @param id the ID of the document the key belongs to
+   */
+  void remove(String key, Long id) {
+    remove(root, key, 0, id);
+  }
+
+  /**
+   * Returns the IDs of all documents having a key that starts with the given prefix.
+   *
+   * @param prefix the prefix to look up
+   * @return a new set of the matching IDs, empty if there are none
+   */
+  Set<Long> idsWithPrefix(String prefix) {
+    Node node = root;
+    for (int i = 0; i < prefix.length() && node != null; i++) {
+      node = node.child(prefix.charAt(i));
+    }
+    Set<Long> ids = new HashSet<>();
+    if (node == null) {
+      return ids;
+    }
+    Deque<Node> pending = new ArrayDeque<>();
+    pending.push(node);
+    while (!pending.isEmpty()) {
+      Node next = pending.pop();
+      for (int i = 0; i < next.idCount; i++) {
+        ids.add(next.ids[i]);
+      }
+      for (int i = 0; i < next.childCount; i++) {
+        pending.push(next.children[i]);
+      }
+    }
+    return ids;
+  }
+
+  private static void remove(Node node, String key, int depth, Long id) {
+    if (depth == key.length()) {
+      node.removeId(id);
+      return;
+    }
+    char c = key.charAt(depth);
+    Node child = node.child(c);
+    if (child == null) {
+      return;
+    }
+    remove(child, key, depth + 1, id);
+    if (child.idCount == 0 && child.childCount == 0) {
+      node.removeChild(c);
+    }
+  }
+
+  /**
+   * A trie node with its children, sorted by their character, and the sorted IDs of the keys ending
+   * at it. The arrays grow by doubling and are shared empty arrays while unused.
+   */
+  private static final class Node {
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final long[] NO_IDS = new long[0];
+
+    private char[] labels = NO_LABELS;
+    private Node[] children = NO_CHILDREN;
+    private int childCount;
+    private long[] ids = NO_IDS;
+    private int idCount;
+
+    Node child(char c) {
+      int index = Arrays.binarySearch(labels, 0, childCount, c);
+      return index >= 0 ? children[index] : null;
+    }
+
+    Node childOrAdd(char c) {
+      int index = Arrays.binarySearch(labels, 0, childCount, c);
+      if (index >= 0) {
+        return children[index];
+      }
+      index = -index - 1;
+      if (childCount == labels.length) {
+        int capacity = Math.max(2, childCount * 2);
+        labels = Arrays.copyOf(labels, capacity);
+        children = Arrays.copyOf(children, capacity);
+      }
+      System.arraycopy(labels, index, labels, index + 1, childCount - index);
+      System.arraycopy(children, index, children, index + 1, childCount - index);
+      Node child = new Node();
+      labels[index] = c;
+      children[index] = child;
+      childCount++;
+      return child;
+    }
+
+    void removeChild(char c) {
+      int index = Arrays.binarySearch(labels, 0, childCount, c);
+      if (index < 0) {
+        return;
+      }
+      System.arraycopy(labels, index + 1, labels, index, childCount - index - 1);
+      System.arraycopy(children, index + 1, children, index, childCount - index - 1);
+      childCount--;
+      children[childCount] = null;
+      if (childCount == 0) {
+        labels = NO_LABELS;
+        children = NO_CHILDREN;
+      }
+    }
+
+    void addId(long id) {
+      int index = Arrays.binarySearch(ids, 0, idCount, id);
+      if (index >= 0) {
+        return;
+      }
+      index = -index - 1;
+      if (idCount == ids.length) {
+        ids = Arrays.copyOf(ids, Math.max(2, idCount * 2));
+      }
+      System.arraycopy(ids, index, ids, index + 1, idCount - index);
+      ids[index] = id;
+      idCount++;
+    }
+
+    void removeId(long id) {
+      int index = Arrays.binarySearch(ids, 0, idCount, id);
+      if (index < 0) {
+        return;
+      }
+      System.arraycopy(ids, index + 1, ids, index, idCount - index - 1);
+      idCount--;
+      if (idCount == 0) {
+        ids = NO_IDS;
+      }
+    }
+  }
+}
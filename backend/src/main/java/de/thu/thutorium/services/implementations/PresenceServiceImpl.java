@@ -0,0 +1,45 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.services.interfaces.PresenceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Implementation of the {@link PresenceService} interface backed by the STOMP user registry.
+ *
+ * <p>Chat sessions are named after the user ID (see {@link de.thu.thutorium.WebSocket.StompPrincipal}), so presence is a
+ * lookup by ID in the {@link SimpUserRegistry}. In relay mode Spring provides a registry that
+ * merges the users broadcast by all instances, which makes this service cluster-aware without any
+ * further state.
+ */
+@Service
+@RequiredArgsConstructor
+public class PresenceServiceImpl implements PresenceService {
+  private final SimpUserRegistry userRegistry;
+
+  @Override
+  public boolean isOnline(Long userId) {
+    return userId != null && userRegistry.getUser(String.valueOf(userId)) != null;
+  }
+
+  @Override
+  public Set<Long> findOnlineUserIds(Collection<Long> userIds) {
+    Set<Long> online = new LinkedHashSet<>();
+    for (Long userId : userIds) {
+      if (isOnline(userId)) {
+        online.add(userId);
+      }
+    }
+    return online;
+  }
+
+  @Override
+  public int countOnlineUsers() {
+    return userRegistry.getUserCount();
+  }
+}
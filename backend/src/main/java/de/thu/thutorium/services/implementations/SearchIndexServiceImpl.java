@@ -0,0 +1,377 @@
+package de.thu.thutorium.services.implementations;
+
+import de.thu.thutorium.Utility.TransactionUtil;
+import de.thu.thutorium.api.transferObjects.search.SuggestionTO;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import de.thu.thutorium.database.repositories.CategoryRepository;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the {@link SearchIndexService} interface backed by in-heap prefix tries.
+ *
+ * <p>Indexed texts are split into lower-cased words, and every suffix of every word, cut to at most
+ * {@link #MAX_KEY_LENGTH} characters, is inserted into a {@link PrefixTrie}. A query word therefore
+ * matches any indexed word containing it, which keeps the substring semantics of the database
+ * search; query words longer than the cut are looked up by their first {@link #MAX_KEY_LENGTH}
+ * characters and then checked against the words of the candidates. A document matches when it
+ * matches every word of the query.
+ *
+ * <p>Cutting the keys bounds the trie to at most {@code MAX_KEY_LENGTH} nodes per indexed character
+ * instead of growing with the square of the word length. With the default of 12, a document whose
+ * texts have {@code n} characters adds at most {@code 12 n} trie nodes, far fewer in practice
+ * because words share their prefixes, but only {@code n} ID entries, one per key. The rebuild logs
+ * the number of indexed key characters as a measure of the index size.
+ *
+ * <p>The index is rebuilt from lightweight repository projections once the application is ready.
+ * Updates arriving while a rebuild is loading are recorded and replayed onto the new index before
+ * it is swapped in, so no change is lost. Readers and writers are coordinated with a read-write
+ * lock.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchIndexServiceImpl implements SearchIndexService {
+  /** The maximum length of the word suffixes inserted into the tries. */
+  static final int MAX_KEY_LENGTH = 12;
+
+  private static final Comparator<Hit> BY_RELEVANCE =
+      Comparator.comparingInt(Hit::rank)
+          .thenComparingInt(hit -> hit.label().length())
+          .thenComparing(Hit::id);
+
+  private final UserRepository userRepository;
+  private final CourseRepository courseRepository;
+  private final CategoryRepository categoryRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  /** The live index. Guarded by {@link #lock}. */
+  private Indexes indexes = new Indexes();
+
+  /** Updates applied while a rebuild is loading, or {@code null}. Guarded by {@link #lock}. */
+  private List<Consumer<Indexes>> pendingUpdates;
+
+  private volatile boolean ready;
+
+  /** Builds the index once the application has started. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    try {
+      rebuild();
+    } catch (RuntimeException e) {
+      log.error("Building the search index failed, search falls back to the database: " + e.getMessage());
+    }
+  }
+
+  @Override
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Rebuilds the whole index from the database.
+   *
+   * <p>The new index is loaded without holding the lock, so queries keep being served from the
+   * current one in the meantime.
+   */
+  @Override
+  public synchronized void rebuild() {
+    lock.writeLock().lock();
+    try {
+      pendingUpdates = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    Indexes fresh = new Indexes();
+    try {
+      userRepository
+          .findNameViewsByRoles_RoleName(Role.TUTOR)
+          .forEach(
+              tutor ->
+                  fresh.tutors.put(
+                      tutor.getUserId(), fullName(tutor.getFirstName(), tutor.getLastName())));
+      courseRepository
+          .findSearchViewsBy()
+          .forEach(
+              course ->
+                  fresh.courses.put(
+                      course.getCourseId(), course.getCourseName(), course.getDescriptionShort()));
+      categoryRepository
+          .findNameViewsBy()
+          .forEach(
+              category -> fresh.categories.put(category.getCategoryId(), category.getCategoryName()));
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        pendingUpdates = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      pendingUpdates.forEach(update -> update.accept(fresh));
+      pendingUpdates = null;
+      indexes = fresh;
+      ready = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info(
+        "Search index built with {} tutors, {} courses and {} categories ({} key characters).",
+        fresh.tutors.size(),
+        fresh.courses.size(),
+        fresh.categories.size(),
+        fresh.tutors.keyCharacters() + fresh.courses.keyCharacters() + fresh.categories.keyCharacters());
+  }
+
+  @Override
+  public List<Long> findTutorIds(String query, int limit) {
+    return ids(query, limit, SuggestionTO.Type.TUTOR);
+  }
+
+  @Override
+  public List<Long> findCourseIds(String query, int limit) {
+    return ids(query, limit, SuggestionTO.Type.COURSE);
+  }
+
+  @Override
+  public List<SuggestionTO> suggest(String query, int limit) {
+    Query parsed = Query.of(query);
+    if (parsed.words().isEmpty()) {
+      return List.of();
+    }
+    List<Hit> hits = new ArrayList<>();
+    lock.readLock().lock();
+    try {
+      hits.addAll(indexes.tutors.find(parsed, SuggestionTO.Type.TUTOR));
+      hits.addAll(indexes.categories.find(parsed, SuggestionTO.Type.CATEGORY));
+      hits.addAll(indexes.courses.find(parsed, SuggestionTO.Type.COURSE));
+    } finally {
+      lock.readLock().unlock();
+    }
+    return hits.stream()
+        .sorted(BY_RELEVANCE)
+        .limit(limit)
+        .map(hit -> new SuggestionTO(hit.type(), hit.id(), hit.label()))
+        .toList();
+  }
+
+  @Override
+  public void indexTutor(Long tutorId, String firstName, String lastName) {
+    String label = fullName(firstName, lastName);
+    update(current -> current.tutors.put(tutorId, label));
+  }
+
+  @Override
+  public void removeTutor(Long tutorId) {
+    update(current -> current.tutors.remove(tutorId));
+  }
+
+  @Override
+  public void indexCourse(Long courseId, String courseName, String descriptionShort) {
+    update(current -> current.courses.put(courseId, courseName, descriptionShort));
+  }
+
+  @Override
+  public void removeCourse(Long courseId) {
+    update(current -> current.courses.remove(courseId));
+  }
+
+  @Override
+  public void indexCategory(Long categoryId, String categoryName) {
+    update(current -> current.categories.put(categoryId, categoryName));
+  }
+
+  @Override
+  public void removeCategory(Long categoryId) {
+    update(current -> current.categories.remove(categoryId));
+  }
+
+  private List<Long> ids(String query, int limit, SuggestionTO.Type type) {
+    Query parsed = Query.of(query);
+    if (parsed.words().isEmpty()) {
+      return List.of();
+    }
+    List<Hit> hits;
+    lock.readLock().lock();
+    try {
+      DocumentIndex index = type == SuggestionTO.Type.TUTOR ? indexes.tutors : indexes.courses;
+      hits = index.find(parsed, type);
+    } finally {
+      lock.readLock().unlock();
+    }
+    return hits.stream().sorted(BY_RELEVANCE).limit(limit).map(Hit::id).toList();
+  }
+
+  /**
+   * Applies an update to the index once the surrounding transaction has committed, or immediately
+   * when there is none. Updates made during a rebuild are also recorded for replay.
+   */
+  private void update(Consumer<Indexes> update) {
+    Runnable apply =
+        () -> {
+          lock.writeLock().lock();
+          try {
+            update.accept(indexes);
+            if (pendingUpdates != null) {
+              pendingUpdates.add(update);
+            }
+          } finally {
+            lock.writeLock().unlock();
+          }
+        };
+    TransactionUtil.afterCommit(apply);
+  }
+
+  private static String fullName(String firstName, String lastName) {
+    return firstName + " " + lastName;
+  }
+
+  private static List<String> tokenize(String text) {
+    if (text == null || text.isBlank()) {
+      return List.of();
+    }
+    return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+        .filter(word -> !word.isEmpty())
+        .distinct()
+        .toList();
+  }
+
+  /** The three document indexes making up one generation of the search index. */
+  private static final class Indexes {
+    private final DocumentIndex tutors = new DocumentIndex();
+    private final DocumentIndex courses = new DocumentIndex();
+    private final DocumentIndex categories = new DocumentIndex();
+  }
+
+  /** A parsed query: its words and its normalised form for whole-label prefix matching. */
+  private record Query(List<String> words, String normalized) {
+    static Query of(String text) {
+      List<String> words = tokenize(text);
+      return new Query(words, String.join(" ", words));
+    }
+  }
+
+  /** A document together with its rank for a query; lower ranks are better. */
+  private record Hit(SuggestionTO.Type type, Long id, String label, int rank) { }
+
+  /** An indexed document: its display label and the words needed to rank and remove it. */
+  private record Document(String label, String normalizedLabel, List<String> labelWords, List<String> words) { }
+
+  /** The index over one kind of document. */
+  private static final class DocumentIndex {
+    private final PrefixTrie trie = new PrefixTrie();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private long keyCharacters;
+
+    void put(Long id, String label, String... extraTexts) {
+      remove(id);
+      List<String> labelWords = tokenize(label);
+      Set<String> allWords = new HashSet<>(labelWords);
+      for (String text : extraTexts) {
+        allWords.addAll(tokenize(text));
+      }
+      for (String word : allWords) {
+        for (int i = 0; i < word.length(); i++) {
+          String key = key(word, i);
+          trie.insert(key, id);
+          keyCharacters += key.length();
+        }
+      }
+      documents.put(
+          id, new Document(label, String.join(" ", labelWords), labelWords, List.copyOf(allWords)));
+    }
+
+    void remove(Long id) {
+      Document document = documents.remove(id);
+      if (document == null) {
+        return;
+      }
+      for (String word : document.words()) {
+        for (int i = 0; i < word.length(); i++) {
+          String key = key(word, i);
+          trie.remove(key, id);
+          keyCharacters -= key.length();
+        }
+      }
+    }
+
+    int size() {
+      return documents.size();
+    }
+
+    /** Returns the total length of the keys inserted into the trie, a measure of its size. */
+    long keyCharacters() {
+      return keyCharacters;
+    }
+
+    /** Returns the suffix of a word starting at the given position, cut to the maximum key length. */
+    private static String key(String word, int start) {
+      return word.substring(start, Math.min(word.length(), start + MAX_KEY_LENGTH));
+    }
+
+    /**
+     * Finds the documents matching every word of the query. Documents whose label starts with the
+     * query rank first, then those with a label word starting with the first query word, then all
+     * other matches (infix or short-description matches).
+     */
+    List<Hit> find(Query query, SuggestionTO.Type type) {
+      Set<Long> candidates = null;
+      for (String word : query.words()) {
+        Set<Long> ids = trie.idsWithPrefix(key(word, 0));
+        if (candidates == null) {
+          candidates = ids;
+        } else {
+          candidates.retainAll(ids);
+        }
+        if (word.length() > MAX_KEY_LENGTH) {
+          // The trie only matched the first characters; check the whole word
+          candidates.removeIf(
+              id -> documents.get(id).words().stream().noneMatch(indexed -> indexed.contains(word)));
+        }
+        if (candidates.isEmpty()) {
+          return List.of();
+        }
+      }
+      String firstWord = query.words().get(0);
+      List<Hit> hits = new ArrayList<>(candidates.size());
+      for (Long id : candidates) {
+        Document document = documents.get(id);
+        int rank;
+        if (document.normalizedLabel().startsWith(query.normalized())) {
+          rank = 0;
+        } else if (document.labelWords().stream().anyMatch(word -> word.startsWith(firstWord))) {
+          rank = 1;
+        } else {
+          rank = 2;
+        }
+        hits.add(new Hit(type, id, document.label(), rank));
+      }
+      return hits;
+    }
+  }
+}
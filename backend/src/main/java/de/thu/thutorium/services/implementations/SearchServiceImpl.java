@@ -1,19 +1,31 @@
 package de.thu.thutorium.services.implementations;
 
+import de.thu.thutorium.Utility.CursorUtil;
 import de.thu.thutorium.api.TOMappers.CourseCategoryTOMapper;
 import de.thu.thutorium.api.TOMappers.CourseTOMapper;
 import de.thu.thutorium.api.TOMappers.TutorTOMapper;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.TutorTO;
+import de.thu.thutorium.api.transferObjects.search.CursorPageTO;
+import de.thu.thutorium.api.transferObjects.search.SuggestionTO;
 import de.thu.thutorium.database.dbObjects.*;
 import de.thu.thutorium.database.repositories.CategoryRepository;
 import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.KeysetRow;
 import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
 import de.thu.thutorium.services.interfaces.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the {@link SearchService} interface that provides methods for searching tutors,
@@ -25,12 +37,19 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class SearchServiceImpl implements SearchService {
+  /** Upper bound on the number of tutors or courses returned by a single search. */
+  private static final int MAX_SEARCH_RESULTS = 50;
+
+  /** The count at which the total hint of a paginated search stops counting. */
+  private static final int TOTAL_HINT_CAP = 1000;
+
   private final CourseRepository courseRepository;
   private final CourseTOMapper courseTOMapper;
   private final UserRepository userRepository;
   private final TutorTOMapper tutorTOMapper;
   private final CategoryRepository categoryRepository;
   private final CourseCategoryTOMapper courseCategoryTOMapper;
+  private final SearchIndexService searchIndexService;
 
   /**
    * Constructor for initializing the service with necessary dependencies.
@@ -48,7 +67,8 @@ public class SearchServiceImpl implements SearchService {
    * Searches for tutors based on their full name.
    *
    * <p>This method fetches the list of tutors whose full name matches the given {@code tutorName}.
-   * The search may support partial matches depending on the implementation. The result is mapped
+   * The search may support partial matches depending on the implementation. The tutors and their
+   * courses are loaded with one query each, instead of one query per tutor and course, and mapped
    * into a list of {@link de.thu.thutorium.api.transferObjects.common.UserTO} objects.
    *
    * @param tutorName the full name of the tutor (can be partial).
@@ -58,8 +78,145 @@ public class SearchServiceImpl implements SearchService {
    */
   @Override
   public List<TutorTO> searchTutors(String tutorName) {
-    List<UserDBO> tutors = userRepository.findByTutorFullName(tutorName);
-    return tutors.stream().map(tutorTOMapper::toDTO).toList();
+    List<Long> rankedIds =
+        searchIndexService.isReady()
+            ? searchIndexService.findTutorIds(tutorName, MAX_SEARCH_RESULTS)
+            : userRepository.findRankedTutorIdsByFullName(tutorName, MAX_SEARCH_RESULTS);
+    if (rankedIds.isEmpty()) {
+      return List.of();
+    }
+    Map<Long, Integer> rank = rankOf(rankedIds);
+    Map<Long, List<CourseTO>> coursesByTutor =
+        courseRepository.findListingsByTutor_UserIdIn(rankedIds).stream()
+            .sorted(Comparator.comparing(CourseDBO::getCourseId))
+            .collect(
+                Collectors.groupingBy(
+                    course -> course.getTutor().getUserId(),
+                    Collectors.mapping(courseTOMapper::toDTO, Collectors.toList())));
+    return userRepository.findListingsByUserIdIn(rankedIds).stream()
+        .sorted(Comparator.comparing(tutor -> rank.get(tutor.getUserId())))
+        .map(
+            tutor -> {
+              TutorTO tutorTO = tutorTOMapper.toSummaryDTO(tutor);
+              tutorTO.setTutorCourses(coursesByTutor.getOrDefault(tutor.getUserId(), List.of()));
+              return tutorTO;
+            })
+        .toList();
+  }
+
+  /**
+   * Returns one page of tutors matching the given name, ordered by full name.
+   *
+   * <p>One row more than requested is fetched to find out whether another page follows. The total
+   * hint is only computed for the first page.
+   *
+   * @param tutorName the name of the tutor (can be partial).
+   * @param cursor the cursor of the previous page, or {@code null} for the first page.
+   * @param size the maximum number of tutors on the page.
+   * @return the page of matching tutors, without their courses.
+   */
+  @Override
+  public CursorPageTO<TutorTO> searchTutorsPage(String tutorName, String cursor, int size) {
+    CursorUtil.Cursor after = CursorUtil.decode(cursor);
+    List<KeysetRow> rows =
+        userRepository.findTutorPageByFullName(tutorName, after.sortKey(), after.id(), size + 1);
+    boolean hasMore = rows.size() > size;
+    List<KeysetRow> pageRows = hasMore ? rows.subList(0, size) : rows;
+
+    List<Long> ids = pageRows.stream().map(KeysetRow::getId).toList();
+    Map<Long, UserDBO> tutorsById =
+        userRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(UserDBO::getUserId, Function.identity()));
+    List<TutorTO> tutors =
+        ids.stream().map(tutorsById::get).filter(Objects::nonNull).map(tutorTOMapper::toSummaryDTO).toList();
+
+    KeysetRow last = hasMore ? pageRows.get(pageRows.size() - 1) : null;
+    String nextCursor = last == null ? null : CursorUtil.encode(last.getSortKey(), last.getId());
+    Long totalHint =
+        after == CursorUtil.FIRST ? userRepository.countTutorsByFullName(tutorName, TOTAL_HINT_CAP) : null;
+    return new CursorPageTO<>(tutors, nextCursor, size, totalHint);
+  }
+
+  /**
+   * Searches for courses based on their name.
+   *
+   * <p>The matching course IDs are resolved by the in-memory search index, or by the
+   * trigram-indexed query while the index is still being built. The courses are then loaded in a
+   * single query, together with their tutors and categories, and returned in the ranked order.
+   *
+   * @param courseName the name of the course (can be partial).
+   * @return a list of {@link CourseTO} objects ordered by relevance, or an empty list if no courses
+   *     match.
+   */
+  @Override
+  public List<CourseTO> searchCourses(String courseName) {
+    List<Long> rankedIds =
+        searchIndexService.isReady()
+            ? searchIndexService.findCourseIds(courseName, MAX_SEARCH_RESULTS)
+            : courseRepository.findRankedCourseIdsByName(courseName, MAX_SEARCH_RESULTS);
+    if (rankedIds.isEmpty()) {
+      return List.of();
+    }
+    Map<Long, Integer> rank = rankOf(rankedIds);
+    return courseRepository.findListingsByCourseIdIn(rankedIds).stream()
+        .sorted(Comparator.comparing(course -> rank.get(course.getCourseId())))
+        .map(courseTOMapper::toDTO)
+        .toList();
+  }
+
+  /**
+   * Returns typeahead suggestions for the text typed so far.
+   *
+   * <p>Suggestions are served from the in-memory search index. While the index is still being
+   * built, tutor and course suggestions are taken from the ranked database queries instead.
+   *
+   * @param query the text typed so far.
+   * @param limit the maximum number of suggestions to return.
+   * @return the suggestions, best matches first.
+   */
+  @Override
+  public List<SuggestionTO> suggest(String query, int limit) {
+    if (searchIndexService.isReady()) {
+      return searchIndexService.suggest(query, limit);
+    }
+    // findAllById does not keep the order of the IDs, so each list is put back into ranked order
+    List<SuggestionTO> suggestions = new ArrayList<>();
+    List<Long> tutorIds = userRepository.findRankedTutorIdsByFullName(query, limit);
+    Map<Long, Integer> tutorRank = rankOf(tutorIds);
+    userRepository.findAllById(tutorIds).stream()
+        .sorted(Comparator.comparing(tutor -> tutorRank.get(tutor.getUserId())))
+        .forEach(
+            tutor ->
+                suggestions.add(
+                    new SuggestionTO(
+                        SuggestionTO.Type.TUTOR,
+                        tutor.getUserId(),
+                        tutor.getFirstName() + " " + tutor.getLastName())));
+    List<Long> courseIds = courseRepository.findRankedCourseIdsByName(query, limit);
+    Map<Long, Integer> courseRank = rankOf(courseIds);
+    courseRepository.findAllById(courseIds).stream()
+        .sorted(Comparator.comparing(course -> courseRank.get(course.getCourseId())))
+        .forEach(
+            course ->
+                suggestions.add(
+                    new SuggestionTO(
+                        SuggestionTO.Type.COURSE, course.getCourseId(), course.getCourseName())));
+    return suggestions.stream().limit(limit).toList();
+  }
+
+  /**
+   * Maps each ID to its position in the ranked list, so that entities loaded by {@code findAllById}
+   * (which does not preserve order) can be put back into relevance order.
+   *
+   * @param rankedIds the IDs in relevance order
+   * @return a map from ID to its rank
+   */
+  private static Map<Long, Integer> rankOf(List<Long> rankedIds) {
+    Map<Long, Integer> rank = new HashMap<>();
+    for (int i = 0; i < rankedIds.size(); i++) {
+      rank.put(rankedIds.get(i), i);
+    }
+    return rank;
   }
 
   /**
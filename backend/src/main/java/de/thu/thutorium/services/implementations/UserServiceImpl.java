@@ -1,5 +1,6 @@
 package de.thu.thutorium.services.implementations;
 
+import de.thu.thutorium.Utility.TransactionUtil;
 import de.thu.thutorium.api.TOMappers.CourseTOMapper;
 import de.thu.thutorium.api.TOMappers.RatingTutorTOMapper;
 import de.thu.thutorium.api.TOMappers.UserTOMapper;
@@ -10,8 +11,9 @@ import de.thu.thutorium.database.DBOMappers.AffiliationDBOMapper;
 import de.thu.thutorium.database.dbObjects.*;
 import de.thu.thutorium.database.dbObjects.enums.Role;
 import de.thu.thutorium.database.repositories.*;
-import de.thu.thutorium.services.interfaces.ChatService;
-import de.thu.thutorium.services.interfaces.CourseService;
+import de.thu.thutorium.security.VerifiedTokenCache;
+import de.thu.thutorium.services.interfaces.MeetingService;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
 import de.thu.thutorium.services.interfaces.UserService;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
@@ -22,7 +24,6 @@ import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,33 +50,35 @@ public class UserServiceImpl implements UserService {
   private final ProgressRepository progressRepository;
   private final CourseTOMapper courseTOMapper;
   private final ChatRepository chatRepository;
-  private final ChatService chatService;
-  private final CourseService courseService;
+  private final ChatMembershipCache chatMembershipCache;
+  private final CascadeDeleter cascadeDeleter;
+  private final SearchIndexService searchIndexService;
+  private final VerifiedTokenCache verifiedTokenCache;
+  private final MeetingRepository meetingRepository;
+  private final MeetingService meetingService;
 
     /**
      * Returns the total number of students in the system.
      *
-     * <p>This method queries the {@link UserRepository} to count all users with the role "STUDENT".
-     * The count is determined by checking the roles of the users stored in the system.
+     * <p>This method counts all users with the role "STUDENT" in the database, without loading them.
      *
      * @return the total number of students as a {@code Long}.
      */
     @Override
     public Long getStudentCount() {
-        return (long) userRepository.findUserDBOSByRoles_RoleName(Role.STUDENT).size();
+        return userRepository.countByRoles_RoleName(Role.STUDENT);
     }
 
     /**
      * Returns the total number of tutors in the system.
      *
-     * <p>This method queries the {@link UserRepository} to count all users with the role "TUTOR". The
-     * count is determined by checking the roles of the users stored in the system.
+     * <p>This method counts all users with the role "TUTOR" in the database, without loading them.
      *
      * @return the total number of tutors as a {@code Long}.
      */
     @Override
     public Long getTutorCount() {
-        return (long) userRepository.findUserDBOSByRoles_RoleName(Role.TUTOR).size();
+        return userRepository.countByRoles_RoleName(Role.TUTOR);
     }
 
   /**
@@ -124,9 +127,12 @@ public class UserServiceImpl implements UserService {
   /**
    * Deletes a user from the system by their unique user ID.
    *
-   * <p>This method fetches the {@link UserDBO} from the {@link UserRepository} using the provided
-   * {@code userId}. If the user is found, it is deleted from the system. If the user does not
-   * exist, an {@link EntityNotFoundException} is thrown.
+   * <p>The user is deleted together with their courses, chats, scheduled meetings, bookings,
+   * ratings, progress and reports with set-based statements (see {@link CascadeDeleter}), so the
+   * number of statements does not grow with the size of the user's data. The seats the user had
+   * booked are passed on to waiting students. Caches and the search index only drop the user once
+   * the deletion has committed. If the user does not exist, an {@link EntityNotFoundException} is
+   * thrown.
    *
    * @param userId the unique ID of the user to delete.
    * @throws EntityNotFoundException if no user is found with the provided {@code userId}.
@@ -134,33 +140,28 @@ public class UserServiceImpl implements UserService {
   @Override
   @Transactional
   public void deleteUser(Long userId) {
-    UserDBO user = userRepository.findById(userId)
+    String email = userRepository.findEmailByUserId(userId)
             .orElseThrow(() -> new EntityNotFoundException(
                     "User with ID " + userId + " does not exist in database."));
 
-    if (!user.getTutorCourses().isEmpty()) {
-      List<CourseDBO> tutorCourses = new ArrayList<>(user.getTutorCourses());
-      tutorCourses.forEach(course -> courseService.deleteCourse(course.getCourseId()));
-    }
-
-    // Clear roles
-    user.getRoles().forEach(role -> role.getUsers().remove(user));
-    user.getRoles().clear();
-
-    // Clear verifiers
-    user.getVerifiers().forEach(verifier -> verifier.getVerifiers().remove(user));
-    user.getVerifiers().clear();
-
-    // Clear meetings
-    user.getMeetings().forEach(meeting -> meeting.getParticipants().remove(user));
-    user.getMeetings().clear();
-
-    // Clear chats
-    List<ChatDBO> chats = chatRepository.findByParticipants_UserId(user.getUserId()); // Custom repository query
-    chats.forEach(chat -> chatService.deleteChat(chat.getChatId()));
-
-    // Delete the user
-    userRepository.delete(user);
+    List<Long> courseIds = courseRepository.findCourseIdsByTutorId(userId);
+    List<Long> chatIds = chatRepository.findChatIdsByUserId(userId);
+    List<Long> bookedMeetingIds = meetingRepository.findBookedMeetingIds(userId);
+    cascadeDeleter.deleteCourses(courseIds);
+    cascadeDeleter.deleteChats(chatIds);
+    cascadeDeleter.deleteUser(userId);
+    // The seats given back go to the students waiting for them
+    bookedMeetingIds.forEach(meetingService::promoteFromWaitlist);
+
+    // The search index applies its updates after the commit by itself
+    courseIds.forEach(searchIndexService::removeCourse);
+    searchIndexService.removeTutor(userId);
+    TransactionUtil.afterCommit(
+        () -> {
+          chatIds.forEach(chatMembershipCache::evict);
+          // Cached tokens of the deleted user must not authenticate any more
+          verifiedTokenCache.evictUser(email);
+        });
   }
 
 
@@ -207,6 +208,9 @@ public class UserServiceImpl implements UserService {
 
       // Save the updated UserDBO
       UserDBO updatedUser = userRepository.save(existingUser);
+      if (updatedUser.getRoles().stream().anyMatch(role -> role.getRoleName() == Role.TUTOR)) {
+        searchIndexService.indexTutor(id, updatedUser.getFirstName(), updatedUser.getLastName());
+      }
       return userMapper.toDTO(updatedUser);
     } else {
       throw new EntityNotFoundException("User with ID " + id + " does not exist in database.");
@@ -278,12 +282,15 @@ public class UserServiceImpl implements UserService {
    *
    * <p>A student can rate a tutor only if he is enrolled in a course offered by the tutor.
    *
+   * <p>The tutor's rating aggregates are updated in the same transaction as the rating itself.
+   *
    * @param ratingTutorTO the {@link RatingTutorTO} which contains details of the review.
    * @throws EntityNotFoundException if the tutor or the student with the provided ID is not found.
    * @throws IllegalArgumentException if the student is not enrolled in any course offered by the
    *     tutor.
    */
   @Override
+  @Transactional
   public void rateTutor(RatingTutorTO ratingTutorTO) {
 
     RatingTutorDBO tutorRating = null;
@@ -333,7 +340,11 @@ public class UserServiceImpl implements UserService {
         ratingTutorRepository.findByTutor_UserIdAndStudent_UserId(tutorId, studentId, Limit.of(1));
 
     // If there are no existing reviews, create a new review
+    int countDelta;
+    double sumDelta;
     if (tutorRatingDBOExisting.isEmpty()) {
+      countDelta = 1;
+      sumDelta = points;
       log.info("In empty object");
       tutorRating =
           RatingTutorDBO.builder()
@@ -346,11 +357,15 @@ public class UserServiceImpl implements UserService {
     } else { // Fetch and update existing reviews
       log.info("In retrieved object");
       tutorRating = tutorRatingDBOExisting.get(0);
+      countDelta = 0;
+      sumDelta = points - tutorRating.getPoints();
       tutorRating.setReview(review);
       tutorRating.setPoints(points);
       tutorRating.setCreatedAt(LocalDateTime.now());
     }
     ratingTutorRepository.save(tutorRating);
+    // Keep the tutor's rating aggregates in step with the saved rating
+    userRepository.applyTutorRating(tutorId, countDelta, sumDelta);
   }
 
   /**
@@ -398,14 +413,10 @@ public class UserServiceImpl implements UserService {
 
   @Override
   public List<CourseTO> getCoursesEnrolled(Long studentId) {
-    // Fetch the student by their ID
-    UserDBO user =
-        userRepository
-            .findById(studentId)
-            .orElseThrow(
-                () -> new EntityNotFoundException("User with ID " + studentId + " not found."));
-
-    // Map the student's courses to CourseTO
-    return courseTOMapper.toDTOList(user.getStudentCourses());
+    if (!userRepository.existsById(studentId)) {
+      throw new EntityNotFoundException("User with ID " + studentId + " not found.");
+    }
+    // Load the courses with tutor and categories in one query rather than through the student
+    return courseTOMapper.toDTOList(courseRepository.findListingsByStudentId(studentId));
   }
 }
@@ -6,6 +6,8 @@ import de.thu.thutorium.api.transferObjects.authentication.RegisterRequestTO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * AuthenticationService is an interface for the AuthenticationController.
  *
@@ -24,6 +26,16 @@ public interface AuthenticationService {
    */
   ResponseEntity<LogInResponseTO> authenticate(@RequestBody LogInRequestTO loginRequestTO);
 
+  /**
+   * Authenticates a user like {@link #authenticate(LogInRequestTO)}, but on a dedicated bounded
+   * thread pool instead of the calling thread.
+   *
+   * @param loginRequestTO the login request containing user credentials.
+   * @return a future completed with the authentication response, or completed exceptionally if the
+   *     credentials are wrong or the pool is saturated.
+   */
+  CompletableFuture<ResponseEntity<LogInResponseTO>> authenticateAsync(LogInRequestTO loginRequestTO);
+
   /**
    * Registers a new user based on the provided registration request.
    *
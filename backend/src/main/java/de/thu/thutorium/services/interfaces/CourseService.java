@@ -3,6 +3,7 @@ package de.thu.thutorium.services.interfaces;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.RatingCourseTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
+import de.thu.thutorium.api.transferObjects.search.CursorPageTO;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -95,5 +96,16 @@ public interface CourseService {
    */
   List<CourseTO> searchCourses(String courseName);
 
+  /**
+   * Returns one page of courses whose name matches the given search string, ordered by name.
+   *
+   * @param courseName the name (or partial name) of the course to search for.
+   * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+   * @param size the maximum number of courses on the page.
+   * @return the page of matching courses.
+   * @throws IllegalArgumentException if the cursor is malformed.
+   */
+  CursorPageTO<CourseTO> searchCoursesPage(String courseName, String cursor, int size);
+
   List<UserTO> getStudentsEnrolled(Long courseId);
 }
@@ -0,0 +1,46 @@
+package de.thu.thutorium.services.interfaces;
+
+import de.thu.thutorium.api.transferObjects.common.DeletionJobTO;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The {@code DeletionJobService} interface deletes users and courses with very large graphs in the
+ * background.
+ *
+ * <p>A job first removes the high-volume rows (chat messages and enrolments) in small chunks, each
+ * committed on its own, and then deletes the target in one short transaction just like {@link
+ * UserService#deleteUser(Long)} and {@link CourseService#deleteCourse(Long)}. Jobs are kept in
+ * memory and can be polled until a while after they have finished.
+ */
+public interface DeletionJobService {
+
+  /**
+   * Submits the deletion of a user. If a deletion of the same user is already queued or running,
+   * that job is returned instead.
+   *
+   * @param userId the ID of the user.
+   * @return the submitted job.
+   * @throws jakarta.persistence.EntityNotFoundException if the user does not exist.
+   */
+  DeletionJobTO submitUserDeletion(Long userId);
+
+  /**
+   * Submits the deletion of a course. If a deletion of the same course is already queued or
+   * running, that job is returned instead.
+   *
+   * @param courseId the ID of the course.
+   * @return the submitted job.
+   * @throws jakarta.persistence.EntityNotFoundException if the course does not exist.
+   */
+  DeletionJobTO submitCourseDeletion(Long courseId);
+
+  /**
+   * Returns the current state of a job.
+   *
+   * @param jobId the ID of the job.
+   * @return the job, or empty if it is unknown or has expired.
+   */
+  Optional<DeletionJobTO> getJob(UUID jobId);
+}
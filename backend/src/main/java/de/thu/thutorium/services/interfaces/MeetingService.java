@@ -1,9 +1,13 @@
 package de.thu.thutorium.services.interfaces;
 
+import de.thu.thutorium.api.transferObjects.common.FreeSlotTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
+import de.thu.thutorium.database.dbObjects.enums.BookingStatus;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -66,34 +70,89 @@ public interface MeetingService {
    */
   List<MeetingTO> getMeetingsForUser(Long userId);
 
+  /**
+   * Retrieves the meetings of a user overlapping a time window, for a calendar view.
+   *
+   * <p>Like {@link #getMeetingsForUser(Long)}, this covers the meetings the user participates in
+   * and those they scheduled as a tutor, but only those overlapping {@code [from, to)}, so the cost
+   * depends on the size of the window rather than on the user's whole history.
+   *
+   * @param userId the unique identifier of the user
+   * @param from the start of the window, inclusive
+   * @param to the end of the window, exclusive
+   * @param meetingType the type of meetings to return, or {@code null} for all types
+   * @return the meetings in the window, ordered by start time
+   * @throws jakarta.persistence.EntityNotFoundException if the user is not found
+   * @throws IllegalArgumentException if the window is empty or longer than allowed
+   */
+  List<MeetingTO> getCalendar(
+      Long userId, LocalDateTime from, LocalDateTime to, MeetingType meetingType);
+
+  /**
+   * Finds the free slots in which a tutor could hold a meeting of the given length.
+   *
+   * <p>A slot is free if it overlaps none of the tutor's meetings and, if a room is given, none of
+   * the meetings in that room, i.e. a meeting placed in it passes the overlap constraints of the
+   * database. Slots lie in the future and do not cross midnight.
+   *
+   * @param tutorId the ID of the tutor
+   * @param addressId the ID of the address of the room, or {@code null} to ignore rooms
+   * @param roomNum the room number, or {@code null} to ignore rooms
+   * @param from the start of the search window, inclusive
+   * @param to the end of the search window, exclusive
+   * @param durationMinutes the length of the meeting in minutes
+   * @return the free intervals at least {@code durationMinutes} long, in chronological order
+   * @throws jakarta.persistence.EntityNotFoundException if the tutor or the address is not found
+   * @throws IllegalArgumentException if the window or duration is invalid, or only one of room
+   *     number and address is given
+   */
+  List<FreeSlotTO> findFreeSlots(
+      Long tutorId,
+      Long addressId,
+      String roomNum,
+      LocalDateTime from,
+      LocalDateTime to,
+      long durationMinutes);
+
   /**
    * Books a meeting for the authenticated student.
    *
-   * <p>This method retrieves the authenticated student's ID, validates the student, and
-   * checks if the student is enrolled in the course for the meeting. If the student is
-   * enrolled, the student is added to the meeting's participants and the meeting is
-   * added to the student's meetings. The changes are then saved to the repository.
+   * <p>This method validates the student and checks that the student is enrolled in the course
+   * for the meeting. If a seat is free, the student becomes a participant; otherwise the student is
+   * put on the waitlist of the meeting. The capacity of the meeting is never exceeded, however many
+   * students book at the same time.
    *
    * @param meetingId the ID of the meeting to be booked
+   * @return {@link BookingStatus#BOOKED} if the student got a seat, {@link
+   *     BookingStatus#WAITLISTED} if the meeting is full
    * @throws jakarta.persistence.EntityNotFoundException if the meeting or student is not found
-   * @throws IllegalStateException if the student is not enrolled in the course for the meeting
+   * @throws IllegalStateException if the student is not enrolled in the course for the meeting, or
+   *     has already booked the meeting or is waiting for it
    */
-  void bookMeeting(Long meetingId);
+  BookingStatus bookMeeting(Long meetingId);
 
   /**
    * Cancels a meeting for the authenticated student.
    *
-   * <p>This method retrieves the authenticated student's ID, validates the student, and checks if
-   * the student is a participant of the meeting. If the student is a participant, the student is
-   * removed from the meeting's participants and the meeting is removed from the student's meetings.
-   * The changes are then saved to the repository.
+   * <p>This method validates the student and removes the student from the participants of the
+   * meeting or from its waitlist. A seat given back goes to the student who has waited longest.
    *
    * @param meetingId the ID of the meeting to be canceled
    * @throws jakarta.persistence.EntityNotFoundException if the meeting or student is not found
-   * @throws IllegalStateException if the student is not a participant of the meeting
+   * @throws IllegalStateException if the student neither booked the meeting nor is waiting for it
    */
   void cancelMeeting(Long meetingId);
 
+  /**
+   * Gives the free seats of a meeting to the students on its waitlist, longest waiting first.
+   *
+   * <p>Called whenever seats become free: a participant cancels, the capacity is raised or a
+   * participant is deleted.
+   *
+   * @param meetingId the ID of the meeting
+   */
+  void promoteFromWaitlist(Long meetingId);
+
   /**
    * Retrieves a meeting by its ID.
    *
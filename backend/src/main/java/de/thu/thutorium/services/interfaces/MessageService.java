@@ -12,7 +12,7 @@ import java.util.List;
  *
  * <ul>
  *   <li>Save a new message.
- *   <li>Mark a message as read.
+ *   <li>Mark the messages of a chat as read.
  * </ul>
  */
 @Service
@@ -28,15 +28,36 @@ public interface MessageService {
   MessageTO saveMessage(MessageTO messageTO);
 
   /**
-   * Marks a message as read.
+   * Marks all messages addressed to a user in a chat as read.
    *
-   * <p>This method marks the message with the specified ID as read in the system.
+   * <p>The messages are updated with a single statement up to the latest message of the chat, which
+   * also becomes the user's read watermark for the chat.
    *
    * @param chatId the unique ID of the chat to be marked as read.
-   * @return the updated {@link MessageTO} object with the message marked as read.
+   * @param readerId the ID of the user reading the chat.
+   * @return the number of messages that were marked as read.
+   * @throws jakarta.persistence.EntityNotFoundException if the user is not a participant of the
+   *     chat.
    */
-  void markAsRead(Long chatId);
+  int markAsRead(Long chatId, Long readerId);
 
   List<MessageTO> getMessagesByChatId(Long chatId);
 
+  /**
+   * Retrieves one page of the history of a chat.
+   *
+   * <p>Without an anchor the most recent messages are returned. With {@code beforeId} the messages
+   * sent before that message are returned, with {@code afterId} those sent after it. Messages are
+   * ordered by send time and ID, so the cost of a page does not depend on the length of the chat.
+   *
+   * @param chatId the ID of the chat.
+   * @param beforeId the ID of the message to page backwards from, or {@code null}.
+   * @param afterId the ID of the message to page forwards from, or {@code null}.
+   * @param limit the maximum number of messages to return.
+   * @return the messages of the page, oldest first.
+   * @throws IllegalArgumentException if both anchors are given, the limit is not positive, or the
+   *     anchor message does not belong to the chat.
+   */
+  List<MessageTO> getMessagesPage(Long chatId, Long beforeId, Long afterId, int limit);
+
 }
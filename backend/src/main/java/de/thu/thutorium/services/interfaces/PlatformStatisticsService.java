@@ -0,0 +1,24 @@
+package de.thu.thutorium.services.interfaces;
+
+import de.thu.thutorium.api.transferObjects.common.PlatformStatisticsTO;
+
+/**
+ * The {@code PlatformStatisticsService} interface provides the key figures of the platform: the
+ * number of students, tutors and courses and the meetings taking place this week.
+ *
+ * <p>The figures are served from a snapshot that is refreshed on a schedule, so reading them costs
+ * no database access regardless of how many users the platform has.
+ */
+public interface PlatformStatisticsService {
+
+  /**
+   * Returns the current snapshot of the platform statistics, computing it first if there is none
+   * yet.
+   *
+   * @return the platform statistics.
+   */
+  PlatformStatisticsTO getStatistics();
+
+  /** Recomputes the platform statistics from the database and replaces the snapshot. */
+  void refresh();
+}
@@ -0,0 +1,37 @@
+package de.thu.thutorium.services.interfaces;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The {@code PresenceService} interface tells which users are currently connected to the chat.
+ *
+ * <p>A user is online while at least one authenticated STOMP session of theirs is open. When the
+ * chat runs on an external broker relay, the sessions of every backend instance are taken into
+ * account, not only those of the instance answering the call.
+ */
+public interface PresenceService {
+
+  /**
+   * Tells whether a user is connected to the chat.
+   *
+   * @param userId the ID of the user.
+   * @return {@code true} if the user has at least one open chat session.
+   */
+  boolean isOnline(Long userId);
+
+  /**
+   * Filters the given users down to those connected to the chat.
+   *
+   * @param userIds the IDs of the users to check.
+   * @return the IDs of the users that are online.
+   */
+  Set<Long> findOnlineUserIds(Collection<Long> userIds);
+
+  /**
+   * Counts the users connected to the chat.
+   *
+   * @return the number of online users.
+   */
+  int countOnlineUsers();
+}
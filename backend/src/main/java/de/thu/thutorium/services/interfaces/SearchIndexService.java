@@ -0,0 +1,101 @@
+package de.thu.thutorium.services.interfaces;
+
+import de.thu.thutorium.api.transferObjects.search.SuggestionTO;
+
+import java.util.List;
+
+/**
+ * The {@code SearchIndexService} interface maintains an in-memory index over tutor names, course
+ * names, course short descriptions and category names, used for typeahead and to resolve search
+ * terms to IDs without querying the database.
+ *
+ * <p>The index is rebuilt from the database on start-up and kept current by the services that
+ * change the indexed data. Updates issued inside a transaction are applied once it commits.
+ */
+public interface SearchIndexService {
+
+  /**
+   * Tells whether the index has been built and can answer queries.
+   *
+   * @return {@code true} once the initial rebuild has completed.
+   */
+  boolean isReady();
+
+  /** Rebuilds the whole index from the database. */
+  void rebuild();
+
+  /**
+   * Returns the IDs of tutors whose name contains every word of the query, best matches first.
+   *
+   * @param query the search string.
+   * @param limit the maximum number of IDs to return.
+   * @return the matching tutor IDs, ordered by relevance.
+   */
+  List<Long> findTutorIds(String query, int limit);
+
+  /**
+   * Returns the IDs of courses whose name or short description contains every word of the query,
+   * best matches first.
+   *
+   * @param query the search string.
+   * @param limit the maximum number of IDs to return.
+   * @return the matching course IDs, ordered by relevance.
+   */
+  List<Long> findCourseIds(String query, int limit);
+
+  /**
+   * Returns typeahead suggestions across tutors, courses and categories.
+   *
+   * @param query the text typed so far.
+   * @param limit the maximum number of suggestions to return.
+   * @return the suggestions, best matches first.
+   */
+  List<SuggestionTO> suggest(String query, int limit);
+
+  /**
+   * Adds a tutor to the index or replaces the indexed name of an existing one.
+   *
+   * @param tutorId the ID of the tutor.
+   * @param firstName the tutor's first name.
+   * @param lastName the tutor's last name.
+   */
+  void indexTutor(Long tutorId, String firstName, String lastName);
+
+  /**
+   * Removes a tutor from the index.
+   *
+   * @param tutorId the ID of the tutor.
+   */
+  void removeTutor(Long tutorId);
+
+  /**
+   * Adds a course to the index or replaces the indexed data of an existing one.
+   *
+   * @param courseId the ID of the course.
+   * @param courseName the name of the course.
+   * @param descriptionShort the short description of the course, may be {@code null}.
+   */
+  void indexCourse(Long courseId, String courseName, String descriptionShort);
+
+  /**
+   * Removes a course from the index.
+   *
+   * @param courseId the ID of the course.
+   */
+  void removeCourse(Long courseId);
+
+  /**
+   * Adds a category to the index or replaces the indexed name of an existing one.
+   *
+   * @param categoryId the ID of the category.
+   * @param categoryName the name of the category.
+   */
+  void indexCategory(Long categoryId, String categoryName);
+
+  /**
+   * Removes a category from the index.
+   *
+   * @param categoryId the ID of the category.
+   */
+  void removeCategory(Long categoryId);
+}
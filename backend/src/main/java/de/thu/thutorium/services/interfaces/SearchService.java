@@ -1,6 +1,9 @@
 package de.thu.thutorium.services.interfaces;
 
+import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.TutorTO;
+import de.thu.thutorium.api.transferObjects.search.CursorPageTO;
+import de.thu.thutorium.api.transferObjects.search.SuggestionTO;
 
 import java.util.List;
 
@@ -22,7 +25,7 @@ public interface SearchService {
    *
    * <p>This method will return a list of {@link de.thu.thutorium.api.transferObjects.common.UserTO}
    * objects that match the given tutor name. The search may be case-insensitive and can return
-   * partial matches depending on the implementation.
+   * partial matches depending on the implementation. Results are ordered by relevance.
    *
    * @param tutorName the name (or partial name) of the tutor to search for.
    * @return a list of {@link de.thu.thutorium.api.transferObjects.common.UserTO} objects
@@ -30,4 +33,40 @@ public interface SearchService {
    *     is returned.
    */
   List<TutorTO> searchTutors(String tutorName);
+
+  /**
+   * Returns one page of tutors whose name matches the given search string, ordered by name.
+   *
+   * <p>Unlike {@link #searchTutors(String)}, the returned tutors do not carry their courses, and
+   * the result is paginated with an opaque cursor.
+   *
+   * @param tutorName the name (or partial name) of the tutor to search for.
+   * @param cursor the cursor returned with the previous page, or {@code null} for the first page.
+   * @param size the maximum number of tutors on the page.
+   * @return the page of matching tutors.
+   * @throws IllegalArgumentException if the cursor is malformed.
+   */
+  CursorPageTO<TutorTO> searchTutorsPage(String tutorName, String cursor, int size);
+
+  /**
+   * Searches for courses by the given course name.
+   *
+   * <p>The search is case-insensitive, returns partial matches and orders the results by relevance,
+   * so that the closest matches come first. The number of results is capped by the implementation.
+   *
+   * @param courseName the name (or partial name) of the course to search for.
+   * @return a list of {@link CourseTO} objects representing courses that match the search criteria,
+   *     ordered by relevance. If no courses are found, an empty list is returned.
+   */
+  List<CourseTO> searchCourses(String courseName);
+
+  /**
+   * Returns typeahead suggestions for tutors, courses and categories matching the text typed so
+   * far.
+   *
+   * @param query the text typed so far.
+   * @param limit the maximum number of suggestions to return.
+   * @return the matching suggestions, best matches first.
+   */
+  List<SuggestionTO> suggest(String query, int limit);
 }
@@ -4,6 +4,7 @@ import de.thu.thutorium.api.controllers.AdminController;
 import de.thu.thutorium.api.controllers.AuthenticationController;
 import de.thu.thutorium.api.transferObjects.common.AddressTO;
 import de.thu.thutorium.api.transferObjects.common.CourseCategoryTO;
+import de.thu.thutorium.database.ReferenceDataCache;
 import de.thu.thutorium.services.interfaces.*;
 import jakarta.persistence.EntityExistsException;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +27,8 @@ public class ThutoriumApplicationTests {
 
   @Mock private CategoryService categoryService;
 
+  @Mock private ReferenceDataCache referenceDataCache;
+
   @InjectMocks private AdminController adminController;
 
   @Mock private AuthenticationService authService;
@@ -52,6 +55,7 @@ public class ThutoriumApplicationTests {
     assertEquals(createdAddressTO, response.getBody());
     verify(addressService, times(1))
         .createUniversityAndAddress(addressTO); // Verify that the service was called once
+    verify(referenceDataCache).evictUniversities();
   }
 
   @Test
@@ -69,6 +73,7 @@ public class ThutoriumApplicationTests {
     assertEquals("University already exists", response.getBody());
     verify(addressService, times(1))
         .createUniversityAndAddress(addressTO); // Verify that the service was called once
+    verifyNoInteractions(referenceDataCache);
   }
 
   @Test
@@ -152,6 +157,7 @@ public class ThutoriumApplicationTests {
     assertEquals(createdCategoryTO, response.getBody());
     verify(categoryService, times(1))
         .createCourseCategory(courseCategoryTO); // Verify the service call
+    verify(referenceDataCache).evictCategories();
   }
 
   @Test
@@ -187,4 +193,14 @@ public class ThutoriumApplicationTests {
     verify(categoryService, times(1))
         .createCourseCategory(courseCategoryTO); // Verify the service call
   }
+
+  @Test
+  public void testEvictReferenceData() {
+    // When
+    ResponseEntity<Void> response = adminController.evictReferenceData();
+
+    // Then
+    assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+    verify(referenceDataCache).evictAll();
+  }
 }
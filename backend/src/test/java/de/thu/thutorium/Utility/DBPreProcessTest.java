@@ -0,0 +1,63 @@
+package de.thu.thutorium.Utility;
+
+import de.thu.thutorium.database.dbObjects.AddressDBO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DBPreProcessTest {
+
+    private final DBPreProcess preProcess = new DBPreProcess();
+
+    @Test
+    void preprocessFields_ShouldTrimAndLowerCaseNormalizedFields() {
+        AddressDBO address = AddressDBO.builder()
+                .campusName("  Campus Prittwitzstraße ")
+                .city(" Ulm")
+                .emailAddress("Info@THU.de")
+                .build();
+
+        preProcess.preprocessFields(address);
+
+        assertEquals("campus prittwitzstraße", address.getCampusName());
+        assertEquals("ulm", address.getCity());
+        assertEquals("info@thu.de", address.getEmailAddress());
+        assertNull(address.getCountry());
+    }
+
+    @Test
+    void preprocessFields_ShouldNormalizeInheritedFieldsAndSkipOthers() {
+        Child child = new Child();
+        ((Parent) child).name = " Parent ";
+        child.nickname = " Child ";
+        child.comment = " Kept As Is ";
+
+        preProcess.preprocessFields(child);
+
+        assertEquals("parent", ((Parent) child).name);
+        assertEquals("child", child.nickname);
+        assertEquals(" Kept As Is ", child.comment);
+    }
+
+    @Test
+    void preprocessFields_ShouldRejectNormalizedFieldsThatAreNoStrings() {
+        assertThrows(IllegalStateException.class, () -> preProcess.preprocessFields(new Invalid()));
+    }
+
+    private static class Parent {
+        @Normalized
+        private String name;
+    }
+
+    private static final class Child extends Parent {
+        @Normalized
+        private String nickname;
+
+        private String comment;
+    }
+
+    private static final class Invalid {
+        @Normalized
+        private Integer number = 1;
+    }
+}
@@ -0,0 +1,97 @@
+package de.thu.thutorium.WebSocket;
+
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.security.JwtService;
+import de.thu.thutorium.services.implementations.ChatMembershipCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.security.Principal;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StompAuthChannelInterceptorTest {
+
+    private static final StompPrincipal USER = new StompPrincipal(1L);
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ChatMembershipCache chatMembershipCache;
+
+    @Mock
+    private MessageChannel channel;
+
+    @InjectMocks
+    private StompAuthChannelInterceptor interceptor;
+
+    @Test
+    void subscribe_ShouldAllowOwnUserDestination() {
+        Message<?> message = frame(StompCommand.SUBSCRIBE, "/user/queue/messages", USER);
+
+        assertSame(message, interceptor.preSend(message, channel));
+    }
+
+    @Test
+    void subscribe_ShouldAllowTopicOfOwnChat() {
+        when(chatMembershipCache.participantsOf(5L)).thenReturn(Set.of(1L, 2L));
+        Message<?> message = frame(StompCommand.SUBSCRIBE, "/topic/chat/5", USER);
+
+        assertSame(message, interceptor.preSend(message, channel));
+    }
+
+    @Test
+    void subscribe_ShouldRejectTopicOfOtherChat() {
+        when(chatMembershipCache.participantsOf(5L)).thenReturn(Set.of(2L, 3L));
+
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/topic/chat/5", USER), channel));
+    }
+
+    @Test
+    void subscribe_ShouldRejectOtherBrokerDestinations() {
+        for (String destination : new String[] {"/topic/simp-user-registry", "/queue/messages-user1", "/topic/chat/x"}) {
+            assertThrows(MessageDeliveryException.class,
+                    () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, destination, USER), channel), destination);
+        }
+    }
+
+    @Test
+    void subscribe_ShouldRejectSessionWithoutUser() {
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SUBSCRIBE, "/user/queue/messages", null), channel));
+    }
+
+    @Test
+    void send_ShouldOnlyAllowApplicationDestinations() {
+        Message<?> message = frame(StompCommand.SEND, "/app/sendMessage", USER);
+
+        assertSame(message, interceptor.preSend(message, channel));
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(frame(StompCommand.SEND, "/topic/chat/5", USER), channel));
+    }
+
+    private static Message<?> frame(StompCommand command, String destination, Principal user) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(command);
+        accessor.setDestination(destination);
+        accessor.setUser(user);
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}
@@ -0,0 +1,63 @@
+package de.thu.thutorium.WebSocket;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.user.MultiServerUserRegistry;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.simp.user.UserDestinationMessageHandler;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the WebSocket configuration in relay mode. No broker is listening on the configured port,
+ * so the relay only logs failed connection attempts; the test checks how the broker is wired.
+ */
+@SpringJUnitWebConfig(WebSocketConfig.class)
+@TestPropertySource(
+        properties = {
+            "chat.broker.mode=relay",
+            "chat.broker.relay-host=127.0.0.1",
+            "chat.broker.relay-port=1",
+            "chat.broker.login=thutorium",
+            "chat.broker.passcode=secret"
+        })
+class WebSocketConfigRelayTest {
+
+    @MockBean
+    private StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
+    @Autowired
+    private AbstractBrokerMessageHandler stompBrokerRelayMessageHandler;
+
+    @Autowired
+    private SimpUserRegistry userRegistry;
+
+    @Autowired
+    private UserDestinationMessageHandler userDestinationMessageHandler;
+
+    @Test
+    void relayMode_ShouldRelayToTheConfiguredBroker() {
+        StompBrokerRelayMessageHandler relay =
+                assertInstanceOf(StompBrokerRelayMessageHandler.class, stompBrokerRelayMessageHandler);
+        assertEquals("127.0.0.1", relay.getRelayHost());
+        assertEquals(1, relay.getRelayPort());
+        assertEquals("thutorium", relay.getClientLogin());
+        assertEquals("thutorium", relay.getSystemLogin());
+        assertTrue(relay.getDestinationPrefixes().containsAll(List.of("/topic", "/queue")));
+    }
+
+    @Test
+    void relayMode_ShouldShareUsersAcrossInstances() {
+        // Connected users of other instances are known through the broadcast user registry
+        assertInstanceOf(MultiServerUserRegistry.class, userRegistry);
+        // Messages for users connected to another instance are forwarded through the broker
+        assertEquals("/topic/unresolved-user-destination", userDestinationMessageHandler.getBroadcastDestination());
+    }
+}
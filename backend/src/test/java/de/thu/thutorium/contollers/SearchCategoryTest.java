@@ -2,10 +2,11 @@ package de.thu.thutorium.contollers;
 
 import de.thu.thutorium.api.controllers.SearchController;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
+import de.thu.thutorium.api.transferObjects.common.PlatformStatisticsTO;
 import de.thu.thutorium.api.transferObjects.common.TutorTO;
 import de.thu.thutorium.services.interfaces.CourseService;
+import de.thu.thutorium.services.interfaces.PlatformStatisticsService;
 import de.thu.thutorium.services.interfaces.SearchService;
-import de.thu.thutorium.services.interfaces.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -13,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -28,7 +30,7 @@ public class SearchCategoryTest {
     private CourseService courseService;
 
     @Mock
-    private UserService userService;
+    private PlatformStatisticsService platformStatisticsService;
 
     @InjectMocks
     private SearchController searchController;
@@ -48,7 +50,7 @@ public class SearchCategoryTest {
         mockCourse.setCourseName("Java");
 
         when(searchService.searchTutors("John")).thenReturn(Collections.singletonList(mockTutor));
-        when(courseService.searchCourses("Java")).thenReturn(Collections.singletonList(mockCourse));
+        when(searchService.searchCourses("Java")).thenReturn(Collections.singletonList(mockCourse));
 
         // Call the search method
         ResponseEntity<?> response = searchController.search("John", "Java");
@@ -61,7 +63,25 @@ public class SearchCategoryTest {
         assertTrue(results.contains(mockCourse));
 
         verify(searchService, times(1)).searchTutors("John");
-        verify(courseService, times(1)).searchCourses("Java");
+        verify(searchService, times(1)).searchCourses("Java");
+    }
+
+    @Test
+    void testSearchCoursesPage_InvalidCursor() {
+        when(courseService.searchCoursesPage("Java", "???", 20))
+                .thenThrow(new IllegalArgumentException("Invalid cursor: ???"));
+
+        ResponseEntity<?> response = searchController.searchCoursesPage("Java", "???", 20);
+
+        assertEquals(400, response.getStatusCode().value());
+    }
+
+    @Test
+    void testSearchTutorsPage_InvalidSize() {
+        ResponseEntity<?> response = searchController.searchTutorsPage("John", null, 0);
+
+        assertEquals(400, response.getStatusCode().value());
+        verifyNoInteractions(searchService);
     }
 
     @Test
@@ -100,7 +120,8 @@ public class SearchCategoryTest {
     @Test
     void testGetStudentCount() {
         // Mock data
-        when(userService.getStudentCount()).thenReturn(42L);
+        when(platformStatisticsService.getStatistics())
+                .thenReturn(new PlatformStatisticsTO(42L, 15L, 10L, 3L, LocalDateTime.now()));
 
         // Call the method
         ResponseEntity<?> response = searchController.getStudentCount();
@@ -110,13 +131,14 @@ public class SearchCategoryTest {
         assertNotNull(count);
         assertEquals(42L, count);
 
-        verify(userService, times(1)).getStudentCount();
+        verify(platformStatisticsService, times(1)).getStatistics();
     }
 
     @Test
     void testGetTutorsCount() {
         // Mock data
-        when(userService.getTutorCount()).thenReturn(15L);
+        when(platformStatisticsService.getStatistics())
+                .thenReturn(new PlatformStatisticsTO(42L, 15L, 10L, 3L, LocalDateTime.now()));
 
         // Call the method
         ResponseEntity<?> response = searchController.getTutorsCount();
@@ -126,13 +148,14 @@ public class SearchCategoryTest {
         assertNotNull(count);
         assertEquals(15L, count);
 
-        verify(userService, times(1)).getTutorCount();
+        verify(platformStatisticsService, times(1)).getStatistics();
     }
 
     @Test
     void testGetCoursesCount() {
         // Mock data
-        when(courseService.getTotalCountOfCourses()).thenReturn(10L);
+        when(platformStatisticsService.getStatistics())
+                .thenReturn(new PlatformStatisticsTO(42L, 15L, 10L, 3L, LocalDateTime.now()));
 
         // Call the method
         ResponseEntity<?> response = searchController.getCoursesCount();
@@ -142,6 +165,17 @@ public class SearchCategoryTest {
         assertNotNull(count);
         assertEquals(10L, count);
 
-        verify(courseService, times(1)).getTotalCountOfCourses();
+        verify(platformStatisticsService, times(1)).getStatistics();
+    }
+
+    @Test
+    void testGetStatistics() {
+        PlatformStatisticsTO statistics = new PlatformStatisticsTO(42L, 15L, 10L, 3L, LocalDateTime.now());
+        when(platformStatisticsService.getStatistics()).thenReturn(statistics);
+
+        ResponseEntity<?> response = searchController.getStatistics();
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(statistics, response.getBody());
     }
 }
@@ -0,0 +1,73 @@
+package de.thu.thutorium.contollers;
+
+import de.thu.thutorium.database.EmbeddedDatabaseTest;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Runs the search endpoint against PostgreSQL, where its statement budget is enforced. */
+class SearchControllerTest extends EmbeddedDatabaseTest {
+
+    /** The number of tutors returned by a single search. */
+    private static final int MAX_SEARCH_RESULTS = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Test
+    void search_ShouldStayWithinStatementBudget_WhenManyTutorsWithCoursesMatch() throws Exception {
+        String lastName = "Budget" + UUID.randomUUID().toString().substring(0, 8);
+        Long university = insert("INSERT INTO university (university_name) VALUES (?) RETURNING university_id",
+                "University " + lastName);
+        for (int i = 0; i < MAX_SEARCH_RESULTS + 5; i++) {
+            Long affiliation = insert("INSERT INTO affiliation (affiliation_type, university) VALUES ('STUDENT', ?) "
+                    + "RETURNING affiliation_id", university);
+            Long tutor = createTutor(lastName, affiliation);
+            for (int j = 0; j < 2; j++) {
+                Long course = insert("INSERT INTO course (course_name, tutor_id) VALUES (?, ?) RETURNING course_id",
+                        "Course " + lastName, tutor);
+                Long category = insert("INSERT INTO course_category (category_name, created_by) VALUES (?, ?) "
+                        + "RETURNING category_id", "search-" + UUID.randomUUID(), tutor);
+                jdbcTemplate.update("INSERT INTO courses_categories (course_id, category_id) VALUES (?, ?)",
+                        course, category);
+            }
+        }
+        searchIndexService.rebuild();
+
+        mockMvc.perform(get("/search").param("tutorName", lastName).param("courseName", "Course " + lastName))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2 * MAX_SEARCH_RESULTS)))
+                .andExpect(jsonPath("$[0].tutorCourses", hasSize(2)))
+                .andExpect(jsonPath("$[0].tutorCourses[0].courseCategories", hasSize(1)))
+                .andExpect(jsonPath("$[0].affiliation.universityName").value("University " + lastName));
+    }
+
+    private Long createTutor(String lastName, Long affiliation) {
+        Long userId = insert("INSERT INTO user_account (first_name, last_name, email_address, hashed_password, "
+                + "affiliation_id) VALUES ('Search', ?, ?, 'hash', ?) RETURNING user_id",
+                lastName, "search-" + UUID.randomUUID() + "@thu.de", affiliation);
+        jdbcTemplate.update(
+                "INSERT INTO user_roles (user_id, role_id) SELECT ?, role_id FROM roles WHERE role_name = 'TUTOR'",
+                userId);
+        return userId;
+    }
+
+    private Long insert(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
@@ -6,7 +6,8 @@ import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
-import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.BookingStatus;
+import de.thu.thutorium.security.AuthenticatedUser;
 import de.thu.thutorium.services.interfaces.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +22,7 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -99,10 +101,9 @@ class UserControllerTest {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         SecurityContextHolder.setContext(securityContext);
 
-        UserDBO mockUser = mock(UserDBO.class);
-        when(authentication.getPrincipal()).thenReturn(mockUser);
+        AuthenticatedUser principal = new AuthenticatedUser(1L, "user@example.com", List.of());
+        when(authentication.getPrincipal()).thenReturn(principal);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(mockUser.getUserId()).thenReturn(1L);
 
         ResponseEntity<String> response = userController.deleteMyAccount();
 
@@ -124,6 +125,47 @@ class UserControllerTest {
         verify(meetingService, times(1)).getMeetingsForUser(1L);
     }
 
+    @Test
+    void getCalendar_InvalidWindow() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 2, 0, 0);
+        when(meetingService.getCalendar(1L, from, from, null))
+                .thenThrow(new IllegalArgumentException("The calendar window must start before it ends."));
+
+        ResponseEntity<?> response = userController.getCalendar(1L, from, from, null);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("The calendar window must start before it ends.", response.getBody());
+    }
+
+    @Test
+    void bookMeeting_Booked() {
+        when(meetingService.bookMeeting(1L)).thenReturn(BookingStatus.BOOKED);
+
+        ResponseEntity<?> response = userController.bookMeeting(1L);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(BookingStatus.BOOKED, response.getBody());
+    }
+
+    @Test
+    void bookMeeting_Waitlisted() {
+        when(meetingService.bookMeeting(1L)).thenReturn(BookingStatus.WAITLISTED);
+
+        ResponseEntity<?> response = userController.bookMeeting(1L);
+
+        assertEquals(HttpStatus.ACCEPTED, response.getStatusCode());
+        assertEquals(BookingStatus.WAITLISTED, response.getBody());
+    }
+
+    @Test
+    void bookMeeting_AlreadyBooked() {
+        when(meetingService.bookMeeting(1L)).thenThrow(new IllegalStateException("Student has already booked this meeting."));
+
+        ResponseEntity<?> response = userController.bookMeeting(1L);
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
     @Test
     void getChatSummaries_Success() {
         ChatSummaryTO chatSummary = new ChatSummaryTO();
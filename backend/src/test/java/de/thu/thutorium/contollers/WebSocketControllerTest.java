@@ -1,22 +1,35 @@
 package de.thu.thutorium.contollers;
 
+import de.thu.thutorium.WebSocket.StompPrincipal;
 import de.thu.thutorium.api.controllers.WebSocketController;
 import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
 import de.thu.thutorium.api.transferObjects.chat.ReceiverTO;
 import de.thu.thutorium.api.transferObjects.common.ChatCreateTO;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
+import de.thu.thutorium.security.AuthenticatedUser;
 import de.thu.thutorium.services.interfaces.ChatService;
 import de.thu.thutorium.services.interfaces.MessageService;
+import de.thu.thutorium.services.interfaces.PresenceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +43,15 @@ class WebSocketControllerTest {
     @Mock
     private ChatService chatService;
 
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private PresenceService presenceService;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private WebSocketController webSocketController;
 
@@ -66,29 +88,82 @@ class WebSocketControllerTest {
         mockChatSummaryTO.setUnreadMessages(5);
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void testSendMessage() {
         when(messageService.saveMessage(mockMessageTO)).thenReturn(mockMessageTO);
 
-        MessageTO result = webSocketController.sendMessage(mockMessageTO);
+        webSocketController.sendMessage(mockMessageTO, new StompPrincipal(mockMessageTO.getSenderId()));
 
-        assertNotNull(result);
-        assertEquals("Test message", result.getMessageContent());
         verify(messageService, times(1)).saveMessage(mockMessageTO);
+        verify(messagingTemplate).convertAndSendToUser(
+                String.valueOf(mockMessageTO.getReceiverId()), "/queue/messages", mockMessageTO);
+        verify(messagingTemplate).convertAndSendToUser(
+                String.valueOf(mockMessageTO.getSenderId()), "/queue/messages", mockMessageTO);
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+        assertEquals(1.0, meterRegistry.get("chat.messages").tag("direction", "inbound").tag("transport", "stomp").counter().count());
+        assertEquals(2.0, meterRegistry.get("chat.messages").tag("direction", "outbound").counter().count());
+    }
+
+    @Test
+    void testSendMessage_UsesSessionUserAsSender() {
+        when(messageService.saveMessage(mockMessageTO)).thenReturn(mockMessageTO);
+
+        webSocketController.sendMessage(mockMessageTO, new StompPrincipal(42L));
+
+        assertEquals(42L, mockMessageTO.getSenderId());
+        verify(messagingTemplate).convertAndSendToUser("42", "/queue/messages", mockMessageTO);
     }
 
     @Test
     void testPostSendMessage() {
+        authenticateAs(1L);
         when(messageService.saveMessage(mockMessageTO)).thenReturn(mockMessageTO);
 
-        ResponseEntity<MessageTO> response = webSocketController.PostsendMessage(mockMessageTO);
+        ResponseEntity<?> response = webSocketController.PostsendMessage(mockMessageTO);
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals("Test message", response.getBody().getMessageContent());
+        assertEquals("Test message", ((MessageTO) response.getBody()).getMessageContent());
         verify(messageService, times(1)).saveMessage(mockMessageTO);
     }
 
+    @Test
+    void testPostSendMessage_UsesAuthenticatedUserAsSender() {
+        authenticateAs(42L);
+        when(messageService.saveMessage(mockMessageTO)).thenReturn(mockMessageTO);
+
+        webSocketController.PostsendMessage(mockMessageTO);
+
+        assertEquals(42L, mockMessageTO.getSenderId());
+        verify(messagingTemplate).convertAndSendToUser("42", "/queue/messages", mockMessageTO);
+    }
+
+    @Test
+    void testPostSendMessage_Unauthenticated() {
+        SecurityContextHolder.clearContext();
+
+        ResponseEntity<?> response = webSocketController.PostsendMessage(mockMessageTO);
+
+        assertEquals(401, response.getStatusCodeValue());
+        verifyNoInteractions(messageService, messagingTemplate);
+    }
+
+    @Test
+    void testPostSendMessage_QueueFull() {
+        authenticateAs(1L);
+        when(messageService.saveMessage(mockMessageTO)).thenThrow(new IllegalStateException("Too many messages"));
+
+        ResponseEntity<?> response = webSocketController.PostsendMessage(mockMessageTO);
+
+        assertEquals(503, response.getStatusCodeValue());
+        verifyNoInteractions(messagingTemplate);
+    }
+
     @Test
     void testCreateChat() {
         doNothing().when(chatService).createChat(mockChatCreateTO);
@@ -129,26 +204,93 @@ class WebSocketControllerTest {
 
     @Test
     void testGetChatMessages() {
-        when(messageService.getMessagesByChatId(1L)).thenReturn(List.of(mockMessageTO));
+        when(messageService.getMessagesPage(1L, null, null, 50)).thenReturn(List.of(mockMessageTO));
 
-        ResponseEntity<List<MessageTO>> response = webSocketController.getChatMessages(1L);
+        ResponseEntity<?> response = webSocketController.getChatMessages(1L, null, null, 50);
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(1, response.getBody().size());
-        assertEquals("Test message", response.getBody().get(0).getMessageContent());
-        verify(messageService, times(1)).getMessagesByChatId(1L);
+        List<?> body = (List<?>) response.getBody();
+        assertEquals(1, body.size());
+        assertEquals("Test message", ((MessageTO) body.get(0)).getMessageContent());
+        verify(messageService, times(1)).getMessagesPage(1L, null, null, 50);
+    }
+
+    @Test
+    void testGetChatMessages_InvalidLimit() {
+        ResponseEntity<?> response = webSocketController.getChatMessages(1L, null, null, 0);
+
+        assertEquals(400, response.getStatusCodeValue());
+        verifyNoInteractions(messageService);
+    }
+
+    @Test
+    void testGetChatMessages_InvalidAnchor() {
+        when(messageService.getMessagesPage(1L, 99L, null, 50))
+                .thenThrow(new IllegalArgumentException("Message 99 does not belong to chat 1"));
+
+        ResponseEntity<?> response = webSocketController.getChatMessages(1L, 99L, null, 50);
+
+        assertEquals(400, response.getStatusCodeValue());
+        assertEquals("Error: Message 99 does not belong to chat 1", response.getBody());
+    }
+
+    @Test
+    void testGetPresence() {
+        when(presenceService.findOnlineUserIds(List.of(1L, 2L))).thenReturn(Set.of(2L));
+
+        ResponseEntity<?> response = webSocketController.getPresence(List.of(1L, 2L));
+
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(Set.of(2L), response.getBody());
+    }
+
+    @Test
+    void testGetPresence_TooManyIds() {
+        List<Long> userIds = LongStream.rangeClosed(1, 101).boxed().toList();
+
+        ResponseEntity<?> response = webSocketController.getPresence(userIds);
+
+        assertEquals(400, response.getStatusCodeValue());
+        verifyNoInteractions(presenceService);
     }
 
     @Test
     void testMarkMessageAsRead() {
-        doNothing().when(messageService).markAsRead(1L);
+        authenticateAs(5L);
+        when(messageService.markAsRead(1L, 5L)).thenReturn(3);
 
         ResponseEntity<String> response = webSocketController.markMessageAsRead(1L);
 
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals("All messages marked as read successfully.", response.getBody());
-        verify(messageService, times(1)).markAsRead(1L);
+        verify(messageService, times(1)).markAsRead(1L, 5L);
+    }
+
+    @Test
+    void testMarkMessageAsRead_NotParticipant() {
+        authenticateAs(5L);
+        when(messageService.markAsRead(1L, 5L)).thenThrow(new EntityNotFoundException("Chat 1 not found for participant 5"));
+
+        ResponseEntity<String> response = webSocketController.markMessageAsRead(1L);
+
+        assertEquals(404, response.getStatusCodeValue());
+    }
+
+    @Test
+    void testMarkMessageAsRead_Unauthenticated() {
+        SecurityContextHolder.clearContext();
+
+        ResponseEntity<String> response = webSocketController.markMessageAsRead(1L);
+
+        assertEquals(401, response.getStatusCodeValue());
+        verifyNoInteractions(messageService);
+    }
+
+    private void authenticateAs(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com", List.of());
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
     }
 }
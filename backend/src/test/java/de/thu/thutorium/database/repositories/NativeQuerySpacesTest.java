@@ -0,0 +1,66 @@
+package de.thu.thutorium.database.repositories;
+
+import de.thu.thutorium.database.EmbeddedDatabaseTest;
+import de.thu.thutorium.database.dbObjects.ChatDBO;
+import de.thu.thutorium.database.dbObjects.RoleDBO;
+import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that native modifying queries declare the tables they write: without them Hibernate
+ * cannot tell which cached data a statement affects and evicts every second-level cache region.
+ */
+class NativeQuerySpacesTest extends EmbeddedDatabaseTest {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private ChatReadMarkerRepository chatReadMarkerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void advance_ShouldKeepCachedReferenceData() {
+        UserDBO user = userRepository.save(UserDBO.builder()
+                .firstName("Native")
+                .lastName("Spaces")
+                .email("native-spaces-" + UUID.randomUUID() + "@thu.de")
+                .password("hash")
+                .build());
+        ChatDBO chat = chatRepository.save(ChatDBO.builder().creator(user).build());
+        Long roleId = roleRepository.findByRoleName(Role.STUDENT).getRole_id();
+        // Loads the role into the cache if it is not there yet
+        roleRepository.findById(roleId);
+
+        transactionTemplate.executeWithoutResult(status ->
+                chatReadMarkerRepository.advance(chat.getChatId(), user.getUserId(), 1L, LocalDateTime.now()));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        assertTrue(roleRepository.findById(roleId).isPresent());
+        assertEquals(hits + 1, statistics.getSecondLevelCacheHitCount());
+        assertTrue(entityManagerFactory.getCache().contains(RoleDBO.class, roleId));
+    }
+}
@@ -0,0 +1,67 @@
+package de.thu.thutorium.metrics;
+
+import de.thu.thutorium.api.TOMappers.UniversityTOMapper;
+import de.thu.thutorium.api.transferObjects.common.UniversityTO;
+import de.thu.thutorium.database.DBOMappers.UniversityDBOMapper;
+import de.thu.thutorium.database.dbObjects.UniversityDBO;
+import de.thu.thutorium.database.repositories.UniversityRepository;
+import de.thu.thutorium.exceptions.ResourceAlreadyExistsException;
+import de.thu.thutorium.services.implementations.UniversityServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ServiceMetricsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UniversityRepository universityRepository;
+    private UniversityServiceImpl universityService;
+    private UniversityTO university;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        universityRepository = mock(UniversityRepository.class);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new UniversityServiceImpl(
+                universityRepository, mock(UniversityTOMapper.class), mock(UniversityDBOMapper.class)));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        universityService = factory.getProxy();
+
+        university = new UniversityTO();
+        university.setUniversityName("THU");
+    }
+
+    @Test
+    void testRecordsSuccessfulCall() {
+        universityService.universityExists(university);
+
+        assertEquals(1, meterRegistry.get("thutorium.service")
+                .tag("class", "UniversityServiceImpl")
+                .tag("method", "universityExists")
+                .tag("exception", "none")
+                .timer()
+                .count());
+    }
+
+    @Test
+    void testRecordsFailedCallWithException() {
+        when(universityRepository.findByUniversityName("THU")).thenReturn(Optional.of(new UniversityDBO()));
+
+        assertThrows(ResourceAlreadyExistsException.class, () -> universityService.createUniversity(university));
+
+        assertEquals(1, meterRegistry.get("thutorium.service")
+                .tag("method", "createUniversity")
+                .tag("exception", "ResourceAlreadyExistsException")
+                .timer()
+                .count());
+        // The nested call bypasses the proxy and is not recorded separately
+        assertNull(meterRegistry.find("thutorium.service").tag("method", "universityExists").timer());
+    }
+}
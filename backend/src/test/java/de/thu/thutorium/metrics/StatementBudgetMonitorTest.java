@@ -0,0 +1,73 @@
+package de.thu.thutorium.metrics;
+
+import de.thu.thutorium.exceptions.StatementBudgetExceededException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementBudgetMonitorTest {
+
+    @Test
+    void testUsesDefaultBudgetAndCountsViolations() throws Exception {
+        StatementBudgetMonitor monitor = new StatementBudgetMonitor(3, "log");
+
+        monitor.check(request("/courses", "unannotated"), 2);
+        monitor.check(request("/courses", "unannotated"), 7);
+
+        StatementBudgetMonitor.EndpointReport report = monitor.report().get("GET /courses");
+        assertEquals(3, report.budget());
+        assertEquals(2, report.requests());
+        assertEquals(4.5, report.averageStatements());
+        assertEquals(7, report.maxStatements());
+        assertEquals(1, report.violations());
+    }
+
+    @Test
+    void testMethodAnnotationOverridesDefault() throws Exception {
+        StatementBudgetMonitor monitor = new StatementBudgetMonitor(3, "fail");
+
+        monitor.check(request("/search", "search"), 10);
+
+        assertEquals(10, monitor.report().get("GET /search").budget());
+        assertEquals(0, monitor.report().get("GET /search").violations());
+    }
+
+    @Test
+    void testFailModeThrowsWhenBudgetExceeded() throws Exception {
+        StatementBudgetMonitor monitor = new StatementBudgetMonitor(3, "fail");
+
+        StatementBudgetExceededException exception = assertThrows(StatementBudgetExceededException.class,
+                () -> monitor.check(request("/search", "search"), 11));
+
+        assertEquals("GET /search executed 11 SQL statements, its budget is 10", exception.getMessage());
+    }
+
+    @Test
+    void testOffModeAndUnhandledRequestsAreIgnored() throws Exception {
+        StatementBudgetMonitor off = new StatementBudgetMonitor(3, "off");
+        off.check(request("/search", "search"), 100);
+        assertTrue(off.report().isEmpty());
+
+        StatementBudgetMonitor monitor = new StatementBudgetMonitor(3, "fail");
+        monitor.check(new MockHttpServletRequest("GET", "/favicon.ico"), 100);
+        assertTrue(monitor.report().isEmpty());
+    }
+
+    private static MockHttpServletRequest request(String pattern, String handlerMethod) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new Handlers(), Handlers.class.getMethod(handlerMethod)));
+        return request;
+    }
+
+    static class Handlers {
+        @StatementBudget(10)
+        public void search() { }
+
+        public void unannotated() { }
+    }
+}
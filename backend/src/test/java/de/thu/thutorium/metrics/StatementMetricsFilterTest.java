@@ -0,0 +1,143 @@
+package de.thu.thutorium.metrics;
+
+import de.thu.thutorium.database.EmbeddedDatabaseTest;
+import de.thu.thutorium.database.repositories.UserRepository;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Runs the statement budget in {@code fail} mode, as configured by the test profile. */
+class StatementMetricsFilterTest extends EmbeddedDatabaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void requestWithinBudget_ShouldReturnTheResponse() throws Exception {
+        mockMvc.perform(get("/statement-budget-test/within"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("1"));
+    }
+
+    @Test
+    void requestOverBudget_ShouldFailInsteadOfReturningTheResponse() throws Exception {
+        mockMvc.perform(get("/statement-budget-test/over"))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void asyncLogin_ShouldReturnTheResponseOfTheAsyncDispatch() throws Exception {
+        String email = "budget-" + UUID.randomUUID() + "@thu.de";
+        jdbcTemplate.update("INSERT INTO user_account (first_name, last_name, email_address, hashed_password) "
+                + "VALUES ('Budget', 'Test', ?, ?)", email, passwordEncoder.encode("secret"));
+
+        MvcResult login = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"" + email + "\", \"password\": \"secret\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(login))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").isNotEmpty());
+    }
+
+    @Test
+    void asyncRequestOverBudget_ShouldCountTheStatementsOfAllDispatches() throws Exception {
+        MvcResult started = mockMvc.perform(get("/statement-budget-test/async-over"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().string(""));
+    }
+
+    @TestConfiguration
+    static class Controllers implements WebMvcConfigurer {
+        @Autowired
+        private UserRepository userRepository;
+
+        @Bean
+        BudgetController budgetController(UserRepository userRepository) {
+            return new BudgetController(userRepository);
+        }
+
+        /** Runs one more statement on the async dispatch of the async endpoint. */
+        @Override
+        public void addInterceptors(InterceptorRegistry registry) {
+            registry.addInterceptor(new HandlerInterceptor() {
+                @Override
+                public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                    if (request.getDispatcherType() == DispatcherType.ASYNC) {
+                        userRepository.count();
+                    }
+                    return true;
+                }
+            }).addPathPatterns("/statement-budget-test/async-over");
+        }
+    }
+
+    @RestController
+    static class BudgetController {
+        private final UserRepository userRepository;
+
+        BudgetController(UserRepository userRepository) {
+            this.userRepository = userRepository;
+        }
+
+        @StatementBudget(1)
+        @GetMapping("/statement-budget-test/within")
+        String within() {
+            userRepository.count();
+            return "1";
+        }
+
+        @StatementBudget(1)
+        @GetMapping("/statement-budget-test/over")
+        String over() {
+            userRepository.count();
+            userRepository.count();
+            return "2";
+        }
+
+        @StatementBudget(1)
+        @GetMapping("/statement-budget-test/async-over")
+        CompletableFuture<String> asyncOver() {
+            // Within the budget on this dispatch, over it with the statement of the async dispatch
+            return CompletableFuture.completedFuture(String.valueOf(userRepository.count()));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package de.thu.thutorium.security;
+
+import de.thu.thutorium.database.EmbeddedDatabaseTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ActuatorSecurityTest extends EmbeddedDatabaseTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void health_ShouldBeOpenToEveryone() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+    }
+
+    @Test
+    void metrics_ShouldBeForbidden_WhenNotAuthenticated() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/statementbudget")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "STUDENT")
+    void metrics_ShouldBeForbidden_WhenNotAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/statementbudget")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void metrics_ShouldBeAvailableToAdmins() throws Exception {
+        // Metrics export, and with it the Prometheus endpoint, is disabled in tests
+        mockMvc.perform(get("/actuator/statementbudget")).andExpect(status().isOk());
+    }
+}
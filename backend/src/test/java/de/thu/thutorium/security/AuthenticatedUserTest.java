@@ -0,0 +1,35 @@
+package de.thu.thutorium.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthenticatedUserTest {
+
+    @Test
+    void fromClaims_ShouldReadIdEmailAndRoles() {
+        Claims claims = Jwts.claims().setSubject("max@example.com");
+        claims.put("id", 42);
+        claims.put("roles", List.of("ROLE_STUDENT", "ROLE_TUTOR"));
+
+        AuthenticatedUser user = AuthenticatedUser.fromClaims(claims);
+
+        assertEquals(42L, user.userId());
+        assertEquals("max@example.com", user.getName());
+        assertEquals(
+                List.of(new SimpleGrantedAuthority("ROLE_STUDENT"), new SimpleGrantedAuthority("ROLE_TUTOR")),
+                user.authorities());
+    }
+
+    @Test
+    void fromClaims_ShouldRejectTokenWithoutUserId() {
+        Claims claims = Jwts.claims().setSubject("max@example.com");
+
+        assertThrows(IllegalArgumentException.class, () -> AuthenticatedUser.fromClaims(claims));
+    }
+}
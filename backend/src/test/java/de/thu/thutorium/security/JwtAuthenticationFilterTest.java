@@ -0,0 +1,99 @@
+package de.thu.thutorium.security;
+
+import de.thu.thutorium.database.repositories.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String TOKEN = "token";
+
+    @Mock
+    private JwtService jwtService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache(60_000, 10);
+        filter = new JwtAuthenticationFilter(
+                jwtService, verifiedTokenCache, userRepository, handlerExceptionResolver, new SimpleMeterRegistry());
+        Claims claims = Jwts.claims().setSubject("max@example.com");
+        claims.put("id", 42);
+        claims.put("roles", List.of("ROLE_STUDENT"));
+        claims.setExpiration(new Date(System.currentTimeMillis() + 3_600_000));
+        when(jwtService.parseClaims(TOKEN)).thenReturn(claims);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ShouldAuthenticateExistingUserAndCacheToken() throws Exception {
+        when(userRepository.existsByUserIdAndEmail(42L, "max@example.com")).thenReturn(true);
+
+        Authentication authentication = filter(TOKEN);
+        SecurityContextHolder.clearContext();
+        filter(TOKEN);
+
+        assertNotNull(authentication);
+        assertEquals(42L, ((AuthenticatedUser) authentication.getPrincipal()).userId());
+        assertNotNull(verifiedTokenCache.get(TOKEN));
+        verify(jwtService).parseClaims(TOKEN);
+        verify(userRepository).existsByUserIdAndEmail(42L, "max@example.com");
+    }
+
+    @Test
+    void doFilter_ShouldRejectTokenOfDeletedUser() throws Exception {
+        when(userRepository.existsByUserIdAndEmail(42L, "max@example.com")).thenReturn(false);
+
+        assertNull(filter(TOKEN));
+        assertNull(verifiedTokenCache.get(TOKEN));
+    }
+
+    /** Runs the filter and returns the authentication seen by the rest of the chain. */
+    private Authentication filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        Authentication[] seen = new Authentication[1];
+        MockFilterChain chain = new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                seen[0] = SecurityContextHolder.getContext().getAuthentication();
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return seen[0];
+    }
+}
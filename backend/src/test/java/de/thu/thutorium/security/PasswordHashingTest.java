@@ -0,0 +1,90 @@
+package de.thu.thutorium.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashingTest {
+
+    @Test
+    void passwordEncoder_ShouldAcceptLegacyHashesAndFlagThemForUpgrade() {
+        PasswordEncoder encoder = AuthConfig.createPasswordEncoder("bcrypt", 4);
+        String legacyHash = new BCryptPasswordEncoder(4).encode("secret");
+
+        assertTrue(encoder.matches("secret", legacyHash));
+        assertFalse(encoder.matches("wrong", legacyHash));
+        assertTrue(encoder.upgradeEncoding(legacyHash));
+    }
+
+    @Test
+    void passwordEncoder_ShouldFlagHashesOfOtherEncodersForUpgrade() {
+        PasswordEncoder bcrypt = AuthConfig.createPasswordEncoder("bcrypt", 4);
+        PasswordEncoder pbkdf2 = AuthConfig.createPasswordEncoder("pbkdf2", 4);
+        String bcryptHash = bcrypt.encode("secret");
+
+        assertTrue(bcryptHash.startsWith("{bcrypt}"));
+        assertFalse(bcrypt.upgradeEncoding(bcryptHash));
+        assertTrue(pbkdf2.matches("secret", bcryptHash));
+        assertTrue(pbkdf2.upgradeEncoding(bcryptHash));
+    }
+
+    @Test
+    void passwordEncoder_ShouldFlagLowerCostForUpgrade() {
+        String weakHash = AuthConfig.createPasswordEncoder("bcrypt", 4).encode("secret");
+
+        assertTrue(AuthConfig.createPasswordEncoder("bcrypt", 5).upgradeEncoding(weakHash));
+    }
+
+    @Test
+    void passwordEncoder_ShouldRejectUnknownEncoder() {
+        assertThrows(IllegalStateException.class, () -> AuthConfig.createPasswordEncoder("md5", 4));
+    }
+
+    @Test
+    void verificationExecutor_ShouldRejectWhenSaturated() throws InterruptedException {
+        PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            executor.submit(() -> {
+                started.countDown();
+                return awaitQuietly(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            executor.submit(() -> "queued");
+
+            CompletionException rejection =
+                    assertThrows(CompletionException.class, () -> executor.submit(() -> "rejected").join());
+            assertInstanceOf(RejectedExecutionException.class, rejection.getCause());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void verificationExecutor_ShouldCompleteWithResult() {
+        PasswordVerificationExecutor executor = new PasswordVerificationExecutor(1, 1);
+        try {
+            assertEquals("token", executor.submit(() -> "token").join());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean awaitQuietly(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
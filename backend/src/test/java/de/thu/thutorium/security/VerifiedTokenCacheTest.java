@@ -0,0 +1,75 @@
+package de.thu.thutorium.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private static final long ONE_HOUR = 3_600_000;
+    private static final Date IN_ONE_HOUR = new Date(System.currentTimeMillis() + ONE_HOUR);
+
+    private static AuthenticatedUser user(long userId, String email) {
+        return new AuthenticatedUser(userId, email, List.of(new SimpleGrantedAuthority("ROLE_STUDENT")));
+    }
+
+    @Test
+    void get_ShouldReturnCachedPrincipal() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(60_000, 10);
+        AuthenticatedUser user = user(1L, "max@example.com");
+
+        cache.put("token", user, IN_ONE_HOUR);
+
+        assertSame(user, cache.get("token"));
+        assertNull(cache.get("other-token"));
+    }
+
+    @Test
+    void get_ShouldNotOutliveTokenExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(60_000, 10);
+
+        cache.put("token", user(1L, "max@example.com"), new Date(System.currentTimeMillis() - 1));
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void get_ShouldExpireAfterTtl() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, 10);
+
+        cache.put("token", user(1L, "max@example.com"), IN_ONE_HOUR);
+
+        assertNull(cache.get("token"));
+    }
+
+    @Test
+    void put_ShouldStayWithinMaxEntries() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(60_000, 2);
+
+        cache.put("a", user(1L, "a@example.com"), IN_ONE_HOUR);
+        cache.put("b", user(2L, "b@example.com"), IN_ONE_HOUR);
+        cache.put("c", user(3L, "c@example.com"), IN_ONE_HOUR);
+
+        assertNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void evictUser_ShouldDropTokensOfUser() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(60_000, 10);
+
+        cache.put("a1", user(1L, "a@example.com"), IN_ONE_HOUR);
+        cache.put("a2", user(1L, "a@example.com"), IN_ONE_HOUR);
+        cache.put("b", user(2L, "b@example.com"), IN_ONE_HOUR);
+        cache.evictUser("a@example.com");
+
+        assertNull(cache.get("a1"));
+        assertNull(cache.get("a2"));
+        assertNotNull(cache.get("b"));
+    }
+}
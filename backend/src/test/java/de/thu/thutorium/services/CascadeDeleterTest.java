@@ -0,0 +1,172 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.database.EmbeddedDatabaseTest;
+import de.thu.thutorium.services.interfaces.CourseService;
+import de.thu.thutorium.services.interfaces.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Runs the set-based deletes of {@code CascadeDeleter} against PostgreSQL, through the services using them. */
+class CascadeDeleterTest extends EmbeddedDatabaseTest {
+
+    /** Every column referencing a user, by table. */
+    private static final Map<String, String> USER_REFERENCES = Map.ofEntries(
+            Map.entry("students_meetings", "student_id"),
+            Map.entry("meeting_waitlist", "student_id"),
+            Map.entry("meeting", "created_by"),
+            Map.entry("report", "student_id"),
+            Map.entry("rating_tutor", "student_id"),
+            Map.entry("rating_course", "student_id"),
+            Map.entry("progess", "student_id"),
+            Map.entry("course_students", "student_id"),
+            Map.entry("user_roles", "user_id"),
+            Map.entry("message", "sender_id"),
+            Map.entry("chat_participants", "user_id"),
+            Map.entry("course_category", "created_by"),
+            Map.entry("user_account", "user_id"));
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long tutor;
+    private Long otherTutor;
+    private Long student;
+    private Long waitingStudent;
+    private Long course;
+    private Long otherCourse;
+    private Long category;
+    private Long meeting;
+    private Long otherMeeting;
+
+    @BeforeEach
+    void setUp() {
+        tutor = createUser("TUTOR");
+        otherTutor = createUser("TUTOR");
+        student = createUser("STUDENT");
+        waitingStudent = createUser("STUDENT");
+        course = insert("INSERT INTO course (course_name, tutor_id) VALUES ('Cascade', ?) RETURNING course_id", tutor);
+        otherCourse = insert(
+                "INSERT INTO course (course_name, tutor_id) VALUES ('Other', ?) RETURNING course_id", otherTutor);
+        category = insert(
+                "INSERT INTO course_category (category_name, created_by) VALUES (?, ?) RETURNING category_id",
+                "cascade-" + UUID.randomUUID(), student);
+        jdbcTemplate.update("INSERT INTO courses_categories (course_id, category_id) VALUES (?, ?)", course, category);
+        for (Long enrolled : new Long[] {student, waitingStudent}) {
+            jdbcTemplate.update("INSERT INTO course_students (student_id, course_id) VALUES (?, ?), (?, ?)",
+                    enrolled, course, enrolled, otherCourse);
+        }
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+        meeting = insert("INSERT INTO meeting (meeting_type, meeting_start_time, meeting_end_time, course_id, "
+                + "created_by, capacity, booked_seats) VALUES ('ONLINE', ?, ?, ?, ?, 5, 1) RETURNING meeting_id",
+                start, start.plusHours(1), course, tutor);
+        otherMeeting = insert("INSERT INTO meeting (meeting_type, meeting_start_time, meeting_end_time, course_id, "
+                + "created_by, capacity, booked_seats) VALUES ('ONLINE', ?, ?, ?, ?, 1, 1) RETURNING meeting_id",
+                start, start.plusHours(1), otherCourse, otherTutor);
+        jdbcTemplate.update("INSERT INTO students_meetings (student_id, meeting_id) VALUES (?, ?), (?, ?)",
+                student, meeting, student, otherMeeting);
+        jdbcTemplate.update("INSERT INTO meeting_waitlist (meeting_id, student_id, created_at) VALUES (?, ?, now())",
+                otherMeeting, waitingStudent);
+        jdbcTemplate.update("INSERT INTO report (meeting_id, tutor_id, course_id, student_id, report_text, created_at) "
+                + "VALUES (?, ?, ?, ?, 'Late', now())", meeting, tutor, course, student);
+
+        jdbcTemplate.update("INSERT INTO rating_tutor (student_id, tutor_id, points, created_at) "
+                + "VALUES (?, ?, 4, now()), (?, ?, 2, now())", student, tutor, waitingStudent, tutor);
+        jdbcTemplate.update("UPDATE user_account SET rating_count = 2, rating_sum = 6, average_rating = 3 "
+                + "WHERE user_id = ?", tutor);
+        jdbcTemplate.update("INSERT INTO rating_course (student_id, course_id, points) VALUES (?, ?, 5)", student, course);
+        jdbcTemplate.update("UPDATE course SET rating_count = 1, rating_sum = 5, average_rating = 5 "
+                + "WHERE course_id = ?", course);
+        jdbcTemplate.update("INSERT INTO progess (student_id, course_id, points) VALUES (?, ?, 1)", student, course);
+
+        Long chat = insert("INSERT INTO chat (creator_id, created_at, is_group) VALUES (?, now(), false) "
+                + "RETURNING chat_id", student);
+        jdbcTemplate.update("INSERT INTO chat_participants (chat_id, user_id) VALUES (?, ?), (?, ?)",
+                chat, student, chat, tutor);
+        jdbcTemplate.update("INSERT INTO message (chat_id, sender_id, receiver_id, message_content, send_at, is_read) "
+                + "VALUES (?, ?, ?, 'Hello', now(), false)", chat, student, tutor);
+    }
+
+    @Test
+    void deleteUser_ShouldRemoveEveryReferenceToAStudent() {
+        userService.deleteUser(student);
+
+        USER_REFERENCES.forEach((table, column) ->
+                assertEquals(0, count("SELECT count(*) FROM " + table + " WHERE " + column + " = ?", student),
+                        table + "." + column));
+        // The category outlives its creator
+        assertEquals(1, count("SELECT count(*) FROM course_category WHERE category_id = ?", category));
+        assertEquals(0, count("SELECT count(*) FROM chat WHERE creator_id = ?", student));
+        // The ratings of the student are withdrawn from the aggregates
+        assertEquals(Map.of("rating_count", 1, "rating_sum", 2.0, "average_rating", 2.0), jdbcTemplate.queryForMap(
+                "SELECT rating_count, rating_sum, average_rating FROM user_account WHERE user_id = ?", tutor));
+        assertEquals(0, count("SELECT rating_count FROM course WHERE course_id = ?", course));
+        // The seat in the meeting of the other tutor goes to the waiting student
+        assertEquals(0, count("SELECT booked_seats FROM meeting WHERE meeting_id = ?", meeting));
+        assertEquals(1, count("SELECT booked_seats FROM meeting WHERE meeting_id = ?", otherMeeting));
+        assertEquals(1, count("SELECT count(*) FROM students_meetings WHERE meeting_id = ? AND student_id = ?",
+                otherMeeting, waitingStudent));
+        assertEquals(0, count("SELECT count(*) FROM meeting_waitlist WHERE meeting_id = ?", otherMeeting));
+    }
+
+    @Test
+    void deleteUser_ShouldRemoveATutorWithCoursesAndMeetings() {
+        userService.deleteUser(tutor);
+
+        assertEquals(0, count("SELECT count(*) FROM user_account WHERE user_id = ?", tutor));
+        assertEquals(0, count("SELECT count(*) FROM course WHERE course_id = ?", course));
+        assertEquals(0, count("SELECT count(*) FROM meeting WHERE meeting_id = ?", meeting));
+        assertEquals(0, count("SELECT count(*) FROM students_meetings WHERE meeting_id = ?", meeting));
+        assertEquals(0, count("SELECT count(*) FROM report WHERE meeting_id = ?", meeting));
+        assertEquals(0, count("SELECT count(*) FROM courses_categories WHERE course_id = ?", course));
+        assertEquals(0, count("SELECT count(*) FROM rating_tutor WHERE tutor_id = ?", tutor));
+        assertEquals(0, count("SELECT count(*) FROM message WHERE receiver_id = ?", tutor));
+        // The students and their other bookings stay
+        assertEquals(1, count("SELECT count(*) FROM user_account WHERE user_id = ?", student));
+        assertEquals(1, count("SELECT count(*) FROM students_meetings WHERE student_id = ?", student));
+        assertEquals(1, count("SELECT count(*) FROM course_students WHERE student_id = ?", student));
+    }
+
+    @Test
+    void deleteCourse_ShouldRemoveMeetingsEnrolmentsAndWaitlist() {
+        courseService.deleteCourse(otherCourse);
+
+        assertEquals(0, count("SELECT count(*) FROM course WHERE course_id = ?", otherCourse));
+        assertEquals(0, count("SELECT count(*) FROM meeting WHERE course_id = ?", otherCourse));
+        assertEquals(0, count("SELECT count(*) FROM students_meetings WHERE meeting_id = ?", otherMeeting));
+        assertEquals(0, count("SELECT count(*) FROM meeting_waitlist WHERE meeting_id = ?", otherMeeting));
+        assertEquals(0, count("SELECT count(*) FROM course_students WHERE course_id = ?", otherCourse));
+        assertEquals(2, count("SELECT count(*) FROM course_students WHERE course_id = ?", course));
+    }
+
+    private Long createUser(String role) {
+        Long userId = insert("INSERT INTO user_account (first_name, last_name, email_address, hashed_password) "
+                + "VALUES ('Cascade', 'Test', ?, 'hash') RETURNING user_id", "cascade-" + UUID.randomUUID() + "@thu.de");
+        jdbcTemplate.update(
+                "INSERT INTO user_roles (user_id, role_id) SELECT ?, role_id FROM roles WHERE role_name = ?",
+                userId, role);
+        return userId;
+    }
+
+    private Long insert(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    private int count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, args);
+    }
+}
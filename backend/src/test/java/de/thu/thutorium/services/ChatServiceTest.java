@@ -1,12 +1,13 @@
 package de.thu.thutorium.services;
 
+import de.thu.thutorium.api.transferObjects.chat.ChatSummaryTO;
 import de.thu.thutorium.api.transferObjects.common.ChatCreateTO;
 import de.thu.thutorium.database.DBOMappers.ChatDBMapper;
 import de.thu.thutorium.database.dbObjects.ChatDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
 import de.thu.thutorium.database.repositories.ChatRepository;
-import de.thu.thutorium.database.repositories.MessageRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.implementations.ChatMembershipCache;
 import de.thu.thutorium.services.implementations.ChatServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,7 +15,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,7 +37,7 @@ public class ChatServiceTest {
     private ChatDBMapper chatMapper;
 
     @Mock
-    private MessageRepository messageRepository;
+    private ChatMembershipCache chatMembershipCache;
 
     @InjectMocks
     private ChatServiceImpl chatService;
@@ -90,6 +94,26 @@ public class ChatServiceTest {
 
         // Then
         verify(chatRepository, times(1)).delete(chatDBO);
+        verify(chatMembershipCache, times(1)).evict(chatId);
+    }
+
+    @Test
+    public void testDeleteChat_EvictsParticipantsOnlyAfterCommit() {
+        Long chatId = 1L;
+        ChatDBO chatDBO = new ChatDBO();
+        chatDBO.setChatId(chatId);
+        when(chatRepository.findById(chatId)).thenReturn(Optional.of(chatDBO));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            chatService.deleteChat(chatId);
+            verifyNoInteractions(chatMembershipCache);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(chatMembershipCache).evict(chatId);
     }
 
     @Test
@@ -144,4 +168,46 @@ public class ChatServiceTest {
         // When: Attempt to delete again
         assertThrows(EntityNotFoundException.class, () -> chatService.deleteChat(chatId));
     }
+
+    @Test
+    public void testGetChatSummaries_MapsAggregateRowsInOrder() {
+        LocalDateTime sentAt = LocalDateTime.of(2025, 1, 10, 12, 30);
+        ChatRepository.ChatSummaryView recent = summaryView(7L, 1L, user2, "See you tomorrow", sentAt, 3L);
+        ChatRepository.ChatSummaryView empty = summaryView(8L, 2L, null, null, null, 0L);
+        when(chatRepository.findChatSummariesByUserId(1L)).thenReturn(List.of(recent, empty));
+
+        List<ChatSummaryTO> summaries = chatService.getChatSummaries(1L);
+
+        assertEquals(2, summaries.size());
+        ChatSummaryTO first = summaries.get(0);
+        assertEquals(7L, first.getChatId());
+        assertEquals(1L, first.getCreator());
+        assertEquals(2L, first.getReceiver().getId());
+        assertEquals("Jane", first.getReceiver().getFirstName());
+        assertEquals(3, first.getUnreadMessages());
+        assertEquals("See you tomorrow", first.getLastMessagePreview());
+        assertEquals(sentAt, first.getLastMessageAt());
+
+        ChatSummaryTO second = summaries.get(1);
+        assertEquals(8L, second.getChatId());
+        assertNull(second.getReceiver());
+        assertEquals(0, second.getUnreadMessages());
+        assertNull(second.getLastMessageAt());
+
+        verify(chatRepository, never()).findByParticipants_UserId(any());
+    }
+
+    private ChatRepository.ChatSummaryView summaryView(Long chatId, Long creatorId, UserDBO receiver, String preview,
+                                                       LocalDateTime sentAt, Long unread) {
+        ChatRepository.ChatSummaryView view = mock(ChatRepository.ChatSummaryView.class);
+        lenient().when(view.getChatId()).thenReturn(chatId);
+        lenient().when(view.getCreatorId()).thenReturn(creatorId);
+        lenient().when(view.getReceiverId()).thenReturn(receiver != null ? receiver.getUserId() : null);
+        lenient().when(view.getReceiverFirstName()).thenReturn(receiver != null ? receiver.getFirstName() : null);
+        lenient().when(view.getReceiverLastName()).thenReturn(receiver != null ? receiver.getLastName() : null);
+        lenient().when(view.getLastMessagePreview()).thenReturn(preview);
+        lenient().when(view.getLastMessageAt()).thenReturn(sentAt);
+        lenient().when(view.getUnreadMessages()).thenReturn(unread);
+        return view;
+    }
 }
@@ -9,6 +9,7 @@ import de.thu.thutorium.database.dbObjects.UserDBO;
 import de.thu.thutorium.database.repositories.CourseRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
 import de.thu.thutorium.services.implementations.CourseServiceImpl;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -34,6 +35,9 @@ public class CourseServiceTest {
     @Mock
     private CourseTOMapper courseTOMapper;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @InjectMocks
     private CourseServiceImpl courseService;
 
@@ -0,0 +1,120 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.api.transferObjects.common.DeletionJobTO;
+import de.thu.thutorium.database.dbObjects.enums.DeletionJobStatus;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.implementations.CascadeDeleter;
+import de.thu.thutorium.services.implementations.DeletionJobServiceImpl;
+import de.thu.thutorium.services.interfaces.CourseService;
+import de.thu.thutorium.services.interfaces.UserService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeletionJobServiceImplTest {
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private CourseService courseService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CascadeDeleter cascadeDeleter;
+
+    private DeletionJobServiceImpl deletionJobService;
+
+    @BeforeEach
+    void setUp() {
+        deletionJobService = new DeletionJobServiceImpl(
+                userService, courseService, userRepository, courseRepository, cascadeDeleter, 100, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        deletionJobService.shutdown();
+    }
+
+    @Test
+    void submitUserDeletion_ShouldDeleteChunksBeforeTheUser() throws InterruptedException {
+        when(userRepository.existsById(1L)).thenReturn(true);
+        doAnswer(invocation -> {
+            LongConsumer progress = invocation.getArgument(2);
+            progress.accept(100);
+            progress.accept(42);
+            return null;
+        }).when(cascadeDeleter).deleteUserBulkRowsInChunks(eq(1L), eq(100), any());
+
+        DeletionJobTO submitted = deletionJobService.submitUserDeletion(1L);
+        DeletionJobTO finished = awaitFinished(submitted.getJobId());
+
+        assertEquals("USER", finished.getTargetType());
+        assertEquals(DeletionJobStatus.DONE, finished.getStatus());
+        assertEquals(142, finished.getChunkedRows());
+        assertNull(finished.getError());
+        InOrder inOrder = inOrder(cascadeDeleter, userService);
+        inOrder.verify(cascadeDeleter).deleteUserBulkRowsInChunks(eq(1L), eq(100), any());
+        inOrder.verify(userService).deleteUser(1L);
+    }
+
+    @Test
+    void submitUserDeletion_ShouldThrow_WhenUserDoesNotExist() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> deletionJobService.submitUserDeletion(1L));
+        verifyNoInteractions(cascadeDeleter, userService);
+    }
+
+    @Test
+    void submitCourseDeletion_ShouldReportFailure() throws InterruptedException {
+        when(courseRepository.existsById(5L)).thenReturn(true);
+        doThrow(new IllegalStateException("lock timeout")).when(courseService).deleteCourse(5L);
+
+        DeletionJobTO submitted = deletionJobService.submitCourseDeletion(5L);
+        DeletionJobTO finished = awaitFinished(submitted.getJobId());
+
+        assertEquals(DeletionJobStatus.FAILED, finished.getStatus());
+        assertEquals("lock timeout", finished.getError());
+        verify(cascadeDeleter).deleteCourseBulkRowsInChunks(eq(5L), eq(100), any());
+    }
+
+    @Test
+    void getJob_ShouldBeEmpty_WhenJobIsUnknown() {
+        assertTrue(deletionJobService.getJob(UUID.randomUUID()).isEmpty());
+    }
+
+    private DeletionJobTO awaitFinished(UUID jobId) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            DeletionJobTO job = deletionJobService.getJob(jobId).orElseThrow();
+            if (job.getFinishedAt() != null) {
+                return job;
+            }
+            Thread.sleep(10);
+        }
+        fail("Deletion job did not finish in time");
+        return null;
+    }
+}
@@ -0,0 +1,250 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.api.transferObjects.common.MeetingTO;
+import de.thu.thutorium.database.EmbeddedDatabaseTest;
+import de.thu.thutorium.database.dbObjects.enums.BookingStatus;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
+import de.thu.thutorium.security.AuthenticatedUser;
+import de.thu.thutorium.services.interfaces.MeetingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/** Runs bookings, cancellations and capacity changes of meetings concurrently against PostgreSQL. */
+class MeetingBookingConcurrencyTest extends EmbeddedDatabaseTest {
+
+    @Autowired
+    private MeetingService meetingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    private Long tutorId;
+    private Long courseId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        tutorId = createUser("TUTOR");
+        jdbcTemplate.update("UPDATE user_account SET is_verified = true WHERE user_id = ?", tutorId);
+        courseId = jdbcTemplate.queryForObject(
+                "INSERT INTO course (course_name, tutor_id) VALUES ('Booking', ?) RETURNING course_id",
+                Long.class, tutorId);
+        start = LocalDateTime.now().plusDays(1).withHour(10).withMinute(0).withSecond(0).withNano(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void bookMeeting_ConcurrentBookingsShouldNotExceedTheCapacity() throws Exception {
+        Long meetingId = createMeeting(2);
+        List<Long> students = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            students.add(createStudent());
+        }
+
+        CountDownLatch go = new CountDownLatch(1);
+        List<Future<BookingStatus>> bookings = new ArrayList<>();
+        for (Long studentId : students) {
+            bookings.add(executor.submit(() -> {
+                go.await();
+                return as(studentId, () -> meetingService.bookMeeting(meetingId));
+            }));
+        }
+        go.countDown();
+
+        int booked = 0;
+        for (Future<BookingStatus> booking : bookings) {
+            if (booking.get(30, TimeUnit.SECONDS) == BookingStatus.BOOKED) {
+                booked++;
+            }
+        }
+        assertEquals(2, booked);
+        assertEquals(2, bookedSeats(meetingId));
+        assertEquals(2, participations(meetingId));
+        assertEquals(6, waiting(meetingId));
+    }
+
+    @Test
+    void bookMeeting_WaitingStudentWhoGetsAFreeSeatShouldLeaveTheWaitlist() throws Exception {
+        Long meetingId = createMeeting(1);
+        Long first = createStudent();
+        Long second = createStudent();
+        assertEquals(BookingStatus.BOOKED, as(first, () -> meetingService.bookMeeting(meetingId)));
+        assertEquals(BookingStatus.WAITLISTED, as(second, () -> meetingService.bookMeeting(meetingId)));
+
+        // The seat becomes free without passing through the waitlist
+        jdbcTemplate.update("DELETE FROM students_meetings WHERE meeting_id = ? AND student_id = ?", meetingId, first);
+        jdbcTemplate.update("UPDATE meeting SET booked_seats = 0 WHERE meeting_id = ?", meetingId);
+        assertEquals(BookingStatus.BOOKED, as(second, () -> meetingService.bookMeeting(meetingId)));
+        assertEquals(BookingStatus.WAITLISTED, as(first, () -> meetingService.bookMeeting(meetingId)));
+
+        // Cancelling passes the seat to the first student, not a second one to the canceller
+        as(second, () -> {
+            meetingService.cancelMeeting(meetingId);
+            return null;
+        });
+
+        assertEquals(1, bookedSeats(meetingId));
+        assertEquals(1, participations(meetingId));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM students_meetings WHERE meeting_id = ? AND student_id = ?",
+                Integer.class, meetingId, first));
+        assertEquals(0, waiting(meetingId));
+    }
+
+    @Test
+    void updateMeeting_LoweredCapacityShouldCountBookingsCommittedMeanwhile() throws Exception {
+        Long meetingId = createMeeting(2);
+        Long first = createStudent();
+        Long second = createStudent();
+        as(first, () -> meetingService.bookMeeting(meetingId));
+
+        try (Connection booking = dataSource.getConnection()) {
+            // A second booking takes the last seat, and holds the row lock until it commits
+            booking.setAutoCommit(false);
+            try (PreparedStatement statement = booking.prepareStatement(
+                    "UPDATE meeting SET booked_seats = booked_seats + 1 WHERE meeting_id = ?")) {
+                statement.setLong(1, meetingId);
+                statement.executeUpdate();
+            }
+            try (PreparedStatement statement = booking.prepareStatement(
+                    "INSERT INTO students_meetings (student_id, meeting_id) VALUES (?, ?)")) {
+                statement.setLong(1, second);
+                statement.setLong(2, meetingId);
+                statement.executeUpdate();
+            }
+
+            Future<MeetingTO> update = executor.submit(() -> meetingService.updateMeeting(meetingId, meeting(1)));
+            awaitLockWait();
+            booking.commit();
+
+            ExecutionException exception =
+                    assertThrows(ExecutionException.class, () -> update.get(30, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, exception.getCause());
+        }
+
+        assertEquals(2, capacity(meetingId));
+        assertEquals(2, bookedSeats(meetingId));
+    }
+
+    @Test
+    void updateMeeting_RaisedCapacityShouldPromoteWaitingStudents() throws Exception {
+        Long meetingId = createMeeting(1);
+        Long first = createStudent();
+        Long second = createStudent();
+        as(first, () -> meetingService.bookMeeting(meetingId));
+        as(second, () -> meetingService.bookMeeting(meetingId));
+
+        meetingService.updateMeeting(meetingId, meeting(2));
+
+        assertEquals(2, bookedSeats(meetingId));
+        assertEquals(2, participations(meetingId));
+        assertEquals(0, waiting(meetingId));
+    }
+
+    private Long createUser(String role) {
+        Long userId = jdbcTemplate.queryForObject(
+                "INSERT INTO user_account (first_name, last_name, email_address, hashed_password) "
+                        + "VALUES ('Booking', 'Test', ?, 'hash') RETURNING user_id",
+                Long.class, "booking-" + UUID.randomUUID() + "@thu.de");
+        jdbcTemplate.update(
+                "INSERT INTO user_roles (user_id, role_id) SELECT ?, role_id FROM roles WHERE role_name = ?",
+                userId, role);
+        return userId;
+    }
+
+    private Long createStudent() {
+        Long studentId = createUser("STUDENT");
+        jdbcTemplate.update("INSERT INTO course_students (student_id, course_id) VALUES (?, ?)", studentId, courseId);
+        return studentId;
+    }
+
+    private Long createMeeting(int capacity) {
+        return meetingService.createMeeting(meeting(capacity)).getMeetingId();
+    }
+
+    private MeetingTO meeting(int capacity) {
+        return MeetingTO.builder()
+                .tutorId(tutorId)
+                .courseId(courseId)
+                .startTime(start)
+                .endTime(start.plusHours(1))
+                .meetingType(MeetingType.ONLINE)
+                .capacity(capacity)
+                .build();
+    }
+
+    private int bookedSeats(Long meetingId) {
+        return jdbcTemplate.queryForObject("SELECT booked_seats FROM meeting WHERE meeting_id = ?", Integer.class, meetingId);
+    }
+
+    private int capacity(Long meetingId) {
+        return jdbcTemplate.queryForObject("SELECT capacity FROM meeting WHERE meeting_id = ?", Integer.class, meetingId);
+    }
+
+    private int participations(Long meetingId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM students_meetings WHERE meeting_id = ?", Integer.class, meetingId);
+    }
+
+    private int waiting(Long meetingId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM meeting_waitlist WHERE meeting_id = ?", Integer.class, meetingId);
+    }
+
+    /** Waits until another session is blocked on a row lock. */
+    private void awaitLockWait() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            Integer waiting = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class);
+            if (waiting != null && waiting > 0) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("No session waited for the row lock");
+    }
+
+    private static <T> T as(Long userId, Callable<T> action) throws Exception {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com", List.of());
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        try {
+            return action.call();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -2,17 +2,25 @@ package de.thu.thutorium.services;
 
 import de.thu.thutorium.api.TOMappers.MeetingTOMapper;
 import de.thu.thutorium.api.TOMappers.UserTOMapper;
+import de.thu.thutorium.api.transferObjects.common.FreeSlotTO;
 import de.thu.thutorium.api.transferObjects.common.MeetingTO;
+import de.thu.thutorium.database.dbObjects.AddressDBO;
 import de.thu.thutorium.database.dbObjects.CourseDBO;
 import de.thu.thutorium.database.dbObjects.MeetingDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.dbObjects.enums.BookingStatus;
+import de.thu.thutorium.database.dbObjects.enums.MeetingType;
 import de.thu.thutorium.database.dbObjects.enums.Role;
 import de.thu.thutorium.database.repositories.AddressRepository;
 import de.thu.thutorium.database.repositories.CourseRepository;
 import de.thu.thutorium.database.repositories.MeetingRepository;
+import de.thu.thutorium.database.repositories.MeetingWaitlistRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.security.AuthenticatedUser;
+import de.thu.thutorium.services.implementations.CascadeDeleter;
 import de.thu.thutorium.services.implementations.MeetingServiceImpl;
 import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,8 +28,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
-import java.util.ArrayList;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +54,12 @@ public class MeetingServiceTest {
     @Mock
     private AddressRepository addressRepository;
 
+    @Mock
+    private MeetingWaitlistRepository meetingWaitlistRepository;
+
+    @Mock
+    private CascadeDeleter cascadeDeleter;
+
     @Mock
     private MeetingTOMapper meetingTOMapper;
 
@@ -59,6 +77,8 @@ public class MeetingServiceTest {
                 userRepository,
                 courseRepository,
                 addressRepository,
+                meetingWaitlistRepository,
+                cascadeDeleter,
                 meetingTOMapper,
                 userTOMapper
         );
@@ -80,24 +100,31 @@ public class MeetingServiceTest {
         assertEquals("User not found with ID: 1", exception.getMessage());
     }
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void testDeleteMeeting_success() {
         // Arrange
         Long meetingId = 1L;
-        MeetingDBO meetingDBO = new MeetingDBO();
-        UserDBO tutor = new UserDBO();
-        CourseDBO course = new CourseDBO();
-        tutor.setMeetings(new ArrayList<>());
-        meetingDBO.setTutor(tutor);
-        meetingDBO.setCourse(course);
-
-        when(meetingRepository.findById(meetingId)).thenReturn(Optional.of(meetingDBO));
+        when(meetingRepository.existsById(meetingId)).thenReturn(true);
 
         // Act
         meetingService.deleteMeeting(meetingId);
 
-        // Assert
-        verify(meetingRepository).deleteById(meetingId);
+        // Assert: participants are removed set-based instead of being loaded and saved one by one
+        verify(cascadeDeleter).deleteMeetings(List.of(meetingId));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    void testDeleteMeeting_throwsEntityNotFoundException() {
+        when(meetingRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> meetingService.deleteMeeting(1L));
+        verifyNoInteractions(cascadeDeleter);
     }
 
     @Test
@@ -116,6 +143,7 @@ public class MeetingServiceTest {
         when(userRepository.findUserDBOByUserIdAndRoles_RoleName(1L, Role.TUTOR)).thenReturn(Optional.of(tutor));
         when(courseRepository.findByCourseIdAndTutor_UserId(1L, 1L)).thenReturn(Optional.of(course));
         when(meetingTOMapper.toDTO(any())).thenReturn(meetingTO); // Updated stubbing to handle null or any argument
+        when(meetingRepository.updateCapacity(meetingId, null)).thenReturn(1);
 
         // Act
         MeetingTO updatedMeeting = meetingService.updateMeeting(meetingId, meetingTO);
@@ -125,6 +153,239 @@ public class MeetingServiceTest {
         verify(meetingRepository).save(any(MeetingDBO.class)); // Verify save is called
     }
 
+    @Test
+    void testUpdateMeeting_rejectsCapacityBelowBookedSeats() {
+        MeetingTO meetingTO = new MeetingTO();
+        meetingTO.setTutorId(1L);
+        meetingTO.setCourseId(1L);
+        meetingTO.setCapacity(2);
+        when(meetingRepository.findById(1L)).thenReturn(Optional.of(new MeetingDBO()));
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(1L, Role.TUTOR)).thenReturn(Optional.of(new UserDBO()));
+        when(courseRepository.findByCourseIdAndTutor_UserId(1L, 1L)).thenReturn(Optional.of(new CourseDBO()));
+        // More seats are booked than the new capacity allows
+        when(meetingRepository.updateCapacity(1L, 2)).thenReturn(0);
+
+        assertThrows(IllegalArgumentException.class, () -> meetingService.updateMeeting(1L, meetingTO));
+        verify(meetingRepository, never()).save(any());
+    }
+
+    @Test
+    void testUpdateMeeting_raisedCapacityPromotesWaitingStudents() {
+        MeetingTO meetingTO = new MeetingTO();
+        meetingTO.setTutorId(1L);
+        meetingTO.setCourseId(1L);
+        meetingTO.setCapacity(5);
+        when(meetingRepository.findById(1L)).thenReturn(Optional.of(new MeetingDBO()));
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(1L, Role.TUTOR)).thenReturn(Optional.of(new UserDBO()));
+        when(courseRepository.findByCourseIdAndTutor_UserId(1L, 1L)).thenReturn(Optional.of(new CourseDBO()));
+        when(meetingRepository.updateCapacity(1L, 5)).thenReturn(1);
+        when(meetingWaitlistRepository.findFirstWaitingStudentId(1L)).thenReturn(Optional.of(8L), Optional.of(9L));
+        when(meetingRepository.reserveSeat(1L)).thenReturn(1, 0);
+        when(meetingRepository.addParticipant(1L, 8L)).thenReturn(1);
+
+        meetingService.updateMeeting(1L, meetingTO);
+
+        verify(meetingRepository).addParticipant(1L, 8L);
+        verify(meetingRepository, never()).addParticipant(1L, 9L);
+    }
+
+    @Test
+    void testBookMeeting_takesFreeSeat() {
+        authenticateAs(7L);
+        stubBookableMeeting(1L, 7L);
+        when(meetingRepository.reserveSeat(1L)).thenReturn(1);
+
+        assertEquals(BookingStatus.BOOKED, meetingService.bookMeeting(1L));
+        verify(meetingRepository).addParticipant(1L, 7L);
+        // A student waiting for the meeting gives up the waitlist entry with the seat
+        verify(meetingWaitlistRepository).removeFromWaitlist(1L, 7L);
+        verify(meetingWaitlistRepository, never()).addToWaitlist(any(), any(), any());
+    }
+
+    @Test
+    void testBookMeeting_fullMeetingPutsStudentOnWaitlist() {
+        authenticateAs(7L);
+        stubBookableMeeting(1L, 7L);
+        when(meetingRepository.reserveSeat(1L)).thenReturn(0);
+        when(meetingWaitlistRepository.addToWaitlist(eq(1L), eq(7L), any())).thenReturn(1);
+
+        assertEquals(BookingStatus.WAITLISTED, meetingService.bookMeeting(1L));
+        verify(meetingRepository, never()).addParticipant(any(), any());
+    }
+
+    @Test
+    void testBookMeeting_rejectsSecondBooking() {
+        authenticateAs(7L);
+        stubBookableMeeting(1L, 7L);
+        when(meetingRepository.reserveSeat(1L)).thenReturn(1);
+        when(meetingRepository.isParticipant(1L, 7L)).thenReturn(true);
+
+        assertThrows(IllegalStateException.class, () -> meetingService.bookMeeting(1L));
+        verify(meetingRepository, never()).addParticipant(any(), any());
+    }
+
+    @Test
+    void testBookMeeting_rejectsStudentNotEnrolled() {
+        authenticateAs(7L);
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(7L, Role.STUDENT)).thenReturn(Optional.of(new UserDBO()));
+        when(meetingRepository.existsById(1L)).thenReturn(true);
+        when(meetingRepository.isEnrolledInCourseOfMeeting(1L, 7L)).thenReturn(false);
+
+        assertThrows(IllegalStateException.class, () -> meetingService.bookMeeting(1L));
+        verify(meetingRepository, never()).reserveSeat(any());
+    }
+
+    @Test
+    void testCancelMeeting_passesSeatToFirstWaitingStudent() {
+        authenticateAs(7L);
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(7L, Role.STUDENT)).thenReturn(Optional.of(new UserDBO()));
+        when(meetingRepository.existsById(1L)).thenReturn(true);
+        when(meetingRepository.removeParticipant(1L, 7L)).thenReturn(1);
+        when(meetingWaitlistRepository.findFirstWaitingStudentId(1L)).thenReturn(Optional.of(9L), Optional.empty());
+        when(meetingRepository.reserveSeat(1L)).thenReturn(1);
+        when(meetingRepository.addParticipant(1L, 9L)).thenReturn(1);
+
+        meetingService.cancelMeeting(1L);
+
+        verify(meetingRepository).releaseSeat(1L);
+        verify(meetingWaitlistRepository).removeFromWaitlist(1L, 9L);
+        verify(meetingRepository).addParticipant(1L, 9L);
+    }
+
+    @Test
+    void testCancelMeeting_skipsWaitingStudentWhoAlreadyHasASeat() {
+        authenticateAs(7L);
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(7L, Role.STUDENT)).thenReturn(Optional.of(new UserDBO()));
+        when(meetingRepository.existsById(1L)).thenReturn(true);
+        when(meetingRepository.removeParticipant(1L, 7L)).thenReturn(1);
+        when(meetingWaitlistRepository.findFirstWaitingStudentId(1L))
+                .thenReturn(Optional.of(8L), Optional.of(9L), Optional.empty());
+        when(meetingRepository.reserveSeat(1L)).thenReturn(1);
+        when(meetingRepository.addParticipant(1L, 8L)).thenReturn(0);
+        when(meetingRepository.addParticipant(1L, 9L)).thenReturn(1);
+
+        meetingService.cancelMeeting(1L);
+
+        verify(meetingWaitlistRepository).removeFromWaitlist(1L, 8L);
+        verify(meetingWaitlistRepository).removeFromWaitlist(1L, 9L);
+        // The cancelled seat and the one taken for student 8 are given back, the second goes to 9
+        verify(meetingRepository, times(2)).releaseSeat(1L);
+        verify(meetingRepository, times(2)).reserveSeat(1L);
+    }
+
+    @Test
+    void testCancelMeeting_removesStudentFromWaitlist() {
+        authenticateAs(7L);
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(7L, Role.STUDENT)).thenReturn(Optional.of(new UserDBO()));
+        when(meetingRepository.existsById(1L)).thenReturn(true);
+        when(meetingRepository.removeParticipant(1L, 7L)).thenReturn(0);
+        when(meetingWaitlistRepository.removeFromWaitlist(1L, 7L)).thenReturn(1);
+
+        meetingService.cancelMeeting(1L);
+
+        verify(meetingRepository, never()).releaseSeat(any());
+        verify(meetingWaitlistRepository, never()).findFirstWaitingStudentId(any());
+    }
+
+    @Test
+    void testGetCalendar_loadsMeetingsInWindow() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 2, 0, 0);
+        LocalDateTime to = from.plusWeeks(1);
+        List<MeetingDBO> meetings = List.of(new MeetingDBO());
+        List<MeetingTO> meetingTOs = List.of(new MeetingTO());
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(meetingRepository.findCalendarMeetingIds(1L, from, to)).thenReturn(List.of(4L, 2L));
+        when(meetingRepository.findCalendarMeetings(List.of(4L, 2L), MeetingType.ONLINE)).thenReturn(meetings);
+        when(meetingTOMapper.toDTOList(meetings)).thenReturn(meetingTOs);
+
+        assertEquals(meetingTOs, meetingService.getCalendar(1L, from, to, MeetingType.ONLINE));
+    }
+
+    @Test
+    void testGetCalendar_emptyWindowSkipsLoading() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 2, 0, 0);
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(meetingRepository.findCalendarMeetingIds(1L, from, from.plusDays(1))).thenReturn(List.of());
+
+        assertTrue(meetingService.getCalendar(1L, from, from.plusDays(1), null).isEmpty());
+        verify(meetingRepository, never()).findCalendarMeetings(any(), any());
+    }
+
+    @Test
+    void testGetCalendar_rejectsInvalidWindow() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> meetingService.getCalendar(1L, from, from, null));
+        assertThrows(IllegalArgumentException.class, () -> meetingService.getCalendar(1L, from, from.plusDays(367), null));
+        verifyNoInteractions(meetingRepository);
+    }
+
+    @Test
+    void testGetCalendar_userNotFound() {
+        LocalDateTime from = LocalDateTime.of(2026, 3, 2, 0, 0);
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> meetingService.getCalendar(1L, from, from.plusDays(1), null));
+    }
+
+    @Test
+    void testFindFreeSlots_mergesTutorAndRoomMeetingsAndSplitsAtMidnight() {
+        LocalDate day = LocalDate.now().plusDays(10);
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(1L, Role.TUTOR)).thenReturn(Optional.of(new UserDBO()));
+        when(addressRepository.findById(5L)).thenReturn(Optional.of(new AddressDBO()));
+        when(meetingRepository.findTutorBusyIntervals(eq(1L), any(), any()))
+                .thenReturn(List.of(interval(day.atTime(9, 0), day.atTime(10, 0))));
+        when(meetingRepository.findRoomBusyIntervals(eq(5L), eq("A101"), any(), any()))
+                .thenReturn(List.of(
+                        interval(day.plusDays(1).atTime(10, 0), day.plusDays(1).atTime(10, 30)),
+                        interval(day.atTime(9, 30), day.atTime(11, 0))));
+
+        List<FreeSlotTO> slots = meetingService.findFreeSlots(
+                1L, 5L, "A101", day.atTime(8, 0), day.plusDays(1).atTime(12, 0), 60);
+
+        assertEquals(4, slots.size());
+        assertSlot(slots.get(0), day.atTime(8, 0), day.atTime(9, 0));
+        assertSlot(slots.get(1), day.atTime(11, 0), day.plusDays(1).atStartOfDay());
+        assertSlot(slots.get(2), day.plusDays(1).atStartOfDay(), day.plusDays(1).atTime(10, 0));
+        assertSlot(slots.get(3), day.plusDays(1).atTime(10, 30), day.plusDays(1).atTime(12, 0));
+    }
+
+    @Test
+    void testFindFreeSlots_dropsGapsShorterThanDuration() {
+        LocalDate day = LocalDate.now().plusDays(10);
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(1L, Role.TUTOR)).thenReturn(Optional.of(new UserDBO()));
+        when(meetingRepository.findTutorBusyIntervals(eq(1L), any(), any()))
+                .thenReturn(List.of(interval(day.atTime(9, 0), day.atTime(10, 0))));
+
+        List<FreeSlotTO> slots = meetingService.findFreeSlots(1L, null, null, day.atTime(8, 0), day.atTime(12, 0), 90);
+
+        assertEquals(1, slots.size());
+        assertSlot(slots.get(0), day.atTime(10, 0), day.atTime(12, 0));
+        verify(meetingRepository, never()).findRoomBusyIntervals(any(), any(), any(), any());
+    }
+
+    @Test
+    void testFindFreeSlots_skipsThePast() {
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(1L, Role.TUTOR)).thenReturn(Optional.of(new UserDBO()));
+        LocalDateTime now = LocalDateTime.now();
+
+        List<FreeSlotTO> slots = meetingService.findFreeSlots(1L, null, null, now.minusDays(2), now.minusDays(1), 30);
+
+        assertTrue(slots.isEmpty());
+        verify(meetingRepository, never()).findTutorBusyIntervals(any(), any(), any());
+    }
+
+    @Test
+    void testFindFreeSlots_rejectsRoomWithoutAddress() {
+        LocalDateTime from = LocalDateTime.now().plusDays(1);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> meetingService.findFreeSlots(1L, null, "A101", from, from.plusHours(8), 60));
+        assertThrows(IllegalArgumentException.class,
+                () -> meetingService.findFreeSlots(1L, null, null, from, from.plusHours(8), 0));
+        verifyNoInteractions(meetingRepository);
+    }
+
     @Test
     void testRetrieveMeetingById_meetingNotFound() {
         // Arrange
@@ -149,4 +410,35 @@ public class MeetingServiceTest {
         // Assert
         assertNotNull(meeting);
     }
+
+    private void stubBookableMeeting(Long meetingId, Long studentId) {
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(studentId, Role.STUDENT)).thenReturn(Optional.of(new UserDBO()));
+        when(meetingRepository.existsById(meetingId)).thenReturn(true);
+        when(meetingRepository.isEnrolledInCourseOfMeeting(meetingId, studentId)).thenReturn(true);
+    }
+
+    private static void authenticateAs(Long userId) {
+        AuthenticatedUser user = new AuthenticatedUser(userId, "user" + userId + "@example.com", List.of());
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    private static MeetingRepository.MeetingInterval interval(LocalDateTime start, LocalDateTime end) {
+        return new MeetingRepository.MeetingInterval() {
+            @Override
+            public LocalDateTime getStartTime() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndTime() {
+                return end;
+            }
+        };
+    }
+
+    private static void assertSlot(FreeSlotTO slot, LocalDateTime start, LocalDateTime end) {
+        assertEquals(start, slot.getStartTime());
+        assertEquals(end, slot.getEndTime());
+    }
 }
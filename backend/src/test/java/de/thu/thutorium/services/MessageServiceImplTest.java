@@ -2,23 +2,25 @@ package de.thu.thutorium.services;
 
 import de.thu.thutorium.api.TOMappers.MessageTOMapper;
 import de.thu.thutorium.api.transferObjects.common.MessageTO;
-import de.thu.thutorium.database.dbObjects.ChatDBO;
 import de.thu.thutorium.database.dbObjects.MessageDBO;
-import de.thu.thutorium.database.dbObjects.UserDBO;
-import de.thu.thutorium.database.repositories.ChatRepository;
+import de.thu.thutorium.database.repositories.ChatReadMarkerRepository;
 import de.thu.thutorium.database.repositories.MessageRepository;
-import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.implementations.ChatMembershipCache;
 import de.thu.thutorium.services.implementations.MessageServiceImpl;
+import de.thu.thutorium.services.implementations.MessageWriteBehindBuffer;
+import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -29,13 +31,16 @@ class MessageServiceImplTest {
     private MessageRepository messageRepository;
 
     @Mock
-    private ChatRepository chatRepository;
+    private MessageTOMapper messageTOMapper;
 
     @Mock
-    private UserRepository userRepository;
+    private ChatReadMarkerRepository chatReadMarkerRepository;
 
     @Mock
-    private MessageTOMapper messageTOMapper;
+    private ChatMembershipCache chatMembershipCache;
+
+    @Mock
+    private MessageWriteBehindBuffer messageWriteBehindBuffer;
 
     @InjectMocks
     private MessageServiceImpl messageService;
@@ -45,68 +50,89 @@ class MessageServiceImplTest {
         MockitoAnnotations.openMocks(this);
     }
 
-    private UserDBO createUser(Long id, String firstName, String lastName) {
-        return UserDBO.builder()
-                .userId(id)
-                .firstName(firstName)
-                .lastName(lastName)
-                .email(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@example.com")
-                .password("password123")
-                .isVerified(true)
-                .enabled(true)
-                .createdAt(LocalDateTime.now())
-                .build();
-    }
-
     @Test
-    void saveMessage_ShouldSaveMessageSuccessfully() {
+    void saveMessage_ShouldWriteMessageAndReturnItWithId() {
         Long chatId = 1L;
         Long senderId = 2L;
         Long receiverId = 3L;
+        LocalDateTime sendAt = LocalDateTime.now();
 
-        ChatDBO chatDBO = new ChatDBO();
-        chatDBO.setChatId(chatId);
-
-        UserDBO senderDBO = createUser(senderId, "Sender", "User");
-        UserDBO receiverDBO = createUser(receiverId, "Receiver", "User");
+        MessageTO messageTO = new MessageTO(null, senderId, receiverId, chatId, "Hello", sendAt, null, false);
 
-        MessageTO messageTO = new MessageTO(null, senderId, receiverId, chatId, "Hello", LocalDateTime.now(), null, false);
-        MessageDBO messageDBO = MessageDBO.builder()
-                .chat(chatDBO)
-                .sender(senderDBO)
-                .receiver(receiverDBO)
-                .messageContent("Hello")
-                .sendAt(LocalDateTime.now())
-                .isRead(false)
-                .build();
-
-        when(chatRepository.findById(chatId)).thenReturn(Optional.of(chatDBO));
-        when(userRepository.findById(senderId)).thenReturn(Optional.of(senderDBO));
-        when(userRepository.findById(receiverId)).thenReturn(Optional.of(receiverDBO));
-        when(messageRepository.save(any(MessageDBO.class))).thenReturn(messageDBO);
+        when(chatMembershipCache.participantsOf(chatId)).thenReturn(Set.of(senderId, receiverId));
+        when(messageWriteBehindBuffer.write(
+                new MessageWriteBehindBuffer.PendingMessage(chatId, senderId, receiverId, "Hello", sendAt)))
+                .thenReturn(42L);
 
         MessageTO savedMessage = messageService.saveMessage(messageTO);
 
         assertNotNull(savedMessage);
+        assertEquals(42L, savedMessage.getMessageId());
         assertEquals(senderId, savedMessage.getSenderId());
         assertEquals(receiverId, savedMessage.getReceiverId());
         assertEquals(chatId, savedMessage.getChatId());
         assertEquals("Hello", savedMessage.getMessageContent());
+        assertFalse(savedMessage.getIsRead());
+        verify(messageRepository, never()).save(any());
+    }
+
+    @Test
+    void saveMessage_ShouldRejectSenderOutsideChat() {
+        MessageTO messageTO = new MessageTO(null, 9L, 3L, 1L, "Hello", LocalDateTime.now(), null, false);
+        when(chatMembershipCache.participantsOf(1L)).thenReturn(Set.of(2L, 3L));
+
+        assertThrows(IllegalArgumentException.class, () -> messageService.saveMessage(messageTO));
+        verifyNoInteractions(messageWriteBehindBuffer);
+    }
+
+    @Test
+    void saveMessage_ShouldThrow_WhenChatDoesNotExist() {
+        MessageTO messageTO = new MessageTO(null, 2L, 3L, 1L, "Hello", LocalDateTime.now(), null, false);
+        when(chatMembershipCache.participantsOf(1L)).thenReturn(Set.of());
+
+        assertThrows(EntityNotFoundException.class, () -> messageService.saveMessage(messageTO));
+        verifyNoInteractions(messageWriteBehindBuffer);
+    }
+
+    @Test
+    void saveMessage_ShouldPropagateBackpressure() {
+        MessageTO messageTO = new MessageTO(null, 2L, 3L, 1L, "Hello", LocalDateTime.now(), null, false);
+        when(chatMembershipCache.participantsOf(1L)).thenReturn(Set.of(2L, 3L));
+        when(messageWriteBehindBuffer.write(any())).thenThrow(new IllegalStateException("full"));
+
+        assertThrows(IllegalStateException.class, () -> messageService.saveMessage(messageTO));
     }
 
     @Test
-    void markAsRead_ShouldMarkMessagesAsRead() {
+    void markAsRead_ShouldBulkUpdateUpToWatermark() {
         Long chatId = 1L;
-        MessageDBO message1 = MessageDBO.builder().messageId(1L).isRead(false).build();
-        MessageDBO message2 = MessageDBO.builder().messageId(2L).isRead(false).build();
+        when(chatMembershipCache.participantsOf(chatId)).thenReturn(Set.of(2L, 3L));
+        when(messageRepository.findLatestMessageIdInChat(chatId)).thenReturn(5000L);
+        when(messageRepository.markReadUpTo(eq(chatId), eq(3L), eq(5000L), any(LocalDateTime.class))).thenReturn(4999);
 
-        when(messageRepository.findAllByChatIdAndIsReadFalse(chatId)).thenReturn(Arrays.asList(message1, message2));
+        int updated = messageService.markAsRead(chatId, 3L);
 
-        messageService.markAsRead(chatId);
+        assertEquals(4999, updated);
+        verify(chatReadMarkerRepository, times(1)).advance(eq(chatId), eq(3L), eq(5000L), any(LocalDateTime.class));
+        verify(messageRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void markAsRead_ShouldDoNothing_WhenChatHasNoMessages() {
+        when(chatMembershipCache.participantsOf(1L)).thenReturn(Set.of(2L, 3L));
+        when(messageRepository.findLatestMessageIdInChat(1L)).thenReturn(null);
 
-        assertTrue(message1.getIsRead());
-        assertTrue(message2.getIsRead());
-        verify(messageRepository, times(1)).saveAll(Arrays.asList(message1, message2));
+        assertEquals(0, messageService.markAsRead(1L, 3L));
+        verify(messageRepository, never()).markReadUpTo(any(), any(), any(), any());
+        verifyNoInteractions(chatReadMarkerRepository);
+    }
+
+    @Test
+    void markAsRead_ShouldThrow_WhenReaderIsNotParticipant() {
+        when(chatMembershipCache.participantsOf(1L)).thenReturn(Set.of(2L, 3L));
+
+        assertThrows(EntityNotFoundException.class, () -> messageService.markAsRead(1L, 9L));
+        verifyNoInteractions(chatReadMarkerRepository);
     }
 
     @Test
@@ -130,4 +156,71 @@ class MessageServiceImplTest {
         assertEquals("Hi", result.get(0).getMessageContent());
         assertEquals("Hello", result.get(1).getMessageContent());
     }
+
+    @Test
+    void getMessagesPage_ShouldReturnLatestMessagesOldestFirst() {
+        LocalDateTime now = LocalDateTime.now();
+        MessageRepository.MessageView newer = messageView(5L, "Second", now);
+        MessageRepository.MessageView older = messageView(4L, "First", now.minusMinutes(1));
+        when(messageRepository.findLatestInChat(eq(1L), any(Pageable.class))).thenReturn(List.of(newer, older));
+
+        List<MessageTO> result = messageService.getMessagesPage(1L, null, null, 2);
+
+        assertEquals(List.of(4L, 5L), result.stream().map(MessageTO::getMessageId).toList());
+        assertEquals("First", result.get(0).getMessageContent());
+        verify(messageRepository, never()).findByChat_ChatId(any());
+    }
+
+    @Test
+    void getMessagesPage_ShouldPageBackwardsFromAnchor() {
+        LocalDateTime anchor = LocalDateTime.now();
+        MessageRepository.MessageView previous = messageView(3L, "Earlier", anchor.minusMinutes(5));
+        when(messageRepository.findSendAtInChat(4L, 1L)).thenReturn(Optional.of(anchor));
+        when(messageRepository.findBeforeInChat(eq(1L), eq(anchor), eq(4L), any(Pageable.class)))
+                .thenReturn(List.of(previous));
+
+        List<MessageTO> result = messageService.getMessagesPage(1L, 4L, null, 20);
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getMessageId());
+    }
+
+    @Test
+    void getMessagesPage_ShouldPageForwardsFromAnchor() {
+        LocalDateTime anchor = LocalDateTime.now();
+        MessageRepository.MessageView next = messageView(6L, "Later", anchor.plusMinutes(1));
+        MessageRepository.MessageView last = messageView(7L, "Latest", anchor.plusMinutes(2));
+        when(messageRepository.findSendAtInChat(5L, 1L)).thenReturn(Optional.of(anchor));
+        when(messageRepository.findAfterInChat(eq(1L), eq(anchor), eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(next, last));
+
+        List<MessageTO> result = messageService.getMessagesPage(1L, null, 5L, 20);
+
+        assertEquals(List.of(6L, 7L), result.stream().map(MessageTO::getMessageId).toList());
+    }
+
+    @Test
+    void getMessagesPage_ShouldRejectAnchorFromOtherChat() {
+        when(messageRepository.findSendAtInChat(9L, 1L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> messageService.getMessagesPage(1L, 9L, null, 20));
+    }
+
+    @Test
+    void getMessagesPage_ShouldRejectTwoAnchors() {
+        assertThrows(IllegalArgumentException.class, () -> messageService.getMessagesPage(1L, 2L, 3L, 20));
+        verifyNoInteractions(messageRepository);
+    }
+
+    private MessageRepository.MessageView messageView(Long messageId, String content, LocalDateTime sendAt) {
+        MessageRepository.MessageView view = mock(MessageRepository.MessageView.class);
+        when(view.getMessageId()).thenReturn(messageId);
+        when(view.getSenderId()).thenReturn(2L);
+        when(view.getReceiverId()).thenReturn(3L);
+        when(view.getChatId()).thenReturn(1L);
+        when(view.getMessageContent()).thenReturn(content);
+        when(view.getSendAt()).thenReturn(sendAt);
+        when(view.getIsRead()).thenReturn(false);
+        return view;
+    }
 }
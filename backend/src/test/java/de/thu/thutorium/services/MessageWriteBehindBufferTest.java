@@ -0,0 +1,148 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.services.implementations.MessageWriteBehindBuffer;
+import de.thu.thutorium.services.implementations.MessageWriteBehindBuffer.PendingMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MessageWriteBehindBufferTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ExecutorService senders = Executors.newFixedThreadPool(2);
+    private final AtomicLong sequence = new AtomicLong(100);
+
+    private MessageWriteBehindBuffer buffer;
+
+    private static PendingMessage message(long chatId) {
+        return new PendingMessage(chatId, 2L, 3L, "Message", LocalDateTime.now());
+    }
+
+    @AfterEach
+    void tearDown() {
+        senders.shutdownNow();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void write_ShouldReturnIdDrawnWhenTheBatchIsInserted() {
+        drawIdsFromSequence();
+        buffer = new MessageWriteBehindBuffer(jdbcTemplate, 100, 50, 10, 5_000);
+        buffer.start();
+
+        assertEquals(101L, buffer.write(message(1)));
+        assertEquals(102L, buffer.write(message(1)));
+        buffer.stop();
+
+        verify(jdbcTemplate, times(2))
+                .batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate, never()).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatch_ShouldBeRetriedRowByRowAndFailOnlyTheBadMessage() throws Exception {
+        drawIdsFromSequence();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("foreign key violation"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenReturn(1)
+                .thenThrow(new DataIntegrityViolationException("foreign key violation"));
+
+        List<Future<Long>> writes = writeQueuedTogether(2);
+
+        assertEquals(1, succeeded(writes));
+        verify(jdbcTemplate, times(2)).update(anyString(), any(PreparedStatementSetter.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedBatch_ShouldKeepRowsCommittedBeforeTheFailure() throws Exception {
+        drawIdsFromSequence();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("connection reset"));
+        when(jdbcTemplate.update(anyString(), any(PreparedStatementSetter.class)))
+                .thenThrow(new DuplicateKeyException("message_pkey"))
+                .thenReturn(1);
+
+        List<Future<Long>> writes = writeQueuedTogether(2);
+
+        assertEquals(2, succeeded(writes));
+    }
+
+    @Test
+    void write_ShouldRejectWhenQueueStaysFull() throws Exception {
+        buffer = new MessageWriteBehindBuffer(jdbcTemplate, 1, 50, 10, 5_000);
+        senders.submit(() -> buffer.write(message(1)));
+        awaitPending(1);
+
+        assertThrows(IllegalStateException.class, () -> buffer.write(message(2)));
+        assertEquals(1, buffer.pendingCount());
+    }
+
+    private void drawIdsFromSequence() {
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(2);
+            return LongStream.range(0, count).map(i -> sequence.incrementAndGet()).boxed().toList();
+        });
+    }
+
+    /** Queues the messages before the flusher starts, so that they are inserted as one batch. */
+    private List<Future<Long>> writeQueuedTogether(int count) throws InterruptedException {
+        buffer = new MessageWriteBehindBuffer(jdbcTemplate, 100, 50, 10, 5_000);
+        List<Future<Long>> writes = new ArrayList<>();
+        for (long chatId = 1; chatId <= count; chatId++) {
+            PendingMessage message = message(chatId);
+            writes.add(senders.submit(() -> buffer.write(message)));
+        }
+        awaitPending(count);
+        buffer.start();
+        return writes;
+    }
+
+    private int succeeded(List<Future<Long>> writes) throws InterruptedException {
+        int succeeded = 0;
+        for (Future<Long> write : writes) {
+            try {
+                assertNotNull(write.get(5, TimeUnit.SECONDS));
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            } catch (TimeoutException e) {
+                fail("The message was neither written nor rejected");
+            }
+        }
+        buffer.stop();
+        return succeeded;
+    }
+
+    private void awaitPending(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (buffer.pendingCount() < count) {
+            if (System.nanoTime() > deadline) {
+                fail("The messages were not queued");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
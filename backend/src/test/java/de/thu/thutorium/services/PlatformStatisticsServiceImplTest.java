@@ -0,0 +1,77 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.api.transferObjects.common.PlatformStatisticsTO;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.MeetingRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.implementations.PlatformStatisticsServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PlatformStatisticsServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @InjectMocks
+    private PlatformStatisticsServiceImpl platformStatisticsService;
+
+    @Test
+    void getStatistics_ComputesSnapshotOnFirstReadOnly() {
+        when(userRepository.countByRoles_RoleName(Role.STUDENT)).thenReturn(40L);
+        when(userRepository.countByRoles_RoleName(Role.TUTOR)).thenReturn(12L);
+        when(courseRepository.count()).thenReturn(7L);
+        when(meetingRepository.countByStartTimeGreaterThanEqualAndStartTimeLessThan(any(), any())).thenReturn(3L);
+
+        PlatformStatisticsTO first = platformStatisticsService.getStatistics();
+        PlatformStatisticsTO second = platformStatisticsService.getStatistics();
+
+        assertSame(first, second);
+        assertEquals(40L, first.getStudentCount());
+        assertEquals(12L, first.getTutorCount());
+        assertEquals(7L, first.getCourseCount());
+        assertEquals(3L, first.getMeetingsThisWeek());
+        verify(courseRepository, times(1)).count();
+    }
+
+    @Test
+    void refresh_CountsMeetingsFromMondayToMonday() {
+        platformStatisticsService.refresh();
+
+        ArgumentCaptor<LocalDateTime> from = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> to = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(meetingRepository).countByStartTimeGreaterThanEqualAndStartTimeLessThan(from.capture(), to.capture());
+        assertEquals(DayOfWeek.MONDAY, from.getValue().getDayOfWeek());
+        assertEquals(from.getValue().toLocalDate().atStartOfDay(), from.getValue());
+        assertEquals(from.getValue().plusWeeks(1), to.getValue());
+        assertFalse(from.getValue().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    void scheduledRefresh_KeepsPreviousSnapshotOnFailure() {
+        when(courseRepository.count()).thenReturn(7L).thenThrow(new IllegalStateException("Database unavailable"));
+        PlatformStatisticsTO before = platformStatisticsService.getStatistics();
+
+        platformStatisticsService.scheduledRefresh();
+
+        assertSame(before, platformStatisticsService.getStatistics());
+    }
+}
@@ -0,0 +1,53 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.services.implementations.PresenceServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceServiceImplTest {
+
+    @Mock
+    private SimpUserRegistry userRegistry;
+
+    @InjectMocks
+    private PresenceServiceImpl presenceService;
+
+    @Test
+    void isOnline_ShouldLookUpUserByIdName() {
+        when(userRegistry.getUser("7")).thenReturn(mock(SimpUser.class));
+
+        assertTrue(presenceService.isOnline(7L));
+        assertFalse(presenceService.isOnline(8L));
+        assertFalse(presenceService.isOnline(null));
+    }
+
+    @Test
+    void findOnlineUserIds_ShouldKeepOnlyConnectedUsers() {
+        when(userRegistry.getUser("1")).thenReturn(null);
+        when(userRegistry.getUser("2")).thenReturn(mock(SimpUser.class));
+        when(userRegistry.getUser("3")).thenReturn(mock(SimpUser.class));
+
+        Set<Long> online = presenceService.findOnlineUserIds(List.of(1L, 2L, 3L));
+
+        assertEquals(Set.of(2L, 3L), online);
+    }
+
+    @Test
+    void countOnlineUsers_ShouldUseRegistryCount() {
+        when(userRegistry.getUserCount()).thenReturn(4);
+
+        assertEquals(4, presenceService.countOnlineUsers());
+    }
+}
@@ -0,0 +1,117 @@
+package de.thu.thutorium.services;
+
+import de.thu.thutorium.api.transferObjects.search.SuggestionTO;
+import de.thu.thutorium.database.dbObjects.enums.Role;
+import de.thu.thutorium.database.repositories.CategoryRepository;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.services.implementations.SearchIndexServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @InjectMocks
+    private SearchIndexServiceImpl searchIndexService;
+
+    @BeforeEach
+    void setUp() {
+        UserRepository.UserNameView tutor = mock(UserRepository.UserNameView.class);
+        when(tutor.getUserId()).thenReturn(1L);
+        when(tutor.getFirstName()).thenReturn("John");
+        when(tutor.getLastName()).thenReturn("Doe");
+
+        CourseRepository.CourseSearchView course = mock(CourseRepository.CourseSearchView.class);
+        when(course.getCourseId()).thenReturn(10L);
+        when(course.getCourseName()).thenReturn("Java Basics");
+        when(course.getDescriptionShort()).thenReturn("Introduction to programming");
+
+        CategoryRepository.CategoryNameView category = mock(CategoryRepository.CategoryNameView.class);
+        when(category.getCategoryId()).thenReturn(100L);
+        when(category.getCategoryName()).thenReturn("Programming");
+
+        when(userRepository.findNameViewsByRoles_RoleName(Role.TUTOR)).thenReturn(List.of(tutor));
+        when(courseRepository.findSearchViewsBy()).thenReturn(List.of(course));
+        when(categoryRepository.findNameViewsBy()).thenReturn(List.of(category));
+
+        searchIndexService.rebuild();
+    }
+
+    @Test
+    void rebuild_ShouldMarkIndexReady() {
+        assertTrue(searchIndexService.isReady());
+    }
+
+    @Test
+    void findTutorIds_ShouldMatchSubstringsInEitherNameOrder() {
+        assertEquals(List.of(1L), searchIndexService.findTutorIds("doe jo", 10));
+        assertEquals(List.of(1L), searchIndexService.findTutorIds("OHN", 10));
+        assertTrue(searchIndexService.findTutorIds("jane", 10).isEmpty());
+    }
+
+    @Test
+    void findCourseIds_ShouldMatchNameAndShortDescription() {
+        assertEquals(List.of(10L), searchIndexService.findCourseIds("java", 10));
+        assertEquals(List.of(10L), searchIndexService.findCourseIds("introduction", 10));
+    }
+
+    @Test
+    void indexCourse_ShouldReplaceAndRemoveEntries() {
+        searchIndexService.indexCourse(10L, "Kotlin Basics", null);
+
+        assertTrue(searchIndexService.findCourseIds("java", 10).isEmpty());
+        assertEquals(List.of(10L), searchIndexService.findCourseIds("kotlin", 10));
+
+        searchIndexService.removeCourse(10L);
+
+        assertTrue(searchIndexService.findCourseIds("kotlin", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ShouldRankPrefixMatchesFirst() {
+        searchIndexService.indexCourse(11L, "Advanced Programming", null);
+
+        List<SuggestionTO> suggestions = searchIndexService.suggest("prog", 10);
+
+        assertEquals(3, suggestions.size());
+        assertEquals(SuggestionTO.Type.CATEGORY, suggestions.get(0).getType());
+        assertEquals("Programming", suggestions.get(0).getLabel());
+        assertEquals(11L, suggestions.get(1).getId());
+        assertEquals(10L, suggestions.get(2).getId());
+    }
+
+    @Test
+    void findCourseIds_ShouldMatchWordsLongerThanTheIndexedKeys() {
+        searchIndexService.indexCourse(11L, "Softwareentwicklungsprozesse", null);
+
+        assertEquals(List.of(11L), searchIndexService.findCourseIds("entwicklungsprozess", 10));
+        assertTrue(searchIndexService.findCourseIds("entwicklungsprozessmodell", 10).isEmpty());
+    }
+
+    @Test
+    void removeCategory_ShouldDropCategoryFromSuggestions() {
+        searchIndexService.removeCategory(100L);
+
+        assertTrue(searchIndexService.suggest("prog", 10).stream()
+                .noneMatch(suggestion -> suggestion.getType() == SuggestionTO.Type.CATEGORY));
+    }
+}
@@ -1,15 +1,21 @@
 package de.thu.thutorium.services;
 
+import de.thu.thutorium.Utility.CursorUtil;
 import de.thu.thutorium.api.TOMappers.CourseTOMapper;
 import de.thu.thutorium.api.TOMappers.TutorTOMapper;
 import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.TutorTO;
+import de.thu.thutorium.api.transferObjects.search.CursorPageTO;
+import de.thu.thutorium.api.transferObjects.search.SuggestionTO;
 import de.thu.thutorium.database.dbObjects.CourseDBO;
 import de.thu.thutorium.database.dbObjects.RatingCourseDBO;
 import de.thu.thutorium.database.dbObjects.RatingTutorDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
+import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.KeysetRow;
 import de.thu.thutorium.database.repositories.UserRepository;
 import de.thu.thutorium.services.implementations.SearchServiceImpl;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -21,6 +27,7 @@ import java.lang.reflect.Method;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
@@ -33,9 +40,15 @@ class SearchServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CourseRepository courseRepository;
+
     @Mock
     private TutorTOMapper tutorTOMapper;
 
+    @Mock
+    private SearchIndexService searchIndexService;
+
     @InjectMocks
     private SearchServiceImpl searchService;
 
@@ -70,29 +83,117 @@ class SearchServiceImplTest {
 
     @Test
     void searchTutors_ShouldReturnTutorList_WhenMatchingTutorsExist() {
-        when(userRepository.findByTutorFullName("John Doe")).thenReturn(List.of(tutorDBO));
-        when(tutorTOMapper.toDTO(tutorDBO)).thenReturn(tutorTO);
+        courseDBO.setTutor(tutorDBO);
+        when(userRepository.findRankedTutorIdsByFullName(eq("John Doe"), anyInt())).thenReturn(List.of(1L));
+        when(userRepository.findListingsByUserIdIn(List.of(1L))).thenReturn(List.of(tutorDBO));
+        when(courseRepository.findListingsByTutor_UserIdIn(List.of(1L))).thenReturn(List.of(courseDBO));
+        when(tutorTOMapper.toSummaryDTO(tutorDBO)).thenReturn(tutorTO);
+        when(courseTOMapper.toDTO(courseDBO)).thenReturn(courseTO);
 
         List<TutorTO> result = searchService.searchTutors("John Doe");
 
         assertEquals(1, result.size());
         assertEquals("John Doe", result.get(0).getFullName());
-        verify(userRepository, times(1)).findByTutorFullName("John Doe");
-        verify(tutorTOMapper, times(1)).toDTO(tutorDBO);
+        assertEquals(List.of(courseTO), result.get(0).getTutorCourses());
+        verify(userRepository, times(1)).findRankedTutorIdsByFullName(eq("John Doe"), anyInt());
+        verify(userRepository, never()).findAllById(any());
     }
 
     @Test
     void searchTutors_ShouldReturnEmptyList_WhenNoMatchingTutorsExist() {
-        when(userRepository.findByTutorFullName("Unknown"))
+        when(userRepository.findRankedTutorIdsByFullName(eq("Unknown"), anyInt()))
                 .thenReturn(List.of());
 
         List<TutorTO> result = searchService.searchTutors("Unknown");
 
         assertTrue(result.isEmpty());
-        verify(userRepository, times(1)).findByTutorFullName("Unknown");
+        verify(userRepository, never()).findListingsByUserIdIn(any());
+        verify(tutorTOMapper, never()).toSummaryDTO(any());
+    }
+
+    @Test
+    void searchTutors_ShouldUseSearchIndex_WhenIndexIsReady() {
+        when(searchIndexService.isReady()).thenReturn(true);
+        when(searchIndexService.findTutorIds(eq("John"), anyInt())).thenReturn(List.of(1L));
+        when(userRepository.findListingsByUserIdIn(List.of(1L))).thenReturn(List.of(tutorDBO));
+        when(tutorTOMapper.toSummaryDTO(tutorDBO)).thenReturn(tutorTO);
+
+        List<TutorTO> result = searchService.searchTutors("John");
+
+        assertEquals(1, result.size());
+        verify(userRepository, never()).findRankedTutorIdsByFullName(any(), anyInt());
+    }
+
+    @Test
+    void suggest_ShouldKeepRankedOrder_WhenIndexIsNotReady() {
+        UserDBO second = UserDBO.builder().userId(2L).firstName("Jane").lastName("Doe").build();
+        UserDBO first = UserDBO.builder().userId(3L).firstName("Joe").lastName("Doe").build();
+        when(userRepository.findRankedTutorIdsByFullName("doe", 10)).thenReturn(List.of(3L, 2L));
+        when(userRepository.findAllById(List.of(3L, 2L))).thenReturn(List.of(second, first));
+        when(courseRepository.findRankedCourseIdsByName("doe", 10)).thenReturn(List.of());
+
+        List<SuggestionTO> suggestions = searchService.suggest("doe", 10);
+
+        assertEquals(List.of(3L, 2L), suggestions.stream().map(SuggestionTO::getId).toList());
+    }
+
+    @Test
+    void searchTutorsPage_ShouldReturnNextCursor_WhenMoreRowsExist() {
+        KeysetRow first = mock(KeysetRow.class);
+        when(first.getId()).thenReturn(1L);
+        when(first.getSortKey()).thenReturn("john doe");
+        KeysetRow extra = mock(KeysetRow.class);
+
+        when(userRepository.findTutorPageByFullName("jo", "", 0L, 2)).thenReturn(List.of(first, extra));
+        when(userRepository.findAllById(List.of(1L))).thenReturn(List.of(tutorDBO));
+        when(userRepository.countTutorsByFullName(eq("jo"), anyInt())).thenReturn(5L);
+        when(tutorTOMapper.toSummaryDTO(tutorDBO)).thenReturn(tutorTO);
+
+        CursorPageTO<TutorTO> page = searchService.searchTutorsPage("jo", null, 1);
+
+        assertEquals(List.of(tutorTO), page.getItems());
+        assertEquals(5L, page.getTotalHint());
+        CursorUtil.Cursor next = CursorUtil.decode(page.getNextCursor());
+        assertEquals("john doe", next.sortKey());
+        assertEquals(1L, next.id());
         verify(tutorTOMapper, never()).toDTO(any());
     }
 
+    @Test
+    void searchTutorsPage_ShouldSkipTotalHint_AfterFirstPage() {
+        String cursor = CursorUtil.encode("john doe", 1L);
+        when(userRepository.findTutorPageByFullName("jo", "john doe", 1L, 21)).thenReturn(List.of());
+        when(userRepository.findAllById(List.of())).thenReturn(List.of());
+
+        CursorPageTO<TutorTO> page = searchService.searchTutorsPage("jo", cursor, 20);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        assertNull(page.getTotalHint());
+        verify(userRepository, never()).countTutorsByFullName(any(), anyInt());
+    }
+
+    @Test
+    void searchCourses_ShouldKeepRankedOrder() {
+        CourseDBO otherCourseDBO = CourseDBO.builder()
+                .courseId(2L)
+                .courseName("Sample")
+                .build();
+        CourseTO otherCourseTO = new CourseTO();
+        otherCourseTO.setCourseId(2L);
+
+        when(courseRepository.findRankedCourseIdsByName(eq("Sample"), anyInt())).thenReturn(List.of(2L, 1L));
+        when(courseRepository.findListingsByCourseIdIn(List.of(2L, 1L))).thenReturn(List.of(courseDBO, otherCourseDBO));
+        when(courseTOMapper.toDTO(courseDBO)).thenReturn(courseTO);
+        when(courseTOMapper.toDTO(otherCourseDBO)).thenReturn(otherCourseTO);
+
+        List<CourseTO> result = searchService.searchCourses("Sample");
+
+        assertEquals(2, result.size());
+        assertEquals(2L, result.get(0).getCourseId());
+        assertEquals(1L, result.get(1).getCourseId());
+    }
+
     @Test
     void mapWithAverageTutorRating_ShouldReturnTutorWithAverageRating() throws Exception {
         RatingTutorDBO rating1 = new RatingTutorDBO();
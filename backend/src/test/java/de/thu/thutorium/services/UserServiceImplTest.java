@@ -1,28 +1,42 @@
 package de.thu.thutorium.services;
 
+import de.thu.thutorium.api.TOMappers.CourseTOMapper;
 import de.thu.thutorium.api.TOMappers.UserTOMapper;
+import de.thu.thutorium.api.transferObjects.common.CourseTO;
 import de.thu.thutorium.api.transferObjects.common.RatingTutorTO;
 import de.thu.thutorium.api.transferObjects.common.UserTO;
 import de.thu.thutorium.database.dbObjects.CourseDBO;
+import de.thu.thutorium.database.dbObjects.RatingTutorDBO;
 import de.thu.thutorium.database.dbObjects.RoleDBO;
 import de.thu.thutorium.database.dbObjects.UserDBO;
 import de.thu.thutorium.database.dbObjects.enums.Role;
+import de.thu.thutorium.database.repositories.ChatRepository;
 import de.thu.thutorium.database.repositories.CourseRepository;
+import de.thu.thutorium.database.repositories.MeetingRepository;
 import de.thu.thutorium.database.repositories.ProgressRepository;
 import de.thu.thutorium.database.repositories.RatingTutorRepository;
 import de.thu.thutorium.database.repositories.UserRepository;
+import de.thu.thutorium.security.VerifiedTokenCache;
+import de.thu.thutorium.services.implementations.CascadeDeleter;
+import de.thu.thutorium.services.implementations.ChatMembershipCache;
 import de.thu.thutorium.services.implementations.UserServiceImpl;
+import de.thu.thutorium.services.interfaces.MeetingService;
+import de.thu.thutorium.services.interfaces.SearchIndexService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.lang.reflect.Field;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,6 +60,30 @@ class UserServiceImplTest {
     @Mock
     private UserTOMapper userMapper;
 
+    @Mock
+    private CourseTOMapper courseTOMapper;
+
+    @Mock
+    private ChatRepository chatRepository;
+
+    @Mock
+    private ChatMembershipCache chatMembershipCache;
+
+    @Mock
+    private CascadeDeleter cascadeDeleter;
+
+    @Mock
+    private SearchIndexService searchIndexService;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private MeetingRepository meetingRepository;
+
+    @Mock
+    private MeetingService meetingService;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -94,10 +132,7 @@ class UserServiceImplTest {
 
     @Test
     void getStudentCount_ShouldReturnCorrectCount() {
-//        when(userRepository.findAll()).thenReturn(List.of(student, tutor));
-        //Mock get userDBO by respective role behavior
-        when(userRepository.findUserDBOSByRoles_RoleName(Role.STUDENT))
-                .thenReturn(Collections.singletonList(student));
+        when(userRepository.countByRoles_RoleName(Role.STUDENT)).thenReturn(1L);
         Long studentCount = userService.getStudentCount();
 
         assertEquals(1, studentCount);
@@ -105,9 +140,7 @@ class UserServiceImplTest {
 
     @Test
     void getTutorCount_ShouldReturnCorrectCount() {
-//        when(userRepository.findAll()).thenReturn(List.of(student, tutor));
-        when(userRepository.findUserDBOSByRoles_RoleName(Role.TUTOR))
-                .thenReturn(Collections.singletonList(tutor));
+        when(userRepository.countByRoles_RoleName(Role.TUTOR)).thenReturn(1L);
         Long tutorCount = userService.getTutorCount();
 
         assertEquals(1, tutorCount);
@@ -138,9 +171,50 @@ class UserServiceImplTest {
 
     @Test
     void deleteUser_ShouldThrowException_WhenUserDoesNotExist() {
-        when(userRepository.findUserDBOByUserId(1L)).thenReturn(Optional.empty());
+        when(userRepository.findEmailByUserId(1L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> userService.deleteUser(1L));
+        verifyNoInteractions(cascadeDeleter);
+    }
+
+    @Test
+    void deleteUser_ShouldDeleteCoursesChatsAndUserSetBased() {
+        when(userRepository.findEmailByUserId(2L)).thenReturn(Optional.of("jane.smith@example.com"));
+        when(courseRepository.findCourseIdsByTutorId(2L)).thenReturn(List.of(10L, 11L));
+        when(chatRepository.findChatIdsByUserId(2L)).thenReturn(List.of(20L));
+        when(meetingRepository.findBookedMeetingIds(2L)).thenReturn(List.of(30L));
+
+        userService.deleteUser(2L);
+
+        InOrder inOrder = inOrder(cascadeDeleter, meetingService);
+        inOrder.verify(cascadeDeleter).deleteCourses(List.of(10L, 11L));
+        inOrder.verify(cascadeDeleter).deleteChats(List.of(20L));
+        inOrder.verify(cascadeDeleter).deleteUser(2L);
+        inOrder.verify(meetingService).promoteFromWaitlist(30L);
+        verify(chatMembershipCache).evict(20L);
+        verify(searchIndexService).removeCourse(10L);
+        verify(searchIndexService).removeCourse(11L);
+        verify(searchIndexService).removeTutor(2L);
+        verify(verifiedTokenCache).evictUser("jane.smith@example.com");
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void deleteUser_ShouldUpdateCachesOnlyAfterCommit() {
+        when(userRepository.findEmailByUserId(2L)).thenReturn(Optional.of("jane.smith@example.com"));
+        when(chatRepository.findChatIdsByUserId(2L)).thenReturn(List.of(20L));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.deleteUser(2L);
+            verifyNoInteractions(chatMembershipCache, verifiedTokenCache);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(chatMembershipCache).evict(20L);
+        verify(verifiedTokenCache).evictUser("jane.smith@example.com");
     }
 
     @Test
@@ -190,6 +264,32 @@ class UserServiceImplTest {
         userService.rateTutor(ratingTutorTO);
 
         verify(ratingTutorRepository, times(1)).save(any());
+        verify(userRepository, times(1)).applyTutorRating(2L, 1, 5.0);
+    }
+
+    @Test
+    void rateTutor_ShouldApplyPointDifference_WhenRatingIsUpdated() {
+        RatingTutorTO ratingTutorTO = new RatingTutorTO();
+        ratingTutorTO.setStudentId(1L);
+        ratingTutorTO.setTutorId(2L);
+        ratingTutorTO.setPoints(2.0);
+
+        student.getStudentCourses().add(course);
+        tutor.getTutorCourses().add(course);
+
+        RatingTutorDBO existingRating = new RatingTutorDBO();
+        existingRating.setPoints(5.0);
+
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(1L, Role.STUDENT))
+                .thenReturn(Optional.of(student));
+        when(userRepository.findUserDBOByUserIdAndRoles_RoleName(2L, Role.TUTOR))
+                .thenReturn(Optional.of(tutor));
+        when(ratingTutorRepository.findByTutor_UserIdAndStudent_UserId(eq(2L), eq(1L), any()))
+                .thenReturn(List.of(existingRating));
+
+        userService.rateTutor(ratingTutorTO);
+
+        verify(userRepository, times(1)).applyTutorRating(2L, 0, -3.0);
     }
 
     @Test
@@ -208,6 +308,25 @@ class UserServiceImplTest {
         verify(courseRepository, times(1)).save(course);
     }
 
+    @Test
+    void getCoursesEnrolled_ShouldLoadListingsInOneQuery() {
+        CourseTO courseTO = new CourseTO();
+        when(userRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.findListingsByStudentId(1L)).thenReturn(List.of(course));
+        when(courseTOMapper.toDTOList(List.of(course))).thenReturn(List.of(courseTO));
+
+        assertEquals(List.of(courseTO), userService.getCoursesEnrolled(1L));
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void getCoursesEnrolled_ShouldThrow_WhenStudentNotFound() {
+        when(userRepository.existsById(1L)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> userService.getCoursesEnrolled(1L));
+        verifyNoInteractions(courseRepository);
+    }
+
     /**
      * Helper method to set private fields using reflection.
      */
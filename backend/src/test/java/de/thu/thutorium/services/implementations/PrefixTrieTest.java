@@ -0,0 +1,65 @@
+package de.thu.thutorium.services.implementations;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrefixTrieTest {
+
+    private final PrefixTrie trie = new PrefixTrie();
+
+    @Test
+    void idsWithPrefix_ShouldCollectIdsOfAllKeysBelowThePrefix() {
+        trie.insert("anna", 1L);
+        trie.insert("anne", 2L);
+        trie.insert("an", 3L);
+        trie.insert("bob", 4L);
+
+        assertEquals(Set.of(1L, 2L, 3L), trie.idsWithPrefix("an"));
+        assertEquals(Set.of(1L, 2L), trie.idsWithPrefix("ann"));
+        assertEquals(Set.of(2L), trie.idsWithPrefix("anne"));
+        assertEquals(Set.of(1L, 2L, 3L, 4L), trie.idsWithPrefix(""));
+        assertTrue(trie.idsWithPrefix("anx").isEmpty());
+        assertTrue(trie.idsWithPrefix("annas").isEmpty());
+    }
+
+    @Test
+    void insert_ShouldStoreEqualKeysOfOneDocumentOnce() {
+        trie.insert("na", 1L);
+        trie.insert("na", 1L);
+        trie.remove("na", 1L);
+
+        assertTrue(trie.idsWithPrefix("n").isEmpty());
+    }
+
+    @Test
+    void remove_ShouldKeepOtherDocumentsAndLongerKeys() {
+        for (long id = 100; id > 0; id--) {
+            trie.insert("key" + (char) ('a' + id % 26), id);
+        }
+        trie.insert("ke", 200L);
+
+        trie.remove("ke", 200L);
+        trie.remove("keyc", 2L);
+
+        Set<Long> ids = trie.idsWithPrefix("ke");
+        assertEquals(99, ids.size());
+        assertFalse(ids.contains(2L));
+        assertTrue(ids.contains(28L));
+    }
+
+    @Test
+    void remove_ShouldPruneEmptyNodes() {
+        trie.insert("abc", 1L);
+        trie.insert("abd", 2L);
+
+        trie.remove("abc", 1L);
+        trie.remove("abd", 2L);
+        trie.insert("b", 3L);
+
+        assertEquals(Set.of(3L), trie.idsWithPrefix(""));
+        assertTrue(trie.idsWithPrefix("a").isEmpty());
+    }
+}
@@ -1,7 +1,7 @@
 import React, { useEffect, useRef, useState } from "react";
 import NavBar from "../components/Navbar";
 import ChatHistoryItem from "../components/ChatHistoryItem";
-import { getUserFromToken } from "../services/AuthService";
+import { getToken, getUserFromToken } from "../services/AuthService";
 import MessageItem from "../components/MessageItem";
 import apiClient from "../services/AxiosConfig";
 import { Stomp } from "@stomp/stompjs";
@@ -12,6 +12,13 @@ import { useAuth } from "../services/AuthContext";
 import { BACKEND_URL } from "../config";
 import ActionButton from "../components/ActionButton";
 
+// Messages are fetched in pages of this size, older pages on demand
+const MESSAGE_PAGE_SIZE = 50;
+
+// Whether message a was sent before message b, in the order the backend pages by
+const isBefore = (a, b) =>
+  a.sendAt < b.sendAt || (a.sendAt === b.sendAt && a.messageId < b.messageId);
+
 function Messages() {
   const { user } = useAuth();
   const location = useLocation();
@@ -22,6 +29,8 @@ function Messages() {
   const [selectedChatObject, setSelectedChatObject] = useState(null);
   const [searchQuery, setSearchQuery] = useState("");
   const [messages, setMessages] = useState({});
+  const [hasOlderMessages, setHasOlderMessages] = useState({});
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const [typedMessage, setTypedMessage] = useState("");
   const [currentUserId, setCurrentUserId] = useState();
   const [rows, setRows] = useState(1);
@@ -29,6 +38,9 @@ function Messages() {
   const [stompClient, setStompClient] = useState(null);
   const maxRows = 5;
   const messagesEndRef = useRef(null);
+  const messagesContainerRef = useRef(null);
+  // Scroll height before older messages were prepended, to keep the view in place
+  const prependedFromHeight = useRef(null);
   const navigate = useNavigate();
 
   const scrollToBottom = () => {
@@ -76,7 +88,14 @@ function Messages() {
 
   useEffect(() => {
     if (selectedChatId && messages[selectedChatId]) {
-      scrollToBottom();
+      const container = messagesContainerRef.current;
+      if (prependedFromHeight.current !== null && container) {
+        container.scrollTop +=
+          container.scrollHeight - prependedFromHeight.current;
+        prependedFromHeight.current = null;
+      } else {
+        scrollToBottom();
+      }
     }
   }, [messages[selectedChatId]]);
 
@@ -104,7 +123,11 @@ function Messages() {
 
   useEffect(() => {
     if (stompClient) {
-      stompClient.connect({}, onConnected, onError);
+      stompClient.connect(
+        { Authorization: `Bearer ${getToken()}` },
+        onConnected,
+        onError,
+      );
       stompClient.onStompError = (frame) => {
         console.error("Stomp Error:", frame.headers["message"]);
         console.error("Additional details:", frame.body);
@@ -115,8 +138,8 @@ function Messages() {
   function onConnected() {
     console.log("Connected to WebSocket");
 
-    // Subscribe to message topic
-    stompClient.subscribe("/topic/messages", onMessageReceived);
+    // Subscribe to the messages addressed to the current user
+    stompClient.subscribe("/user/queue/messages", onMessageReceived);
   }
 
   function onMessageReceived(payload) {
@@ -190,15 +213,72 @@ function Messages() {
       const chatId = chat.chatId;
       try {
         const { data } = await apiClient.get(
-          "/user/get-messages-chat?chatId=" + chatId,
+          "/user/get-messages-chat?chatId=" +
+            chatId +
+            "&limit=" +
+            MESSAGE_PAGE_SIZE,
+        );
+        setMessages((prevMessages) => {
+          // Keep the older pages loaded before, the latest page replaces the rest
+          const older =
+            data.length > 0
+              ? (prevMessages[chatId] || []).filter(
+                  (message) =>
+                    message.messageId && isBefore(message, data[0]),
+                )
+              : [];
+          return { ...prevMessages, [chatId]: [...older, ...data] };
+        });
+        setHasOlderMessages((prev) =>
+          chatId in prev
+            ? prev
+            : { ...prev, [chatId]: data.length === MESSAGE_PAGE_SIZE },
         );
-        setMessages((prevMessages) => ({ ...prevMessages, [chatId]: data }));
       } catch (error) {
         console.error("Error loading messages:", error);
       }
     }
   };
 
+  const loadOlderMessages = async () => {
+    const chatId = selectedChatId;
+    const loaded = messages[chatId];
+    if (loadingOlder || !hasOlderMessages[chatId] || !loaded?.length) {
+      return;
+    }
+    setLoadingOlder(true);
+    try {
+      const { data } = await apiClient.get(
+        "/user/get-messages-chat?chatId=" +
+          chatId +
+          "&beforeId=" +
+          loaded[0].messageId +
+          "&limit=" +
+          MESSAGE_PAGE_SIZE,
+      );
+      prependedFromHeight.current =
+        messagesContainerRef.current?.scrollHeight ?? null;
+      setMessages((prevMessages) => ({
+        ...prevMessages,
+        [chatId]: [...data, ...(prevMessages[chatId] || [])],
+      }));
+      setHasOlderMessages((prev) => ({
+        ...prev,
+        [chatId]: data.length === MESSAGE_PAGE_SIZE,
+      }));
+    } catch (error) {
+      console.error("Error loading older messages:", error);
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
+  const handleMessagesScroll = (e) => {
+    if (e.currentTarget.scrollTop === 0) {
+      loadOlderMessages();
+    }
+  };
+
   const loadChats = async () => {
     try {
       const { data } = await apiClient.get(
@@ -328,7 +408,22 @@ function Messages() {
               </div>
             </header>
 
-            <div className="px-4 bg-gray-50 overflow-y-auto flex-grow flex-col space-y-2 pb-20 pt-36">
+            <div
+              ref={messagesContainerRef}
+              onScroll={handleMessagesScroll}
+              className="px-4 bg-gray-50 overflow-y-auto flex-grow flex-col space-y-2 pb-20 pt-36"
+            >
+              {hasOlderMessages[selectedChatId] && (
+                <div className="text-center">
+                  <button
+                    onClick={loadOlderMessages}
+                    disabled={loadingOlder}
+                    className="text-xs text-gray-500 hover:underline"
+                  >
+                    {loadingOlder ? "Loading..." : "Load older messages"}
+                  </button>
+                </div>
+              )}
               {messages[selectedChatId]?.length > 0 ? (
                 messages[selectedChatId].map((message, index) => {
                   const currentDate = FormatDate(